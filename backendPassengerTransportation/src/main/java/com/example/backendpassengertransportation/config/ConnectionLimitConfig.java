@@ -0,0 +1,46 @@
+package com.example.backendpassengertransportation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Конфигурация ограничения числа одновременно занятых соединений с базой данных размером пула Hikari
+// Включается свойством app.connection-limit.enabled (по умолчанию - вместе с виртуальными потоками)
+@Configuration
+@ConditionalOnProperty(name = "app.connection-limit.enabled", havingValue = "true")
+public class ConnectionLimitConfig {
+
+    // Обертка источника соединений на основе пула Hikari источником с семафором на maximumPoolSize разрешений
+    // Метод статический, чтобы обработчик бинов создавался до остальных бинов конфигурации
+    @Bean
+    public static BeanPostProcessor connectionLimitPostProcessor(Environment environment) {
+        long maxWaitMillis = environment.getProperty("app.connection-limit.max-wait-ms", Long.class, 60_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitedDataSource)) {
+                    HikariDataSource pool = hikariPool(dataSource);
+                    if (pool != null) {
+                        return new ConnectionLimitedDataSource(dataSource, pool.getMaximumPoolSize(), maxWaitMillis);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Пул Hikari, на основе которого работает источник соединений (null, если используется другой пул)
+    private static HikariDataSource hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
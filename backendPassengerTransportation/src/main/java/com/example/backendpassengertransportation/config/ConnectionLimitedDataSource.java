@@ -0,0 +1,139 @@
+package com.example.backendpassengertransportation.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Источник соединений с ограничением числа одновременно выданных соединений семафором
+// В виртуальных потоках число одновременно обрабатываемых запросов не ограничено пулом потоков Tomcat,
+// поэтому тысячи запросов ожидали бы соединение внутри пула Hikari и завершались бы по его connectionTimeout.
+// Семафор с числом разрешений, равным размеру пула, выстраивает запросы в очередь (FIFO) до обращения к пулу:
+// пул получает не больше запросов, чем у него соединений, а ожидающий виртуальный поток не занимает поток-носитель
+public class ConnectionLimitedDataSource extends DelegatingDataSource {
+
+    // Разрешения на получение соединения
+    private final Semaphore permits;
+
+    // Количество разрешений (размер пула)
+    private final int maxConnections;
+
+    // Максимальное время ожидания разрешения, в миллисекундах
+    private final long maxWaitMillis;
+
+    // Количество полученных разрешений и суммарное время их ожидания
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public ConnectionLimitedDataSource(DataSource targetDataSource, int maxConnections, long maxWaitMillis) {
+        super(targetDataSource);
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Количество соединений должно быть больше нуля.");
+        }
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Количество разрешений (размер пула)
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    // Количество выданных и еще не закрытых соединений
+    public int getConnectionsInUse() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    // Количество потоков, ожидающих разрешения
+    public int getThreadsAwaitingPermit() {
+        return permits.getQueueLength();
+    }
+
+    // Количество полученных разрешений
+    public long getAcquiredCount() {
+        return acquired.sum();
+    }
+
+    // Суммарное время ожидания разрешений, в наносекундах
+    public long getTotalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    // Ожидание разрешения на получение соединения
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            boolean permitted = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            waitNanos.add(System.nanoTime() - start);
+            if (!permitted) {
+                throw new SQLTransientConnectionException("Превышено время ожидания соединения с базой данных ("
+                        + maxWaitMillis + " мс).");
+            }
+            acquired.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Ожидание соединения с базой данных прервано.", e);
+        }
+    }
+
+    // Соединение, возвращающее разрешение при закрытии (однократно, повторное закрытие разрешение не возвращает)
+    private Connection limited(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionLimitedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
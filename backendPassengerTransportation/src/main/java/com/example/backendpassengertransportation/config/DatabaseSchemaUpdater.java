@@ -0,0 +1,48 @@
+package com.example.backendpassengertransportation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Применение идемпотентных изменений схемы (индексы, служебные таблицы) из db/schema-updates.sql
+// Выполняется после запуска приложения, чтобы недоступность базы данных не прерывала старт
+@Component
+public class DatabaseSchemaUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSchemaUpdater.class);
+
+    @Autowired
+    // Источник данных приложения
+    private DataSource dataSource;
+
+    // Признак применения изменений схемы
+    @Value("${app.schema-updates.enabled:true}")
+    private boolean enabled;
+
+    // Применение скрипта изменений схемы после готовности приложения
+    // Выполняется раньше остальных обработчиков готовности, которые могут использовать служебные таблицы
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void applySchemaUpdates() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/schema-updates.sql"));
+            populator.setContinueOnError(true);
+            populator.execute(dataSource);
+        } catch (Exception e) {
+            log.warn("Не удалось применить изменения схемы базы данных: {}", e.getMessage());
+        }
+    }
+}
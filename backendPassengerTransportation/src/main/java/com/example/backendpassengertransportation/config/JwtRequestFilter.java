@@ -1,6 +1,10 @@
 package com.example.backendpassengertransportation.config;
 
 import com.example.backendpassengertransportation.util.JwtUtil;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +14,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,6 +24,7 @@ import java.io.IOException;
 // Фильтр для обработки JWT-токенов в запросах
 // Проверяет наличие и валидность JWT-токена в заголовке Authorization,
 // извлекает электронную почту и устанавливает аутентификацию в контексте безопасности
+// Запрос с просроченным или недействительным токеном продолжается без аутентификации: доступ к защищенным путям отклоняет Spring Security
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
@@ -26,6 +32,14 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     // Сервис для загрузки данных пользователя
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    // Кэш данных пользователей, чтобы не загружать пользователя из базы данных при каждом запросе
+    private PrincipalCache principalCache;
+
+    @Autowired
+    // Реестр метрик: время проверки токена по результату (jwt.filter)
+    private MeterRegistry meterRegistry;
+
     // Метод фильтрации запросов
     // Пропускает запросы к /auth/** без проверки токена, для остальных запросов проверяет JWT-токен и устанавливает аутентификацию
     @Override
@@ -38,26 +52,40 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Извлечение заголовка Authorization
-        final String authorizationHeader = request.getHeader("Authorization");
-        String email = null;
-        String jwt = null;
+        // Проверка токена и загрузка пользователя учитываются в метрике jwt.filter (без обработки самого запроса)
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            // Извлечение заголовка Authorization
+            final String authorizationHeader = request.getHeader("Authorization");
+            JwtUtil.VerifiedToken token = null;
 
-        // Проверка наличия токена в заголовке и извлечение электронной почты
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            email = JwtUtil.extractUsername(jwt);
-        }
+            // Проверка наличия токена в заголовке, однократная проверка подписи и срока действия
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                token = JwtUtil.verify(authorizationHeader.substring(7));
+            }
+            outcome = authorizationHeader == null ? "no_token" : token == null || token.subject() == null ? "invalid" : "authenticated";
 
-        // Установка аутентификации в контексте безопасности, если пользователь найден и токен валиден
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-            if (JwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            // Установка аутентификации в контексте безопасности, если пользователь найден и токен валиден
+            if (token != null && token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = principalCache.get(token.subject(), userDetailsService::loadUserByUsername);
+                if (token.subject().equals(userDetails.getUsername()) && !token.isExpired()) {
+                    UsernamePasswordAuthenticationToken authenticationToken =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                } else {
+                    outcome = token.isExpired() ? "expired" : "invalid";
+                }
             }
+        } catch (ExpiredJwtException e) {
+            // Срок действия токена истек
+            outcome = "expired";
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            // Неверная подпись или формат токена, пустой токен или пользователь токена не найден
+            outcome = "invalid";
+        } finally {
+            sample.stop(meterRegistry.timer("jwt.filter", "outcome", outcome));
         }
         // Продолжение цепочки фильтров
         chain.doFilter(request, response);
@@ -0,0 +1,106 @@
+package com.example.backendpassengertransportation.config;
+
+import com.example.backendpassengertransportation.service.BookingLaneService;
+import com.example.backendpassengertransportation.service.SeatHoldService;
+import com.example.backendpassengertransportation.service.WaitlistService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// Метрики компонентов приложения (в дополнение к метрикам Spring Boot: http.server.requests по обработчикам,
+// spring.data.repository.invocations по методам репозиториев, hikaricp.connections.* по пулу соединений)
+// Значения считываются из счетчиков компонентов при каждом снятии метрик
+@Configuration
+public class MetricsConfig {
+
+    // Пул хеширования паролей BCrypt: очередь, занятые потоки, отклоненные операции и время хеширования
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("password.hashing.queue", passwordHasher, PasswordHasher::getQueueDepth)
+                    .description("Операции хеширования, ожидающие в очереди").register(registry);
+            Gauge.builder("password.hashing.active", passwordHasher, PasswordHasher::getActiveCount)
+                    .description("Выполняемые операции хеширования").register(registry);
+            Gauge.builder("password.hashing.threads", passwordHasher, PasswordHasher::getPoolSize)
+                    .description("Потоки пула хеширования").register(registry);
+            FunctionCounter.builder("password.hashing.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+                    .description("Операции хеширования, отклоненные из-за перегрузки").register(registry);
+            FunctionTimer.builder("password.hashing", passwordHasher, PasswordHasher::getCompletedCount,
+                            PasswordHasher::getTotalHashingNanos, TimeUnit.NANOSECONDS)
+                    .description("Время вычисления BCrypt без ожидания в очереди").register(registry);
+        };
+    }
+
+    // Кэш данных аутентифицированных пользователей: размер, попадания, промахи и удаления записей
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache principalCache) {
+        return registry -> {
+            Gauge.builder("principal.cache.size", principalCache, PrincipalCache::size)
+                    .description("Записи кэша пользователей").register(registry);
+            FunctionCounter.builder("principal.cache.requests", principalCache, PrincipalCache::getHits)
+                    .tag("result", "hit").description("Запросы к кэшу пользователей").register(registry);
+            FunctionCounter.builder("principal.cache.requests", principalCache, PrincipalCache::getMisses)
+                    .tag("result", "miss").description("Запросы к кэшу пользователей").register(registry);
+            FunctionCounter.builder("principal.cache.evictions", principalCache, PrincipalCache::getEvictions)
+                    .description("Записи, удаленные при изменении пользователей").register(registry);
+        };
+    }
+
+    // Удержания мест, ожидающие подтверждения или истечения срока (созданные, подтвержденные, освобожденные
+    // и истекшие удержания считает счетчик seat.holds с тегом outcome)
+    @Bean
+    public MeterBinder seatHoldMetrics(SeatHoldService seatHoldService) {
+        return registry -> Gauge.builder("seat.holds.active", seatHoldService, SeatHoldService::getActiveHoldCount)
+                .description("Удержания мест, ожидающие истечения срока").register(registry);
+    }
+
+    // Маршруты с ожидающими записями листа ожидания (поставленные в очередь, получившие место и вышедшие из очереди
+    // записи считает счетчик waitlist.entries с тегом outcome)
+    @Bean
+    public MeterBinder waitlistMetrics(WaitlistService waitlistService) {
+        return registry -> Gauge.builder("waitlist.routes", waitlistService, WaitlistService::getWaitingRouteCount)
+                .description("Маршруты с ожидающими записями листа ожидания").register(registry);
+    }
+
+    // Полосы бронирования (если включены): очередь, пакеты, обработанные и отклоненные запросы
+    // Средний размер пакета - отношение booking.lanes.requests к booking.lanes.batches
+    @Bean
+    public MeterBinder bookingLaneMetrics(BookingLaneService bookingLaneService) {
+        return registry -> {
+            if (bookingLaneService.isEnabled()) {
+                Gauge.builder("booking.lanes.queue", bookingLaneService, BookingLaneService::getQueueDepth)
+                        .description("Запросы бронирования, ожидающие в очередях полос").register(registry);
+                FunctionCounter.builder("booking.lanes.batches", bookingLaneService, BookingLaneService::getBatchCount)
+                        .description("Обработанные пакеты бронирования").register(registry);
+                FunctionCounter.builder("booking.lanes.requests", bookingLaneService, BookingLaneService::getProcessedCount)
+                        .description("Обработанные запросы бронирования").register(registry);
+                FunctionCounter.builder("booking.lanes.rejected", bookingLaneService, BookingLaneService::getRejectedCount)
+                        .description("Запросы бронирования, отклоненные из-за переполнения очереди").register(registry);
+            }
+        };
+    }
+
+    // Семафор перед пулом соединений (если включен): занятые разрешения, очередь и время ожидания
+    @Bean
+    public MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitedDataSource limited) {
+                Gauge.builder("db.connection.limit.in.use", limited, ConnectionLimitedDataSource::getConnectionsInUse)
+                        .description("Выданные соединения").register(registry);
+                Gauge.builder("db.connection.limit.waiting", limited, ConnectionLimitedDataSource::getThreadsAwaitingPermit)
+                        .description("Потоки, ожидающие соединение в очереди семафора").register(registry);
+                Gauge.builder("db.connection.limit.max", limited, ConnectionLimitedDataSource::getMaxConnections)
+                        .description("Количество разрешений семафора").register(registry);
+                FunctionTimer.builder("db.connection.limit.wait", limited, ConnectionLimitedDataSource::getAcquiredCount,
+                                ConnectionLimitedDataSource::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                        .description("Время ожидания разрешения на соединение").register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.backendpassengertransportation.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Хеширование и проверка паролей BCrypt в отдельном пуле потоков ограниченного размера с ограниченной очередью
+// Вычисление BCrypt занимает около 100 мс процессорного времени, поэтому при массовом входе пользователей
+// число занятых им потоков обработки запросов ограничено размером пула и очереди, остальные запросы
+// сразу отклоняются исключением RejectedExecutionException (ответ 503 с заголовком Retry-After)
+@Component
+public class PasswordHasher {
+
+    @Autowired
+    // Компонент для хеширования паролей с использованием BCrypt
+    private BCryptPasswordEncoder passwordEncoder;
+
+    // Пул потоков хеширования
+    private final ThreadPoolExecutor executor;
+
+    // Количество отклоненных из-за перегрузки операций
+    private final LongAdder rejected = new LongAdder();
+
+    // Количество выполненных операций и суммарное время их выполнения (без ожидания в очереди)
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder hashingNanos = new LongAdder();
+
+    @Autowired
+    public PasswordHasher(@Value("${app.password-hashing.threads:0}") int threads,
+                          @Value("${app.password-hashing.queue-capacity:32}") int queueCapacity) {
+        // По умолчанию хешированию отводится половина процессоров, остальные остаются для других запросов
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Сервер перегружен запросами входа. Повторите попытку позже.");
+                });
+    }
+
+    // Хеширование пароля
+    public String encode(String password) {
+        return run(() -> passwordEncoder.encode(password));
+    }
+
+    // Проверка пароля по хешу
+    public boolean matches(String password, String hash) {
+        return run(() -> passwordEncoder.matches(password, hash));
+    }
+
+    // Количество операций, ожидающих в очереди
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    // Количество выполняемых операций
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // Количество потоков хеширования
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    // Количество отклоненных из-за перегрузки операций
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // Количество выполненных операций
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    // Суммарное время выполнения операций в пуле, в наносекундах
+    public long getTotalHashingNanos() {
+        return hashingNanos.sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Выполнение операции в пуле хеширования с ожиданием результата
+    private <T> T run(Callable<T> task) {
+        Future<T> future = executor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return task.call();
+            } finally {
+                hashingNanos.add(System.nanoTime() - start);
+                completed.increment();
+            }
+        });
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Хеширование пароля прервано.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Ошибка хеширования пароля.", e.getCause());
+        }
+    }
+}
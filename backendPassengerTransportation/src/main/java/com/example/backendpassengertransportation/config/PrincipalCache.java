@@ -0,0 +1,126 @@
+package com.example.backendpassengertransportation.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Кэш данных аутентифицированных пользователей по электронной почте
+// Позволяет не обращаться к базе данных при каждом запросе с JWT-токеном
+// Размер ограничен (вытесняются давно не использованные записи), записи устаревают через заданное время
+// и удаляются явно при изменении или удалении пользователя
+@Component
+public class PrincipalCache {
+
+    // Запись кэша: данные пользователя и момент устаревания (по часам clock)
+    private record Entry(UserDetails userDetails, long expiresAt) {
+    }
+
+    private final boolean enabled; // Признак использования кэша
+    private final int maxSize; // Максимальное количество записей
+    private final long ttlNanos; // Время жизни записи
+    private final LongSupplier clock; // Источник времени в наносекундах
+
+    // Записи в порядке обращения: первой вытесняется запись, к которой дольше всего не обращались
+    private final LinkedHashMap<String, Entry> entries;
+
+    // Номер поколения, увеличивается при каждом удалении записей: данные, загруженные до удаления, не помещаются в кэш
+    private long generation;
+
+    // Счетчики попаданий, промахов и удалений записей
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public PrincipalCache(@Value("${app.principal-cache.enabled:true}") boolean enabled,
+                          @Value("${app.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(enabled, maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    // Конструктор с источником времени (для тестов)
+    PrincipalCache(boolean enabled, int maxSize, long ttlNanos, LongSupplier clock) {
+        this.enabled = enabled && maxSize > 0 && ttlNanos > 0;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > PrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    // Получение данных пользователя из кэша или через loader с сохранением в кэш
+    // Исключения loader (например, пользователь не найден) передаются вызывающему, отсутствие пользователя не кэшируется
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        long loadedGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null) {
+                if (clock.getAsLong() - entry.expiresAt() < 0) {
+                    hits.increment();
+                    return entry.userDetails();
+                }
+                entries.remove(email);
+            }
+            loadedGeneration = generation;
+        }
+        misses.increment();
+        // Загрузка выполняется вне блокировки, чтобы медленный запрос к базе данных не задерживал другие запросы
+        UserDetails userDetails = loader.apply(email);
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                entries.put(email, new Entry(userDetails, clock.getAsLong() + ttlNanos));
+            }
+        }
+        return userDetails;
+    }
+
+    // Удаление данных пользователя из кэша (при изменении или удалении пользователя)
+    public synchronized void evict(String email) {
+        generation++;
+        if (email != null && entries.remove(email) != null) {
+            evictions.increment();
+        }
+    }
+
+    // Удаление всех записей
+    public synchronized void clear() {
+        generation++;
+        evictions.add(entries.size());
+        entries.clear();
+    }
+
+    // Количество записей в кэше
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Количество запросов, обслуженных из кэша
+    public long getHits() {
+        return hits.sum();
+    }
+
+    // Количество запросов, потребовавших загрузки пользователя
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Количество явно удаленных записей
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.backendpassengertransportation.config;
 
-import com.example.backendpassengertransportation.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+
+import java.util.List;
 
 // Конфигурация безопасности приложения
 // Настраивает правила доступа, отключает CSRF, использует JWT для аутентификации и определяет политику сессий
@@ -17,28 +23,32 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Autowired
-    // Сервис для работы с пользователями
-    private UserService userService;
-
     @Autowired
     // Фильтр для обработки JWT-токенов
     private JwtRequestFilter jwtRequestFilter;
 
+    // Адреса или подсети сборщиков метрик, которым доступен /actuator/prometheus
+    @Value("${app.metrics.scrape-allowed-addresses:127.0.0.1,::1}")
+    private List<String> scrapeAllowedAddresses;
+
     // Бин для BCryptPasswordEncoder
+    // Статический метод: компонент создается без экземпляра конфигурации, которая зависит от JWT-фильтра
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
+    public static BCryptPasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
     // Настройка цепочки фильтров безопасности
-    // Разрешает доступ к /auth/** и Swagger без аутентификации, для остальных запросов требует аутентификацию
+    // Разрешает доступ к /auth/**, Swagger и проверке состояния без аутентификации, к метрикам Prometheus - только с адресов сборщиков метрик,
+    // для остальных запросов требует аутентификацию
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable()) // Отключение защиты от CSRF
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/**", "/swagger-ui/**", "/v3/api-docs/**").permitAll() // Разрешённые пути
+                        .requestMatchers("/actuator/health", "/actuator/health/readiness").permitAll() // Проверка состояния и готовности
+                        .requestMatchers("/actuator/prometheus").access(scraperAddresses()) // Сбор метрик Prometheus
                         .anyRequest().authenticated() // Все остальные пути требуют аутентификации
                 )
                 .sessionManagement(session -> session
@@ -47,4 +57,11 @@ public class SecurityConfig {
                 .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class); // Добавление JWT-фильтра
         return http.build();
     }
+
+    // Правило доступа по адресу клиента: запрос разрешен, если адрес входит в список сборщиков метрик
+    private AuthorizationManager<RequestAuthorizationContext> scraperAddresses() {
+        List<IpAddressMatcher> matchers = scrapeAllowedAddresses.stream().map(IpAddressMatcher::new).toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
 }
\ No newline at end of file
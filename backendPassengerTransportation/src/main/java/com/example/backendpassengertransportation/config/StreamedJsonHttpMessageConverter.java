@@ -0,0 +1,45 @@
+package com.example.backendpassengertransportation.config;
+
+import com.example.backendpassengertransportation.util.StreamedJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+// Конвертер, записывающий потоковые списки (StreamedJson) непосредственно в тело ответа
+// Ответ передается клиенту частями (chunked) по мере чтения строк из базы данных, без построения полного списка в памяти
+public class StreamedJsonHttpMessageConverter extends AbstractHttpMessageConverter<StreamedJson<?>> {
+
+    // Преобразование объектов в JSON с настройками приложения (формат дат, часовой пояс)
+    private final ObjectMapper objectMapper;
+
+    public StreamedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamedJson.class.isAssignableFrom(clazz);
+    }
+
+    // Потоковые списки используются только в ответах
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamedJson<?> readInternal(Class<? extends StreamedJson<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Потоковый список не может быть прочитан из запроса.", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(StreamedJson<?> streamedJson, HttpOutputMessage outputMessage) throws IOException {
+        streamedJson.writeTo(objectMapper, outputMessage.getBody());
+    }
+}
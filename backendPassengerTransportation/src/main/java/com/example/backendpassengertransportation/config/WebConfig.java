@@ -0,0 +1,30 @@
+package com.example.backendpassengertransportation.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+// Конфигурация обработки HTTP-запросов
+@Configuration
+public class WebConfig {
+
+    // Фильтр, добавляющий ETag (хеш тела ответа) к спискам городов и типов транспорта
+    // На запрос с If-None-Match, совпадающим с ETag, возвращается 304 без тела, поэтому клиент,
+    // сохранивший справочные данные, получает их повторно только после изменения
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> referenceDataETagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/cities", "/transport-types");
+        registration.setName("referenceDataETagFilter");
+        return registration;
+    }
+
+    // Конвертер потоковых списков маршрутов, бронирований и пользователей
+    // Spring Boot добавляет зарегистрированные конвертеры перед стандартными, поэтому списки не сериализуются Jackson целиком
+    @Bean
+    public StreamedJsonHttpMessageConverter streamedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new StreamedJsonHttpMessageConverter(objectMapper);
+    }
+}
@@ -19,6 +19,7 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 // Контроллер для аутентификации и регистрации пользователей
 @RestController
@@ -44,7 +45,8 @@ public class AuthenticationController {
             value = {
                     @ApiResponse(responseCode = "200", description = "JWT токен успешно создан."),
                     @ApiResponse(responseCode = "401", description = "Неверные учетные данные."),
-                    @ApiResponse(responseCode = "400", description = "Некорректные данные запроса: пустые поля или неверный формат электронной почты.")
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные запроса: пустые поля или неверный формат электронной почты."),
+                    @ApiResponse(responseCode = "503", description = "Сервер перегружен запросами входа, повторите попытку через время из заголовка Retry-After.")
             }
     )
     @PostMapping("/login")
@@ -90,6 +92,9 @@ public class AuthenticationController {
             Map<String, String> response = new HashMap<>();
             response.put("token", jwt);
             return ResponseEntity.ok(response);
+        } catch (RejectedExecutionException e) {
+            // Перегрузка обрабатывается общим обработчиком OverloadExceptionHandler (статус 503 с заголовком Retry-After)
+            throw e;
         } catch (IllegalArgumentException e) {
             // Обработка ошибки отсутствия пользователя или неверных данных
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Неверные учетные данные.");
@@ -110,7 +115,8 @@ public class AuthenticationController {
             value = {
                     @ApiResponse(responseCode = "201", description = "Пользователь успешно создан."),
                     @ApiResponse(responseCode = "400", description = "Некорректные данные запроса: пустые поля, неверный формат телефона, email или даты рождения."),
-                    @ApiResponse(responseCode = "409", description = "Пользователь с таким ФИО, номером телефона или email уже существует.")
+                    @ApiResponse(responseCode = "409", description = "Пользователь с таким ФИО, номером телефона или email уже существует."),
+                    @ApiResponse(responseCode = "503", description = "Сервер перегружен запросами регистрации, повторите попытку через время из заголовка Retry-After.")
             }
     )
     @PostMapping("/register")
@@ -145,6 +151,9 @@ public class AuthenticationController {
             );
             // Возврат созданного пользователя
             return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
+        } catch (RejectedExecutionException e) {
+            // Перегрузка обрабатывается общим обработчиком OverloadExceptionHandler (статус 503 с заголовком Retry-After)
+            throw e;
         } catch (DateTimeParseException e) {
             // Обработка ошибки некорректного формата даты
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат даты рождения. Используйте 'dd.MM.yyyy'.");
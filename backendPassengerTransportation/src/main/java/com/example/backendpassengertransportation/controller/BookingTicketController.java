@@ -1,33 +1,55 @@
 package com.example.backendpassengertransportation.controller;
 
-import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.GroupBookingRequest;
+import com.example.backendpassengertransportation.service.BookingLaneService;
 import com.example.backendpassengertransportation.service.BookingTicketService;
+import com.example.backendpassengertransportation.service.IdempotencyService;
+import com.example.backendpassengertransportation.util.ValidationUtil;
+import com.example.backendpassengertransportation.util.StreamedJson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 // Контроллер для управления бронированиями билетов, предоставляет CRUD-операции и поиск
 @RestController
 @RequestMapping("/booking-tickets")
 public class BookingTicketController {
 
+    // Заголовок с ключом идемпотентности
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     // Сервис для работы с бронированиями билетов
     private BookingTicketService bookingTicketService;
 
+    @Autowired
+    // Полосы бронирования: пакетное бронирование запросов одного маршрута (если включены)
+    private BookingLaneService bookingLaneService;
+
+    @Autowired
+    // Сервис ключей идемпотентности для повторяемых запросов создания и удаления бронирований
+    private IdempotencyService idempotencyService;
+
     // Получение всех бронирований с обработкой ошибок
     @Operation(
             summary = "Получение списка всех бронирований",
             description = "Возвращает список всех бронирований, доступных в системе. " +
+                    "Каждое бронирование содержит маршрут и контактные данные пассажира (ФИО, телефон, email) без остальных данных пользователя. " +
+                    "Список передается клиенту по мере чтения из базы данных; при заголовке Accept: application/x-ndjson каждый элемент записывается отдельной строкой. " +
                     "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
                     "Если бронирования отсутствуют, возвращается статус 404 с сообщением об ошибке. " +
                     "При отсутствии доступа возвращается статус 403. " +
@@ -44,14 +66,15 @@ public class BookingTicketController {
     )
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("")
-    public ResponseEntity<?> getAllBookingTickets() {
+    public ResponseEntity<?> getAllBookingTickets(
+            @Parameter(description = "Формат ответа: application/json (JSON-массив, по умолчанию) или application/x-ndjson (по одному объекту в строке)")
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            // Получение списка всех бронирований через сервис
-            List<BookingTicket> bookingTickets = bookingTicketService.getAllBookingTickets();
-            if (bookingTickets.isEmpty()) {
+            if (!bookingTicketService.hasBookingTickets()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Бронирования не найдены.");
             }
-            return ResponseEntity.ok(bookingTickets);
+            // Бронирования записываются в ответ по мере чтения из базы данных, без построения полного списка
+            return StreamedJson.<BookingView>ok(accept, bookingTicketService::streamAllBookingTickets);
         } catch (Exception e) {
             // Обработка внутренней ошибки сервера
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -84,7 +107,7 @@ public class BookingTicketController {
             @PathVariable String id) {
         try {
             // Поиск бронирования по идентификатору через сервис
-            BookingTicket bookingTicket = bookingTicketService.getBookingTicketById(id);
+            BookingView bookingTicket = bookingTicketService.getBookingTicketById(id);
             return ResponseEntity.ok(bookingTicket);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия бронирования
@@ -105,6 +128,10 @@ public class BookingTicketController {
                     "Если переданы некорректные параметры, возвращается статус 400 с сообщением об ошибке. " +
                     "Если маршрут или пользователь не найдены, возвращается статус 404. " +
                     "Если маршрут уже отправился или до отправления осталось менее 30 минут, возвращается статус 400 с сообщением об ошибке. " +
+                    "Если передан заголовок Idempotency-Key, повторный запрос с тем же ключом (например, после таймаута) не создает второе бронирование, " +
+                    "а получает исходный ответ с заголовком Idempotent-Replayed: true; тот же ключ с другими параметрами отклоняется со статусом 400. " +
+                    "Если включены полосы бронирования, запрос без ключа идемпотентности бронируется вместе с другими ожидающими запросами маршрута; " +
+                    "при переполненной очереди возвращается статус 503 с заголовком Retry-After. " +
                     "При отсутствии доступа возвращается статус 403. " +
                     "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
     )
@@ -115,6 +142,7 @@ public class BookingTicketController {
                     @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
                     @ApiResponse(responseCode = "400", description = "Некорректные параметры, маршрут уже отправился или до отправления осталось менее 30 минут."),
                     @ApiResponse(responseCode = "404", description = "Маршрут или пользователь не найдены."),
+                    @ApiResponse(responseCode = "503", description = "Очередь полосы бронирования переполнена."),
                     @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
             }
     )
@@ -128,10 +156,24 @@ public class BookingTicketController {
             @Parameter(description = "Номер телефона пассажира", required = true)
             @RequestParam String passengerPhone,
             @Parameter(description = "Email пассажира", required = true)
-            @RequestParam String passengerEmail) {
+            @RequestParam String passengerEmail,
+            @Parameter(description = "Ключ идемпотентности (например, UUID), одинаковый для всех повторов одного запроса")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
-            // Создание нового бронирования через сервис
-            BookingTicket newBookingTicket = bookingTicketService.createBookingTicket(routeId, passengerFullName, passengerPhone, passengerEmail);
+            if (idempotencyKey != null) {
+                if (!ValidationUtil.isValidIdempotencyKey(idempotencyKey)) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат ключа идемпотентности: от 1 до 255 видимых символов ASCII.");
+                }
+                // Бронирование создается один раз для ключа, повтор получает исходный ответ
+                return idempotencyService.execute(idempotencyKey, "POST /booking-tickets",
+                        String.join("\n", routeId, passengerFullName, passengerPhone, passengerEmail), HttpStatus.CREATED,
+                        () -> bookingTicketService.createBookingTicket(routeId, passengerFullName, passengerPhone, passengerEmail)).toResponseEntity();
+            }
+            // Создание нового бронирования через сервис (через полосу бронирования маршрута, если полосы включены)
+            // Запрос с ключом идемпотентности выполняется напрямую, в одной транзакции с записью ключа
+            BookingView newBookingTicket = bookingLaneService.isEnabled()
+                    ? await(bookingLaneService.createBookingTicket(routeId, passengerFullName, passengerPhone, passengerEmail))
+                    : bookingTicketService.createBookingTicket(routeId, passengerFullName, passengerPhone, passengerEmail);
             return ResponseEntity.status(HttpStatus.CREATED).body(newBookingTicket);
         } catch (IllegalArgumentException | IllegalStateException e) {
             // Обработка ошибки некорректных параметров или состояния маршрута
@@ -139,6 +181,9 @@ public class BookingTicketController {
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрута или пользователя
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            // Перегрузка обрабатывается общим обработчиком OverloadExceptionHandler (статус 503 с заголовком Retry-After)
+            throw e;
         } catch (Exception e) {
             // Обработка внутренней ошибки сервера
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -146,6 +191,47 @@ public class BookingTicketController {
         }
     }
 
+    // Групповое бронирование: по одному месту для каждого пассажира группы, все или ни одного
+    @Operation(
+            summary = "Групповое бронирование",
+            description = "Создает бронирования указанного маршрута для всех пассажиров группы одной транзакцией: места занимаются сразу для всей группы или не занимаются вовсе. " +
+                    "Тело запроса: {\"routeId\": \"r1\", \"passengers\": [{\"passengerFullName\": ..., \"passengerPhone\": ..., \"passengerEmail\": ...}, ...]}; все пассажиры должны быть зарегистрированы. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном создании возвращается статус 201 и список бронирований в порядке пассажиров запроса. " +
+                    "Если данные пассажиров некорректны, мест недостаточно, маршрут уже отправился или до отправления осталось менее 30 минут, возвращается статус 400 с сообщением об ошибке (с номерами пассажиров). " +
+                    "Если маршрут или пассажиры не найдены, возвращается статус 404 с номерами не найденных пассажиров. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "201", description = "Бронирования группы успешно созданы."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные пассажиров, недостаточно мест, маршрут уже отправился или до отправления осталось менее 30 минут."),
+                    @ApiResponse(responseCode = "404", description = "Маршрут или пассажиры не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/group")
+    public ResponseEntity<?> createGroupBooking(@RequestBody GroupBookingRequest request) {
+        try {
+            List<BookingView> bookingTickets = bookingTicketService.createGroupBooking(request.getRouteId(), request.getPassengers());
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookingTickets);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Обработка ошибки некорректных данных пассажиров или состояния маршрута
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия маршрута или пассажиров
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при создании группового бронирования: " + e.getMessage());
+        }
+    }
+
     // Удаление бронирования по идентификатору с проверкой времени до отправления
     @Operation(
             summary = "Удаление бронирования по ID",
@@ -154,6 +240,8 @@ public class BookingTicketController {
                     "При успешном удалении возвращается статус 200 с сообщением об успехе. " +
                     "Если бронирование не найдено, возвращается статус 404 с сообщением об ошибке. " +
                     "Если маршрут уже отправился или до отправления осталось менее 30 минут, возвращается статус 400 с сообщением об ошибке. " +
+                    "Если передан заголовок Idempotency-Key, повторный запрос с тем же ключом не возвращает место повторно, " +
+                    "а получает исходный ответ с заголовком Idempotent-Replayed: true. " +
                     "При отсутствии доступа возвращается статус 403. " +
                     "При некорректных данных возвращается статус 400 с сообщением об ошибке."
     )
@@ -170,8 +258,20 @@ public class BookingTicketController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteBookingTicket(
             @Parameter(description = "Идентификатор бронирования для удаления", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            @Parameter(description = "Ключ идемпотентности (например, UUID), одинаковый для всех повторов одного запроса")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         try {
+            if (idempotencyKey != null) {
+                if (!ValidationUtil.isValidIdempotencyKey(idempotencyKey)) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат ключа идемпотентности: от 1 до 255 видимых символов ASCII.");
+                }
+                // Бронирование удаляется один раз для ключа, повтор получает исходный ответ
+                return idempotencyService.execute(idempotencyKey, "DELETE /booking-tickets", id, HttpStatus.OK, () -> {
+                    bookingTicketService.deleteBookingTicket(id);
+                    return "Бронирование успешно удалено.";
+                }).toResponseEntity();
+            }
             // Удаление бронирования по идентификатору через сервис
             bookingTicketService.deleteBookingTicket(id);
             return ResponseEntity.ok("Бронирование успешно удалено.");
@@ -218,7 +318,7 @@ public class BookingTicketController {
             @PathVariable String passengerPhone) {
         try {
             // Поиск бронирования по идентификатору маршрута и номеру телефона пассажира
-            BookingTicket bookingTicket = bookingTicketService.getBookingTicketByRouteAndPassengerPhone(routeId, passengerPhone);
+            BookingView bookingTicket = bookingTicketService.getBookingTicketByRouteAndPassengerPhone(routeId, passengerPhone);
             return ResponseEntity.ok(bookingTicket);
         } catch (IllegalArgumentException e) {
             // Обработка ошибки некорректных параметров
@@ -258,7 +358,7 @@ public class BookingTicketController {
             @PathVariable String routeId) {
         try {
             // Получение списка бронирований для указанного маршрута через сервис
-            List<BookingTicket> bookingTickets = bookingTicketService.getBookingTicketsByRoute(routeId);
+            List<BookingView> bookingTickets = bookingTicketService.getBookingTicketsByRoute(routeId);
             if (bookingTickets.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Бронирования для маршрута с ID " + routeId + " не найдены.");
@@ -301,7 +401,7 @@ public class BookingTicketController {
             @PathVariable String passengerEmail) {
         try {
             // Поиск бронирований по электронной почте пассажира через сервис
-            List<BookingTicket> bookingTickets = bookingTicketService.getBookingTicketsByPassengerEmail(passengerEmail);
+            List<BookingView> bookingTickets = bookingTicketService.getBookingTicketsByPassengerEmail(passengerEmail);
             if (bookingTickets.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Бронирования для пользователя с email " + passengerEmail + " не найдены.");
@@ -319,4 +419,16 @@ public class BookingTicketController {
                     .body("Произошла ошибка при получении бронирований: " + e.getMessage());
         }
     }
+
+    // Ожидание результата бронирования из полосы: исключение с причиной отказа передается без обертки CompletionException
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.Journey;
+import com.example.backendpassengertransportation.service.JourneyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Контроллер для поиска поездок с пересадками между городами
+@RestController
+@RequestMapping("/journeys")
+public class JourneyController {
+
+    @Autowired
+    // Сервис для поиска поездок
+    private JourneyService journeyService;
+
+    // Поиск поездок с пересадками
+    @Operation(
+            summary = "Поиск поездок с пересадками",
+            description = "Возвращает поездки из одного или нескольких маршрутов между указанными городами. " +
+                    "Для каждого количества пересадок возвращается поездка, прибывающая раньше всех поездок с меньшим количеством пересадок; " +
+                    "поездки упорядочены по количеству пересадок. " +
+                    "Учитываются минимальное время пересадки и количество свободных мест на каждом маршруте. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "Если города не найдены или поездок нет, возвращается статус 404 с сообщением об ошибке. " +
+                    "При некорректных параметрах возвращается статус 400 с сообщением об ошибке. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с пустым списком."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Поездки успешно найдены."),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры поиска."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "404", description = "Поездки не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("")
+    public ResponseEntity<?> findJourneys(
+            @Parameter(description = "Город отправления", required = true)
+            @RequestParam String departureCity,
+            @Parameter(description = "Город назначения", required = true)
+            @RequestParam String destinationCity,
+            @Parameter(description = "Минимальное время отправления в формате ISO_LOCAL_DATE_TIME (например, '2025-03-14T10:00:00'); по умолчанию - через 30 минут", required = false)
+            @RequestParam(required = false) String departureTime,
+            @Parameter(description = "Максимальное количество маршрутов в поездке (от 1 до 5, по умолчанию 3)", required = false)
+            @RequestParam(required = false) Integer maxLegs,
+            @Parameter(description = "Минимальное время пересадки в минутах (по умолчанию 30)", required = false)
+            @RequestParam(required = false) Integer minTransferMinutes,
+            @Parameter(description = "Количество пассажиров (по умолчанию 1)", required = false)
+            @RequestParam(required = false) Integer passengers) {
+        try {
+            // Парсинг минимального времени отправления, если оно указано
+            Timestamp departureAfter = departureTime != null && !departureTime.isEmpty()
+                    ? Timestamp.valueOf(LocalDateTime.parse(departureTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                    : null;
+            // Поиск поездок через сервис
+            List<Journey> journeys = journeyService.findJourneys(departureCity, destinationCity, departureAfter,
+                    maxLegs, minTransferMinutes, passengers);
+            return ResponseEntity.ok(journeys);
+        } catch (DateTimeParseException e) {
+            // Обработка ошибки некорректного формата времени отправления
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат времени отправления. Используйте 'yyyy-MM-ddTHH:mm:ss'.");
+        } catch (IllegalArgumentException e) {
+            // Обработка ошибки некорректных параметров поиска
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия городов или поездок
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backendpassengertransportation.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.concurrent.RejectedExecutionException;
+
+// Общий обработчик перегрузки сервера для всех контроллеров
+// Запросы, отклоненные переполненной очередью (пул хеширования паролей, полосы бронирования),
+// получают ответ 503 с заголовком Retry-After вместо внутренней ошибки сервера
+@RestControllerAdvice
+public class OverloadExceptionHandler {
+
+    // Рекомендуемая задержка повторного запроса при перегрузке, в секундах (заголовок Retry-After)
+    public static final String RETRY_AFTER_SECONDS = "1";
+
+    // Обработка отклоненного из-за перегрузки запроса
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<String> handleRejectedExecution(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(e.getMessage());
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.backendpassengertransportation.controller;
 
 import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteCursorPage;
+import com.example.backendpassengertransportation.model.RouteView;
 import com.example.backendpassengertransportation.service.RouteService;
+import com.example.backendpassengertransportation.util.StreamedJson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +20,7 @@ import org.springframework.data.domain.Page;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -33,6 +38,8 @@ public class RouteController {
     @Operation(
             summary = "Получение списка всех маршрутов",
             description = "Возвращает список всех доступных маршрутов в системе. " +
+                    "Тип транспорта и города отправления и назначения передаются названиями. " +
+                    "Список передается клиенту по мере чтения из базы данных; при заголовке Accept: application/x-ndjson каждый элемент записывается отдельной строкой. " +
                     "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
                     "Если маршруты отсутствуют, возвращается статус 404 с сообщением об ошибке. " +
                     "При отсутствии доступа возвращается статус 403. " +
@@ -49,14 +56,15 @@ public class RouteController {
     )
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("")
-    public ResponseEntity<?> getAllRoutes() {
+    public ResponseEntity<?> getAllRoutes(
+            @Parameter(description = "Формат ответа: application/json (JSON-массив, по умолчанию) или application/x-ndjson (по одному объекту в строке)")
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            // Получение списка всех маршрутов через сервис
-            List<Route> routes = routeService.getAllRoutes();
-            return ResponseEntity.ok(routes);
-        } catch (NoSuchElementException e) {
-            // Обработка ошибки отсутствия маршрутов
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            if (!routeService.hasRoutes()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Маршруты не найдены.");
+            }
+            // Маршруты записываются в ответ по мере чтения из базы данных, без построения полного списка
+            return StreamedJson.<RouteView>ok(accept, routeService::streamAllRoutes);
         } catch (Exception e) {
             // Обработка внутренней ошибки сервера
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
@@ -92,7 +100,7 @@ public class RouteController {
             @RequestParam(required = false) String minDepartureTime) {
         try {
             // Получение списка маршрутов с пагинацией через сервис
-            Page<Route> routesPage;
+            Page<RouteView> routesPage;
             if (minDepartureTime != null) {
                 // Парсинг минимального времени отправления и получение маршрутов с учетом фильтра
                 LocalDateTime minTime = LocalDateTime.parse(minDepartureTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
@@ -114,6 +122,139 @@ public class RouteController {
         }
     }
 
+    // Получение маршрутов постранично по курсору
+    @Operation(
+            summary = "Получение списка маршрутов с пагинацией по курсору",
+            description = "Возвращает страницу маршрутов, упорядоченных по времени отправления и ID маршрута. " +
+                    "Вместо номера страницы передается курсор из поля nextCursor или prevCursor предыдущего ответа, " +
+                    "поэтому переход на любую страницу выполняется так же быстро, как на первую, а общее количество маршрутов не подсчитывается. " +
+                    "Без курсора возвращается первая страница. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "Если маршруты отсутствуют, возвращается статус 404 с сообщением об ошибке. " +
+                    "При некорректных параметрах возвращается статус 400. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с пустым списком."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Страница маршрутов успешно получена."),
+                    @ApiResponse(responseCode = "400", description = "Некорректный курсор или параметры страницы."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "404", description = "Маршруты не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/paginated/cursor")
+    public ResponseEntity<?> getRoutesByCursor(
+            @Parameter(description = "Курсор из ответа на предыдущий запрос, для первой страницы не указывается", required = false)
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Количество маршрутов на странице", required = false)
+            @RequestParam(defaultValue = "16") int size,
+            @Parameter(description = "Направление перехода: 'next' - страница после курсора, 'prev' - страница перед курсором", required = false)
+            @RequestParam(defaultValue = "next") String direction,
+            @Parameter(description = "Минимальное время отправления в формате ISO_LOCAL_DATE_TIME (например, '2025-03-14T10:00:00'), необязательно", required = false)
+            @RequestParam(required = false) String minDepartureTime) {
+        try {
+            // Парсинг минимального времени отправления, если оно указано
+            Timestamp minTime = minDepartureTime != null
+                    ? Timestamp.valueOf(LocalDateTime.parse(minDepartureTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                    : null;
+            // Получение страницы маршрутов по курсору через сервис
+            RouteCursorPage routesPage = routeService.getRoutesByCursor(cursor, size, direction, minTime);
+            // Проверка, пустая ли страница маршрутов
+            if (routesPage.getContent().isEmpty()) {
+                // Обработка случая, когда маршруты не найдены
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Маршруты не найдены.");
+            }
+            // Возврат страницы маршрутов с курсорами соседних страниц
+            return ResponseEntity.ok(routesPage);
+        } catch (DateTimeParseException e) {
+            // Обработка ошибки некорректного формата минимального времени отправления
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат минимального времени отправления. Используйте 'yyyy-MM-ddTHH:mm:ss'.");
+        } catch (IllegalArgumentException e) {
+            // Обработка ошибки некорректных параметров
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+
+    // Комбинированный поиск маршрутов по нескольким критериям
+    @Operation(
+            summary = "Поиск маршрутов по нескольким критериям",
+            description = "Возвращает страницу маршрутов, удовлетворяющих всем указанным критериям: типу транспорта, " +
+                    "городам отправления и назначения, дате или диапазону дат отправления, минимальному времени отправления " +
+                    "и минимальному количеству свободных мест. Незаданные критерии не учитываются. " +
+                    "Поиск выполняется одним запросом к базе данных с сортировкой и пагинацией. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "Если маршруты не найдены, возвращается статус 404 с сообщением об ошибке. " +
+                    "При некорректных параметрах возвращается статус 400. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с пустым списком."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Страница маршрутов успешно получена."),
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры поиска."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "404", description = "Маршруты не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/search")
+    public ResponseEntity<?> searchRoutes(
+            @Parameter(description = "Тип транспорта", required = false)
+            @RequestParam(required = false) String transportType,
+            @Parameter(description = "Город отправления", required = false)
+            @RequestParam(required = false) String departureCity,
+            @Parameter(description = "Город назначения", required = false)
+            @RequestParam(required = false) String destinationCity,
+            @Parameter(description = "Дата отправления или начало диапазона дат в формате 'dd.MM.yyyy'", required = false)
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "Конец диапазона дат отправления в формате 'dd.MM.yyyy' (включительно)", required = false)
+            @RequestParam(required = false) String endDate,
+            @Parameter(description = "Минимальное время отправления в формате ISO_LOCAL_DATE_TIME (например, '2025-03-14T10:00:00')", required = false)
+            @RequestParam(required = false) String minDepartureTime,
+            @Parameter(description = "Минимальное количество свободных мест", required = false)
+            @RequestParam(required = false) Integer minAvailableSeats,
+            @Parameter(description = "Номер страницы (начинается с 0)", required = false)
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Количество маршрутов на странице", required = false)
+            @RequestParam(defaultValue = "16") int size,
+            @Parameter(description = "Поле сортировки: departureTime, arrivalTime или numberAvailableSeats", required = false)
+            @RequestParam(defaultValue = "departureTime") String sortBy,
+            @Parameter(description = "Направление сортировки: asc или desc", required = false)
+            @RequestParam(defaultValue = "asc") String direction) {
+        try {
+            // Парсинг минимального времени отправления, если оно указано
+            Timestamp minTime = minDepartureTime != null && !minDepartureTime.isEmpty()
+                    ? Timestamp.valueOf(LocalDateTime.parse(minDepartureTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                    : null;
+            // Поиск маршрутов через сервис
+            Page<RouteView> routesPage = routeService.searchRoutes(transportType, departureCity, destinationCity,
+                    startDate, endDate, minTime, minAvailableSeats, page, size, sortBy, direction);
+            if (routesPage.isEmpty()) {
+                // Обработка случая, когда маршруты не найдены
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Маршруты не найдены.");
+            }
+            return ResponseEntity.ok(routesPage);
+        } catch (DateTimeParseException e) {
+            // Обработка ошибки некорректного формата минимального времени отправления
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Неверный формат минимального времени отправления. Используйте 'yyyy-MM-ddTHH:mm:ss'.");
+        } catch (IllegalArgumentException e) {
+            // Обработка ошибки некорректных параметров поиска
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+
     // Получение маршрута по идентификатору
     @Operation(
             summary = "Получение маршрута по ID",
@@ -139,7 +280,7 @@ public class RouteController {
             @PathVariable String id) {
         try {
             // Поиск маршрута по идентификатору через сервис
-            Route route = routeService.getRouteById(id);
+            RouteView route = routeService.getRouteById(id);
             return ResponseEntity.ok(route);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрута
@@ -175,7 +316,7 @@ public class RouteController {
             @PathVariable String transportType) {
         try {
             // Поиск маршрутов по типу транспорта через сервис
-            List<Route> routes = routeService.getRoutesByTransportType(transportType);
+            List<RouteView> routes = routeService.getRoutesByTransportType(transportType);
             return ResponseEntity.ok(routes);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрутов
@@ -213,7 +354,7 @@ public class RouteController {
             @RequestParam String destinationCity) {
         try {
             // Поиск маршрутов по пунктам отправления и назначения через сервис
-            List<Route> routes = routeService.getRoutesByDepartureAndDestinationPoint(departureCity, destinationCity);
+            List<RouteView> routes = routeService.getRoutesByDepartureAndDestinationPoint(departureCity, destinationCity);
             if (routes.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Маршруты не найдены.");
             }
@@ -252,7 +393,7 @@ public class RouteController {
             @PathVariable String departureCity) {
         try {
             // Поиск маршрутов по пункту отправления через сервис
-            List<Route> routes = routeService.getRoutesByDepartureCity(departureCity);
+            List<RouteView> routes = routeService.getRoutesByDepartureCity(departureCity);
             return ResponseEntity.ok(routes);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрутов
@@ -288,7 +429,7 @@ public class RouteController {
             @PathVariable String destinationCity) {
         try {
             // Поиск маршрутов по пункту назначения через сервис
-            List<Route> routes = routeService.getRoutesByDestinationCity(destinationCity);
+            List<RouteView> routes = routeService.getRoutesByDestinationCity(destinationCity);
             return ResponseEntity.ok(routes);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрутов
@@ -339,7 +480,7 @@ public class RouteController {
             // Создание нового маршрута через сервис
             Route newRoute = routeService.createRoute(transportType, departureCity, destinationCity,
                     departureTime, arrivalTime, totalNumberSeats, numberAvailableSeats);
-            return ResponseEntity.status(HttpStatus.CREATED).body(newRoute);
+            return ResponseEntity.status(HttpStatus.CREATED).body(RouteView.from(newRoute));
         } catch (IllegalArgumentException e) {
             // Обработка ошибки некорректных параметров
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -415,7 +556,7 @@ public class RouteController {
             @RequestParam String exactDate) {
         try {
             // Поиск маршрутов по точной дате через сервис
-            List<Route> routes = routeService.fetchRoutesForExactDate(exactDate);
+            List<RouteView> routes = routeService.fetchRoutesForExactDate(exactDate);
             return ResponseEntity.ok(routes);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрутов
@@ -457,7 +598,7 @@ public class RouteController {
             @RequestParam String endDate) {
         try {
             // Поиск маршрутов по диапазону дат через сервис
-            List<Route> routes = routeService.fetchRoutesWithinDateRange(startDate, endDate);
+            List<RouteView> routes = routeService.fetchRoutesWithinDateRange(startDate, endDate);
             return ResponseEntity.ok(routes);
         } catch (NoSuchElementException e) {
             // Обработка ошибки отсутствия маршрутов
@@ -0,0 +1,162 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.SeatHold;
+import com.example.backendpassengertransportation.service.SeatHoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Контроллер для удержания мест маршрута на время оформления бронирования: создание, подтверждение и освобождение
+@RestController
+@RequestMapping("/routes/{routeId}/holds")
+public class SeatHoldController {
+
+    @Autowired
+    // Сервис для работы с удержаниями мест
+    private SeatHoldService seatHoldService;
+
+    // Удержание мест маршрута
+    @Operation(
+            summary = "Удержание мест маршрута",
+            description = "Резервирует указанное количество мест маршрута на ограниченное время и возвращает удержание с токеном (idHold) и временем истечения срока. " +
+                    "Пока удержание действует, места недоступны для других пассажиров; если удержание не подтверждено до истечения срока, места возвращаются автоматически. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном удержании возвращается статус 201 и созданное удержание. " +
+                    "Если количество мест некорректно, свободных мест недостаточно, маршрут уже отправился или до отправления осталось менее 30 минут, возвращается статус 400 с сообщением об ошибке. " +
+                    "Если маршрут не найден, возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "201", description = "Места успешно удержаны."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "400", description = "Некорректное количество мест, недостаточно свободных мест, маршрут уже отправился или до отправления осталось менее 30 минут."),
+                    @ApiResponse(responseCode = "404", description = "Маршрут не найден."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("")
+    public ResponseEntity<?> createHold(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Количество удерживаемых мест (по умолчанию 1)")
+            @RequestParam(defaultValue = "1") int seats) {
+        try {
+            SeatHold hold = seatHoldService.createHold(routeId, seats);
+            return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Обработка ошибки некорректных параметров или состояния маршрута
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия маршрута
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при удержании мест: " + e.getMessage());
+        }
+    }
+
+    // Подтверждение удержания: создание бронирований на удержанные места
+    @Operation(
+            summary = "Подтверждение удержания мест",
+            description = "Создает по одному бронированию на каждое удержанное место для указанного пассажира и удаляет удержание. " +
+                    "Количество доступных мест маршрута не изменяется: места были списаны при удержании. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном подтверждении возвращается статус 201 и список созданных бронирований. " +
+                    "Если переданы некорректные данные пассажира или срок удержания истек, возвращается статус 400 с сообщением об ошибке. " +
+                    "Если удержание или пользователь не найдены, возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "201", description = "Бронирования успешно созданы."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные пассажира или срок удержания истек."),
+                    @ApiResponse(responseCode = "404", description = "Удержание или пользователь не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<?> confirmHold(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Токен удержания", required = true)
+            @PathVariable String holdId,
+            @Parameter(description = "Полное имя пассажира", required = true)
+            @RequestParam String passengerFullName,
+            @Parameter(description = "Номер телефона пассажира", required = true)
+            @RequestParam String passengerPhone,
+            @Parameter(description = "Email пассажира", required = true)
+            @RequestParam String passengerEmail) {
+        try {
+            List<BookingView> bookingTickets = seatHoldService.confirmHold(routeId, holdId, passengerFullName, passengerPhone, passengerEmail);
+            return ResponseEntity.status(HttpStatus.CREATED).body(bookingTickets);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Обработка ошибки некорректных данных или истекшего срока удержания
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия удержания или пользователя
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при подтверждении удержания: " + e.getMessage());
+        }
+    }
+
+    // Освобождение удержания до истечения срока
+    @Operation(
+            summary = "Освобождение удержания мест",
+            description = "Удаляет удержание и возвращает удержанные места маршруту. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном освобождении возвращается статус 200 с сообщением об успехе. " +
+                    "Если удержание не найдено (в том числе подтверждено или истекло), возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Удержание успешно освобождено."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "404", description = "Удержание не найдено."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<?> releaseHold(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Токен удержания", required = true)
+            @PathVariable String holdId) {
+        try {
+            seatHoldService.releaseHold(routeId, holdId);
+            return ResponseEntity.ok("Удержание мест успешно освобождено.");
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия удержания
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при освобождении удержания: " + e.getMessage());
+        }
+    }
+}
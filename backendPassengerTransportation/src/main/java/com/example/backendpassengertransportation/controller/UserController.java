@@ -2,12 +2,14 @@ package com.example.backendpassengertransportation.controller;
 
 import com.example.backendpassengertransportation.model.User;
 import com.example.backendpassengertransportation.service.UserService;
+import com.example.backendpassengertransportation.util.StreamedJson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,7 +18,6 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Collections;
-import java.util.List;
 import java.util.NoSuchElementException;
 
 // Контроллер для управления пользователями, предоставляет CRUD-операции
@@ -32,6 +33,7 @@ public class UserController {
     @Operation(
             summary = "Получение списка всех пользователей",
             description = "Возвращает список всех пользователей, доступных в системе. " +
+                    "Список передается клиенту по мере чтения из базы данных; при заголовке Accept: application/x-ndjson каждый элемент записывается отдельной строкой. " +
                     "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
                     "Если пользователи отсутствуют, возвращается статус 404 с сообщением об ошибке. " +
                     "При отсутствии доступа возвращается статус 403. " +
@@ -48,14 +50,15 @@ public class UserController {
     )
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("")
-    public ResponseEntity<?> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(
+            @Parameter(description = "Формат ответа: application/json (JSON-массив, по умолчанию) или application/x-ndjson (по одному объекту в строке)")
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            // Получение списка всех пользователей через сервис
-            List<User> users = userService.getAllUsers();
-            if (users.isEmpty()) {
+            if (!userService.hasUsers()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Пользователи не найдены.");
             }
-            return ResponseEntity.ok(users);
+            // Пользователи записываются в ответ по мере чтения из базы данных, без построения полного списка
+            return StreamedJson.<User>ok(accept, userService::streamAllUsers);
         } catch (Exception e) {
             // Обработка внутренней ошибки сервера
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
@@ -147,7 +150,8 @@ public class UserController {
                     @ApiResponse(responseCode = "201", description = "Пользователь успешно создан."),
                     @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
                     @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
-                    @ApiResponse(responseCode = "400", description = "Некорректные параметры.")
+                    @ApiResponse(responseCode = "400", description = "Некорректные параметры."),
+                    @ApiResponse(responseCode = "503", description = "Сервер перегружен запросами хеширования паролей, повторите попытку через время из заголовка Retry-After.")
             }
     )
     @SecurityRequirement(name = "bearerAuth")
@@ -209,7 +213,8 @@ public class UserController {
                     @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
                     @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
                     @ApiResponse(responseCode = "400", description = "Некорректные параметры."),
-                    @ApiResponse(responseCode = "404", description = "Пользователь не найден.")
+                    @ApiResponse(responseCode = "404", description = "Пользователь не найден."),
+                    @ApiResponse(responseCode = "503", description = "Сервер перегружен запросами хеширования паролей, повторите попытку через время из заголовка Retry-After.")
             }
     )
     @SecurityRequirement(name = "bearerAuth")
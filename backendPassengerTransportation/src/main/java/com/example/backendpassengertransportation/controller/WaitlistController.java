@@ -0,0 +1,158 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.WaitlistEntry;
+import com.example.backendpassengertransportation.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.NoSuchElementException;
+
+// Контроллер для листа ожидания маршрута без свободных мест: постановка в очередь, проверка состояния и выход из очереди
+@RestController
+@RequestMapping("/routes/{routeId}/waitlist")
+public class WaitlistController {
+
+    @Autowired
+    // Сервис для работы с листом ожидания
+    private WaitlistService waitlistService;
+
+    // Постановка пассажира в лист ожидания маршрута
+    @Operation(
+            summary = "Постановка в лист ожидания",
+            description = "Ставит пассажира в очередь ожидания маршрута, на котором не осталось свободных мест, и возвращает запись с токеном (idEntry) и состоянием. " +
+                    "Место, освободившееся при отмене бронирования, освобождении или истечении удержания, сразу получает первая запись очереди: для пассажира создается бронирование, " +
+                    "а запись переходит в состояние 'promoted' с ID бронирования. Если свободное место есть уже при постановке, бронирование создается сразу. " +
+                    "Повторная постановка того же пассажира возвращает существующую запись. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешной постановке возвращается статус 201 и запись листа ожидания. " +
+                    "Если переданы некорректные данные пассажира, маршрут уже отправился или до отправления осталось менее 30 минут, возвращается статус 400 с сообщением об ошибке. " +
+                    "Если маршрут или пользователь не найдены, возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "201", description = "Пассажир поставлен в лист ожидания или место забронировано сразу."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "400", description = "Некорректные данные пассажира, маршрут уже отправился или до отправления осталось менее 30 минут."),
+                    @ApiResponse(responseCode = "404", description = "Маршрут или пользователь не найдены."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("")
+    public ResponseEntity<?> joinWaitlist(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Полное имя пассажира", required = true)
+            @RequestParam String passengerFullName,
+            @Parameter(description = "Номер телефона пассажира", required = true)
+            @RequestParam String passengerPhone,
+            @Parameter(description = "Email пассажира", required = true)
+            @RequestParam String passengerEmail) {
+        try {
+            WaitlistEntry entry = waitlistService.joinWaitlist(routeId, passengerFullName, passengerPhone, passengerEmail);
+            return ResponseEntity.status(HttpStatus.CREATED).body(entry);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Обработка ошибки некорректных данных или состояния маршрута
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия маршрута или пользователя
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при постановке в лист ожидания: " + e.getMessage());
+        }
+    }
+
+    // Получение записи листа ожидания
+    @Operation(
+            summary = "Получение записи листа ожидания",
+            description = "Возвращает запись листа ожидания по токену: состояние 'waiting' (пассажир ожидает место) или 'promoted' (место получено, указан ID бронирования). " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном запросе возвращается статус 200 и запись листа ожидания. " +
+                    "Если запись не найдена (в том числе пассажир вышел из листа ожидания), возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Запись листа ожидания найдена."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "404", description = "Запись листа ожидания не найдена."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/{entryId}")
+    public ResponseEntity<?> getEntry(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Токен записи листа ожидания", required = true)
+            @PathVariable String entryId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getEntry(routeId, entryId));
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия записи
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при получении записи листа ожидания: " + e.getMessage());
+        }
+    }
+
+    // Выход из листа ожидания
+    @Operation(
+            summary = "Выход из листа ожидания",
+            description = "Удаляет ожидающую запись из очереди маршрута. " +
+                    "Для выполнения запроса необходимо авторизоваться: в Swagger UI нажмите кнопку 'Authorize' в верхней части страницы и введите валидный JWT-токен. " +
+                    "При успешном выходе возвращается статус 200 с сообщением об успехе. " +
+                    "Если запись уже получила место, возвращается статус 400 с ID созданного бронирования (бронирование отменяется отдельным запросом). " +
+                    "Если запись не найдена, возвращается статус 404. " +
+                    "При отсутствии доступа возвращается статус 403. " +
+                    "При внутренней ошибке сервера возвращается статус 500 с сообщением об ошибке."
+    )
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Пассажир вышел из листа ожидания."),
+                    @ApiResponse(responseCode = "401", description = "Недействительный или отсутствующий токен."),
+                    @ApiResponse(responseCode = "403", description = "Нет доступа к выполнению операции."),
+                    @ApiResponse(responseCode = "400", description = "Запись уже получила место."),
+                    @ApiResponse(responseCode = "404", description = "Запись листа ожидания не найдена."),
+                    @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера.")
+            }
+    )
+    @SecurityRequirement(name = "bearerAuth")
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<?> leaveWaitlist(
+            @Parameter(description = "Идентификатор маршрута", required = true)
+            @PathVariable String routeId,
+            @Parameter(description = "Токен записи листа ожидания", required = true)
+            @PathVariable String entryId) {
+        try {
+            waitlistService.leaveWaitlist(routeId, entryId);
+            return ResponseEntity.ok("Пассажир успешно удален из листа ожидания.");
+        } catch (IllegalStateException e) {
+            // Обработка ошибки: запись уже получила место
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            // Обработка ошибки отсутствия записи
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            // Обработка внутренней ошибки сервера
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Произошла ошибка при выходе из листа ожидания: " + e.getMessage());
+        }
+    }
+}
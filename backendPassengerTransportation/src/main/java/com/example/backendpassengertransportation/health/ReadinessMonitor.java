@@ -0,0 +1,97 @@
+package com.example.backendpassengertransportation.health;
+
+import com.example.backendpassengertransportation.model.ReadinessStatus;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+// Периодическая проверка готовности сервера: получение соединения из пула и проверка его действительности
+// Запрос готовности возвращает результат последней проверки и не обращается к базе данных
+// Входит в группу readiness проверки состояния Actuator (/actuator/health/readiness):
+// без авторизации выдается только состояние UP или DOWN, показатели пула соединений - только авторизованным запросам
+@Component
+public class ReadinessMonitor implements HealthIndicator {
+
+    // Время ожидания ответа базы данных при проверке соединения, в секундах
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    @Autowired
+    // Источник соединений с базой данных
+    private DataSource dataSource;
+
+    // Интервал проверки, в миллисекундах
+    @Value("${app.readiness.refresh-ms:2000}")
+    private long refreshMillis;
+
+    // Результат последней проверки (null, пока проверка не выполнялась)
+    private volatile ReadinessStatus status;
+
+    // Получение состояния готовности
+    // Если проверка не выполнялась или ее результат устарел (проверка зависла в ожидании соединения),
+    // сервер считается неготовым; самая первая проверка выполняется при первом запросе
+    public ReadinessStatus getStatus() {
+        ReadinessStatus current = status;
+        if (current == null) {
+            synchronized (this) {
+                if (status == null) {
+                    refresh();
+                }
+                return status;
+            }
+        }
+        if (System.currentTimeMillis() - current.getCheckedAt().getTime() > 3 * refreshMillis) {
+            return new ReadinessStatus(false, current.getCheckedAt(), current.getActiveConnections(),
+                    current.getIdleConnections(), current.getThreadsAwaitingConnection());
+        }
+        return current;
+    }
+
+    // Состояние для проверки состояния Actuator: результат последней проверки и показатели пула соединений
+    @Override
+    public Health health() {
+        ReadinessStatus current = getStatus();
+        return (current.isReady() ? Health.up() : Health.down())
+                .withDetail("checkedAt", current.getCheckedAt())
+                .withDetail("activeConnections", current.getActiveConnections())
+                .withDetail("idleConnections", current.getIdleConnections())
+                .withDetail("threadsAwaitingConnection", current.getThreadsAwaitingConnection())
+                .build();
+    }
+
+    // Проверка соединения с базой данных по таймеру (первая - через интервал после запуска)
+    @Scheduled(fixedDelayString = "${app.readiness.refresh-ms:2000}", initialDelayString = "${app.readiness.refresh-ms:2000}")
+    public void refresh() {
+        boolean ready;
+        try (Connection connection = dataSource.getConnection()) {
+            ready = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            ready = false;
+        }
+        HikariPoolMXBean pool = poolStatistics();
+        status = new ReadinessStatus(ready, new Timestamp(System.currentTimeMillis()),
+                pool != null ? pool.getActiveConnections() : -1,
+                pool != null ? pool.getIdleConnections() : -1,
+                pool != null ? pool.getThreadsAwaitingConnection() : -1);
+    }
+
+    // Статистика пула соединений HikariCP, если используется этот пул
+    private HikariPoolMXBean poolStatistics() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                    : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.backendpassengertransportation.hold;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Хешированное колесо таймеров для истечения удержаний мест
+// Колесо состоит из ячеек, каждая из которых соответствует одному такту; удержание помещается в ячейку такта,
+// на котором истекает его срок. При продвижении колеса просматриваются только ячейки прошедших тактов,
+// поэтому добавление, отмена и истечение удержания не зависят от общего количества удержаний
+// Удержания со сроком дальше одного оборота колеса остаются в ячейке до нужного оборота
+public final class HoldTimingWheel {
+
+    // Удержание, ожидающее истечения срока
+    public record Entry(String idHold, String idRoute, int seats, long deadlineTick) {
+    }
+
+    private final long tickMillis; // Длительность такта, мс
+    private final long startMillis; // Время начала отсчета тактов, мс
+    private final List<Map<String, Entry>> slots; // Ячейки колеса: удержания по ID
+    private final Map<String, Entry> entries = new HashMap<>(); // Все удержания по ID
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Последний обработанный такт
+    private long currentTick;
+
+    public HoldTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Длительность такта и количество ячеек колеса должны быть положительными.");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashMap<>());
+        }
+    }
+
+    // Добавление удержания со сроком expiresAtMillis (повторное добавление заменяет прежний срок)
+    // Удержание с уже истекшим сроком истекает на следующем такте
+    public void schedule(String idHold, String idRoute, int seats, long expiresAtMillis) {
+        lock.lock();
+        try {
+            removeEntry(idHold);
+            long deadlineTick = Math.max(currentTick + 1, Math.floorDiv(expiresAtMillis - startMillis + tickMillis - 1, tickMillis));
+            Entry entry = new Entry(idHold, idRoute, seats, deadlineTick);
+            entries.put(idHold, entry);
+            slotOf(deadlineTick).put(idHold, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Отмена удержания (подтверждение или освобождение); возвращает false, если удержания нет в колесе
+    public boolean cancel(String idHold) {
+        lock.lock();
+        try {
+            return removeEntry(idHold) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Продвижение колеса до момента nowMillis; возвращает удержания, срок которых истек
+    public List<Entry> advance(long nowMillis) {
+        List<Entry> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+            // При отставании больше чем на оборот достаточно одного оборота: каждая ячейка просматривается один раз
+            if (targetTick - currentTick > slots.size()) {
+                currentTick = targetTick - slots.size();
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                Iterator<Entry> iterator = slotOf(currentTick).values().iterator();
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+                    if (entry.deadlineTick() <= targetTick) {
+                        iterator.remove();
+                        entries.remove(entry.idHold());
+                        expired.add(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    // Количество удержаний в колесе
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Entry removeEntry(String idHold) {
+        Entry entry = entries.remove(idHold);
+        if (entry != null) {
+            slotOf(entry.deadlineTick()).remove(idHold);
+        }
+        return entry;
+    }
+
+    private Map<String, Entry> slotOf(long tick) {
+        return slots.get((int) Math.floorMod(tick, slots.size()));
+    }
+}
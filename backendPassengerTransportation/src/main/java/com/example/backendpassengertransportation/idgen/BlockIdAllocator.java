@@ -0,0 +1,144 @@
+package com.example.backendpassengertransportation.idgen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Базовый распределитель идентификаторов блоками (hi/lo)
+// Из базы данных за одно обращение резервируется блок из blockSize номеров,
+// которые затем выдаются из памяти без обращения к базе данных
+public abstract class BlockIdAllocator implements IdAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockIdAllocator.class);
+
+    // Шаблон для выполнения SQL-запросов
+    protected final JdbcTemplate jdbcTemplate;
+
+    // Размер резервируемого блока номеров
+    protected final int blockSize;
+
+    // Текущие блоки номеров для каждой последовательности
+    private final Map<IdSequence, Block> blocks = new EnumMap<>(IdSequence.class);
+
+    protected BlockIdAllocator(JdbcTemplate jdbcTemplate, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Размер блока идентификаторов должен быть больше нуля.");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.blockSize = blockSize;
+        for (IdSequence sequence : IdSequence.values()) {
+            blocks.put(sequence, new Block());
+        }
+    }
+
+    // Инициализация последовательностей после запуска приложения, вне транзакций запросов
+    // (после применения изменений схемы); при ошибке последовательность инициализируется при первом обращении
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeSequences() {
+        for (IdSequence sequence : IdSequence.values()) {
+            Block block = blocks.get(sequence);
+            block.lock.lock();
+            try {
+                if (!block.initialized) {
+                    block.size = initializeSequence(sequence);
+                    block.initialized = true;
+                }
+            } catch (Exception e) {
+                log.warn("Не удалось инициализировать последовательность {}: {}", sequence.getSequenceName(), e.getMessage());
+            } finally {
+                block.lock.unlock();
+            }
+        }
+    }
+
+    // Получение нового идентификатора: номер берется из текущего блока, при исчерпании блока резервируется новый
+    @Override
+    public String nextId(IdSequence sequence) {
+        Block block = blocks.get(sequence);
+        block.lock.lock();
+        try {
+            if (!block.initialized) {
+                block.size = initializeSequence(sequence);
+                block.initialized = true;
+                resetOnRollback(sequence);
+            }
+            if (block.next >= block.limit) {
+                long start = reserveBlock(sequence);
+                block.next = start;
+                block.limit = start + block.size;
+            }
+            return sequence.getPrefix() + (block.next++);
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    // Определение максимального существующего номера (выполняется только при создании хранилища последовательности)
+    protected long findMaxExistingNumber(IdSequence sequence) {
+        Long max = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(CAST(SUBSTRING(" + sequence.getIdColumn() + ", 2) AS BIGINT)), 0) FROM "
+                        + sequence.getTableName(),
+                Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // Сброс текущего блока: следующий идентификатор будет выдан из нового блока
+    protected void invalidateBlock(IdSequence sequence) {
+        Block block = blocks.get(sequence);
+        block.lock.lock();
+        try {
+            block.next = block.limit;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    // Повторная инициализация после отката транзакции, в которой последовательность была инициализирована
+    // В PostgreSQL создание последовательности откатывается вместе с транзакцией, поэтому блок также сбрасывается
+    private void resetOnRollback(IdSequence sequence) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    Block block = blocks.get(sequence);
+                    block.lock.lock();
+                    try {
+                        block.initialized = false;
+                        block.next = block.limit;
+                    } finally {
+                        block.lock.unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    // Создание хранилища последовательности, если оно отсутствует, с началом после максимального существующего номера
+    // Возвращает размер блока, резервируемого последовательностью (может отличаться от blockSize)
+    protected abstract long initializeSequence(IdSequence sequence);
+
+    // Резервирование нового блока: возвращает первый номер блока из размера, полученного при инициализации
+    protected abstract long reserveBlock(IdSequence sequence);
+
+    // Текущий блок номеров последовательности
+    // Блокировка вместо synchronized: резервирование блока обращается к базе данных, а ожидание ответа
+    // внутри synchronized закрепило бы виртуальный поток за потоком-носителем
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock(); // Блокировка выдачи номеров
+        private boolean initialized; // Признак инициализации последовательности
+        private long size; // Размер блока, резервируемого последовательностью
+        private long next; // Следующий выдаваемый номер
+        private long limit; // Граница блока (не включительно)
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backendpassengertransportation.idgen;
+
+// Распределитель идентификаторов сущностей в формате "префикс + число"
+// Реализации выдают уникальные номера без чтения всей таблицы сущности
+public interface IdAllocator {
+
+    // Получение нового идентификатора для указанной последовательности (например, "b124")
+    String nextId(IdSequence sequence);
+}
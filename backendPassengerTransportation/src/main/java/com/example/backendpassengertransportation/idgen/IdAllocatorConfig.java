@@ -0,0 +1,53 @@
+package com.example.backendpassengertransportation.idgen;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Конфигурация распределителя идентификаторов
+// Стратегия выбирается свойством app.id-allocator.strategy: sequence (по умолчанию, PostgreSQL) или table (SQLite)
+@Configuration
+public class IdAllocatorConfig {
+
+    // Размер блока номеров, резервируемого за одно обращение к базе данных
+    @Value("${app.id-allocator.block-size:50}")
+    private int blockSize;
+
+    // Распределитель на основе последовательностей базы данных
+    @Bean
+    @ConditionalOnProperty(name = "app.id-allocator.strategy", havingValue = "sequence", matchIfMissing = true)
+    public IdAllocator sequenceIdAllocator(JdbcTemplate jdbcTemplate) {
+        return new SequenceIdAllocator(jdbcTemplate, blockSize);
+    }
+
+    // Распределитель на основе таблицы счетчиков
+    // Блок резервируется в транзакции вызывающего кода, что корректно только при единственном соединении:
+    // при нескольких соединениях запуск прерывается
+    @Bean
+    @ConditionalOnProperty(name = "app.id-allocator.strategy", havingValue = "table")
+    public IdAllocator tableIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        DataSource dataSource) {
+        HikariDataSource pool = hikariPool(dataSource);
+        if (pool != null && pool.getMaximumPoolSize() > 1) {
+            throw new IllegalStateException("Распределитель идентификаторов table требует пул из одного соединения "
+                    + "(spring.datasource.hikari.maximum-pool-size=1), текущий размер пула: " + pool.getMaximumPoolSize() + ".");
+        }
+        return new TableIdAllocator(jdbcTemplate, transactionManager, blockSize);
+    }
+
+    // Пул Hikari, на основе которого работает источник соединений (null, если используется другой пул)
+    private static HikariDataSource hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.backendpassengertransportation.idgen;
+
+// Перечисление последовательностей идентификаторов сущностей
+// Для каждой сущности хранит префикс ID ("r123", "b123" и т.д.), таблицу и столбец первичного ключа
+public enum IdSequence {
+
+    ROUTE("r", "routes", "id_route"),
+    BOOKING_TICKET("b", "booking_tickets", "id_booking"),
+    USER("u", "users", "id_user"),
+    CITY("c", "cities", "id_city"),
+    TRANSPORT_TYPE("t", "types_of_transport", "id_transport_type");
+
+    private final String prefix; // Префикс идентификатора
+    private final String tableName; // Таблица сущности
+    private final String idColumn; // Столбец первичного ключа
+
+    IdSequence(String prefix, String tableName, String idColumn) {
+        this.prefix = prefix;
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+    }
+
+    // Метод для получения префикса идентификатора
+    public String getPrefix() {
+        return prefix;
+    }
+
+    // Метод для получения названия таблицы сущности
+    public String getTableName() {
+        return tableName;
+    }
+
+    // Метод для получения названия столбца первичного ключа
+    public String getIdColumn() {
+        return idColumn;
+    }
+
+    // Метод для получения названия последовательности в базе данных
+    public String getSequenceName() {
+        return tableName + "_id_seq";
+    }
+}
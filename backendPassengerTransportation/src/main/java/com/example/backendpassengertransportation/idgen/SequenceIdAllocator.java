@@ -0,0 +1,60 @@
+package com.example.backendpassengertransportation.idgen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// Распределитель идентификаторов на основе последовательностей базы данных (PostgreSQL)
+// Последовательность увеличивается на размер блока, поэтому один вызов nextval резервирует целый блок номеров
+public class SequenceIdAllocator extends BlockIdAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceIdAllocator.class);
+
+    public SequenceIdAllocator(JdbcTemplate jdbcTemplate, int blockSize) {
+        super(jdbcTemplate, blockSize);
+    }
+
+    // Создание последовательности с шагом blockSize, начинающейся после максимального существующего номера
+    // Шаг существующей последовательности не изменяется: размер блока берется из шага, поэтому экземпляры
+    // с разными настройками размера блока резервируют непересекающиеся блоки
+    @Override
+    protected long initializeSequence(IdSequence sequence) {
+        Long increment = findIncrement(sequence);
+        if (increment == null) {
+            long startValue = findMaxExistingNumber(sequence) + 1;
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence.getSequenceName()
+                    + " START WITH " + startValue + " INCREMENT BY " + blockSize);
+            increment = findIncrement(sequence);
+        }
+        if (increment == null || increment <= 0) {
+            throw new IllegalStateException("Не удалось определить шаг последовательности " + sequence.getSequenceName() + ".");
+        }
+        if (increment != blockSize) {
+            log.warn("Шаг последовательности {} ({}) отличается от размера блока {}: используется шаг последовательности",
+                    sequence.getSequenceName(), increment, blockSize);
+        }
+        return increment;
+    }
+
+    // Шаг последовательности из information_schema (null, если последовательность отсутствует)
+    // В PostgreSQL столбец increment строковый, поэтому значение читается строкой
+    private Long findIncrement(IdSequence sequence) {
+        List<String> increments = jdbcTemplate.queryForList(
+                "SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = ?",
+                String.class, sequence.getSequenceName());
+        return increments.isEmpty() ? null : Long.valueOf(increments.get(0).trim());
+    }
+
+    // Резервирование блока одним вызовом nextval
+    @Override
+    protected long reserveBlock(IdSequence sequence) {
+        Long start = jdbcTemplate.queryForObject(
+                "SELECT nextval('" + sequence.getSequenceName() + "')", Long.class);
+        if (start == null) {
+            throw new IllegalStateException("Не удалось получить значение последовательности " + sequence.getSequenceName() + ".");
+        }
+        return start;
+    }
+}
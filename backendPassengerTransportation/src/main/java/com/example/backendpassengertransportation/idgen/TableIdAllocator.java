@@ -0,0 +1,71 @@
+package com.example.backendpassengertransportation.idgen;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Распределитель идентификаторов на основе таблицы id_allocators
+// Предназначен для встраиваемых баз данных без последовательностей с одним соединением (SQLite):
+// блок резервируется увеличением счетчика в текущей транзакции, поэтому второе соединение не требуется
+// При нескольких соединениях номера блока выдаются и другим транзакциям, а откат транзакции, зарезервировавшей блок,
+// вернул бы счетчик к номерам, уже сохраненным этими транзакциями,
+// поэтому IdAllocatorConfig не создает распределитель для пула больше одного соединения
+public class TableIdAllocator extends BlockIdAllocator {
+
+    // Шаблон транзакции для резервирования блока (присоединяется к текущей транзакции, если она есть)
+    private final TransactionTemplate transactionTemplate;
+
+    public TableIdAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, int blockSize) {
+        super(jdbcTemplate, blockSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Создание таблицы счетчиков и строки счетчика последовательности (если они отсутствуют)
+    // Счетчик увеличивается на размер блока каждого экземпляра, поэтому блоки не пересекаются при любых настройках
+    @Override
+    protected long initializeSequence(IdSequence sequence) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS id_allocators ("
+                + "sequence_name VARCHAR(64) PRIMARY KEY, next_value BIGINT NOT NULL)");
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM id_allocators WHERE sequence_name = ?", Integer.class, sequence.getSequenceName());
+        if (count == null || count == 0) {
+            long startValue = findMaxExistingNumber(sequence) + 1;
+            try {
+                jdbcTemplate.update("INSERT INTO id_allocators (sequence_name, next_value) VALUES (?, ?)",
+                        sequence.getSequenceName(), startValue);
+            } catch (DuplicateKeyException e) {
+                // Строка уже создана другим экземпляром приложения
+            }
+        }
+        return blockSize;
+    }
+
+    // Резервирование блока: счетчик увеличивается на размер блока, возвращается прежнее значение
+    // При откате транзакции счетчик возвращается к прежнему значению, поэтому блок в памяти также сбрасывается
+    @Override
+    protected long reserveBlock(IdSequence sequence) {
+        Long start = transactionTemplate.execute(status -> {
+            jdbcTemplate.update("UPDATE id_allocators SET next_value = next_value + ? WHERE sequence_name = ?",
+                    blockSize, sequence.getSequenceName());
+            return jdbcTemplate.queryForObject("SELECT next_value FROM id_allocators WHERE sequence_name = ?",
+                    Long.class, sequence.getSequenceName()) - blockSize;
+        });
+        if (start == null) {
+            throw new IllegalStateException("Не удалось зарезервировать блок идентификаторов " + sequence.getSequenceName() + ".");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        invalidateBlock(sequence);
+                    }
+                }
+            });
+        }
+        return start;
+    }
+}
@@ -0,0 +1,447 @@
+package com.example.backendpassengertransportation.index;
+
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.RouteSpecifications;
+import com.example.backendpassengertransportation.repository.TransportTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Индекс маршрутов в оперативной памяти для поиска без обращения к базе данных
+// Основной индекс: пара городов -> день отправления -> маршруты, упорядоченные по времени отправления и ID
+// Дополнительные индексы: по городу отправления, городу назначения, и типу транспорта
+// Индекс загружается из базы данных при первом обращении; изменения маршрутов применяются к нему после фиксации транзакции
+@Component
+public class RouteIndex {
+
+    // Репозиторий для работы с маршрутами
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Репозиторий для работы с городами
+    @Autowired
+    private CityRepository cityRepository;
+
+    // Репозиторий для работы с типами транспорта
+    @Autowired
+    private TransportTypeRepository transportTypeRepository;
+
+    // Транзакция только для чтения, в которой загружается индекс
+    private final TransactionTemplate transactionTemplate;
+
+    // Признак использования индекса; если индекс отключен, поиск выполняется через базу данных
+    @Value("${app.route-index.enabled:true}")
+    private boolean enabled;
+
+    // Блокировка структур индекса: поиск выполняется под блокировкой чтения, изменения - под блокировкой записи
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Барьер между загрузкой индекса и транзакциями, изменяющими количество мест
+    // Транзакция удерживает блокировку чтения до завершения, загрузка ждет блокировку записи,
+    // поэтому изменение количества мест не может быть учтено дважды: и в загруженных данных, и при применении после фиксации
+    private final ReentrantReadWriteLock loadGate = new ReentrantReadWriteLock();
+
+    // Блокировка загрузки индекса (не synchronized, чтобы виртуальный поток не закреплялся за потоком-носителем
+    // на время запроса к базе данных)
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Текущее содержимое индекса (null, пока индекс не загружен)
+    private volatile Snapshot snapshot;
+
+    // Признак устаревшего индекса, который нужно загрузить заново при следующем обращении
+    private volatile boolean stale = true;
+
+    // Получатели уведомлений об изменениях индекса
+    private final List<RouteIndexListener> listeners = new CopyOnWriteArrayList<>();
+
+    public RouteIndex(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Признак того, что индекс используется для поиска
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Регистрация получателя уведомлений об изменениях индекса
+    public void addListener(RouteIndexListener listener) {
+        listeners.add(listener);
+    }
+
+    // Поиск маршрута по ID
+    public Optional<Route> findById(String idRoute) {
+        return read(s -> Optional.ofNullable(s.routes.get(idRoute)));
+    }
+
+    // Обработка всех маршрутов под блокировкой чтения: изменения индекса не выполняются, пока обработка не завершится
+    public <T> T withAllRoutes(Function<Collection<Route>, T> action) {
+        return read(s -> action.apply(Collections.unmodifiableCollection(s.routes.values())));
+    }
+
+    // Поиск города по названию
+    public Optional<City> findCityByName(String cityName) {
+        return read(s -> Optional.ofNullable(s.citiesByName.get(cityName)));
+    }
+
+    // Поиск типа транспорта по названию
+    public Optional<TransportType> findTransportTypeByName(String transportType) {
+        return read(s -> Optional.ofNullable(s.transportTypesByName.get(transportType)));
+    }
+
+    // Поиск маршрутов по городу отправления, упорядоченных по времени отправления
+    public List<Route> findByDepartureCity(String idCity) {
+        return read(s -> s.toRoutes(s.byDepartureCity.getOrDefault(idCity, Collections.emptyNavigableSet())));
+    }
+
+    // Поиск маршрутов по городу назначения, упорядоченных по времени отправления
+    public List<Route> findByDestinationCity(String idCity) {
+        return read(s -> s.toRoutes(s.byDestinationCity.getOrDefault(idCity, Collections.emptyNavigableSet())));
+    }
+
+    // Поиск маршрутов по типу транспорта, упорядоченных по времени отправления
+    public List<Route> findByTransportType(String idTransportType) {
+        return read(s -> s.toRoutes(s.byTransportType.getOrDefault(idTransportType, Collections.emptyNavigableSet())));
+    }
+
+    // Поиск маршрутов между двумя городами с отправлением в дни [from, to]; незаданная граница не ограничивает поиск
+    public List<Route> findByCityPair(String departureCityId, String destinationCityId, LocalDate from, LocalDate to) {
+        return read(s -> {
+            NavigableMap<Long, NavigableSet<RouteKey>> days = s.byCityPair.get(new CityPair(departureCityId, destinationCityId));
+            if (days == null) {
+                return new ArrayList<>();
+            }
+            if (from != null || to != null) {
+                long fromDay = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+                long toDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+                if (fromDay > toDay) {
+                    return new ArrayList<>();
+                }
+                days = days.subMap(fromDay, true, toDay, true);
+            }
+            List<Route> routes = new ArrayList<>();
+            for (NavigableSet<RouteKey> bucket : days.values()) {
+                for (RouteKey key : bucket) {
+                    routes.add(s.routes.get(key.idRoute()));
+                }
+            }
+            return routes;
+        });
+    }
+
+    // Добавление или замена маршрута после фиксации текущей транзакции
+    public void routeSaved(Route route) {
+        Route copy = copyOf(route);
+        afterCommit(false, () -> write(s -> {
+            s.remove(copy.getIdRoute());
+            s.add(s.attach(copy));
+            listeners.forEach(RouteIndexListener::routesChanged);
+        }));
+    }
+
+    // Удаление маршрута после фиксации текущей транзакции
+    public void routeDeleted(String idRoute) {
+        afterCommit(false, () -> write(s -> {
+            if (s.remove(idRoute)) {
+                listeners.forEach(RouteIndexListener::routesChanged);
+            }
+        }));
+    }
+
+    // Изменение количества свободных мест маршрута на delta после фиксации текущей транзакции
+    public void seatsChanged(String idRoute, int delta) {
+        afterCommit(true, () -> write(s -> {
+            int seats = s.changeSeats(idRoute, delta);
+            if (seats >= 0) {
+                listeners.forEach(listener -> listener.seatsChanged(idRoute, seats));
+            }
+        }));
+    }
+
+    // Пометка индекса как устаревшего после фиксации текущей транзакции (изменение городов или типов транспорта)
+    public void invalidate() {
+        afterCommit(false, () -> write(s -> {
+            stale = true;
+            listeners.forEach(RouteIndexListener::routesChanged);
+        }));
+    }
+
+    // Выполнение поиска под блокировкой чтения
+    private <T> T read(Function<Snapshot, T> query) {
+        Snapshot current = ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return query.apply(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Применение изменения под блокировкой записи; если индекс еще не загружен, изменение войдет в загружаемые данные
+    private void write(Consumer<Snapshot> change) {
+        lock.writeLock().lock();
+        try {
+            Snapshot current = snapshot;
+            if (current != null) {
+                change.accept(current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Загрузка индекса из базы данных при первом обращении или после пометки устаревшим
+    private Snapshot ensureLoaded() {
+        Snapshot current = snapshot;
+        if (current != null && !stale) {
+            return current;
+        }
+        if (loadGate.getReadHoldCount() > 0) {
+            // Поток внутри транзакции, изменяющей места, не может ждать барьер, который сам удерживает:
+            // используется текущий индекс, а если его нет - данные загружаются без барьера и индекс остается устаревшим
+            if (current != null) {
+                return current;
+            }
+            Snapshot loaded = transactionTemplate.execute(status -> install(load()));
+            stale = true;
+            return loaded;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot != null && !stale) {
+                return snapshot;
+            }
+            stale = false;
+            try {
+                // Барьер ожидается после того, как транзакция загрузки получила соединение,
+                // иначе при небольшом пуле загрузка и ожидающие ее транзакции могли бы занять все соединения
+                return transactionTemplate.execute(status -> {
+                    loadGate.writeLock().lock();
+                    try {
+                        return install(load());
+                    } finally {
+                        loadGate.writeLock().unlock();
+                    }
+                });
+            } catch (RuntimeException e) {
+                stale = true;
+                throw e;
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Замена содержимого индекса загруженными данными
+    private Snapshot install(Snapshot loaded) {
+        lock.writeLock().lock();
+        try {
+            snapshot = loaded;
+            listeners.forEach(RouteIndexListener::routesChanged);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return loaded;
+    }
+
+    // Чтение всех городов, типов транспорта и маршрутов (маршруты - одним запросом с присоединением связанных сущностей)
+    private Snapshot load() {
+        Snapshot loaded = new Snapshot();
+        for (City city : cityRepository.findAll()) {
+            loaded.putCity(new City(city.getIdCity(), city.getCityName()));
+        }
+        for (TransportType transportType : transportTypeRepository.findAll()) {
+            loaded.putTransportType(new TransportType(transportType.getIdTransportType(), transportType.getTransportType()));
+        }
+        for (Route route : routeRepository.findAll(RouteSpecifications.search(null, null, null, null, null, null))) {
+            loaded.add(loaded.attach(copyOf(route)));
+        }
+        return loaded;
+    }
+
+    // Выполнение действия после фиксации текущей транзакции или сразу, если транзакции нет
+    // gated = true: транзакция до своего завершения не пропускает загрузку индекса (см. loadGate)
+    private void afterCommit(boolean gated, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        if (gated) {
+            loadGate.readLock().lock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (gated) {
+                    loadGate.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    // Копирование маршрута, чтобы индекс не зависел от управляемых JPA-сущностей
+    private static Route copyOf(Route route) {
+        return new Route(route.getIdRoute(),
+                new TransportType(route.getTransportType().getIdTransportType(), route.getTransportType().getTransportType()),
+                new City(route.getDepartureCity().getIdCity(), route.getDepartureCity().getCityName()),
+                new City(route.getDestinationCity().getIdCity(), route.getDestinationCity().getCityName()),
+                route.getDepartureTime(), route.getArrivalTime(), route.getTotalNumberSeats(), route.getNumberAvailableSeats());
+    }
+
+    // Ключ маршрута в упорядоченных индексах: время отправления, затем ID
+    private record RouteKey(long departureTime, String idRoute) implements Comparable<RouteKey> {
+
+        static RouteKey of(Route route) {
+            return new RouteKey(route.getDepartureTime().getTime(), route.getIdRoute());
+        }
+
+        @Override
+        public int compareTo(RouteKey other) {
+            int byTime = Long.compare(departureTime, other.departureTime);
+            return byTime != 0 ? byTime : idRoute.compareTo(other.idRoute);
+        }
+    }
+
+    // Пара городов отправления и назначения
+    private record CityPair(String departureCityId, String destinationCityId) {
+    }
+
+    // Содержимое индекса; изменяется только под блокировкой записи
+    private static final class Snapshot {
+
+        private final Map<String, Route> routes = new HashMap<>();
+        private final Map<String, City> citiesById = new HashMap<>();
+        private final Map<String, City> citiesByName = new HashMap<>();
+        private final Map<String, TransportType> transportTypesById = new HashMap<>();
+        private final Map<String, TransportType> transportTypesByName = new HashMap<>();
+        private final Map<CityPair, NavigableMap<Long, NavigableSet<RouteKey>>> byCityPair = new HashMap<>();
+        private final Map<String, NavigableSet<RouteKey>> byDepartureCity = new HashMap<>();
+        private final Map<String, NavigableSet<RouteKey>> byDestinationCity = new HashMap<>();
+        private final Map<String, NavigableSet<RouteKey>> byTransportType = new HashMap<>();
+
+        void putCity(City city) {
+            citiesById.put(city.getIdCity(), city);
+            citiesByName.putIfAbsent(city.getCityName(), city);
+        }
+
+        void putTransportType(TransportType transportType) {
+            transportTypesById.put(transportType.getIdTransportType(), transportType);
+            transportTypesByName.putIfAbsent(transportType.getTransportType(), transportType);
+        }
+
+        // Замена копий связанных сущностей общими экземплярами индекса
+        Route attach(Route route) {
+            City departure = citiesById.get(route.getDepartureCity().getIdCity());
+            if (departure != null) {
+                route.setDepartureCity(departure);
+            }
+            City destination = citiesById.get(route.getDestinationCity().getIdCity());
+            if (destination != null) {
+                route.setDestinationCity(destination);
+            }
+            TransportType transportType = transportTypesById.get(route.getTransportType().getIdTransportType());
+            if (transportType != null) {
+                route.setTransportType(transportType);
+            }
+            return route;
+        }
+
+        void add(Route route) {
+            RouteKey key = RouteKey.of(route);
+            routes.put(route.getIdRoute(), route);
+            long day = route.getDepartureTime().toLocalDateTime().toLocalDate().toEpochDay();
+            byCityPair.computeIfAbsent(new CityPair(route.getDepartureCity().getIdCity(), route.getDestinationCity().getIdCity()), p -> new TreeMap<>())
+                    .computeIfAbsent(day, d -> new TreeSet<>())
+                    .add(key);
+            byDepartureCity.computeIfAbsent(route.getDepartureCity().getIdCity(), c -> new TreeSet<>()).add(key);
+            byDestinationCity.computeIfAbsent(route.getDestinationCity().getIdCity(), c -> new TreeSet<>()).add(key);
+            byTransportType.computeIfAbsent(route.getTransportType().getIdTransportType(), t -> new TreeSet<>()).add(key);
+        }
+
+        boolean remove(String idRoute) {
+            Route route = routes.remove(idRoute);
+            if (route == null) {
+                return false;
+            }
+            RouteKey key = RouteKey.of(route);
+            CityPair pair = new CityPair(route.getDepartureCity().getIdCity(), route.getDestinationCity().getIdCity());
+            NavigableMap<Long, NavigableSet<RouteKey>> days = byCityPair.get(pair);
+            if (days != null) {
+                long day = route.getDepartureTime().toLocalDateTime().toLocalDate().toEpochDay();
+                removeKey(days, day, key);
+                if (days.isEmpty()) {
+                    byCityPair.remove(pair);
+                }
+            }
+            removeKey(byDepartureCity, route.getDepartureCity().getIdCity(), key);
+            removeKey(byDestinationCity, route.getDestinationCity().getIdCity(), key);
+            removeKey(byTransportType, route.getTransportType().getIdTransportType(), key);
+            return true;
+        }
+
+        // Маршрут заменяется новым объектом, чтобы ранее выданные результаты поиска не изменялись
+        // Ключ маршрута не зависит от количества мест, поэтому остальные индексы не перестраиваются
+        // Возвращает новое количество свободных мест или -1, если маршрута нет в индексе
+        int changeSeats(String idRoute, int delta) {
+            Route route = routes.get(idRoute);
+            if (route == null) {
+                return -1;
+            }
+            int seats = Math.max(0, Math.min(route.getTotalNumberSeats(), route.getNumberAvailableSeats() + delta));
+            Route updated = new Route(route.getIdRoute(), route.getTransportType(), route.getDepartureCity(), route.getDestinationCity(),
+                    route.getDepartureTime(), route.getArrivalTime(), route.getTotalNumberSeats(), seats);
+            routes.put(idRoute, updated);
+            return seats;
+        }
+
+        List<Route> toRoutes(Collection<RouteKey> keys) {
+            List<Route> result = new ArrayList<>(keys.size());
+            for (RouteKey key : keys) {
+                result.add(routes.get(key.idRoute()));
+            }
+            return result;
+        }
+
+        private static <K> void removeKey(Map<K, ? extends Set<RouteKey>> index, K bucket, RouteKey key) {
+            Set<RouteKey> keys = index.get(bucket);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    index.remove(bucket);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.backendpassengertransportation.index;
+
+// Получатель уведомлений об изменениях индекса маршрутов
+// Методы вызываются под блокировкой записи индекса, поэтому должны выполняться быстро
+public interface RouteIndexListener {
+
+    // Изменился состав маршрутов: индекс загружен заново, маршрут добавлен или удален
+    void routesChanged();
+
+    // Изменилось количество свободных мест маршрута
+    void seatsChanged(String idRoute, int availableSeats);
+}
@@ -0,0 +1,151 @@
+package com.example.backendpassengertransportation.lane;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Полосы обработки запросов с одним обработчиком на полосу
+// Запрос направляется в полосу по хешу ключа, поэтому все запросы одного ключа обрабатываются одним потоком по очереди.
+// Поток полосы забирает из очереди все накопившиеся запросы (не больше maxBatch) и передает обработчику запросы
+// каждого ключа одним пакетом в порядке поступления: чем больше запросов ожидает, тем больше пакет
+public final class StripedLanes<R> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StripedLanes.class);
+
+    // Интервал проверки признака остановки потоком полосы с пустой очередью, мс
+    private static final long POLL_MILLIS = 100;
+
+    // Обработчик пакета запросов одного ключа; исключение обработчика не останавливает полосу
+    @FunctionalInterface
+    public interface BatchHandler<R> {
+        void handle(String key, List<R> batch);
+    }
+
+    // Запрос в очереди полосы
+    private record Item<R>(String key, R request) {
+    }
+
+    private final List<BlockingQueue<Item<R>>> queues; // Очереди полос
+    private final List<Thread> threads; // Потоки полос
+    private final int maxBatch; // Максимальное количество запросов, забираемых из очереди за раз
+    private final BatchHandler<R> handler;
+
+    // Признак остановки: новые запросы отклоняются, накопленные обрабатываются
+    private volatile boolean closed;
+
+    // Счетчики обработанных пакетов, запросов и отклоненных из-за переполнения очереди запросов
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public StripedLanes(String name, int laneCount, int queueCapacity, int maxBatch, BatchHandler<R> handler) {
+        if (laneCount <= 0 || queueCapacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("Количество полос, размер очереди и размер пакета должны быть положительными.");
+        }
+        this.maxBatch = maxBatch;
+        this.handler = handler;
+        this.queues = new ArrayList<>(laneCount);
+        this.threads = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Item<R>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread thread = new Thread(() -> drain(queue), name + "-" + i);
+            thread.setDaemon(true);
+            queues.add(queue);
+            threads.add(thread);
+        }
+        threads.forEach(Thread::start);
+    }
+
+    // Постановка запроса в очередь полосы ключа; при переполненной очереди или после остановки
+    // запрос отклоняется исключением RejectedExecutionException
+    public void submit(String key, R request) {
+        if (closed || !queues.get(laneOf(key)).offer(new Item<>(key, request))) {
+            rejected.increment();
+            throw new RejectedExecutionException("Сервер перегружен запросами бронирования. Повторите попытку позже.");
+        }
+    }
+
+    // Номер полосы ключа
+    public int laneOf(String key) {
+        return Math.floorMod(key.hashCode(), queues.size());
+    }
+
+    // Количество запросов, ожидающих в очередях всех полос
+    public int getQueueDepth() {
+        return queues.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    // Количество обработанных пакетов
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    // Количество обработанных запросов
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    // Количество запросов, отклоненных из-за переполнения очереди
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // Остановка полос: новые запросы отклоняются, запросы из очередей обрабатываются до завершения потоков
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Цикл потока полосы: ожидание первого запроса, выборка накопившихся запросов и обработка пакетами по ключам
+    private void drain(BlockingQueue<Item<R>> queue) {
+        List<Item<R>> drained = new ArrayList<>(maxBatch);
+        Map<String, List<R>> byKey = new LinkedHashMap<>();
+        while (true) {
+            Item<R> first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            drained.add(first);
+            queue.drainTo(drained, maxBatch - 1);
+            for (Item<R> item : drained) {
+                byKey.computeIfAbsent(item.key(), key -> new ArrayList<>()).add(item.request());
+            }
+            for (Map.Entry<String, List<R>> entry : byKey.entrySet()) {
+                try {
+                    handler.handle(entry.getKey(), entry.getValue());
+                } catch (RuntimeException e) {
+                    log.warn("Ошибка обработки пакета запросов {}: {}", entry.getKey(), e.getMessage());
+                }
+                batches.increment();
+                processed.add(entry.getValue().size());
+            }
+            drained.clear();
+            byKey.clear();
+        }
+    }
+}
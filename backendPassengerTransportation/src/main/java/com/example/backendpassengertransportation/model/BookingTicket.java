@@ -4,7 +4,20 @@ import jakarta.persistence.*;
 import java.sql.Timestamp;
 
 // Модель для бронирования билетов, хранит информацию о бронировании, связанном маршруте и пользователе
+// Маршрут и пользователь загружаются лениво; графы BookingTicket.route и BookingTicket.details
+// позволяют загрузить их вместе с бронированием одним запросом
 @Entity
+@NamedEntityGraph(name = "BookingTicket.route", attributeNodes = @NamedAttributeNode("route"))
+@NamedEntityGraph(name = "BookingTicket.details",
+        attributeNodes = {
+                @NamedAttributeNode(value = "route", subgraph = "route"),
+                @NamedAttributeNode("user")
+        },
+        subgraphs = @NamedSubgraph(name = "route", attributeNodes = {
+                @NamedAttributeNode("transportType"),
+                @NamedAttributeNode("departureCity"),
+                @NamedAttributeNode("destinationCity")
+        }))
 @Table(name = "booking_tickets")
 public class BookingTicket {
 
@@ -12,11 +25,11 @@ public class BookingTicket {
     @Column(name = "id_booking")
     private String idBooking; // ID бронирования
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_route", nullable = false)
     private Route route; // Связанный маршрут
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_user", nullable = false)
     private User user; // Связанный пользователь
 
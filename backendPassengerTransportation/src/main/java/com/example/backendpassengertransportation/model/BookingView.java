@@ -0,0 +1,102 @@
+package com.example.backendpassengertransportation.model;
+
+import java.sql.Timestamp;
+
+// Представление бронирования в ответах сервера: маршрут в виде RouteView и контактные данные пассажира
+// без остальных данных пользователя (в том числе хеша пароля)
+// Создается непосредственно JPQL-запросом (SELECT new) одним обращением к базе данных
+public class BookingView {
+
+    private String idBooking; // ID бронирования
+    private RouteView route; // Маршрут бронирования
+    private String passengerFullName; // ФИО пассажира
+    private String passengerPhone; // Телефон пассажира
+    private String passengerEmail; // Электронная почта пассажира
+    private Timestamp bookingDate; // Дата бронирования
+
+    // Конструктор по умолчанию
+    public BookingView() {
+    }
+
+    // Конструктор с параметрами
+    public BookingView(String idBooking, RouteView route, String passengerFullName, String passengerPhone,
+                       String passengerEmail, Timestamp bookingDate) {
+        this.idBooking = idBooking;
+        this.route = route;
+        this.passengerFullName = passengerFullName;
+        this.passengerPhone = passengerPhone;
+        this.passengerEmail = passengerEmail;
+        this.bookingDate = bookingDate;
+    }
+
+    // Конструктор для JPQL-запросов: выражение SELECT new не допускает вложенных конструкторов,
+    // поэтому поля маршрута передаются по отдельности
+    public BookingView(String idBooking, String idRoute, String transportType, String departureCity, String destinationCity,
+                       Timestamp departureTime, Timestamp arrivalTime, int totalNumberSeats, int numberAvailableSeats,
+                       String passengerFullName, String passengerPhone, String passengerEmail, Timestamp bookingDate) {
+        this(idBooking, new RouteView(idRoute, transportType, departureCity, destinationCity, departureTime, arrivalTime,
+                totalNumberSeats, numberAvailableSeats), passengerFullName, passengerPhone, passengerEmail, bookingDate);
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID бронирования
+    public String getIdBooking() {
+        return idBooking;
+    }
+
+    // Метод для установки ID бронирования
+    public void setIdBooking(String idBooking) {
+        this.idBooking = idBooking;
+    }
+
+    // Метод для получения маршрута бронирования
+    public RouteView getRoute() {
+        return route;
+    }
+
+    // Метод для установки маршрута бронирования
+    public void setRoute(RouteView route) {
+        this.route = route;
+    }
+
+    // Метод для получения ФИО пассажира
+    public String getPassengerFullName() {
+        return passengerFullName;
+    }
+
+    // Метод для установки ФИО пассажира
+    public void setPassengerFullName(String passengerFullName) {
+        this.passengerFullName = passengerFullName;
+    }
+
+    // Метод для получения телефона пассажира
+    public String getPassengerPhone() {
+        return passengerPhone;
+    }
+
+    // Метод для установки телефона пассажира
+    public void setPassengerPhone(String passengerPhone) {
+        this.passengerPhone = passengerPhone;
+    }
+
+    // Метод для получения электронной почты пассажира
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    // Метод для установки электронной почты пассажира
+    public void setPassengerEmail(String passengerEmail) {
+        this.passengerEmail = passengerEmail;
+    }
+
+    // Метод для получения даты бронирования
+    public Timestamp getBookingDate() {
+        return bookingDate;
+    }
+
+    // Метод для установки даты бронирования
+    public void setBookingDate(Timestamp bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+}
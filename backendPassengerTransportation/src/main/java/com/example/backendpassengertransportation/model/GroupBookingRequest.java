@@ -0,0 +1,42 @@
+package com.example.backendpassengertransportation.model;
+
+import java.util.List;
+
+// Запрос группового бронирования: маршрут и пассажиры, для каждого из которых бронируется одно место
+public class GroupBookingRequest {
+
+    private String routeId; // ID маршрута
+    private List<PassengerDetails> passengers; // Пассажиры группы
+
+    // Конструктор по умолчанию
+    public GroupBookingRequest() {
+    }
+
+    // Конструктор с параметрами
+    public GroupBookingRequest(String routeId, List<PassengerDetails> passengers) {
+        this.routeId = routeId;
+        this.passengers = passengers;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID маршрута
+    public String getRouteId() {
+        return routeId;
+    }
+
+    // Метод для установки ID маршрута
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    // Метод для получения пассажиров группы
+    public List<PassengerDetails> getPassengers() {
+        return passengers;
+    }
+
+    // Метод для установки пассажиров группы
+    public void setPassengers(List<PassengerDetails> passengers) {
+        this.passengers = passengers;
+    }
+}
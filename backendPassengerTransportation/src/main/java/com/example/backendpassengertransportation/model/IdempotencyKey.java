@@ -0,0 +1,122 @@
+package com.example.backendpassengertransportation.model;
+
+import jakarta.persistence.*;
+import java.sql.Timestamp;
+
+// Модель для ключа идемпотентности: хранит ответ на запрос, выполненный с заголовком Idempotency-Key,
+// чтобы повторный запрос с тем же ключом (повтор клиента после таймаута) получил исходный ответ без повторного выполнения
+// Ключ записывается в той же транзакции, что и бронирование или его удаление, поэтому они фиксируются или отменяются вместе
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "id_key")
+    private String idKey; // SHA-256 от пользователя и ключа из заголовка Idempotency-Key
+
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash; // SHA-256 от операции и параметров запроса
+
+    @Column(name = "response_status")
+    private Integer responseStatus; // HTTP-статус ответа (пусто, пока запрос выполняется)
+
+    @Column(name = "content_type")
+    private String contentType; // Тип содержимого ответа
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody; // Тело ответа
+
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt; // Время выполнения запроса
+
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt; // Время, после которого ключ может быть использован повторно
+
+    // Конструктор по умолчанию
+    public IdempotencyKey() {
+    }
+
+    // Конструктор с параметрами
+    public IdempotencyKey(String idKey, String requestHash, Integer responseStatus, String contentType,
+                          String responseBody, Timestamp createdAt, Timestamp expiresAt) {
+        this.idKey = idKey;
+        this.requestHash = requestHash;
+        this.responseStatus = responseStatus;
+        this.contentType = contentType;
+        this.responseBody = responseBody;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID ключа
+    public String getIdKey() {
+        return idKey;
+    }
+
+    // Метод для установки ID ключа
+    public void setIdKey(String idKey) {
+        this.idKey = idKey;
+    }
+
+    // Метод для получения хеша запроса
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    // Метод для установки хеша запроса
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    // Метод для получения HTTP-статуса ответа
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+
+    // Метод для установки HTTP-статуса ответа
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    // Метод для получения типа содержимого ответа
+    public String getContentType() {
+        return contentType;
+    }
+
+    // Метод для установки типа содержимого ответа
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    // Метод для получения тела ответа
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    // Метод для установки тела ответа
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    // Метод для получения времени выполнения запроса
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    // Метод для установки времени выполнения запроса
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Метод для получения времени истечения срока ключа
+    public Timestamp getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Метод для установки времени истечения срока ключа
+    public void setExpiresAt(Timestamp expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.backendpassengertransportation.model;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Поездка из одного или нескольких маршрутов с пересадками между ними
+public class Journey {
+
+    private List<RouteView> legs; // Маршруты поездки в порядке следования
+    private Timestamp departureTime; // Время отправления первого маршрута
+    private Timestamp arrivalTime; // Время прибытия последнего маршрута
+    private int transfers; // Количество пересадок
+    private long durationMinutes; // Продолжительность поездки в минутах, включая ожидание пересадок
+
+    // Конструктор по умолчанию
+    public Journey() {
+    }
+
+    // Конструктор по списку маршрутов
+    public Journey(List<RouteView> legs) {
+        this.legs = legs;
+        this.departureTime = legs.get(0).getDepartureTime();
+        this.arrivalTime = legs.get(legs.size() - 1).getArrivalTime();
+        this.transfers = legs.size() - 1;
+        this.durationMinutes = (arrivalTime.getTime() - departureTime.getTime()) / 60_000;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения маршрутов поездки
+    public List<RouteView> getLegs() {
+        return legs;
+    }
+
+    // Метод для установки маршрутов поездки
+    public void setLegs(List<RouteView> legs) {
+        this.legs = legs;
+    }
+
+    // Метод для получения времени отправления
+    public Timestamp getDepartureTime() {
+        return departureTime;
+    }
+
+    // Метод для установки времени отправления
+    public void setDepartureTime(Timestamp departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    // Метод для получения времени прибытия
+    public Timestamp getArrivalTime() {
+        return arrivalTime;
+    }
+
+    // Метод для установки времени прибытия
+    public void setArrivalTime(Timestamp arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    // Метод для получения количества пересадок
+    public int getTransfers() {
+        return transfers;
+    }
+
+    // Метод для установки количества пересадок
+    public void setTransfers(int transfers) {
+        this.transfers = transfers;
+    }
+
+    // Метод для получения продолжительности поездки в минутах
+    public long getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    // Метод для установки продолжительности поездки в минутах
+    public void setDurationMinutes(long durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backendpassengertransportation.model;
+
+// Контактные данные пассажира в запросе группового бронирования (пассажир должен быть зарегистрирован)
+public class PassengerDetails {
+
+    private String passengerFullName; // ФИО пассажира
+    private String passengerPhone; // Телефон пассажира
+    private String passengerEmail; // Электронная почта пассажира
+
+    // Конструктор по умолчанию
+    public PassengerDetails() {
+    }
+
+    // Конструктор с параметрами
+    public PassengerDetails(String passengerFullName, String passengerPhone, String passengerEmail) {
+        this.passengerFullName = passengerFullName;
+        this.passengerPhone = passengerPhone;
+        this.passengerEmail = passengerEmail;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ФИО пассажира
+    public String getPassengerFullName() {
+        return passengerFullName;
+    }
+
+    // Метод для установки ФИО пассажира
+    public void setPassengerFullName(String passengerFullName) {
+        this.passengerFullName = passengerFullName;
+    }
+
+    // Метод для получения телефона пассажира
+    public String getPassengerPhone() {
+        return passengerPhone;
+    }
+
+    // Метод для установки телефона пассажира
+    public void setPassengerPhone(String passengerPhone) {
+        this.passengerPhone = passengerPhone;
+    }
+
+    // Метод для получения электронной почты пассажира
+    public String getPassengerEmail() {
+        return passengerEmail;
+    }
+
+    // Метод для установки электронной почты пассажира
+    public void setPassengerEmail(String passengerEmail) {
+        this.passengerEmail = passengerEmail;
+    }
+}
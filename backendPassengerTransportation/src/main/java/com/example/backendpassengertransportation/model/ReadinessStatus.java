@@ -0,0 +1,84 @@
+package com.example.backendpassengertransportation.model;
+
+import java.sql.Timestamp;
+
+// Состояние готовности сервера к обработке запросов по результатам последней проверки базы данных
+public class ReadinessStatus {
+
+    private boolean ready; // Признак готовности: соединение с базой данных получено и действительно
+    private Timestamp checkedAt; // Время последней проверки
+    private int activeConnections; // Количество занятых соединений пула (-1, если неизвестно)
+    private int idleConnections; // Количество свободных соединений пула (-1, если неизвестно)
+    private int threadsAwaitingConnection; // Количество потоков, ожидающих соединение (-1, если неизвестно)
+
+    // Конструктор по умолчанию
+    public ReadinessStatus() {
+    }
+
+    // Конструктор с параметрами
+    public ReadinessStatus(boolean ready, Timestamp checkedAt, int activeConnections, int idleConnections,
+                           int threadsAwaitingConnection) {
+        this.ready = ready;
+        this.checkedAt = checkedAt;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения состояния в виде строки (UP или DOWN)
+    public String getStatus() {
+        return ready ? "UP" : "DOWN";
+    }
+
+    // Метод для проверки готовности
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Метод для установки готовности
+    public void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    // Метод для получения времени последней проверки
+    public Timestamp getCheckedAt() {
+        return checkedAt;
+    }
+
+    // Метод для установки времени последней проверки
+    public void setCheckedAt(Timestamp checkedAt) {
+        this.checkedAt = checkedAt;
+    }
+
+    // Метод для получения количества занятых соединений
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    // Метод для установки количества занятых соединений
+    public void setActiveConnections(int activeConnections) {
+        this.activeConnections = activeConnections;
+    }
+
+    // Метод для получения количества свободных соединений
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    // Метод для установки количества свободных соединений
+    public void setIdleConnections(int idleConnections) {
+        this.idleConnections = idleConnections;
+    }
+
+    // Метод для получения количества потоков, ожидающих соединение
+    public int getThreadsAwaitingConnection() {
+        return threadsAwaitingConnection;
+    }
+
+    // Метод для установки количества потоков, ожидающих соединение
+    public void setThreadsAwaitingConnection(int threadsAwaitingConnection) {
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+    }
+}
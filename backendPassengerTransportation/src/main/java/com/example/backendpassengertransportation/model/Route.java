@@ -4,23 +4,33 @@ import jakarta.persistence.*;
 import java.sql.Timestamp;
 
 // Модель для маршрута, хранит информацию о маршруте, включая города, тип транспорта, время и места
+// Связанные сущности загружаются лениво; методы репозитория, которым они нужны, загружают их
+// одним запросом по графу Route.details
 @Entity
-@Table(name = "routes")
+@NamedEntityGraph(name = "Route.details", attributeNodes = {
+        @NamedAttributeNode("transportType"),
+        @NamedAttributeNode("departureCity"),
+        @NamedAttributeNode("destinationCity")
+})
+@Table(name = "routes", indexes = {
+        @Index(name = "idx_routes_departure_time", columnList = "departure_time"),
+        @Index(name = "idx_routes_points_departure_time", columnList = "departure_city, destination_city, departure_time")
+})
 public class Route {
 
     @Id
     @Column(name = "id_route")
     private String idRoute; // ID маршрута
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_transport_type", nullable = false)
     private TransportType transportType; // Тип транспорта
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "departure_city", nullable = false)
     private City departureCity; // Город отправления
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "destination_city", nullable = false)
     private City destinationCity; // Город назначения
 
@@ -0,0 +1,76 @@
+package com.example.backendpassengertransportation.model;
+
+import java.util.List;
+
+// Страница маршрутов при постраничной выборке по курсору, не требует подсчета общего количества маршрутов
+public class RouteCursorPage {
+
+    private List<RouteView> content; // Маршруты текущей страницы
+    private String nextCursor; // Курсор для перехода на следующую страницу (null, если страница последняя)
+    private String prevCursor; // Курсор для перехода на предыдущую страницу (null, если страница первая)
+    private int size; // Запрошенный размер страницы
+
+    // Конструктор по умолчанию
+    public RouteCursorPage() {
+    }
+
+    // Конструктор с параметрами
+    public RouteCursorPage(List<RouteView> content, String nextCursor, String prevCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.prevCursor = prevCursor;
+        this.size = size;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения маршрутов текущей страницы
+    public List<RouteView> getContent() {
+        return content;
+    }
+
+    // Метод для установки маршрутов текущей страницы
+    public void setContent(List<RouteView> content) {
+        this.content = content;
+    }
+
+    // Метод для получения курсора следующей страницы
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Метод для установки курсора следующей страницы
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    // Метод для получения курсора предыдущей страницы
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    // Метод для установки курсора предыдущей страницы
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
+
+    // Метод для получения размера страницы
+    public int getSize() {
+        return size;
+    }
+
+    // Метод для установки размера страницы
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    // Метод для проверки наличия следующей страницы
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    // Метод для проверки наличия предыдущей страницы
+    public boolean isHasPrevious() {
+        return prevCursor != null;
+    }
+}
\ No newline at end of file
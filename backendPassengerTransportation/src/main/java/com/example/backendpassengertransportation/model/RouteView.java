@@ -0,0 +1,124 @@
+package com.example.backendpassengertransportation.model;
+
+import java.sql.Timestamp;
+
+// Представление маршрута в ответах сервера: названия типа транспорта и городов вместо вложенных сущностей
+// Создается непосредственно JPQL-запросом (SELECT new) одним обращением к базе данных
+// или из маршрута, уже загруженного вместе с типом транспорта и городами
+public class RouteView {
+
+    private String idRoute; // ID маршрута
+    private String transportType; // Тип транспорта
+    private String departureCity; // Город отправления
+    private String destinationCity; // Город назначения
+    private Timestamp departureTime; // Время отправления
+    private Timestamp arrivalTime; // Время прибытия
+    private int totalNumberSeats; // Общее количество мест
+    private int numberAvailableSeats; // Количество доступных мест
+
+    // Конструктор по умолчанию
+    public RouteView() {
+    }
+
+    // Конструктор с параметрами (используется в JPQL-запросах)
+    public RouteView(String idRoute, String transportType, String departureCity, String destinationCity,
+                     Timestamp departureTime, Timestamp arrivalTime, int totalNumberSeats, int numberAvailableSeats) {
+        this.idRoute = idRoute;
+        this.transportType = transportType;
+        this.departureCity = departureCity;
+        this.destinationCity = destinationCity;
+        this.departureTime = departureTime;
+        this.arrivalTime = arrivalTime;
+        this.totalNumberSeats = totalNumberSeats;
+        this.numberAvailableSeats = numberAvailableSeats;
+    }
+
+    // Представление маршрута, загруженного вместе с типом транспорта и городами
+    public static RouteView from(Route route) {
+        return new RouteView(route.getIdRoute(), route.getTransportType().getTransportType(),
+                route.getDepartureCity().getCityName(), route.getDestinationCity().getCityName(),
+                route.getDepartureTime(), route.getArrivalTime(), route.getTotalNumberSeats(), route.getNumberAvailableSeats());
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID маршрута
+    public String getIdRoute() {
+        return idRoute;
+    }
+
+    // Метод для установки ID маршрута
+    public void setIdRoute(String idRoute) {
+        this.idRoute = idRoute;
+    }
+
+    // Метод для получения типа транспорта
+    public String getTransportType() {
+        return transportType;
+    }
+
+    // Метод для установки типа транспорта
+    public void setTransportType(String transportType) {
+        this.transportType = transportType;
+    }
+
+    // Метод для получения города отправления
+    public String getDepartureCity() {
+        return departureCity;
+    }
+
+    // Метод для установки города отправления
+    public void setDepartureCity(String departureCity) {
+        this.departureCity = departureCity;
+    }
+
+    // Метод для получения города назначения
+    public String getDestinationCity() {
+        return destinationCity;
+    }
+
+    // Метод для установки города назначения
+    public void setDestinationCity(String destinationCity) {
+        this.destinationCity = destinationCity;
+    }
+
+    // Метод для получения времени отправления
+    public Timestamp getDepartureTime() {
+        return departureTime;
+    }
+
+    // Метод для установки времени отправления
+    public void setDepartureTime(Timestamp departureTime) {
+        this.departureTime = departureTime;
+    }
+
+    // Метод для получения времени прибытия
+    public Timestamp getArrivalTime() {
+        return arrivalTime;
+    }
+
+    // Метод для установки времени прибытия
+    public void setArrivalTime(Timestamp arrivalTime) {
+        this.arrivalTime = arrivalTime;
+    }
+
+    // Метод для получения общего количества мест
+    public int getTotalNumberSeats() {
+        return totalNumberSeats;
+    }
+
+    // Метод для установки общего количества мест
+    public void setTotalNumberSeats(int totalNumberSeats) {
+        this.totalNumberSeats = totalNumberSeats;
+    }
+
+    // Метод для получения количества доступных мест
+    public int getNumberAvailableSeats() {
+        return numberAvailableSeats;
+    }
+
+    // Метод для установки количества доступных мест
+    public void setNumberAvailableSeats(int numberAvailableSeats) {
+        this.numberAvailableSeats = numberAvailableSeats;
+    }
+}
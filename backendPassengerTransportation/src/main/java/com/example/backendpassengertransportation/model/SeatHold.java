@@ -0,0 +1,93 @@
+package com.example.backendpassengertransportation.model;
+
+import jakarta.persistence.*;
+import java.sql.Timestamp;
+
+// Модель для удержания мест, хранит количество мест маршрута, временно зарезервированных до подтверждения бронирования
+// Места списываются с маршрута при создании удержания и возвращаются при его освобождении или истечении срока
+// Маршрут хранится идентификатором: удержание не загружает маршрут ни при подтверждении, ни при истечении срока
+@Entity
+@Table(name = "seat_holds")
+public class SeatHold {
+
+    @Id
+    @Column(name = "id_hold")
+    private String idHold; // ID удержания (токен, выдаваемый клиенту)
+
+    @Column(name = "id_route", nullable = false)
+    private String idRoute; // ID маршрута
+
+    @Column(name = "seats", nullable = false)
+    private int seats; // Количество удерживаемых мест
+
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt; // Время создания удержания
+
+    @Column(name = "expires_at", nullable = false)
+    private Timestamp expiresAt; // Время истечения срока удержания
+
+    // Конструктор по умолчанию
+    public SeatHold() {
+    }
+
+    // Конструктор с параметрами
+    public SeatHold(String idHold, String idRoute, int seats, Timestamp createdAt, Timestamp expiresAt) {
+        this.idHold = idHold;
+        this.idRoute = idRoute;
+        this.seats = seats;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID удержания
+    public String getIdHold() {
+        return idHold;
+    }
+
+    // Метод для установки ID удержания
+    public void setIdHold(String idHold) {
+        this.idHold = idHold;
+    }
+
+    // Метод для получения ID маршрута
+    public String getIdRoute() {
+        return idRoute;
+    }
+
+    // Метод для установки ID маршрута
+    public void setIdRoute(String idRoute) {
+        this.idRoute = idRoute;
+    }
+
+    // Метод для получения количества удерживаемых мест
+    public int getSeats() {
+        return seats;
+    }
+
+    // Метод для установки количества удерживаемых мест
+    public void setSeats(int seats) {
+        this.seats = seats;
+    }
+
+    // Метод для получения времени создания удержания
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    // Метод для установки времени создания удержания
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Метод для получения времени истечения срока удержания
+    public Timestamp getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Метод для установки времени истечения срока удержания
+    public void setExpiresAt(Timestamp expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
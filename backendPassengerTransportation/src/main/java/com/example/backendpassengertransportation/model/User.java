@@ -1,5 +1,6 @@
 package com.example.backendpassengertransportation.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.util.Date;
 
@@ -25,7 +26,9 @@ public class User {
     @Temporal(TemporalType.DATE)
     private Date dateOfBirth; // Дата рождения
 
+    // Хеш пароля принимается в запросах, но не передается в ответах сервера
     @Column(name = "password", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password; // Пароль
 
     // Конструктор по умолчанию
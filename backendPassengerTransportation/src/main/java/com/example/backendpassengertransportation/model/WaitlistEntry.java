@@ -0,0 +1,141 @@
+package com.example.backendpassengertransportation.model;
+
+import jakarta.persistence.*;
+import java.sql.Timestamp;
+
+// Модель для записи листа ожидания маршрута, на котором не осталось свободных мест
+// Освободившееся место (отмена бронирования, освобождение или истечение удержания) сразу получает первая ожидающая
+// запись маршрута: для нее создается бронирование, а запись переходит в состояние "promoted" с ID бронирования
+// Маршрут и пользователь хранятся идентификаторами: продвижение очереди не загружает связанные сущности
+@Entity
+@Table(name = "waitlist_entries")
+public class WaitlistEntry {
+
+    // Состояния записи: ожидание места и получение бронирования
+    public static final String WAITING = "waiting";
+    public static final String PROMOTED = "promoted";
+
+    @Id
+    @Column(name = "id_entry")
+    private String idEntry; // ID записи (токен, выдаваемый клиенту)
+
+    @Column(name = "id_route", nullable = false)
+    private String idRoute; // ID маршрута
+
+    @Column(name = "id_user", nullable = false)
+    private String idUser; // ID пользователя
+
+    @Column(name = "queue_position", nullable = false)
+    private long position; // Номер записи в очереди маршрута (места получают записи в порядке возрастания номера)
+
+    @Column(name = "status", nullable = false)
+    private String status; // Состояние записи: waiting или promoted
+
+    @Column(name = "id_booking")
+    private String idBooking; // ID созданного бронирования (пусто, пока запись ожидает место)
+
+    @Column(name = "created_at", nullable = false)
+    private Timestamp createdAt; // Время постановки в лист ожидания
+
+    @Column(name = "promoted_at")
+    private Timestamp promotedAt; // Время получения места
+
+    // Конструктор по умолчанию
+    public WaitlistEntry() {
+    }
+
+    // Конструктор с параметрами
+    public WaitlistEntry(String idEntry, String idRoute, String idUser, long position, String status,
+                         String idBooking, Timestamp createdAt, Timestamp promotedAt) {
+        this.idEntry = idEntry;
+        this.idRoute = idRoute;
+        this.idUser = idUser;
+        this.position = position;
+        this.status = status;
+        this.idBooking = idBooking;
+        this.createdAt = createdAt;
+        this.promotedAt = promotedAt;
+    }
+
+    // Геттеры и сеттеры
+
+    // Метод для получения ID записи
+    public String getIdEntry() {
+        return idEntry;
+    }
+
+    // Метод для установки ID записи
+    public void setIdEntry(String idEntry) {
+        this.idEntry = idEntry;
+    }
+
+    // Метод для получения ID маршрута
+    public String getIdRoute() {
+        return idRoute;
+    }
+
+    // Метод для установки ID маршрута
+    public void setIdRoute(String idRoute) {
+        this.idRoute = idRoute;
+    }
+
+    // Метод для получения ID пользователя
+    public String getIdUser() {
+        return idUser;
+    }
+
+    // Метод для установки ID пользователя
+    public void setIdUser(String idUser) {
+        this.idUser = idUser;
+    }
+
+    // Метод для получения номера записи в очереди маршрута
+    public long getPosition() {
+        return position;
+    }
+
+    // Метод для установки номера записи в очереди маршрута
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    // Метод для получения состояния записи
+    public String getStatus() {
+        return status;
+    }
+
+    // Метод для установки состояния записи
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    // Метод для получения ID созданного бронирования
+    public String getIdBooking() {
+        return idBooking;
+    }
+
+    // Метод для установки ID созданного бронирования
+    public void setIdBooking(String idBooking) {
+        this.idBooking = idBooking;
+    }
+
+    // Метод для получения времени постановки в лист ожидания
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    // Метод для установки времени постановки в лист ожидания
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    // Метод для получения времени получения места
+    public Timestamp getPromotedAt() {
+        return promotedAt;
+    }
+
+    // Метод для установки времени получения места
+    public void setPromotedAt(Timestamp promotedAt) {
+        this.promotedAt = promotedAt;
+    }
+}
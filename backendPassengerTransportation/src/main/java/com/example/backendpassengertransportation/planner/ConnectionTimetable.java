@@ -0,0 +1,180 @@
+package com.example.backendpassengertransportation.planner;
+
+import com.example.backendpassengertransportation.model.Route;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Расписание маршрутов в виде массивов примитивов для поиска поездок с пересадками (Connection Scan Algorithm)
+// Каждый маршрут - одно соединение между двумя городами; соединения упорядочены по времени отправления
+// Состав соединений неизменяем; изменяется только количество свободных мест
+public final class ConnectionTimetable {
+
+    // Значение «недостижимо» для времени прибытия
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final int size; // Количество соединений
+    private final long[] departure; // Время отправления, секунды от начала эпохи
+    private final long[] arrival; // Время прибытия, секунды от начала эпохи
+    private final int[] from; // Номер города отправления
+    private final int[] to; // Номер города назначения
+    private final AtomicIntegerArray seats; // Количество свободных мест
+    private final String[] routeIds; // ID маршрута соединения
+    private final Map<String, Integer> positionByRoute; // Номер соединения по ID маршрута
+    private final Map<String, Integer> stopByCity; // Номер города по ID города
+
+    private ConnectionTimetable(List<Route> sorted) {
+        size = sorted.size();
+        departure = new long[size];
+        arrival = new long[size];
+        from = new int[size];
+        to = new int[size];
+        seats = new AtomicIntegerArray(size);
+        routeIds = new String[size];
+        positionByRoute = new HashMap<>(size * 2);
+        stopByCity = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Route route = sorted.get(i);
+            departure[i] = route.getDepartureTime().getTime() / 1000;
+            arrival[i] = route.getArrivalTime().getTime() / 1000;
+            from[i] = stopByCity.computeIfAbsent(route.getDepartureCity().getIdCity(), c -> stopByCity.size());
+            to[i] = stopByCity.computeIfAbsent(route.getDestinationCity().getIdCity(), c -> stopByCity.size());
+            seats.set(i, route.getNumberAvailableSeats());
+            routeIds[i] = route.getIdRoute();
+            positionByRoute.put(route.getIdRoute(), i);
+        }
+    }
+
+    // Построение расписания по маршрутам
+    public static ConnectionTimetable build(Collection<Route> routes) {
+        List<Route> sorted = new ArrayList<>(routes);
+        sorted.sort(Comparator.comparing(Route::getDepartureTime).thenComparing(Route::getIdRoute));
+        return new ConnectionTimetable(sorted);
+    }
+
+    // Количество соединений
+    public int size() {
+        return size;
+    }
+
+    // Номер города в расписании или -1, если из города и в город нет ни одного маршрута
+    public int stopOf(String idCity) {
+        Integer stop = stopByCity.get(idCity);
+        return stop != null ? stop : -1;
+    }
+
+    // ID маршрута соединения
+    public String routeId(int connection) {
+        return routeIds[connection];
+    }
+
+    // Обновление количества свободных мест маршрута
+    public void updateSeats(String idRoute, int availableSeats) {
+        Integer position = positionByRoute.get(idRoute);
+        if (position != null) {
+            seats.set(position, availableSeats);
+        }
+    }
+
+    // Поиск Парето-оптимальных поездок из origin в destination: для каждого количества пересадок
+    // возвращается поездка, прибывающая раньше всех поездок с меньшим количеством пересадок
+    // Рассматриваются соединения с отправлением в [earliestDeparture, latestDeparture] (секунды от начала эпохи),
+    // не более maxLegs соединений, пересадка в одном городе не короче minTransferSeconds,
+    // на каждом соединении не менее passengers свободных мест
+    // Результат - списки номеров соединений в порядке следования, упорядоченные по количеству пересадок
+    public List<int[]> plan(int origin, int destination, long earliestDeparture, long latestDeparture,
+                            int maxLegs, long minTransferSeconds, int passengers) {
+        int stops = stopByCity.size();
+        // best[k][s] - самое раннее прибытие в город s не более чем за k соединений
+        long[][] best = new long[maxLegs + 1][stops];
+        // parent[k][s] - последнее соединение такой поездки, legs[k][s] - количество соединений в ней
+        int[][] parent = new int[maxLegs + 1][stops];
+        int[][] legs = new int[maxLegs + 1][stops];
+        for (long[] level : best) {
+            Arrays.fill(level, UNREACHABLE);
+        }
+        for (int k = 0; k <= maxLegs; k++) {
+            best[k][origin] = earliestDeparture;
+        }
+
+        for (int c = firstDepartureAtOrAfter(earliestDeparture); c < size && departure[c] <= latestDeparture; c++) {
+            long departs = departure[c];
+            // Соединение, отправляющееся не раньше прямого прибытия, не может улучшить ни одну поездку
+            if (best[1][destination] <= departs) {
+                break;
+            }
+            int u = from[c];
+            int v = to[c];
+            long arrives = arrival[c];
+            if (arrives <= departs || seats.get(c) < passengers) {
+                continue;
+            }
+            // Наименьшее количество соединений, после которого можно успеть на это соединение
+            for (int k = 1; k <= maxLegs; k++) {
+                long readyAt = best[k - 1][u];
+                if (readyAt == UNREACHABLE) {
+                    continue;
+                }
+                if (k > 1) {
+                    readyAt += minTransferSeconds;
+                }
+                if (readyAt > departs) {
+                    continue;
+                }
+                // Улучшение распространяется на все уровни с большим допустимым количеством соединений
+                for (int j = k; j <= maxLegs && arrives < best[j][v]; j++) {
+                    best[j][v] = arrives;
+                    parent[j][v] = c;
+                    legs[j][v] = k;
+                }
+                break;
+            }
+        }
+
+        List<int[]> journeys = new ArrayList<>();
+        long previous = UNREACHABLE;
+        for (int k = 1; k <= maxLegs; k++) {
+            if (best[k][destination] < previous) {
+                journeys.add(reconstruct(parent, legs, k, destination));
+                previous = best[k][destination];
+            }
+        }
+        return journeys;
+    }
+
+    // Восстановление поездки по последним соединениям, начиная с города назначения
+    private int[] reconstruct(int[][] parent, int[][] legs, int level, int destination) {
+        int count = legs[level][destination];
+        int[] journey = new int[count];
+        int stop = destination;
+        int k = level;
+        for (int i = count - 1; i >= 0; i--) {
+            int connection = parent[k][stop];
+            journey[i] = connection;
+            k = legs[k][stop] - 1;
+            stop = from[connection];
+        }
+        return journey;
+    }
+
+    // Номер первого соединения с отправлением не раньше указанного времени (двоичный поиск)
+    private int firstDepartureAtOrAfter(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (departure[middle] < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
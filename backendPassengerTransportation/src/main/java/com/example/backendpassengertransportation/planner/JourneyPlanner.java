@@ -0,0 +1,98 @@
+package com.example.backendpassengertransportation.planner;
+
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.index.RouteIndexListener;
+import com.example.backendpassengertransportation.model.Route;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Планировщик поездок с пересадками, работающий по расписанию, построенному из индекса маршрутов
+// Расписание перестраивается при изменении состава маршрутов, количество мест обновляется на месте
+@Component
+public class JourneyPlanner implements RouteIndexListener {
+
+    @Autowired
+    // Индекс маршрутов в памяти, из которого строится расписание
+    private RouteIndex routeIndex;
+
+    // Текущее расписание (null, пока не построено)
+    private volatile ConnectionTimetable timetable;
+
+    // Признак того, что состав маршрутов изменился и расписание нужно построить заново
+    private volatile boolean rebuild = true;
+
+    // Блокировка построения расписания (индекс при этом может загружаться из базы данных)
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    // Подписка на изменения индекса; сам индекс и расписание загружаются при первом поиске
+    @PostConstruct
+    void subscribe() {
+        routeIndex.addListener(this);
+    }
+
+    // Поиск Парето-оптимальных поездок между городами (параметры - см. ConnectionTimetable.plan)
+    // Время задается в секундах от начала эпохи; результат - списки ID маршрутов в порядке следования
+    public List<List<String>> plan(String departureCityId, String destinationCityId, long earliestDeparture,
+                                   long latestDeparture, int maxLegs, long minTransferSeconds, int passengers) {
+        ConnectionTimetable current = currentTimetable();
+        int origin = current.stopOf(departureCityId);
+        int destination = current.stopOf(destinationCityId);
+        List<List<String>> journeys = new ArrayList<>();
+        if (origin < 0 || destination < 0 || origin == destination) {
+            return journeys;
+        }
+        for (int[] connections : current.plan(origin, destination, earliestDeparture, latestDeparture,
+                maxLegs, minTransferSeconds, passengers)) {
+            List<String> routeIds = new ArrayList<>(connections.length);
+            for (int connection : connections) {
+                routeIds.add(current.routeId(connection));
+            }
+            journeys.add(routeIds);
+        }
+        return journeys;
+    }
+
+    // Маршрут по ID с актуальным количеством свободных мест
+    public Route findRoute(String idRoute) {
+        return routeIndex.findById(idRoute).orElse(null);
+    }
+
+    @Override
+    public void routesChanged() {
+        rebuild = true;
+    }
+
+    @Override
+    public void seatsChanged(String idRoute, int availableSeats) {
+        ConnectionTimetable current = timetable;
+        if (current != null) {
+            current.updateSeats(idRoute, availableSeats);
+        }
+    }
+
+    // Получение актуального расписания, при необходимости - построение по всем маршрутам индекса
+    // Построение выполняется под блокировкой чтения индекса, поэтому изменения мест не теряются между построением и установкой
+    private ConnectionTimetable currentTimetable() {
+        ConnectionTimetable current = timetable;
+        if (current != null && !rebuild) {
+            return current;
+        }
+        buildLock.lock();
+        try {
+            return routeIndex.withAllRoutes(routes -> {
+                if (timetable == null || rebuild) {
+                    rebuild = false;
+                    timetable = ConnectionTimetable.build(routes);
+                }
+                return timetable;
+            });
+        } finally {
+            buildLock.unlock();
+        }
+    }
+}
\ No newline at end of file
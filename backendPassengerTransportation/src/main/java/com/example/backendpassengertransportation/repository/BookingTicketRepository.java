@@ -1,27 +1,79 @@
 package com.example.backendpassengertransportation.repository;
 
 import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.BookingView;
 import com.example.backendpassengertransportation.model.Route;
-import com.example.backendpassengertransportation.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // Репозиторий для работы с бронированиями билетов, предоставляет методы для поиска и управления бронированиями
 @Repository
 public interface BookingTicketRepository extends JpaRepository<BookingTicket, String> {
 
+    // Запрос представлений бронирований: маршрут с названиями типа транспорта и городов и контактные данные пассажира
+    // одной строкой результата, без загрузки сущностей и остальных данных пользователя
+    String BOOKING_VIEW_QUERY = "SELECT new com.example.backendpassengertransportation.model.BookingView(" +
+            "b.idBooking, r.idRoute, t.transportType, d.cityName, a.cityName, r.departureTime, r.arrivalTime, " +
+            "r.totalNumberSeats, r.numberAvailableSeats, u.passengerFullName, u.passengerPhone, u.passengerEmail, b.bookingDate) " +
+            "FROM BookingTicket b JOIN b.route r JOIN r.transportType t JOIN r.departureCity d JOIN r.destinationCity a " +
+            "JOIN b.user u";
+
+    // Проверка наличия хотя бы одного бронирования
+    boolean existsBy();
+
+    // Потоковое чтение представлений всех бронирований одним запросом
+    // Строки читаются из курсора базы данных порциями по 500; поток используется внутри транзакции и закрывается после чтения
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_VIEW_QUERY)
+    Stream<BookingView> streamAll();
+
+    // Получение всех бронирований вместе с маршрутом (и его типом транспорта и городами) и пользователем одним запросом
+    @Override
+    @EntityGraph("BookingTicket.details")
+    List<BookingTicket> findAll();
+
+    // Поиск бронирования по ID вместе с маршрутом (для проверки времени отправления при отмене)
+    @EntityGraph("BookingTicket.route")
+    Optional<BookingTicket> findWithRouteByIdBooking(String idBooking);
+
     // Проверка наличия бронирования для конкретного маршрута
     boolean existsByRoute(Route route);
 
-    // Поиск бронирования по маршруту и телефону связанного пользователя
-    Optional<BookingTicket> findByRouteAndUserPassengerPhone(Route route, String passengerPhone);
+    // Получение представления бронирования по ID
+    @Query(BOOKING_VIEW_QUERY + " WHERE b.idBooking = :idBooking")
+    Optional<BookingView> findViewById(@Param("idBooking") String idBooking);
+
+    // Получение представлений бронирований по списку ID
+    @Query(BOOKING_VIEW_QUERY + " WHERE b.idBooking IN :idBookings")
+    List<BookingView> findViewsByIdBookingIn(@Param("idBookings") List<String> idBookings);
+
+    // Поиск представления бронирования по ID маршрута и телефону пассажира
+    @Query(BOOKING_VIEW_QUERY + " WHERE r.idRoute = :idRoute AND u.passengerPhone = :passengerPhone")
+    Optional<BookingView> findViewByRouteAndPassengerPhone(@Param("idRoute") String idRoute,
+                                                           @Param("passengerPhone") String passengerPhone);
+
+    // Получение представлений всех бронирований для определенного маршрута
+    @Query(BOOKING_VIEW_QUERY + " WHERE r.idRoute = :idRoute")
+    List<BookingView> findViewsByRoute(@Param("idRoute") String idRoute);
 
-    // Получение всех бронирований для определенного маршрута
-    List<BookingTicket> findByRoute(Route route);
+    // Получение представлений всех бронирований пассажира по email
+    @Query(BOOKING_VIEW_QUERY + " WHERE u.passengerEmail = :passengerEmail")
+    List<BookingView> findViewsByPassengerEmail(@Param("passengerEmail") String passengerEmail);
 
-    // Получение всех бронирований для определенного пользователя
-    List<BookingTicket> findByUser(User user);
+    // Удаление бронирования одним запросом, возвращает количество удаленных строк
+    // Используется при отмене, чтобы повторная отмена того же бронирования не возвращала место дважды
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM BookingTicket b WHERE b.idBooking = :idBooking")
+    int deleteByIdBooking(@Param("idBooking") String idBooking);
 }
\ No newline at end of file
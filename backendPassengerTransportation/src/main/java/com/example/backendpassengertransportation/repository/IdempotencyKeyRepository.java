@@ -0,0 +1,42 @@
+package com.example.backendpassengertransportation.repository;
+
+import com.example.backendpassengertransportation.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+// Репозиторий для работы с ключами идемпотентности
+// Ключ занимается вставкой строки до выполнения запроса: второй запрос с тем же ключом ожидает на первичном ключе
+// фиксации первого, не вставляет строку и повторяет сохраненный ответ
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Вставка ключа без ответа (вставка выполняется сразу, а не при сбросе контекста, как при save)
+    // Возвращает 0, если ключ уже занят: ошибка уникальности не прерывает транзакцию
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (id_key, request_hash, created_at, expires_at) " +
+            "VALUES (:idKey, :requestHash, :createdAt, :expiresAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertKey(@Param("idKey") String idKey, @Param("requestHash") String requestHash,
+                  @Param("createdAt") Timestamp createdAt, @Param("expiresAt") Timestamp expiresAt);
+
+    // Сохранение ответа на выполненный запрос
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE IdempotencyKey k SET k.responseStatus = :status, k.contentType = :contentType, k.responseBody = :body " +
+            "WHERE k.idKey = :idKey")
+    int saveResponse(@Param("idKey") String idKey, @Param("status") int status,
+                     @Param("contentType") String contentType, @Param("body") String body);
+
+    // Удаление ключа с истекшим сроком (перед повторным использованием ключа)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyKey k WHERE k.idKey = :idKey AND k.expiresAt <= :now")
+    int deleteExpiredByIdKey(@Param("idKey") String idKey, @Param("now") Timestamp now);
+
+    // Удаление всех ключей с истекшим сроком, возвращает количество удаленных строк
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") Timestamp now);
+}
@@ -2,36 +2,129 @@ package com.example.backendpassengertransportation.repository;
 
 import com.example.backendpassengertransportation.model.City;
 import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteView;
 import com.example.backendpassengertransportation.model.TransportType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 // Репозиторий для работы с маршрутами, предоставляет методы для поиска и управления маршрутами
 @Repository
-public interface RouteRepository extends JpaRepository<Route, String> {
+public interface RouteRepository extends JpaRepository<Route, String>, JpaSpecificationExecutor<Route> {
+
+    // Запрос представлений маршрутов: одна строка результата на маршрут с названиями типа транспорта и городов,
+    // без загрузки сущностей и дополнительных запросов к связанным таблицам
+    String ROUTE_VIEW_QUERY = "SELECT new com.example.backendpassengertransportation.model.RouteView(" +
+            "r.idRoute, t.transportType, d.cityName, a.cityName, r.departureTime, r.arrivalTime, " +
+            "r.totalNumberSeats, r.numberAvailableSeats) " +
+            "FROM Route r JOIN r.transportType t JOIN r.departureCity d JOIN r.destinationCity a";
+
+    // Проверка наличия хотя бы одного маршрута (без подсчета всех строк)
+    boolean existsBy();
+
+    // Потоковое чтение представлений всех маршрутов одним запросом
+    // Строки читаются из курсора базы данных порциями по 500, поэтому весь результат не загружается в память;
+    // поток должен использоваться внутри транзакции и закрываться после чтения
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(ROUTE_VIEW_QUERY)
+    Stream<RouteView> streamAll();
+
+    // Получение представления маршрута по ID
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.idRoute = :idRoute")
+    Optional<RouteView> findViewById(@Param("idRoute") String idRoute);
+
+    // Получение представлений маршрутов с пагинацией
+    @Query(value = ROUTE_VIEW_QUERY, countQuery = "SELECT count(r) FROM Route r")
+    Page<RouteView> findAllViews(Pageable pageable);
+
+    // Получение представлений маршрутов с временем отправления после указанного значения с пагинацией
+    @Query(value = ROUTE_VIEW_QUERY + " WHERE r.departureTime > :minTime",
+            countQuery = "SELECT count(r) FROM Route r WHERE r.departureTime > :minTime")
+    Page<RouteView> findViewsByDepartureTimeAfter(@Param("minTime") Timestamp minTime, Pageable pageable);
+
+    // Получение представлений маршрутов с временем отправления в полуинтервале [start, end), отсортированных по времени отправления
+    // Использует индекс idx_routes_departure_time
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.departureTime >= :start AND r.departureTime < :end " +
+            "ORDER BY r.departureTime ASC, r.idRoute ASC")
+    List<RouteView> findViewsByDepartureTimeInRange(@Param("start") Timestamp start, @Param("end") Timestamp end);
+
+    // Получение представлений маршрутов по типу транспорта
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.transportType = :transportType")
+    List<RouteView> findViewsByTransportType(@Param("transportType") TransportType transportType);
+
+    // Получение представлений маршрутов по городу отправления
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.departureCity = :departureCity")
+    List<RouteView> findViewsByDepartureCity(@Param("departureCity") City departureCity);
+
+    // Получение представлений маршрутов по городу назначения
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.destinationCity = :destinationCity")
+    List<RouteView> findViewsByDestinationCity(@Param("destinationCity") City destinationCity);
+
+    // Получение представлений маршрутов по городам отправления и назначения
+    @Query(ROUTE_VIEW_QUERY + " WHERE r.departureCity = :departureCity AND r.destinationCity = :destinationCity")
+    List<RouteView> findViewsByDepartureCityAndDestinationCity(@Param("departureCity") City departureCity,
+                                                               @Param("destinationCity") City destinationCity);
+
+    // Получение всех маршрутов вместе с типом транспорта и городами одним запросом
+    @Override
+    @EntityGraph("Route.details")
+    List<Route> findAll();
 
     // Поиск маршрутов по типу транспорта (через связанную сущность)
+    @EntityGraph("Route.details")
     List<Route> findByTransportType(TransportType transportType);
 
     // Поиск маршрутов по городам отправления и назначения (через связанные сущности)
+    @EntityGraph("Route.details")
     List<Route> findByDepartureCityAndDestinationCity(City departureCity, City destinationCity);
 
     // Поиск маршрутов по городу отправления (через связанную сущность)
+    @EntityGraph("Route.details")
     List<Route> findByDepartureCity(City departureCity);
 
     // Поиск маршрутов по городу назначения (через связанную сущность)
+    @EntityGraph("Route.details")
     List<Route> findByDestinationCity(City destinationCity);
 
     // Поиск маршрутов с количеством доступных мест больше указанного значения
+    @EntityGraph("Route.details")
     List<Route> findByNumberAvailableSeatsGreaterThan(int seats);
 
-    // Поиск маршрутов с временем отправления после указанного значения с поддержкой пагинации
-    @Query("SELECT r FROM Route r WHERE r.departureTime > :minTime")
-    Page<Route> findByDepartureTimeAfter(@Param("minTime") Timestamp minTime, Pageable pageable);
+    // Количество доступных мест маршрута (без загрузки сущности)
+    @Query("SELECT r.numberAvailableSeats FROM Route r WHERE r.idRoute = :idRoute")
+    Optional<Integer> findAvailableSeatsByIdRoute(@Param("idRoute") String idRoute);
+
+    // Поиск маршрута с блокировкой строки до конца транзакции (SELECT ... FOR UPDATE)
+    // Постановка в лист ожидания и возврат мест (условный UPDATE) блокируют одну строку маршрута и выполняются по очереди
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Route r WHERE r.idRoute = :idRoute")
+    Optional<Route> findForUpdateByIdRoute(@Param("idRoute") String idRoute);
+
+    // Атомарное уменьшение количества доступных мест, если свободных мест достаточно
+    // Возвращает количество обновленных строк: 0 означает, что мест не осталось
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Route r SET r.numberAvailableSeats = r.numberAvailableSeats - :seats " +
+            "WHERE r.idRoute = :idRoute AND r.numberAvailableSeats >= :seats")
+    int decrementAvailableSeats(@Param("idRoute") String idRoute, @Param("seats") int seats);
+
+    // Атомарное увеличение количества доступных мест, не превышающее общее количество мест
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Route r SET r.numberAvailableSeats = r.numberAvailableSeats + :seats " +
+            "WHERE r.idRoute = :idRoute AND r.numberAvailableSeats + :seats <= r.totalNumberSeats")
+    int incrementAvailableSeats(@Param("idRoute") String idRoute, @Param("seats") int seats);
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.backendpassengertransportation.repository;
+
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+// Спецификации для поиска маршрутов по нескольким критериям одним запросом
+public final class RouteSpecifications {
+
+    private RouteSpecifications() {
+    }
+
+    // Построение спецификации поиска маршрутов; незаданные (null) критерии не учитываются
+    // Тип транспорта и города присоединяются к запросу выборки (fetch join), чтобы не выполнять дополнительные запросы
+    public static Specification<Route> search(String transportType, String departureCity, String destinationCity,
+                                              Timestamp departureFrom, Timestamp departureTo, Integer minAvailableSeats) {
+        return (root, query, cb) -> {
+            From<?, TransportType> transport;
+            From<?, City> departure;
+            From<?, City> destination;
+            if (Long.class == query.getResultType() || long.class == query.getResultType()) {
+                // Запрос количества строк не допускает fetch join
+                transport = root.join("transportType", JoinType.INNER);
+                departure = root.join("departureCity", JoinType.INNER);
+                destination = root.join("destinationCity", JoinType.INNER);
+            } else {
+                transport = asJoin(root.fetch("transportType", JoinType.INNER));
+                departure = asJoin(root.fetch("departureCity", JoinType.INNER));
+                destination = asJoin(root.fetch("destinationCity", JoinType.INNER));
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (transportType != null) {
+                predicates.add(cb.equal(transport.get("transportType"), transportType));
+            }
+            if (departureCity != null) {
+                predicates.add(cb.equal(departure.get("cityName"), departureCity));
+            }
+            if (destinationCity != null) {
+                predicates.add(cb.equal(destination.get("cityName"), destinationCity));
+            }
+            if (departureFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("departureTime"), departureFrom));
+            }
+            if (departureTo != null) {
+                predicates.add(cb.lessThan(root.get("departureTime"), departureTo));
+            }
+            if (minAvailableSeats != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("numberAvailableSeats"), minAvailableSeats));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Построение спецификации для постраничной выборки по ключу (departureTime, idRoute) без OFFSET
+    // forward = true: маршруты строго после курсора, иначе строго перед ним; условие на время использует индекс idx_routes_departure_time
+    public static Specification<Route> keyset(Timestamp departureAfter, Timestamp cursorTime, String cursorId, boolean forward) {
+        return (root, query, cb) -> {
+            root.fetch("transportType", JoinType.INNER);
+            root.fetch("departureCity", JoinType.INNER);
+            root.fetch("destinationCity", JoinType.INNER);
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (departureAfter != null) {
+                predicates.add(cb.greaterThan(root.get("departureTime"), departureAfter));
+            }
+            if (cursorTime != null) {
+                if (forward) {
+                    predicates.add(cb.or(
+                            cb.greaterThan(root.get("departureTime"), cursorTime),
+                            cb.and(cb.equal(root.get("departureTime"), cursorTime), cb.greaterThan(root.get("idRoute"), cursorId))));
+                } else {
+                    predicates.add(cb.or(
+                            cb.lessThan(root.get("departureTime"), cursorTime),
+                            cb.and(cb.equal(root.get("departureTime"), cursorTime), cb.lessThan(root.get("idRoute"), cursorId))));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Приведение fetch-соединения к соединению для использования в условиях
+    @SuppressWarnings("unchecked")
+    private static <X, Y> Join<X, Y> asJoin(Fetch<X, Y> fetch) {
+        return (Join<X, Y>) fetch;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.backendpassengertransportation.repository;
+
+import com.example.backendpassengertransportation.model.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+
+// Репозиторий для работы с удержаниями мест
+// Удержания удаляются условными DELETE: из подтверждения, освобождения и истечения срока одного удержания
+// выполняется только то действие, которое удалило строку, поэтому места не возвращаются дважды
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+
+    // Удаление удержания (освобождение или истечение срока), возвращает количество удаленных строк
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SeatHold h WHERE h.idHold = :idHold")
+    int deleteByIdHold(@Param("idHold") String idHold);
+
+    // Удаление удержания, срок которого еще не истек (подтверждение), возвращает количество удаленных строк
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM SeatHold h WHERE h.idHold = :idHold AND h.expiresAt > :now")
+    int deleteActiveByIdHold(@Param("idHold") String idHold, @Param("now") Timestamp now);
+}
@@ -2,17 +2,39 @@ package com.example.backendpassengertransportation.repository;
 
 import com.example.backendpassengertransportation.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 // Репозиторий для работы с пользователями, предоставляет методы для поиска и управления пользователями
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
 
+    // Проверка наличия хотя бы одного пользователя
+    boolean existsBy();
+
+    // Потоковое чтение всех пользователей порциями по 500 строк из курсора базы данных
+    // Поток используется внутри транзакции и закрывается после чтения
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u")
+    Stream<User> streamAll();
+
     // Поиск пользователя по email
     Optional<User> findByPassengerEmail(String email);
 
+    // Проверка существования пользователя с указанным email
+    boolean existsByPassengerEmail(String passengerEmail);
+
     // Поиск пользователя по номеру телефона
     Optional<User> findByPassengerPhone(String phone);
 
@@ -26,4 +48,7 @@ public interface UserRepository extends JpaRepository<User, String> {
     // Поиск пользователя по ФИО, номеру телефона и email
     Optional<User> findByPassengerFullNameAndPassengerPhoneAndPassengerEmail(
             String passengerFullName, String passengerPhone, String passengerEmail);
+
+    // Поиск пользователей по списку email одним запросом (групповое бронирование)
+    List<User> findByPassengerEmailIn(Collection<String> emails);
 }
\ No newline at end of file
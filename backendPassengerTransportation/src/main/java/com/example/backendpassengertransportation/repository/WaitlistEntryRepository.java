@@ -0,0 +1,55 @@
+package com.example.backendpassengertransportation.repository;
+
+import com.example.backendpassengertransportation.model.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+// Репозиторий для работы с листом ожидания
+// Запись получает место условным UPDATE (только из состояния waiting): из продвижения очереди и выхода из листа
+// ожидания выполняется только то действие, которое изменило строку
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, String> {
+
+    // Последний номер в очереди маршрута (пусто, если записей нет)
+    @Query("SELECT max(w.position) FROM WaitlistEntry w WHERE w.idRoute = :idRoute")
+    Optional<Long> findMaxPositionByIdRoute(@Param("idRoute") String idRoute);
+
+    // Ожидающая запись пользователя на маршруте (повторная постановка возвращает существующую запись)
+    Optional<WaitlistEntry> findFirstByIdRouteAndIdUserAndStatus(String idRoute, String idUser, String status);
+
+    // ID первых ожидающих записей маршрута в порядке очереди (заполнение кэша начала очереди)
+    @Query("SELECT w.idEntry FROM WaitlistEntry w WHERE w.idRoute = :idRoute AND w.status = 'waiting' ORDER BY w.position")
+    List<String> findWaitingIdsByIdRoute(@Param("idRoute") String idRoute, Pageable pageable);
+
+    // ID маршрутов, у которых есть ожидающие записи (загрузка кэша после запуска приложения)
+    @Query("SELECT DISTINCT w.idRoute FROM WaitlistEntry w WHERE w.status = 'waiting'")
+    List<String> findRouteIdsWithWaitingEntries();
+
+    // Количество ожидающих записей маршрута перед указанным номером
+    @Query("SELECT count(w) FROM WaitlistEntry w WHERE w.idRoute = :idRoute AND w.status = 'waiting' AND w.position < :position")
+    long countWaitingBefore(@Param("idRoute") String idRoute, @Param("position") long position);
+
+    // Получение места ожидающей записью, возвращает количество измененных строк
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.status = 'promoted', w.promotedAt = :promotedAt " +
+            "WHERE w.idEntry = :idEntry AND w.status = 'waiting'")
+    int claim(@Param("idEntry") String idEntry, @Param("promotedAt") Timestamp promotedAt);
+
+    // Сохранение ID бронирования, созданного для записи, получившей место
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE WaitlistEntry w SET w.idBooking = :idBooking WHERE w.idEntry = :idEntry")
+    int updateIdBooking(@Param("idEntry") String idEntry, @Param("idBooking") String idBooking);
+
+    // Удаление ожидающей записи (выход из листа ожидания), возвращает количество удаленных строк
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WaitlistEntry w WHERE w.idEntry = :idEntry AND w.status = 'waiting'")
+    int deleteWaitingByIdEntry(@Param("idEntry") String idEntry);
+}
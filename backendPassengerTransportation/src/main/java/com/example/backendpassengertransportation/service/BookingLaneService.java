@@ -0,0 +1,106 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.lane.StripedLanes;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.PassengerDetails;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Полосы бронирования (включаются свойством app.booking-lanes.enabled): запросы бронирования распределяются
+// по полосам по ID маршрута, и поток полосы бронирует накопившиеся запросы маршрута одним пакетом
+// (одно списание мест и одна пакетная вставка на пакет, см. BookingTicketService.createBookingBatch)
+// Запросы популярного маршрута не ожидают блокировку строки маршрута, удерживая открытые транзакции:
+// к строке обращается только поток полосы, и число бронирований за одно обращение растет вместе с очередью
+@Service
+public class BookingLaneService {
+
+    // Запрос бронирования в очереди полосы и его результат
+    private record Request(PassengerDetails passenger, CompletableFuture<BookingView> result) {
+    }
+
+    // Сервис бронирований: пакетное бронирование маршрута
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    // Полосы бронирования (null, если полосы выключены)
+    private final StripedLanes<Request> lanes;
+
+    @Autowired
+    public BookingLaneService(@Value("${app.booking-lanes.enabled:false}") boolean enabled,
+                              @Value("${app.booking-lanes.lanes:4}") int laneCount,
+                              @Value("${app.booking-lanes.queue-capacity:1024}") int queueCapacity,
+                              @Value("${app.booking-lanes.max-batch:64}") int maxBatch) {
+        this.lanes = enabled ? new StripedLanes<>("booking-lane", laneCount, queueCapacity, maxBatch, this::bookBatch) : null;
+    }
+
+    // Признак использования полос бронирования
+    public boolean isEnabled() {
+        return lanes != null;
+    }
+
+    // Постановка запроса бронирования в очередь полосы маршрута
+    // Результат завершается бронированием после фиксации транзакции пакета или исключением с причиной отказа
+    // (те же исключения, что у BookingTicketService.createBookingTicket); при переполненной очереди
+    // запрос сразу отклоняется исключением RejectedExecutionException
+    public CompletableFuture<BookingView> createBookingTicket(String routeId, String passengerFullName,
+                                                              String passengerPhone, String passengerEmail) {
+        if (lanes == null) {
+            throw new IllegalStateException("Полосы бронирования выключены.");
+        }
+        CompletableFuture<BookingView> result = new CompletableFuture<>();
+        lanes.submit(routeId, new Request(new PassengerDetails(passengerFullName, passengerPhone, passengerEmail), result));
+        return result;
+    }
+
+    // Количество запросов, ожидающих в очередях полос
+    public int getQueueDepth() {
+        return lanes != null ? lanes.getQueueDepth() : 0;
+    }
+
+    // Количество обработанных пакетов
+    public long getBatchCount() {
+        return lanes != null ? lanes.getBatchCount() : 0;
+    }
+
+    // Количество обработанных запросов
+    public long getProcessedCount() {
+        return lanes != null ? lanes.getProcessedCount() : 0;
+    }
+
+    // Количество запросов, отклоненных из-за переполнения очереди
+    public long getRejectedCount() {
+        return lanes != null ? lanes.getRejectedCount() : 0;
+    }
+
+    // Остановка полос при завершении приложения: запросы из очередей обрабатываются
+    @PreDestroy
+    public void close() {
+        if (lanes != null) {
+            lanes.close();
+        }
+    }
+
+    // Бронирование пакета запросов одного маршрута в потоке полосы
+    // Результаты передаются после фиксации транзакции; при ошибке базы данных отказ получают все запросы пакета
+    private void bookBatch(String routeId, List<Request> batch) {
+        try {
+            List<BookingTicketService.BatchResult> results = bookingTicketService.createBookingBatch(routeId,
+                    batch.stream().map(Request::passenger).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                BookingTicketService.BatchResult result = results.get(i);
+                if (result.error() != null) {
+                    batch.get(i).result().completeExceptionally(result.error());
+                } else {
+                    batch.get(i).result().complete(result.booking());
+                }
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+}
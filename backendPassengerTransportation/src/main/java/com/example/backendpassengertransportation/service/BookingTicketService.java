@@ -1,26 +1,41 @@
 package com.example.backendpassengertransportation.service;
 
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import com.example.backendpassengertransportation.index.RouteIndex;
 import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.PassengerDetails;
 import com.example.backendpassengertransportation.model.Route;
 import com.example.backendpassengertransportation.model.User;
 import com.example.backendpassengertransportation.repository.BookingTicketRepository;
 import com.example.backendpassengertransportation.repository.RouteRepository;
 import com.example.backendpassengertransportation.repository.UserRepository;
 import com.example.backendpassengertransportation.util.ValidationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class BookingTicketService {
 
+    // Результат бронирования одного пассажира пакета: бронирование или исключение с причиной отказа
+    public record BatchResult(BookingView booking, RuntimeException error) {
+    }
+
     // Репозиторий для работы с бронированиями билетов
     @Autowired
     private BookingTicketRepository bookingTicketRepository;
@@ -33,33 +48,67 @@ public class BookingTicketService {
     @Autowired
     private UserRepository userRepository;
 
-    // Получение списка всех бронирований
-    public List<BookingTicket> getAllBookingTickets() {
-        return bookingTicketRepository.findAll();
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Индекс маршрутов в памяти, с количеством свободных мест
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Реестр метрик: счетчик попыток бронирования по результату и причине отказа (booking.attempts)
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Пакетная запись бронирований для занятых мест
+    @Autowired
+    private BookingWriter bookingWriter;
+
+    // Сервис листа ожидания: передача освободившегося места первой записи очереди маршрута
+    @Autowired
+    private WaitlistService waitlistService;
+
+    // Максимальное количество пассажиров в одном групповом бронировании
+    @Value("${app.group-booking.max-passengers:50}")
+    private int maxGroupSize;
+
+    // Проверка наличия хотя бы одного бронирования
+    public boolean hasBookingTickets() {
+        return bookingTicketRepository.existsBy();
+    }
+
+    // Потоковая передача представлений всех бронирований обработчику по одному
+    // Представления не являются сущностями и не накапливаются в контексте персистентности,
+    // поэтому потребление памяти не зависит от количества бронирований
+    @Transactional(readOnly = true)
+    public void streamAllBookingTickets(Consumer<BookingView> consumer) {
+        try (Stream<BookingView> bookingTickets = bookingTicketRepository.streamAll()) {
+            bookingTickets.forEach(consumer);
+        }
     }
 
     // Получение бронирования по ID
-    public BookingTicket getBookingTicketById(String idBooking) {
-        return bookingTicketRepository.findById(idBooking)
+    public BookingView getBookingTicketById(String idBooking) {
+        return bookingTicketRepository.findViewById(idBooking)
                 .orElseThrow(() -> new NoSuchElementException("Бронирование с ID " + idBooking + " не найдено."));
     }
 
     // Создание нового бронирования с проверкой времени до отправления
     @Transactional
-    public BookingTicket createBookingTicket(String routeId, String passengerFullName, String passengerPhone, String passengerEmail) {
+    public BookingView createBookingTicket(String routeId, String passengerFullName, String passengerPhone, String passengerEmail) {
         // Проверка формата телефона
         if (!ValidationUtil.isValidPhoneFormat(passengerPhone)) {
-            throw new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX");
+            throw rejected("invalid_phone", new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX"));
         }
 
         // Проверка формата email
         if (!ValidationUtil.isValidEmailFormat(passengerEmail)) {
-            throw new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)");
+            throw rejected("invalid_email", new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)"));
         }
 
         // Проверка маршрута
         Route route = routeRepository.findById(routeId)
-                .orElseThrow(() -> new NoSuchElementException("Маршрут с ID " + routeId + " не найден."));
+                .orElseThrow(() -> rejected("route_not_found", new NoSuchElementException("Маршрут с ID " + routeId + " не найден.")));
 
         // Получение текущего времени и времени отправления маршрута
         LocalDateTime currentTime = LocalDateTime.now();
@@ -67,52 +116,231 @@ public class BookingTicketService {
 
         // Проверка, что маршрут уже отправился
         if (currentTime.isAfter(departureTime)) {
-            throw new IllegalStateException("Бронирование невозможно: маршрут уже отправился.");
+            throw rejected("departed", new IllegalStateException("Бронирование невозможно: маршрут уже отправился."));
         }
 
         // Проверка времени до отправления: должно быть не менее 30 минут
         long minutesUntilDeparture = ChronoUnit.MINUTES.between(currentTime, departureTime);
         if (minutesUntilDeparture < 30) {
-            throw new IllegalStateException("Бронирование невозможно: до отправления осталось менее 30 минут.");
+            throw rejected("departure_soon", new IllegalStateException("Бронирование невозможно: до отправления осталось менее 30 минут."));
         }
 
         // Проверка пользователя
         User user = userRepository.findByPassengerFullNameAndPassengerPhoneAndPassengerEmail(passengerFullName, passengerPhone, passengerEmail)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок."));
+                .orElseThrow(() -> rejected("user_not_found", new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок.")));
 
-        // Проверка доступности мест
-        if (route.getNumberAvailableSeats() <= 0) {
-            throw new IllegalStateException("Нет доступных мест для бронирования.");
+        // Атомарное занятие места одним условным UPDATE: если свободных мест нет, ни одна строка не обновляется
+        if (routeRepository.decrementAvailableSeats(routeId, 1) == 0) {
+            throw rejected("no_seats", new IllegalStateException("Нет доступных мест для бронирования."));
         }
-
-        // Уменьшение количества мест
-        route.setNumberAvailableSeats(route.getNumberAvailableSeats() - 1);
-        routeRepository.save(route);
+        routeIndex.seatsChanged(routeId, -1);
 
         // Создание бронирования
         Timestamp bookingDate = Timestamp.valueOf(LocalDateTime.now());
-        String newIdBooking = generateNewId("b");
-        BookingTicket bookingTicket = new BookingTicket(newIdBooking, route, user, bookingDate);
-        return bookingTicketRepository.save(bookingTicket);
+        String newIdBooking = idAllocator.nextId(IdSequence.BOOKING_TICKET);
+        bookingTicketRepository.save(new BookingTicket(newIdBooking, route, user, bookingDate));
+        meterRegistry.counter("booking.attempts", "outcome", "success", "reason", "none").increment();
+        // Созданное бронирование возвращается в виде представления с актуальным количеством мест маршрута:
+        // после условного UPDATE контекст персистентности очищен, и связанные сущности сохраненного бронирования не загружены
+        return bookingTicketRepository.findViewById(newIdBooking).orElseThrow();
     }
 
-    // Генерация нового ID для бронирования
-    private String generateNewId(String prefix) {
-        List<BookingTicket> allBookings = bookingTicketRepository.findAll();
-        int maxId = 0;
-        for (BookingTicket booking : allBookings) {
-            String id = booking.getIdBooking().substring(1);
-            int num = Integer.parseInt(id);
-            maxId = Math.max(maxId, num);
+    // Групповое бронирование: по одному месту для каждого пассажира, все или ни одного
+    // Независимо от размера группы выполняются один запрос пользователей, одно условное списание мест
+    // и одна пакетная вставка бронирований; возвращаются бронирования в порядке пассажиров запроса
+    @Transactional
+    public List<BookingView> createGroupBooking(String routeId, List<PassengerDetails> passengers) {
+        if (routeId == null || routeId.isBlank()) {
+            throw rejected("route_not_found", new IllegalArgumentException("Не указан идентификатор маршрута."));
+        }
+        if (passengers == null || passengers.isEmpty()) {
+            throw rejected("empty_group", new IllegalArgumentException("Список пассажиров не может быть пустым."));
+        }
+        if (passengers.size() > maxGroupSize) {
+            throw rejected("group_too_large", new IllegalArgumentException("В групповом бронировании может быть не более " + maxGroupSize + " пассажиров."));
+        }
+
+        // Проверка формата телефона и email каждого пассажира; в сообщении перечисляются все ошибки
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < passengers.size(); i++) {
+            PassengerDetails passenger = passengers.get(i);
+            if (passenger == null || passenger.getPassengerFullName() == null
+                    || passenger.getPassengerPhone() == null || passenger.getPassengerEmail() == null) {
+                errors.add("пассажир " + (i + 1) + ": не указаны ФИО, телефон или email");
+                continue;
+            }
+            if (!ValidationUtil.isValidPhoneFormat(passenger.getPassengerPhone())) {
+                errors.add("пассажир " + (i + 1) + ": неверный формат телефона");
+            }
+            if (!ValidationUtil.isValidEmailFormat(passenger.getPassengerEmail())) {
+                errors.add("пассажир " + (i + 1) + ": неверный формат email");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw rejected("invalid_passenger", new IllegalArgumentException("Групповое бронирование отклонено: " + String.join("; ", errors) + "."));
+        }
+
+        // Проверка маршрута
+        Route route = routeRepository.findById(routeId)
+                .orElseThrow(() -> rejected("route_not_found", new NoSuchElementException("Маршрут с ID " + routeId + " не найден.")));
+
+        // Получение текущего времени и времени отправления маршрута
+        LocalDateTime currentTime = LocalDateTime.now();
+        LocalDateTime departureTime = route.getDepartureTime().toLocalDateTime();
+
+        // Проверка, что маршрут уже отправился
+        if (currentTime.isAfter(departureTime)) {
+            throw rejected("departed", new IllegalStateException("Бронирование невозможно: маршрут уже отправился."));
         }
-        return prefix + (maxId + 1);
+
+        // Проверка времени до отправления: должно быть не менее 30 минут
+        if (ChronoUnit.MINUTES.between(currentTime, departureTime) < 30) {
+            throw rejected("departure_soon", new IllegalStateException("Бронирование невозможно: до отправления осталось менее 30 минут."));
+        }
+
+        // Поиск пользователей всех пассажиров одним запросом
+        Map<String, User> usersByDetails = new HashMap<>();
+        for (User user : userRepository.findByPassengerEmailIn(passengers.stream().map(PassengerDetails::getPassengerEmail).distinct().toList())) {
+            usersByDetails.put(detailsKey(user.getPassengerFullName(), user.getPassengerPhone(), user.getPassengerEmail()), user);
+        }
+        List<User> users = new ArrayList<>(passengers.size());
+        for (int i = 0; i < passengers.size(); i++) {
+            PassengerDetails passenger = passengers.get(i);
+            User user = usersByDetails.get(detailsKey(passenger.getPassengerFullName(), passenger.getPassengerPhone(), passenger.getPassengerEmail()));
+            if (user == null) {
+                errors.add("пассажир " + (i + 1) + " не найден в базе данных пассажирских перевозок");
+            }
+            users.add(user);
+        }
+        if (!errors.isEmpty()) {
+            throw rejected("user_not_found", new NoSuchElementException("Групповое бронирование отклонено: " + String.join("; ", errors) + "."));
+        }
+
+        // Атомарное занятие мест всей группы одним условным UPDATE: если мест не хватает, не занимается ни одно
+        if (routeRepository.decrementAvailableSeats(routeId, passengers.size()) == 0) {
+            throw rejected("no_seats", new IllegalStateException("Недостаточно доступных мест для бронирования группы из " + passengers.size() + " пассажиров."));
+        }
+        routeIndex.seatsChanged(routeId, -passengers.size());
+
+        List<BookingView> bookingTickets = bookingWriter.insertBookingTickets(routeId, users);
+        meterRegistry.counter("booking.attempts", "outcome", "success", "reason", "none").increment(passengers.size());
+        return bookingTickets;
+    }
+
+    // Пакетное бронирование маршрута для полос бронирования (BookingLaneService): по одному месту каждому пассажиру
+    // в порядке очереди, пока есть места. В отличие от группового бронирования пассажиры независимы: отказ одному
+    // не отменяет бронирования остальных. Выполняются один запрос маршрута, один запрос пользователей, одно условное
+    // списание мест (повторяется для меньшего количества, если мест не хватает на всех) и одна пакетная вставка
+    // Возвращает результаты в порядке пассажиров
+    @Transactional
+    public List<BatchResult> createBookingBatch(String routeId, List<PassengerDetails> passengers) {
+        BatchResult[] results = new BatchResult[passengers.size()];
+
+        // Проверка формата телефона и email каждого пассажира
+        for (int i = 0; i < passengers.size(); i++) {
+            PassengerDetails passenger = passengers.get(i);
+            if (!ValidationUtil.isValidPhoneFormat(passenger.getPassengerPhone())) {
+                results[i] = failure("invalid_phone", new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX"));
+            } else if (!ValidationUtil.isValidEmailFormat(passenger.getPassengerEmail())) {
+                results[i] = failure("invalid_email", new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)"));
+            }
+        }
+
+        // Проверка маршрута и времени до отправления: при ошибке отказ получают все пассажиры пакета
+        Route route = routeRepository.findById(routeId).orElse(null);
+        LocalDateTime currentTime = LocalDateTime.now();
+        for (int i = 0; i < passengers.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            if (route == null) {
+                results[i] = failure("route_not_found", new NoSuchElementException("Маршрут с ID " + routeId + " не найден."));
+            } else if (currentTime.isAfter(route.getDepartureTime().toLocalDateTime())) {
+                results[i] = failure("departed", new IllegalStateException("Бронирование невозможно: маршрут уже отправился."));
+            } else if (ChronoUnit.MINUTES.between(currentTime, route.getDepartureTime().toLocalDateTime()) < 30) {
+                results[i] = failure("departure_soon", new IllegalStateException("Бронирование невозможно: до отправления осталось менее 30 минут."));
+            }
+        }
+
+        // Поиск пользователей всех пассажиров одним запросом
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < passengers.size(); i++) {
+            if (results[i] == null) {
+                emails.add(passengers.get(i).getPassengerEmail());
+            }
+        }
+        Map<String, User> usersByDetails = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (User user : userRepository.findByPassengerEmailIn(emails.stream().distinct().toList())) {
+                usersByDetails.put(detailsKey(user.getPassengerFullName(), user.getPassengerPhone(), user.getPassengerEmail()), user);
+            }
+        }
+        List<Integer> accepted = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < passengers.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            PassengerDetails passenger = passengers.get(i);
+            User user = usersByDetails.get(detailsKey(passenger.getPassengerFullName(), passenger.getPassengerPhone(), passenger.getPassengerEmail()));
+            if (user == null) {
+                results[i] = failure("user_not_found", new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок."));
+            } else {
+                accepted.add(i);
+                users.add(user);
+            }
+        }
+
+        // Занятие мест: места получают первые пассажиры очереди, остальным отказывается
+        int seats = users.isEmpty() ? 0 : claimSeats(routeId, users.size());
+        for (int i = seats; i < accepted.size(); i++) {
+            results[accepted.get(i)] = failure("no_seats", new IllegalStateException("Нет доступных мест для бронирования."));
+        }
+        if (seats > 0) {
+            routeIndex.seatsChanged(routeId, -seats);
+            List<BookingView> bookingTickets = bookingWriter.insertBookingTickets(routeId, users.subList(0, seats));
+            for (int i = 0; i < seats; i++) {
+                results[accepted.get(i)] = new BatchResult(bookingTickets.get(i), null);
+            }
+            meterRegistry.counter("booking.attempts", "outcome", "success", "reason", "none").increment(seats);
+        }
+        return List.of(results);
+    }
+
+    // Списание до requested мест маршрута условным UPDATE; возвращает количество списанных мест
+    // Если мест меньше, чем требуется, списание повторяется для количества оставшихся мест
+    private int claimSeats(String routeId, int requested) {
+        int seats = requested;
+        while (seats > 0) {
+            if (routeRepository.decrementAvailableSeats(routeId, seats) > 0) {
+                return seats;
+            }
+            seats = Math.min(seats - 1, routeRepository.findAvailableSeatsByIdRoute(routeId).orElse(0));
+        }
+        return 0;
+    }
+
+    // Ключ сопоставления пассажира запроса с пользователем
+    private static String detailsKey(String passengerFullName, String passengerPhone, String passengerEmail) {
+        return passengerFullName + '\n' + passengerPhone + '\n' + passengerEmail;
+    }
+
+    // Отказ в бронировании одному пассажиру пакета с учетом в метрике booking.attempts
+    private BatchResult failure(String reason, RuntimeException exception) {
+        return new BatchResult(null, rejected(reason, exception));
+    }
+
+    // Учет отказа в бронировании в метрике booking.attempts; возвращает переданное исключение для выброса
+    private <T extends RuntimeException> T rejected(String reason, T exception) {
+        meterRegistry.counter("booking.attempts", "outcome", "failure", "reason", reason).increment();
+        return exception;
     }
 
     // Удаление бронирования с проверкой времени до отправления
     @Transactional
     public void deleteBookingTicket(String idBooking) {
         // Проверка существования бронирования
-        BookingTicket bookingTicket = bookingTicketRepository.findById(idBooking)
+        BookingTicket bookingTicket = bookingTicketRepository.findWithRouteByIdBooking(idBooking)
                 .orElseThrow(() -> new IllegalArgumentException("Бронирование с ID " + idBooking + " не найдено."));
 
         Route route = bookingTicket.getRoute();
@@ -132,45 +360,59 @@ public class BookingTicketService {
             throw new IllegalStateException("Отмена бронирования невозможна: до отправления осталось менее 30 минут.");
         }
 
-        // Увеличение количества доступных мест
-        route.setNumberAvailableSeats(route.getNumberAvailableSeats() + 1);
-        routeRepository.save(route);
-        bookingTicketRepository.deleteById(idBooking);
+        // Удаление бронирования условным DELETE: при параллельной отмене того же бронирования место возвращается один раз
+        if (bookingTicketRepository.deleteByIdBooking(idBooking) == 0) {
+            throw new IllegalArgumentException("Бронирование с ID " + idBooking + " не найдено.");
+        }
+
+        // Атомарное увеличение количества доступных мест; если на маршруте есть лист ожидания, место в этой же
+        // транзакции получает первая запись очереди и не становится доступным другим запросам
+        if (routeRepository.incrementAvailableSeats(route.getIdRoute(), 1) > 0
+                && waitlistService.promote(route.getIdRoute(), 1) == 0) {
+            routeIndex.seatsChanged(route.getIdRoute(), 1);
+        }
     }
 
     // Поиск бронирования по маршруту и номеру телефона
-    public BookingTicket getBookingTicketByRouteAndPassengerPhone(String routeId, String passengerPhone) {
+    // Бронирование ищется одним запросом; существование маршрута проверяется, только если бронирование не найдено
+    public BookingView getBookingTicketByRouteAndPassengerPhone(String routeId, String passengerPhone) {
         // Проверка формата телефона
         if (!ValidationUtil.isValidPhoneFormat(passengerPhone)) {
             throw new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX");
         }
-        // Проверка маршрута
-        Route route = routeRepository.findById(routeId)
-                .orElseThrow(() -> new IllegalArgumentException("Маршрут с ID " + routeId + " не найден."));
-        Optional<BookingTicket> bookingTicket = bookingTicketRepository.findByRouteAndUserPassengerPhone(route, passengerPhone);
-        if (bookingTicket.isEmpty()) {
-            throw new NoSuchElementException("Бронирование с телефоном '" + passengerPhone + "' не найдено.");
-        }
-        return bookingTicket.get();
+        return bookingTicketRepository.findViewByRouteAndPassengerPhone(routeId, passengerPhone)
+                .orElseThrow(() -> {
+                    // Проверка маршрута
+                    if (!routeRepository.existsById(routeId)) {
+                        return new IllegalArgumentException("Маршрут с ID " + routeId + " не найден.");
+                    }
+                    return new NoSuchElementException("Бронирование с телефоном '" + passengerPhone + "' не найдено.");
+                });
     }
 
     // Получение всех бронирований для маршрута
-    public List<BookingTicket> getBookingTicketsByRoute(String routeId) {
+    // Существование маршрута проверяется отдельным запросом, только если бронирований не найдено
+    public List<BookingView> getBookingTicketsByRoute(String routeId) {
+        List<BookingView> bookingTickets = bookingTicketRepository.findViewsByRoute(routeId);
         // Проверка маршрута
-        Route route = routeRepository.findById(routeId)
-                .orElseThrow(() -> new IllegalArgumentException("Маршрут с ID " + routeId + " не найден."));
-        return bookingTicketRepository.findByRoute(route);
+        if (bookingTickets.isEmpty() && !routeRepository.existsById(routeId)) {
+            throw new IllegalArgumentException("Маршрут с ID " + routeId + " не найден.");
+        }
+        return bookingTickets;
     }
 
     // Получение бронирований по email пассажира
-    public List<BookingTicket> getBookingTicketsByPassengerEmail(String passengerEmail) {
+    // Существование пользователя проверяется отдельным запросом, только если бронирований не найдено
+    public List<BookingView> getBookingTicketsByPassengerEmail(String passengerEmail) {
         // Проверка формата email
         if (!ValidationUtil.isValidEmailFormat(passengerEmail)) {
             throw new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)");
         }
+        List<BookingView> bookingTickets = bookingTicketRepository.findViewsByPassengerEmail(passengerEmail);
         // Проверка пользователя
-        User user = userRepository.findByPassengerEmail(passengerEmail)
-                .orElseThrow(() -> new NoSuchElementException("Пользователь с email '" + passengerEmail + "' не найден."));
-        return bookingTicketRepository.findByUser(user);
+        if (bookingTickets.isEmpty() && !userRepository.existsByPassengerEmail(passengerEmail)) {
+            throw new NoSuchElementException("Пользователь с email '" + passengerEmail + "' не найден.");
+        }
+        return bookingTickets;
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Запись бронирований для мест, уже занятых вызывающим сервисом (бронирование, лист ожидания, удержание мест)
+// Не зависит от других сервисов, поэтому сервисы бронирований, листа ожидания и удержаний не зависят друг от друга по кругу
+@Component
+public class BookingWriter {
+
+    // Репозиторий для работы с бронированиями билетов
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Шаблон JDBC для пакетной вставки бронирований (выполняется в транзакции JPA)
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Создание бронирований маршрута (по одному на каждого пользователя списка) одной пакетной вставкой JDBC
+    // Места маршрута должны быть уже заняты вызывающим методом; выполняется в его транзакции
+    // Возвращает представления созданных бронирований в порядке пользователей
+    List<BookingView> insertBookingTickets(String routeId, List<User> users) {
+        Timestamp bookingDate = Timestamp.valueOf(LocalDateTime.now());
+        List<String> idBookings = new ArrayList<>(users.size());
+        List<Object[]> rows = new ArrayList<>(users.size());
+        for (User user : users) {
+            String newIdBooking = idAllocator.nextId(IdSequence.BOOKING_TICKET);
+            idBookings.add(newIdBooking);
+            rows.add(new Object[]{newIdBooking, routeId, user.getIdUser(), bookingDate});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO booking_tickets (id_booking, id_route, id_user, booking_date) VALUES (?, ?, ?, ?)", rows);
+
+        // Представления загружаются одним запросом и упорядочиваются по списку ID
+        Map<String, BookingView> viewsById = new HashMap<>();
+        for (BookingView view : bookingTicketRepository.findViewsByIdBookingIn(idBookings)) {
+            viewsById.put(view.getIdBooking(), view);
+        }
+        return idBookings.stream().map(viewsById::get).toList();
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.backendpassengertransportation.service;
 
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import com.example.backendpassengertransportation.index.RouteIndex;
 import com.example.backendpassengertransportation.model.City;
 import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.util.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,9 +19,20 @@ public class CityService {
     @Autowired
     private CityRepository cityRepository;
 
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Индекс маршрутов в памяти, хранящий названия городов и типов транспорта
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Кэш списка городов с номером версии, увеличиваемым при каждом изменении
+    private final ReferenceDataCache<City> cache = new ReferenceDataCache<>();
+
     // Метод для получения всех городов
     public List<City> getAllCities() {
-        return cityRepository.findAll();
+        return cache.get(cityRepository::findAll);
     }
 
     // Метод для получения города по ID
@@ -30,21 +45,12 @@ public class CityService {
         if (cityName == null || cityName.isEmpty()) {
             throw new IllegalArgumentException("Название города не может быть пустым.");
         }
-        String newIdCity = generateNewId("c");
+        String newIdCity = idAllocator.nextId(IdSequence.CITY);
         City newCity = new City(newIdCity, cityName);
-        return cityRepository.save(newCity);
-    }
-
-    // Метод для генерации нового ID в формате "c + число"
-    private String generateNewId(String prefix) {
-        List<City> allCities = cityRepository.findAll();
-        int maxId = 0;
-        for (City city : allCities) {
-            String id = city.getIdCity().substring(1);
-            int num = Integer.parseInt(id);
-            maxId = Math.max(maxId, num);
-        }
-        return prefix + (maxId + 1);
+        City savedCity = cityRepository.save(newCity);
+        routeIndex.invalidate();
+        cache.invalidate();
+        return savedCity;
     }
 
     // Метод для обновления города
@@ -54,7 +60,10 @@ public class CityService {
         if (cityName != null && !cityName.isEmpty()) {
             city.setCityName(cityName);
         }
-        return cityRepository.save(city);
+        City savedCity = cityRepository.save(city);
+        routeIndex.invalidate();
+        cache.invalidate();
+        return savedCity;
     }
 
     // Метод для удаления города по ID
@@ -62,5 +71,7 @@ public class CityService {
         City city = cityRepository.findById(idCity)
                 .orElseThrow(() -> new IllegalArgumentException("Город с ID " + idCity + " не найден."));
         cityRepository.deleteById(idCity);
+        routeIndex.invalidate();
+        cache.invalidate();
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.model.IdempotencyKey;
+import com.example.backendpassengertransportation.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Сервис ключей идемпотентности (заголовок Idempotency-Key): запрос с уже использованным ключом не выполняется повторно,
+// а получает исходный ответ. Ответы хранятся в таблице idempotency_keys (общей для всех экземпляров сервера)
+// и в ограниченном кэше в памяти; ключ действует заданное время
+// Сохраняются только успешные ответы: при ошибке транзакция отменяется вместе с ключом, и повтор выполняет запрос заново
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Заголовок, отмечающий повторенный ответ
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Количество попыток занять ключ: попытка повторяется, если одновременный запрос с тем же ключом был отменен
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Ответ на запрос с ключом идемпотентности; replayed - ответ повторен из хранилища
+    public record Result(int status, String contentType, String body, boolean replayed) {
+
+        // Преобразование в HTTP-ответ: тело передается в том виде, в котором было сохранено
+        public ResponseEntity<String> toResponseEntity() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                    .contentType(MediaType.parseMediaType(contentType));
+            if (replayed) {
+                builder.header(REPLAYED_HEADER, "true");
+            }
+            return builder.body(body);
+        }
+    }
+
+    // Запись кэша: ответ и момент истечения срока ключа (в миллисекундах)
+    private record Entry(String requestHash, Result result, long expiresAt) {
+    }
+
+    // Репозиторий для работы с ключами идемпотентности
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    // Шаблон транзакции, объединяющей ключ и выполняемую операцию
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Преобразование результата операции в JSON (с настройками приложения, как при обычном ответе)
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Реестр метрик: счетчик запросов с ключом по результату (idempotency.requests)
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Срок действия ключа, в секундах
+    @Value("${app.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    // Ответы по ID ключа в порядке обращения: первым вытесняется ответ, к которому дольше всего не обращались
+    private final LinkedHashMap<String, Entry> cache;
+
+    @Autowired
+    public IdempotencyService(@Value("${app.idempotency.cache-size:10000}") int cacheSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    // Выполнение операции с ключом идемпотентности: при первом запросе операция выполняется в одной транзакции
+    // с записью ключа и ее результат сохраняется; при повторном возвращается сохраненный ответ
+    // operation и request определяют запрос: тот же ключ с другим запросом отклоняется
+    // Исключения операции передаются вызывающему, ключ при этом не сохраняется
+    public Result execute(String key, String operation, String request, HttpStatus successStatus, Supplier<Object> action) {
+        String idKey = sha256(currentUser() + "\n" + key);
+        String requestHash = sha256(operation + "\n" + request);
+
+        Result cached = findCached(idKey, requestHash);
+        if (cached != null) {
+            return replayed(cached);
+        }
+        for (int attempt = 1; ; attempt++) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            Optional<IdempotencyKey> stored = idempotencyKeyRepository.findById(idKey);
+            if (stored.isPresent()) {
+                if (stored.get().getExpiresAt().after(now)) {
+                    return replayed(remember(idKey, stored.get(), requestHash));
+                }
+                // Срок ключа истек: ключ может быть использован для нового запроса
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteExpiredByIdKey(idKey, now));
+            }
+            Timestamp expiresAt = new Timestamp(now.getTime() + ttlSeconds * 1000);
+            try {
+                Result result = transactionTemplate.execute(status -> {
+                    if (idempotencyKeyRepository.insertKey(idKey, requestHash, now, expiresAt) == 0) {
+                        // Ключ занят одновременным запросом, который уже зафиксирован
+                        throw new KeyTakenException();
+                    }
+                    Result executed = toResult(successStatus, action.get());
+                    idempotencyKeyRepository.saveResponse(idKey, executed.status(), executed.contentType(), executed.body());
+                    return executed;
+                });
+                synchronized (cache) {
+                    cache.put(idKey, new Entry(requestHash, result, expiresAt.getTime()));
+                }
+                meterRegistry.counter("idempotency.requests", "outcome", "executed").increment();
+                return result;
+            } catch (KeyTakenException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new IllegalStateException("Запрос с этим ключом идемпотентности уже выполняется. Повторите запрос позже.");
+                }
+            }
+        }
+    }
+
+    // Удаление ключей с истекшим сроком из таблицы
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-ms:600000}")
+    public void deleteExpiredKeys() {
+        try {
+            int deleted = transactionTemplate.execute(status ->
+                    idempotencyKeyRepository.deleteExpired(new Timestamp(System.currentTimeMillis())));
+            if (deleted > 0) {
+                log.debug("Удалено ключей идемпотентности с истекшим сроком: {}", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось удалить ключи идемпотентности с истекшим сроком: {}", e.getMessage());
+        }
+    }
+
+    // Очистка кэша ответов: ответы остаются в таблице (для тестов)
+    void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    // Поиск ответа в кэше; ключ с другим запросом отклоняется
+    private Result findCached(String idKey, String requestHash) {
+        synchronized (cache) {
+            Entry entry = cache.get(idKey);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                cache.remove(idKey);
+                return null;
+            }
+            checkRequest(entry.requestHash(), requestHash);
+            return entry.result();
+        }
+    }
+
+    // Сохранение в кэш ответа, прочитанного из таблицы (ответ записан другим экземпляром сервера или до перезапуска)
+    private Result remember(String idKey, IdempotencyKey stored, String requestHash) {
+        checkRequest(stored.getRequestHash(), requestHash);
+        Result result = new Result(stored.getResponseStatus(), stored.getContentType(), stored.getResponseBody(), false);
+        synchronized (cache) {
+            cache.put(idKey, new Entry(stored.getRequestHash(), result, stored.getExpiresAt().getTime()));
+        }
+        return result;
+    }
+
+    // Повторный ответ
+    private Result replayed(Result result) {
+        meterRegistry.counter("idempotency.requests", "outcome", "replayed").increment();
+        return new Result(result.status(), result.contentType(), result.body(), true);
+    }
+
+    // Преобразование результата операции в ответ: строка передается как текст, остальное - как JSON
+    private Result toResult(HttpStatus status, Object value) {
+        if (value instanceof String text) {
+            return new Result(status.value(), MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8", text, false);
+        }
+        try {
+            return new Result(status.value(), MediaType.APPLICATION_JSON_VALUE, objectMapper.writeValueAsString(value), false);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Проверка, что ключ используется для того же запроса
+    private static void checkRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalStateException("Ключ идемпотентности уже использован для другого запроса.");
+        }
+    }
+
+    // Пользователь текущего запроса: ключи разных пользователей не пересекаются
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "";
+    }
+
+    // Хеш SHA-256 строки в шестнадцатеричном виде
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Ключ занят одновременным запросом: транзакция отменяется без выполнения операции
+    private static final class KeyTakenException extends RuntimeException {
+        KeyTakenException() {
+            super(null, null, false, false);
+        }
+    }
+}
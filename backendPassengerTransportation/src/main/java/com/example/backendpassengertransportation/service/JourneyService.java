@@ -0,0 +1,92 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Journey;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.planner.JourneyPlanner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Сервис для поиска поездок с пересадками между городами
+@Service
+public class JourneyService {
+
+    // Количество маршрутов в поездке по умолчанию и максимальное
+    public static final int DEFAULT_MAX_LEGS = 3;
+    public static final int MAX_LEGS = 5;
+
+    // Минимальное время пересадки по умолчанию, в минутах
+    public static final int DEFAULT_MIN_TRANSFER_MINUTES = 30;
+
+    // Планировщик поездок по расписанию в памяти
+    @Autowired
+    private JourneyPlanner journeyPlanner;
+
+    // Индекс маршрутов в памяти для поиска городов по названию
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Интервал времени отправления, в котором выполняется поиск, в часах
+    @Value("${app.journeys.search-horizon-hours:48}")
+    private int searchHorizonHours;
+
+    // Метод для поиска поездок: для каждого количества пересадок возвращается поездка,
+    // прибывающая раньше всех поездок с меньшим количеством пересадок (упорядочены по количеству пересадок)
+    public List<Journey> findJourneys(String departureCityName, String destinationCityName, Timestamp departureAfter,
+                                      Integer maxLegs, Integer minTransferMinutes, Integer passengers) {
+        int legs = maxLegs != null ? maxLegs : DEFAULT_MAX_LEGS;
+        int transferMinutes = minTransferMinutes != null ? minTransferMinutes : DEFAULT_MIN_TRANSFER_MINUTES;
+        int seats = passengers != null ? passengers : 1;
+        if (legs < 1 || legs > MAX_LEGS) {
+            throw new IllegalArgumentException("Количество маршрутов в поездке должно быть от 1 до " + MAX_LEGS + ".");
+        }
+        if (transferMinutes < 0) {
+            throw new IllegalArgumentException("Минимальное время пересадки не может быть отрицательным.");
+        }
+        if (seats < 1) {
+            throw new IllegalArgumentException("Количество пассажиров должно быть больше нуля.");
+        }
+        if (departureCityName == null || destinationCityName == null || departureCityName.equals(destinationCityName)) {
+            throw new IllegalArgumentException("Города отправления и назначения должны быть указаны и различаться.");
+        }
+        City departureCity = routeIndex.findCityByName(departureCityName)
+                .orElseThrow(() -> new NoSuchElementException("Город отправления '" + departureCityName + "' не найден."));
+        City destinationCity = routeIndex.findCityByName(destinationCityName)
+                .orElseThrow(() -> new NoSuchElementException("Город назначения '" + destinationCityName + "' не найден."));
+
+        // По умолчанию ищутся поездки, на которые еще можно успеть забронировать билет
+        Timestamp start = departureAfter != null ? departureAfter : Timestamp.valueOf(LocalDateTime.now().plusMinutes(30));
+        long earliest = start.getTime() / 1000;
+        long latest = earliest + searchHorizonHours * 3600L;
+        List<Journey> journeys = new ArrayList<>();
+        for (List<String> routeIds : journeyPlanner.plan(departureCity.getIdCity(), destinationCity.getIdCity(),
+                earliest, latest, legs, transferMinutes * 60L, seats)) {
+            List<RouteView> routes = new ArrayList<>(routeIds.size());
+            for (String idRoute : routeIds) {
+                Route route = journeyPlanner.findRoute(idRoute);
+                if (route == null) {
+                    // Маршрут удален после построения поездки
+                    routes = null;
+                    break;
+                }
+                routes.add(RouteView.from(route));
+            }
+            if (routes != null) {
+                journeys.add(new Journey(routes));
+            }
+        }
+        if (journeys.isEmpty()) {
+            throw new NoSuchElementException("Маршруты не найдены.");
+        }
+        return journeys;
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.backendpassengertransportation.service;
 
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import com.example.backendpassengertransportation.index.RouteIndex;
 import com.example.backendpassengertransportation.model.City;
 import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteCursorPage;
+import com.example.backendpassengertransportation.model.RouteView;
 import com.example.backendpassengertransportation.model.TransportType;
 import com.example.backendpassengertransportation.repository.CityRepository;
 import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.RouteSpecifications;
 import com.example.backendpassengertransportation.repository.TransportTypeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -12,20 +18,33 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // Сервис для управления маршрутами, предоставляет CRUD-операции и поиск по различным критериям
 @Service
 public class RouteService {
 
+    // Максимальный размер страницы при поиске маршрутов
+    public static final int MAX_SEARCH_PAGE_SIZE = 1000;
+
+    // Поля, по которым допускается сортировка результатов поиска
+    private static final List<String> SEARCH_SORT_FIELDS = List.of("departureTime", "arrivalTime", "numberAvailableSeats");
+
     // Репозиторий для работы с маршрутами
     @Autowired
     private RouteRepository routeRepository;
@@ -38,43 +57,123 @@ public class RouteService {
     @Autowired
     private CityRepository cityRepository;
 
-    // Метод для получения всех маршрутов (без пагинации)
-    public List<Route> getAllRoutes() {
-        List<Route> routes = routeRepository.findAll();
-        if (routes.isEmpty()) {
-            throw new NoSuchElementException("Маршруты не найдены.");
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Индекс маршрутов в памяти для поиска без обращения к базе данных
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Метод для проверки наличия хотя бы одного маршрута
+    public boolean hasRoutes() {
+        return routeRepository.existsBy();
+    }
+
+    // Метод для потоковой передачи представлений всех маршрутов (без пагинации) обработчику по одному
+    // Представления не являются сущностями и не накапливаются в контексте персистентности,
+    // поэтому потребление памяти не зависит от количества маршрутов
+    @Transactional(readOnly = true)
+    public void streamAllRoutes(Consumer<RouteView> consumer) {
+        try (Stream<RouteView> routes = routeRepository.streamAll()) {
+            routes.forEach(consumer);
         }
-        return routes;
     }
 
     // Метод для получения маршрутов с пагинацией и фильтрацией по минимальному времени отправления
-    public Page<Route> getAllRoutesWithPagination(int page, int size, Timestamp minDepartureTime) {
+    public Page<RouteView> getAllRoutesWithPagination(int page, int size, Timestamp minDepartureTime) {
         // Создается объект Pageable с сортировкой по departureTime в порядке возрастания
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "departureTime"));
-        return routeRepository.findByDepartureTimeAfter(minDepartureTime, pageable);
+        return routeRepository.findViewsByDepartureTimeAfter(minDepartureTime, pageable);
     }
 
     // Метод для получения маршрутов с пагинацией без фильтрации по времени
-    public Page<Route> getAllRoutesWithPagination(int page, int size) {
+    public Page<RouteView> getAllRoutesWithPagination(int page, int size) {
         // Создается объект Pageable с сортировкой по departureTime в порядке возрастания
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "departureTime"));
-        return routeRepository.findAll(pageable);
+        return routeRepository.findAllViews(pageable);
     }
 
-    // Метод для получения маршрута по ID
-    public Route getRouteById(String idRoute) {
-        Route route = routeRepository.findById(idRoute).orElse(null);
-        if (route == null) {
-            throw new NoSuchElementException("Маршрут с ID " + idRoute + " не найден.");
+    // Метод для получения маршрутов постранично по курсору (departureTime, idRoute) без OFFSET и подсчета количества
+    // Стоимость запроса не зависит от глубины страницы; direction = "next" - страница после курсора, "prev" - перед ним
+    public RouteCursorPage getRoutesByCursor(String cursor, int size, String direction, Timestamp minDepartureTime) {
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + MAX_SEARCH_PAGE_SIZE + ".");
+        }
+        boolean forward;
+        if ("next".equalsIgnoreCase(direction)) {
+            forward = true;
+        } else if ("prev".equalsIgnoreCase(direction)) {
+            forward = false;
+        } else {
+            throw new IllegalArgumentException("Направление должно быть 'next' или 'prev'.");
+        }
+        if (cursor == null || cursor.isEmpty()) {
+            if (!forward) {
+                throw new IllegalArgumentException("Для перехода на предыдущую страницу необходимо указать курсор.");
+            }
+            cursor = null;
+        }
+
+        Timestamp cursorTime = null;
+        String cursorId = null;
+        if (cursor != null) {
+            // Курсор - закодированная в Base64 пара "время отправления|ID маршрута"
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                cursorTime = Timestamp.valueOf(LocalDateTime.parse(decoded.substring(0, separator)));
+                cursorId = decoded.substring(separator + 1);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Некорректный курсор.");
+            }
+        }
+
+        // Запрашивается на один маршрут больше, чтобы без подсчета определить наличие следующей страницы в направлении выборки
+        Sort.Direction sortDirection = forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(sortDirection, "departureTime").and(Sort.by(sortDirection, "idRoute"));
+        List<Route> routes = new ArrayList<>(routeRepository.findBy(
+                RouteSpecifications.keyset(minDepartureTime, cursorTime, cursorId, forward),
+                query -> query.sortBy(sort).limit(size + 1).all()));
+        boolean hasMore = routes.size() > size;
+        if (hasMore) {
+            routes.remove(size);
         }
-        return route;
+        if (!forward) {
+            Collections.reverse(routes);
+        }
+        if (routes.isEmpty()) {
+            return new RouteCursorPage(List.of(), null, null, size);
+        }
+
+        // Следующая страница есть, если она найдена при движении вперед или если выполнялся переход назад
+        boolean hasNext = forward ? hasMore : true;
+        // Предыдущая страница есть, если выполнялся переход вперед от курсора или она найдена при движении назад
+        boolean hasPrevious = forward ? cursor != null : hasMore;
+        String nextCursor = hasNext ? encodeCursor(routes.get(routes.size() - 1)) : null;
+        String prevCursor = hasPrevious ? encodeCursor(routes.get(0)) : null;
+        return new RouteCursorPage(routes.stream().map(RouteView::from).toList(), nextCursor, prevCursor, size);
+    }
+
+    // Кодирование позиции маршрута в непрозрачный курсор
+    private static String encodeCursor(Route route) {
+        String key = route.getDepartureTime().toLocalDateTime() + "|" + route.getIdRoute();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Метод для получения маршрута по ID
+    public RouteView getRouteById(String idRoute) {
+        return routeRepository.findViewById(idRoute)
+                .orElseThrow(() -> new NoSuchElementException("Маршрут с ID " + idRoute + " не найден."));
     }
 
     // Метод для поиска маршрутов по пункту отправления
-    public List<Route> getRoutesByDepartureCity(String departureCityName) {
-        City departureCity = cityRepository.findByCityName(departureCityName)
+    public List<RouteView> getRoutesByDepartureCity(String departureCityName) {
+        City departureCity = findCityByName(departureCityName)
                 .orElseThrow(() -> new NoSuchElementException("Город отправления '" + departureCityName + "' не найден."));
-        List<Route> routes = routeRepository.findByDepartureCity(departureCity);
+        List<RouteView> routes = routeIndex.isEnabled()
+                ? toViews(routeIndex.findByDepartureCity(departureCity.getIdCity()))
+                : routeRepository.findViewsByDepartureCity(departureCity);
         if (routes.isEmpty()) {
             throw new NoSuchElementException("Маршруты с указанным пунктом отправления не найдены.");
         }
@@ -82,10 +181,12 @@ public class RouteService {
     }
 
     // Метод для поиска маршрутов по пункту назначения
-    public List<Route> getRoutesByDestinationCity(String destinationCityName) {
-        City destinationCity = cityRepository.findByCityName(destinationCityName)
+    public List<RouteView> getRoutesByDestinationCity(String destinationCityName) {
+        City destinationCity = findCityByName(destinationCityName)
                 .orElseThrow(() -> new NoSuchElementException("Город назначения '" + destinationCityName + "' не найден."));
-        List<Route> routes = routeRepository.findByDestinationCity(destinationCity);
+        List<RouteView> routes = routeIndex.isEnabled()
+                ? toViews(routeIndex.findByDestinationCity(destinationCity.getIdCity()))
+                : routeRepository.findViewsByDestinationCity(destinationCity);
         if (routes.isEmpty()) {
             throw new NoSuchElementException("Маршруты с указанным пунктом назначения не найдены.");
         }
@@ -132,22 +233,12 @@ public class RouteService {
         City destinationCity = cityRepository.findByCityName(destinationCityName)
                 .orElseThrow(() -> new NoSuchElementException("Город назначения '" + destinationCityName + "' не найден."));
 
-        String newIdRoute = generateNewId("r");
+        String newIdRoute = idAllocator.nextId(IdSequence.ROUTE);
         Route newRoute = new Route(newIdRoute, transport, departureCity, destinationCity,
                 Timestamp.valueOf(departureTime), Timestamp.valueOf(arrivalTime), totalNumberSeats, numberAvailableSeats);
-        return routeRepository.save(newRoute);
-    }
-
-    // Метод для генерации нового ID в формате "r + число"
-    private String generateNewId(String prefix) {
-        List<Route> allRoutes = routeRepository.findAll();
-        int maxId = 0;
-        for (Route route : allRoutes) {
-            String id = route.getIdRoute().substring(1);
-            int num = Integer.parseInt(id);
-            maxId = Math.max(maxId, num);
-        }
-        return prefix + (maxId + 1);
+        Route savedRoute = routeRepository.save(newRoute);
+        routeIndex.routeSaved(savedRoute);
+        return savedRoute;
     }
 
     // Метод для удаления маршрута по ID
@@ -155,13 +246,18 @@ public class RouteService {
         Route route = routeRepository.findById(idRoute)
                 .orElseThrow(() -> new IllegalArgumentException("Маршрут с ID " + idRoute + " не найден."));
         routeRepository.deleteById(idRoute);
+        routeIndex.routeDeleted(idRoute);
     }
 
     // Метод для поиска маршрутов по типу транспорта
-    public List<Route> getRoutesByTransportType(String transportType) {
-        TransportType transport = transportTypeRepository.findByTransportType(transportType)
+    public List<RouteView> getRoutesByTransportType(String transportType) {
+        TransportType transport = (routeIndex.isEnabled()
+                ? routeIndex.findTransportTypeByName(transportType)
+                : transportTypeRepository.findByTransportType(transportType))
                 .orElseThrow(() -> new NoSuchElementException("Тип транспорта '" + transportType + "' не найден."));
-        List<Route> routes = routeRepository.findByTransportType(transport);
+        List<RouteView> routes = routeIndex.isEnabled()
+                ? toViews(routeIndex.findByTransportType(transport.getIdTransportType()))
+                : routeRepository.findViewsByTransportType(transport);
         if (routes.isEmpty()) {
             throw new IllegalStateException("Маршруты с указанным типом транспорта не найдены.");
         }
@@ -169,30 +265,93 @@ public class RouteService {
     }
 
     // Метод для поиска маршрутов по пунктам отправления и назначения
-    public List<Route> getRoutesByDepartureAndDestinationPoint(String departureCityName, String destinationCityName) {
+    public List<RouteView> getRoutesByDepartureAndDestinationPoint(String departureCityName, String destinationCityName) {
         if (departureCityName.isEmpty() || destinationCityName.isEmpty()) {
             throw new IllegalStateException("Пункты отправления и назначения должны быть указаны.");
         }
-        City departureCity = cityRepository.findByCityName(departureCityName)
+        City departureCity = findCityByName(departureCityName)
                 .orElseThrow(() -> new NoSuchElementException("Город отправления '" + departureCityName + "' не найден."));
-        City destinationCity = cityRepository.findByCityName(destinationCityName)
+        City destinationCity = findCityByName(destinationCityName)
                 .orElseThrow(() -> new NoSuchElementException("Город назначения '" + destinationCityName + "' не найден."));
-        return routeRepository.findByDepartureCityAndDestinationCity(departureCity, destinationCity);
+        if (routeIndex.isEnabled()) {
+            return toViews(routeIndex.findByCityPair(departureCity.getIdCity(), destinationCity.getIdCity(), null, null));
+        }
+        return routeRepository.findViewsByDepartureCityAndDestinationCity(departureCity, destinationCity);
+    }
+
+    // Преобразование маршрутов из индекса в представления
+    private static List<RouteView> toViews(List<Route> routes) {
+        return routes.stream().map(RouteView::from).toList();
+    }
+
+    // Поиск города по названию: через индекс маршрутов в памяти или через базу данных, если индекс отключен
+    private Optional<City> findCityByName(String cityName) {
+        return routeIndex.isEnabled() ? routeIndex.findCityByName(cityName) : cityRepository.findByCityName(cityName);
+    }
+
+    // Метод для поиска маршрутов по нескольким критериям одним запросом с сортировкой и пагинацией
+    // Незаданные критерии не учитываются; если указана только начальная дата, поиск выполняется на эту дату
+    public Page<RouteView> searchRoutes(String transportType, String departureCityName, String destinationCityName,
+                                        String startDate, String endDate, Timestamp minDepartureTime,
+                                        Integer minAvailableSeats, int page, int size, String sortBy, String direction) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Номер страницы не может быть отрицательным.");
+        }
+        if (size <= 0 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + MAX_SEARCH_PAGE_SIZE + ".");
+        }
+        if (minAvailableSeats != null && minAvailableSeats < 0) {
+            throw new IllegalArgumentException("Минимальное количество свободных мест не может быть отрицательным.");
+        }
+        if (!SEARCH_SORT_FIELDS.contains(sortBy)) {
+            throw new IllegalArgumentException("Сортировка возможна только по полям: " + String.join(", ", SEARCH_SORT_FIELDS) + ".");
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new IllegalArgumentException("Направление сортировки должно быть 'asc' или 'desc'."));
+
+        // Преобразование окна дат в полуинтервал [начальная дата, конечная дата + 1 день)
+        Timestamp departureFrom = minDepartureTime;
+        Timestamp departureTo = null;
+        if (endDate != null && !endDate.isEmpty() && (startDate == null || startDate.isEmpty())) {
+            throw new IllegalArgumentException("Конечная дата не может быть указана без начальной даты.");
+        }
+        if (startDate != null && !startDate.isEmpty()) {
+            DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+            try {
+                LocalDate start = LocalDate.parse(startDate, inputFormatter);
+                LocalDate end = endDate != null && !endDate.isEmpty() ? LocalDate.parse(endDate, inputFormatter) : start;
+                if (end.isBefore(start)) {
+                    throw new IllegalArgumentException("Конечная дата не может быть раньше начальной даты.");
+                }
+                Timestamp windowStart = Timestamp.valueOf(start.atStartOfDay());
+                if (departureFrom == null || windowStart.after(departureFrom)) {
+                    departureFrom = windowStart;
+                }
+                departureTo = Timestamp.valueOf(end.plusDays(1).atStartOfDay());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Неверный формат даты. Используйте 'dd.MM.yyyy'.");
+            }
+        }
+
+        // Дополнительная сортировка по ID обеспечивает стабильный порядок между страницами
+        Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, sortBy).and(Sort.by(Sort.Direction.ASC, "idRoute")));
+        return routeRepository.findAll(RouteSpecifications.search(emptyToNull(transportType), emptyToNull(departureCityName),
+                emptyToNull(destinationCityName), departureFrom, departureTo, minAvailableSeats), pageable).map(RouteView::from);
+    }
+
+    // Преобразование пустой строки в null (незаданный критерий поиска)
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
     }
 
     // Метод для поиска маршрутов на указанную дату
-    public List<Route> fetchRoutesForExactDate(String exactDate) {
-        List<Route> resultRoutes = new ArrayList<>();
+    public List<RouteView> fetchRoutesForExactDate(String exactDate) {
         DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
         try {
             LocalDate searchDate = LocalDate.parse(exactDate, inputFormatter);
-            List<Route> allRoutes = routeRepository.findAll();
-            for (Route route : allRoutes) {
-                LocalDate routeDate = route.getDepartureTime().toLocalDateTime().toLocalDate();
-                if (routeDate.isEqual(searchDate)) {
-                    resultRoutes.add(route);
-                }
-            }
+            // Поиск в полуинтервале [начало дня, начало следующего дня) выполняется на стороне базы данных
+            List<RouteView> resultRoutes = routeRepository.findViewsByDepartureTimeInRange(
+                    Timestamp.valueOf(searchDate.atStartOfDay()), Timestamp.valueOf(searchDate.plusDays(1).atStartOfDay()));
             if (resultRoutes.isEmpty()) {
                 throw new NoSuchElementException("Маршруты на указанную дату не найдены.");
             }
@@ -203,19 +362,14 @@ public class RouteService {
     }
 
     // Метод для поиска маршрутов в диапазоне дат
-    public List<Route> fetchRoutesWithinDateRange(String startDateStr, String endDateStr) {
-        List<Route> resultRoutes = new ArrayList<>();
+    public List<RouteView> fetchRoutesWithinDateRange(String startDateStr, String endDateStr) {
         DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
         try {
             LocalDate startDate = LocalDate.parse(startDateStr, inputFormatter);
             LocalDate endDate = LocalDate.parse(endDateStr, inputFormatter);
-            List<Route> allRoutes = routeRepository.findAll();
-            for (Route route : allRoutes) {
-                LocalDate routeDate = route.getDepartureTime().toLocalDateTime().toLocalDate();
-                if (!routeDate.isBefore(startDate) && !routeDate.isAfter(endDate)) {
-                    resultRoutes.add(route);
-                }
-            }
+            // Поиск в полуинтервале [начальная дата, конечная дата + 1 день) выполняется на стороне базы данных
+            List<RouteView> resultRoutes = routeRepository.findViewsByDepartureTimeInRange(
+                    Timestamp.valueOf(startDate.atStartOfDay()), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
             if (resultRoutes.isEmpty()) {
                 throw new NoSuchElementException("Маршруты в указанном диапазоне дат не найдены.");
             }
@@ -0,0 +1,250 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.hold.HoldTimingWheel;
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.SeatHold;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.SeatHoldRepository;
+import com.example.backendpassengertransportation.repository.UserRepository;
+import com.example.backendpassengertransportation.util.ValidationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+// Сервис удержания мест: места маршрута резервируются на время оформления бронирования и возвращаются,
+// если удержание не подтверждено до истечения срока
+// Удержания хранятся в таблице seat_holds и в колесе таймеров в памяти; истечение сроков определяется
+// продвижением колеса, без запросов к базе данных для поиска истекших удержаний
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    // Задержка повторной попытки вернуть места истекшего удержания после ошибки базы данных, в миллисекундах
+    private static final long RETRY_DELAY_MILLIS = 5000;
+
+    // Репозиторий для работы с удержаниями мест
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    // Репозиторий для работы с маршрутами
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Репозиторий для работы с пользователями
+    @Autowired
+    private UserRepository userRepository;
+
+    // Пакетная запись бронирований подтвержденного удержания
+    @Autowired
+    private BookingWriter bookingWriter;
+
+    // Сервис листа ожидания: передача возвращенных мест первым записям очереди маршрута
+    @Autowired
+    private WaitlistService waitlistService;
+
+    // Индекс маршрутов в памяти, с количеством свободных мест
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Шаблон транзакции для возврата мест истекших удержаний
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Реестр метрик: счетчик удержаний по результату (seat.holds)
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Срок удержания, в секундах
+    @Value("${app.seat-holds.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // Максимальное количество мест в одном удержании
+    @Value("${app.seat-holds.max-seats:10}")
+    private int maxSeats;
+
+    // Колесо таймеров удержаний, ожидающих истечения срока
+    private final HoldTimingWheel wheel;
+
+    @Autowired
+    public SeatHoldService(@Value("${app.seat-holds.tick-ms:1000}") long tickMillis,
+                           @Value("${app.seat-holds.wheel-size:512}") int wheelSize) {
+        this.wheel = new HoldTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    // Удержание мест маршрута: места списываются одним условным UPDATE и возвращаются по истечении срока
+    @Transactional
+    public SeatHold createHold(String routeId, int seats) {
+        if (seats < 1 || seats > maxSeats) {
+            throw new IllegalArgumentException("Количество удерживаемых мест должно быть от 1 до " + maxSeats + ".");
+        }
+
+        // Проверка маршрута
+        Route route = routeRepository.findById(routeId)
+                .orElseThrow(() -> new NoSuchElementException("Маршрут с ID " + routeId + " не найден."));
+
+        // Получение текущего времени и времени отправления маршрута
+        LocalDateTime currentTime = LocalDateTime.now();
+        LocalDateTime departureTime = route.getDepartureTime().toLocalDateTime();
+
+        // Проверка, что маршрут уже отправился
+        if (currentTime.isAfter(departureTime)) {
+            throw new IllegalStateException("Удержание мест невозможно: маршрут уже отправился.");
+        }
+
+        // Проверка времени до отправления: должно быть не менее 30 минут
+        if (ChronoUnit.MINUTES.between(currentTime, departureTime) < 30) {
+            throw new IllegalStateException("Удержание мест невозможно: до отправления осталось менее 30 минут.");
+        }
+
+        // Атомарное занятие мест: если свободных мест недостаточно, ни одна строка не обновляется
+        if (routeRepository.decrementAvailableSeats(routeId, seats) == 0) {
+            throw new IllegalStateException("Недостаточно свободных мест для удержания.");
+        }
+        routeIndex.seatsChanged(routeId, -seats);
+
+        // Токен удержания не выводится из счетчика, чтобы его нельзя было подобрать
+        SeatHold hold = new SeatHold(UUID.randomUUID().toString(), routeId, seats, Timestamp.valueOf(currentTime),
+                Timestamp.valueOf(currentTime.plusSeconds(ttlSeconds)));
+        seatHoldRepository.save(hold);
+        afterCommit(() -> wheel.schedule(hold.getIdHold(), routeId, seats, hold.getExpiresAt().getTime()));
+        meterRegistry.counter("seat.holds", "outcome", "created").increment();
+        return hold;
+    }
+
+    // Подтверждение удержания: по одному бронированию на каждое удерживаемое место для указанного пассажира
+    // Места уже списаны при удержании, поэтому количество мест маршрута не изменяется
+    @Transactional
+    public List<BookingView> confirmHold(String routeId, String idHold, String passengerFullName,
+                                         String passengerPhone, String passengerEmail) {
+        // Проверка формата телефона
+        if (!ValidationUtil.isValidPhoneFormat(passengerPhone)) {
+            throw new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX");
+        }
+
+        // Проверка формата email
+        if (!ValidationUtil.isValidEmailFormat(passengerEmail)) {
+            throw new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)");
+        }
+
+        SeatHold hold = findHold(routeId, idHold);
+
+        // Удаление удержания, если срок не истек: при одновременном истечении срока места возвращаются,
+        // только если удержание не было подтверждено
+        if (seatHoldRepository.deleteActiveByIdHold(idHold, Timestamp.valueOf(LocalDateTime.now())) == 0) {
+            throw new IllegalStateException("Срок удержания мест истек. Повторите бронирование.");
+        }
+
+        // Проверка пользователя
+        User user = userRepository.findByPassengerFullNameAndPassengerPhoneAndPassengerEmail(passengerFullName, passengerPhone, passengerEmail)
+                .orElseThrow(() -> new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок."));
+
+        // Создание бронирований одной пакетной вставкой
+        List<BookingView> bookingTickets = bookingWriter.insertBookingTickets(routeId, Collections.nCopies(hold.getSeats(), user));
+        afterCommit(() -> wheel.cancel(idHold));
+        meterRegistry.counter("seat.holds", "outcome", "confirmed").increment();
+        return bookingTickets;
+    }
+
+    // Освобождение удержания до истечения срока (пассажир отказался от бронирования)
+    @Transactional
+    public void releaseHold(String routeId, String idHold) {
+        SeatHold hold = findHold(routeId, idHold);
+        if (seatHoldRepository.deleteByIdHold(idHold) == 0) {
+            throw new NoSuchElementException("Удержание мест " + idHold + " не найдено.");
+        }
+        returnSeats(routeId, hold.getSeats());
+        afterCommit(() -> wheel.cancel(idHold));
+        meterRegistry.counter("seat.holds", "outcome", "released").increment();
+    }
+
+    // Возврат мест удержаний, срок которых истек, по такту колеса таймеров
+    // Каждое удержание обрабатывается в отдельной транзакции; при ошибке базы данных попытка повторяется позже
+    @Scheduled(fixedDelayString = "${app.seat-holds.tick-ms:1000}")
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        for (HoldTimingWheel.Entry entry : wheel.advance(now)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (seatHoldRepository.deleteByIdHold(entry.idHold()) > 0) {
+                        returnSeats(entry.idRoute(), entry.seats());
+                        meterRegistry.counter("seat.holds", "outcome", "expired").increment();
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("Не удалось вернуть места удержания {}: {}", entry.idHold(), e.getMessage());
+                wheel.schedule(entry.idHold(), entry.idRoute(), entry.seats(), now + RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    // Загрузка удержаний из таблицы в колесо таймеров после запуска приложения (после перезапуска сервера)
+    // Удержания с истекшим сроком истекают на ближайшем такте
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHolds() {
+        try {
+            for (SeatHold hold : seatHoldRepository.findAll()) {
+                wheel.schedule(hold.getIdHold(), hold.getIdRoute(), hold.getSeats(), hold.getExpiresAt().getTime());
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить удержания мест: {}", e.getMessage());
+        }
+    }
+
+    // Количество удержаний, ожидающих истечения срока
+    public int getActiveHoldCount() {
+        return wheel.size();
+    }
+
+    // Поиск удержания маршрута по ID
+    private SeatHold findHold(String routeId, String idHold) {
+        return seatHoldRepository.findById(idHold)
+                .filter(hold -> hold.getIdRoute().equals(routeId))
+                .orElseThrow(() -> new NoSuchElementException("Удержание мест " + idHold + " не найдено."));
+    }
+
+    // Возврат мест маршруту (не больше общего количества мест); места в первую очередь получают записи листа ожидания
+    private void returnSeats(String routeId, int seats) {
+        if (routeRepository.incrementAvailableSeats(routeId, seats) > 0) {
+            int freeSeats = seats - waitlistService.promote(routeId, seats);
+            if (freeSeats > 0) {
+                routeIndex.seatsChanged(routeId, freeSeats);
+            }
+        }
+    }
+
+    // Выполнение действия после фиксации текущей транзакции (колесо не должно содержать удержания отмененной транзакции)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
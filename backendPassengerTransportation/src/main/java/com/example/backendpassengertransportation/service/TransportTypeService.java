@@ -1,7 +1,11 @@
 package com.example.backendpassengertransportation.service;
 
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import com.example.backendpassengertransportation.index.RouteIndex;
 import com.example.backendpassengertransportation.model.TransportType;
 import com.example.backendpassengertransportation.repository.TransportTypeRepository;
+import com.example.backendpassengertransportation.util.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,9 +19,20 @@ public class TransportTypeService {
     @Autowired
     private TransportTypeRepository transportTypeRepository;
 
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Индекс маршрутов в памяти, хранящий названия городов и типов транспорта
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Кэш списка типов транспорта с номером версии, увеличиваемым при каждом изменении
+    private final ReferenceDataCache<TransportType> cache = new ReferenceDataCache<>();
+
     // Метод для получения всех типов транспорта
     public List<TransportType> getAllTransportTypes() {
-        return transportTypeRepository.findAll();
+        return cache.get(transportTypeRepository::findAll);
     }
 
     // Метод для получения типа транспорта по ID
@@ -30,21 +45,12 @@ public class TransportTypeService {
         if (transportType == null || transportType.isEmpty()) {
             throw new IllegalArgumentException("Название типа транспорта не может быть пустым.");
         }
-        String newIdTransportType = generateNewId("t");
+        String newIdTransportType = idAllocator.nextId(IdSequence.TRANSPORT_TYPE);
         TransportType newTransportType = new TransportType(newIdTransportType, transportType);
-        return transportTypeRepository.save(newTransportType);
-    }
-
-    // Метод для генерации нового ID в формате "t + число"
-    private String generateNewId(String prefix) {
-        List<TransportType> allTransportTypes = transportTypeRepository.findAll();
-        int maxId = 0;
-        for (TransportType transport : allTransportTypes) {
-            String id = transport.getIdTransportType().substring(1);
-            int num = Integer.parseInt(id);
-            maxId = Math.max(maxId, num);
-        }
-        return prefix + (maxId + 1);
+        TransportType savedTransportType = transportTypeRepository.save(newTransportType);
+        routeIndex.invalidate();
+        cache.invalidate();
+        return savedTransportType;
     }
 
     // Метод для обновления типа транспорта
@@ -54,7 +60,10 @@ public class TransportTypeService {
         if (transportType != null && !transportType.isEmpty()) {
             existingTransportType.setTransportType(transportType);
         }
-        return transportTypeRepository.save(existingTransportType);
+        TransportType savedTransportType = transportTypeRepository.save(existingTransportType);
+        routeIndex.invalidate();
+        cache.invalidate();
+        return savedTransportType;
     }
 
     // Метод для удаления типа транспорта по ID
@@ -62,5 +71,7 @@ public class TransportTypeService {
         TransportType transportType = transportTypeRepository.findById(idTransportType)
                 .orElseThrow(() -> new IllegalArgumentException("Тип транспорта с ID " + idTransportType + " не найден."));
         transportTypeRepository.deleteById(idTransportType);
+        routeIndex.invalidate();
+        cache.invalidate();
     }
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package com.example.backendpassengertransportation.service;
 
+import com.example.backendpassengertransportation.config.PasswordHasher;
+import com.example.backendpassengertransportation.config.PrincipalCache;
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
 import com.example.backendpassengertransportation.model.User;
 import com.example.backendpassengertransportation.repository.UserRepository;
 import com.example.backendpassengertransportation.util.ValidationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // Сервис для управления пользователями, реализует аутентификацию и хеширование паролей с использованием BCrypt
 @Service
@@ -23,9 +30,21 @@ public class UserService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
-    // Компонент для хеширования паролей с использованием BCrypt
+    // Хеширование паролей BCrypt в отдельном пуле потоков
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    // Распределитель идентификаторов
+    @Autowired
+    private IdAllocator idAllocator;
+
+    // Кэш данных аутентифицированных пользователей
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Контекст персистентности, из которого отсоединяются пользователи при потоковом чтении
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // Загрузка пользователя по электронной почте для аутентификации
     @Override
@@ -47,9 +66,21 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new IllegalArgumentException("Неверные учетные данные."));
     }
 
-    // Получение всех пользователей
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Проверка наличия хотя бы одного пользователя
+    public boolean hasUsers() {
+        return userRepository.existsBy();
+    }
+
+    // Потоковая передача всех пользователей обработчику по одному
+    // Каждый пользователь отсоединяется от контекста персистентности после обработки
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<User> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 
     // Получение пользователя по ID
@@ -100,9 +131,9 @@ public class UserService implements UserDetailsService {
         }
 
         // Хеширование пароля с использованием BCrypt
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHasher.encode(password);
 
-        String newIdUser = generateNewId("u");
+        String newIdUser = idAllocator.nextId(IdSequence.USER);
         return userRepository.save(
                 new User(newIdUser, passengerFullName, passengerPhone,
                         passengerEmail, dateOfBirth, hashedPassword)
@@ -114,6 +145,7 @@ public class UserService implements UserDetailsService {
                            String passengerEmail, Date dateOfBirth, String password) {
         User user = userRepository.findById(idUser)
                 .orElseThrow(() -> new IllegalArgumentException("Пользователь не найден."));
+        String previousEmail = user.getPassengerEmail();
 
         if (passengerFullName != null && !passengerFullName.isEmpty()) {
             user.setPassengerFullName(passengerFullName);
@@ -139,27 +171,19 @@ public class UserService implements UserDetailsService {
         }
         if (password != null && !password.isEmpty()) {
             // Хеширование нового пароля
-            user.setPassword(passwordEncoder.encode(password));
+            user.setPassword(passwordHasher.encode(password));
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Данные пользователя в кэше устарели (в том числе под прежним email)
+        principalCache.evict(previousEmail);
+        principalCache.evict(savedUser.getPassengerEmail());
+        return savedUser;
     }
 
     // Проверка пароля
     public boolean verifyPassword(String providedPassword, String storedPassword) {
-        return passwordEncoder.matches(providedPassword, storedPassword);
-    }
-
-    // Генерация нового ID в формате "u + число"
-    private String generateNewId(String prefix) {
-        List<User> allUsers = userRepository.findAll();
-        int maxId = 0;
-        for (User user : allUsers) {
-            String id = user.getIdUser().substring(1);
-            int num = Integer.parseInt(id);
-            maxId = Math.max(maxId, num);
-        }
-        return prefix + (maxId + 1);
+        return passwordHasher.matches(providedPassword, storedPassword);
     }
 
     // Удаление пользователя
@@ -167,5 +191,7 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(idUser)
                 .orElseThrow(() -> new IllegalArgumentException("Пользователь не найден."));
         userRepository.deleteById(idUser);
+        // Токены удаленного пользователя больше не должны проходить аутентификацию
+        principalCache.evict(user.getPassengerEmail());
     }
 }
\ No newline at end of file
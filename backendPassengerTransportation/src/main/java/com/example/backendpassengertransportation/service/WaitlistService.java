@@ -0,0 +1,313 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.model.WaitlistEntry;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.UserRepository;
+import com.example.backendpassengertransportation.repository.WaitlistEntryRepository;
+import com.example.backendpassengertransportation.util.ValidationUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Сервис листа ожидания: пассажиры встают в очередь маршрута без свободных мест, а освободившиеся места
+// получают первые записи очереди в транзакции возврата мест, поэтому места не становятся видимыми другим запросам
+// и клиентам не нужно опрашивать расписание в ожидании свободного места
+// Очередь хранится в таблице waitlist_entries; начало очереди каждого маршрута кэшируется в памяти, поэтому возврат
+// места маршрута без листа ожидания не выполняет запросов к таблице
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    // Репозиторий для работы с листом ожидания
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    // Репозиторий для работы с маршрутами
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Репозиторий для работы с пользователями
+    @Autowired
+    private UserRepository userRepository;
+
+    // Запись бронирования для записи, получившей место
+    @Autowired
+    private BookingWriter bookingWriter;
+
+    // Индекс маршрутов в памяти, с количеством свободных мест
+    @Autowired
+    private RouteIndex routeIndex;
+
+    // Реестр метрик: счетчик записей листа ожидания по результату (waitlist.entries)
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Количество ID записей, загружаемых в кэш начала очереди маршрута одним запросом
+    @Value("${app.waitlist.head-size:16}")
+    private int headSize;
+
+    // Начало очереди маршрута в памяти: ID первых ожидающих записей в порядке очереди
+    // Признак more означает, что в таблице могут быть ожидающие записи, отсутствующие в кэше
+    private static final class RouteHead {
+        private final ArrayDeque<String> ids = new ArrayDeque<>();
+        private boolean more;
+
+        private RouteHead(boolean more) {
+            this.more = more;
+        }
+    }
+
+    // Кэш начала очереди по ID маршрута; отсутствие маршрута в кэше означает, что ожидающих записей нет
+    // Кэш изменяется при заблокированной строке маршрута, поэтому изменения одного маршрута выполняются по очереди
+    private final ConcurrentHashMap<String, RouteHead> heads = new ConcurrentHashMap<>();
+
+    // Постановка пассажира в лист ожидания маршрута
+    // Строка маршрута блокируется до конца транзакции: возврат места, выполняемый параллельно, либо завершается раньше
+    // (и свободное место бронируется сразу), либо ожидает фиксации записи и передает место ей
+    @Transactional
+    public WaitlistEntry joinWaitlist(String routeId, String passengerFullName, String passengerPhone, String passengerEmail) {
+        // Проверка формата телефона
+        if (!ValidationUtil.isValidPhoneFormat(passengerPhone)) {
+            throw new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX");
+        }
+
+        // Проверка формата email
+        if (!ValidationUtil.isValidEmailFormat(passengerEmail)) {
+            throw new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)");
+        }
+
+        // Проверка маршрута с блокировкой строки
+        Route route = routeRepository.findForUpdateByIdRoute(routeId)
+                .orElseThrow(() -> new NoSuchElementException("Маршрут с ID " + routeId + " не найден."));
+
+        // Получение текущего времени и времени отправления маршрута
+        LocalDateTime currentTime = LocalDateTime.now();
+        LocalDateTime departureTime = route.getDepartureTime().toLocalDateTime();
+
+        // Проверка, что маршрут уже отправился
+        if (currentTime.isAfter(departureTime)) {
+            throw new IllegalStateException("Постановка в лист ожидания невозможна: маршрут уже отправился.");
+        }
+
+        // Проверка времени до отправления: должно быть не менее 30 минут
+        if (ChronoUnit.MINUTES.between(currentTime, departureTime) < 30) {
+            throw new IllegalStateException("Постановка в лист ожидания невозможна: до отправления осталось менее 30 минут.");
+        }
+
+        // Проверка пользователя
+        User user = userRepository.findByPassengerFullNameAndPassengerPhoneAndPassengerEmail(passengerFullName, passengerPhone, passengerEmail)
+                .orElseThrow(() -> new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок."));
+
+        // Повторная постановка возвращает существующую запись пассажира
+        Optional<WaitlistEntry> existing = waitlistEntryRepository.findFirstByIdRouteAndIdUserAndStatus(routeId, user.getIdUser(), WaitlistEntry.WAITING);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Timestamp now = Timestamp.valueOf(currentTime);
+        long position = waitlistEntryRepository.findMaxPositionByIdRoute(routeId).orElse(0L) + 1;
+        // Токен записи не выводится из счетчика, чтобы нельзя было выйти из листа ожидания за другого пассажира
+        String idEntry = UUID.randomUUID().toString();
+
+        // Место освободилось до постановки в очередь: бронирование создается сразу
+        if (route.getNumberAvailableSeats() > 0 && routeRepository.decrementAvailableSeats(routeId, 1) > 0) {
+            routeIndex.seatsChanged(routeId, -1);
+            BookingView bookingTicket = bookingWriter.insertBookingTickets(routeId, List.of(user)).get(0);
+            WaitlistEntry entry = waitlistEntryRepository.save(new WaitlistEntry(idEntry, routeId, user.getIdUser(), position,
+                    WaitlistEntry.PROMOTED, bookingTicket.getIdBooking(), now, now));
+            meterRegistry.counter("waitlist.entries", "outcome", "promoted").increment();
+            return entry;
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.save(new WaitlistEntry(idEntry, routeId, user.getIdUser(), position,
+                WaitlistEntry.WAITING, null, now, null));
+        // Запись добавляется в кэш до фиксации, пока строка маршрута заблокирована: возврат места, ожидающий блокировку,
+        // найдет ее в кэше. Запись отмененной транзакции остается в кэше и пропускается при продвижении очереди
+        heads.compute(routeId, (id, head) -> {
+            RouteHead routeHead = head != null ? head : new RouteHead(false);
+            synchronized (routeHead) {
+                if (!routeHead.more && routeHead.ids.size() < headSize) {
+                    routeHead.ids.add(idEntry);
+                } else {
+                    routeHead.more = true;
+                }
+            }
+            return routeHead;
+        });
+        meterRegistry.counter("waitlist.entries", "outcome", "joined").increment();
+        return entry;
+    }
+
+    // Получение записи листа ожидания маршрута (состояние и ID бронирования, если место получено)
+    public WaitlistEntry getEntry(String routeId, String idEntry) {
+        return waitlistEntryRepository.findById(idEntry)
+                .filter(entry -> entry.getIdRoute().equals(routeId))
+                .orElseThrow(() -> new NoSuchElementException("Запись листа ожидания " + idEntry + " не найдена."));
+    }
+
+    // Выход из листа ожидания; запись, уже получившая место, не удаляется
+    @Transactional
+    public void leaveWaitlist(String routeId, String idEntry) {
+        WaitlistEntry entry = getEntry(routeId, idEntry);
+        if (waitlistEntryRepository.deleteWaitingByIdEntry(idEntry) == 0) {
+            if (WaitlistEntry.PROMOTED.equals(entry.getStatus())) {
+                throw new IllegalStateException("Место уже получено: создано бронирование " + entry.getIdBooking() + ".");
+            }
+            throw new NoSuchElementException("Запись листа ожидания " + idEntry + " не найдена.");
+        }
+        meterRegistry.counter("waitlist.entries", "outcome", "left").increment();
+    }
+
+    // Продвижение очереди маршрута: возвращенные места получают первые ожидающие записи
+    // Вызывается в транзакции возврата мест сразу после условного увеличения количества мест, пока строка маршрута
+    // заблокирована этим UPDATE: места записей списываются в той же транзакции и не становятся доступными другим запросам
+    // Возвращает количество мест, полученных записями (остальные возвращенные места остаются свободными)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promote(String routeId, int seats) {
+        if (seats <= 0 || !heads.containsKey(routeId)) {
+            return 0;
+        }
+
+        // Места отправившегося маршрута не передаются
+        Route route = routeRepository.findById(routeId).orElse(null);
+        LocalDateTime currentTime = LocalDateTime.now();
+        if (route == null || currentTime.isAfter(route.getDepartureTime().toLocalDateTime())) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(currentTime);
+        int promoted = 0;
+        boolean polled = false;
+        while (promoted < seats) {
+            String idEntry = nextCandidate(routeId);
+            if (idEntry == null) {
+                break;
+            }
+            polled = true;
+
+            // Запись могла выйти из листа ожидания или не быть зафиксирована
+            WaitlistEntry entry = waitlistEntryRepository.findById(idEntry)
+                    .filter(candidate -> WaitlistEntry.WAITING.equals(candidate.getStatus()))
+                    .orElse(null);
+            if (entry == null) {
+                continue;
+            }
+            User user = userRepository.findById(entry.getIdUser()).orElse(null);
+            if (user == null) {
+                waitlistEntryRepository.deleteWaitingByIdEntry(idEntry);
+                continue;
+            }
+            if (waitlistEntryRepository.claim(idEntry, now) == 0) {
+                continue;
+            }
+
+            // Место возвращено этой же транзакцией, и строка маршрута заблокирована, поэтому списание выполняется
+            if (routeRepository.decrementAvailableSeats(routeId, 1) == 0) {
+                throw new IllegalStateException("Не удалось передать место маршрута " + routeId + " записи листа ожидания.");
+            }
+            BookingView bookingTicket = bookingWriter.insertBookingTickets(routeId, List.of(user)).get(0);
+            waitlistEntryRepository.updateIdBooking(idEntry, bookingTicket.getIdBooking());
+            promoted++;
+        }
+
+        // При откате транзакции записи, извлеченные из кэша, остаются ожидающими: кэш маршрута загружается заново
+        if (polled) {
+            afterRollback(() -> markStale(routeId));
+        }
+        if (promoted > 0) {
+            meterRegistry.counter("waitlist.entries", "outcome", "promoted").increment(promoted);
+        }
+        return promoted;
+    }
+
+    // Загрузка маршрутов с ожидающими записями после запуска приложения (после перезапуска сервера)
+    // Начало очереди каждого маршрута загружается из таблицы при первом возврате места
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlist() {
+        try {
+            for (String routeId : waitlistEntryRepository.findRouteIdsWithWaitingEntries()) {
+                heads.putIfAbsent(routeId, new RouteHead(true));
+            }
+        } catch (Exception e) {
+            log.warn("Не удалось загрузить лист ожидания: {}", e.getMessage());
+        }
+    }
+
+    // Количество маршрутов с ожидающими записями
+    public int getWaitingRouteCount() {
+        return heads.size();
+    }
+
+    // Извлечение ID следующей записи из начала очереди маршрута; при пустом кэше загружаются следующие записи таблицы
+    // Возвращает null, если ожидающих записей не осталось (маршрут удаляется из кэша)
+    private String nextCandidate(String routeId) {
+        RouteHead head = heads.get(routeId);
+        if (head == null) {
+            return null;
+        }
+        synchronized (head) {
+            if (head.ids.isEmpty() && head.more) {
+                List<String> ids = waitlistEntryRepository.findWaitingIdsByIdRoute(routeId, PageRequest.of(0, headSize));
+                head.ids.addAll(ids);
+                head.more = ids.size() == headSize;
+            }
+            if (head.ids.isEmpty()) {
+                heads.remove(routeId, head);
+                return null;
+            }
+            return head.ids.poll();
+        }
+    }
+
+    // Сброс кэша начала очереди маршрута: записи загружаются из таблицы при следующем возврате места
+    private void markStale(String routeId) {
+        heads.compute(routeId, (id, head) -> {
+            RouteHead routeHead = head != null ? head : new RouteHead(true);
+            synchronized (routeHead) {
+                routeHead.ids.clear();
+                routeHead.more = true;
+            }
+            return routeHead;
+        });
+    }
+
+    // Выполнение действия после отката текущей транзакции
+    private static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
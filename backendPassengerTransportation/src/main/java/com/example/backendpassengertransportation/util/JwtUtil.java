@@ -1,13 +1,19 @@
 package com.example.backendpassengertransportation.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -24,15 +30,64 @@ public class JwtUtil {
     // Время жизни токена (10 часов)
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 10;
 
+    // Парсер токенов, создается один раз (потокобезопасен)
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+
+    // Количество недавно проверенных токенов, для которых повторная проверка подписи не выполняется
+    private static final int VERIFIED_CACHE_SIZE = 4096;
+
+    // Недавно проверенные токены: хеш SHA-256 токена -> (имя пользователя, срок действия)
+    // Хранятся хеши, а не сами токены; вытесняются токены, к которым дольше всего не обращались
+    private static final Map<ByteBuffer, VerifiedToken> VERIFIED = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedToken> eldest) {
+            return size() > VERIFIED_CACHE_SIZE;
+        }
+    };
+
+    // Данные проверенного токена: имя пользователя (электронная почта) и срок действия
+    public record VerifiedToken(String subject, Date expiration) {
+
+        // Проверка, истек ли срок действия токена
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
+
+    // Проверка подписи и срока действия токена с однократным разбором
+    // Повторно предъявленные токены берутся из кэша проверенных без разбора и проверки подписи
+    // При недействительном или просроченном токене выбрасывается исключение JwtException
+    public static VerifiedToken verify(String token) {
+        ByteBuffer key = hash(token);
+        VerifiedToken verified;
+        synchronized (VERIFIED) {
+            verified = VERIFIED.get(key);
+            if (verified != null && verified.isExpired()) {
+                VERIFIED.remove(key);
+                verified = null;
+            }
+        }
+        if (verified != null) {
+            return verified;
+        }
+        // Просроченный токен отклоняется парсером
+        Claims claims = extractAllClaims(token);
+        verified = new VerifiedToken(claims.getSubject(), claims.getExpiration());
+        synchronized (VERIFIED) {
+            VERIFIED.put(key, verified);
+        }
+        return verified;
+    }
+
     // Извлечение имени пользователя из токена
     // В данном контексте username представляет электронную почту пользователя
     public static String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     // Извлечение даты истечения срока действия токена
     public static Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).expiration();
     }
 
     // Универсальный метод для извлечения данных из токена
@@ -43,15 +98,16 @@ public class JwtUtil {
 
     // Извлечение всех данных из токена
     private static Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(SECRET_KEY)
-                .parseClaimsJws(token)
-                .getBody();
+        return PARSER.parseClaimsJws(token).getBody();
     }
 
-    // Проверка, истек ли срок действия токена
-    private static Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Хеш SHA-256 токена для поиска в кэше проверенных токенов
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Алгоритм SHA-256 недоступен.", e);
+        }
     }
 
     // Генерация токена для пользователя
@@ -73,7 +129,7 @@ public class JwtUtil {
 
     // Проверка валидности токена
     public static Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return (verified.subject().equals(username) && !verified.isExpired());
     }
 }
\ No newline at end of file
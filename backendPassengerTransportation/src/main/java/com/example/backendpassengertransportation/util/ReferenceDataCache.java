@@ -0,0 +1,55 @@
+package com.example.backendpassengertransportation.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Кэш редко изменяемого справочного списка (города, типы транспорта) с номером версии
+// Номер версии увеличивается при каждом изменении списка; сохраненная копия используется,
+// только если она загружена при текущей версии, поэтому изменение, выполненное во время загрузки, не теряется
+public class ReferenceDataCache<T> {
+
+    // Сохраненная копия списка и версия, при которой она загружена
+    private record Snapshot<T>(long version, List<T> items) {
+    }
+
+    // Текущая версия списка
+    private final AtomicLong version = new AtomicLong();
+
+    // Сохраненная копия (null, пока список не загружен)
+    private volatile Snapshot<T> snapshot;
+
+    // Получение списка из кэша или через loader, если список изменился после загрузки
+    public List<T> get(Supplier<List<T>> loader) {
+        Snapshot<T> current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            return current.items();
+        }
+        long loadedVersion = version.get();
+        List<T> items = List.copyOf(loader.get());
+        snapshot = new Snapshot<>(loadedVersion, items);
+        return items;
+    }
+
+    // Увеличение версии после фиксации текущей транзакции или сразу, если транзакции нет
+    public void invalidate() {
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Копия, загруженная до фиксации, содержит прежние данные
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    // Текущая версия списка
+    public long getVersion() {
+        return version.get();
+    }
+}
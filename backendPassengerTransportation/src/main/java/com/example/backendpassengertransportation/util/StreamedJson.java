@@ -0,0 +1,99 @@
+package com.example.backendpassengertransportation.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+// Тело ответа с большим списком, элементы которого записываются по мере чтения из базы данных,
+// а не собираются в список целиком. Формат - JSON-массив или NDJSON (по одному объекту в строке),
+// если клиент запросил application/x-ndjson в заголовке Accept
+// Записывается в ответ конвертером StreamedJsonHttpMessageConverter
+public final class StreamedJson<T> {
+
+    private final boolean ndjson; // Запись в формате NDJSON вместо JSON-массива
+    private final Consumer<Consumer<T>> source; // Источник, передающий обработчику элементы по одному
+
+    private StreamedJson(boolean ndjson, Consumer<Consumer<T>> source) {
+        this.ndjson = ndjson;
+        this.source = source;
+    }
+
+    // Ответ 200 со списком, элементы которого source передает переданному ему обработчику
+    // Формат выбирается по заголовку Accept запроса
+    public static <T> ResponseEntity<StreamedJson<T>> ok(String accept, Consumer<Consumer<T>> source) {
+        boolean ndjson = acceptsNdjson(accept);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(new StreamedJson<>(ndjson, source));
+    }
+
+    // Проверка, предпочитает ли клиент NDJSON: application/x-ndjson указан в Accept раньше application/json
+    public static boolean acceptsNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                    return true;
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return false;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Некорректный заголовок Accept - ответ в формате JSON
+        }
+        return false;
+    }
+
+    // Проверка формата NDJSON
+    public boolean isNdjson() {
+        return ndjson;
+    }
+
+    // Запись списка в выходной поток
+    // Буфер не сбрасывается после каждого элемента: данные отправляются клиенту по мере заполнения буфера ответа
+    public void writeTo(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+            // При ошибке во время записи массив не закрывается, чтобы клиент не принял неполный список за полный
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            try {
+                source.accept(item -> write(writer, generator, item));
+            } catch (UncheckedIOException e) {
+                // Ошибка записи (например, клиент закрыл соединение) - чтение из базы данных прекращается
+                throw e.getCause();
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    // Запись одного элемента
+    private void write(ObjectWriter writer, JsonGenerator generator, T item) {
+        try {
+            writer.writeValue(generator, item);
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -5,7 +5,7 @@ import java.time.Period;
 import java.util.Date;
 import java.util.regex.Pattern;
 
-// Утилита для валидации форматов телефона, электронной почты и возраста
+// Утилита для валидации форматов телефона, электронной почты, ключа идемпотентности и возраста
 public class ValidationUtil {
 
     // Регулярное выражение для проверки формата телефона (+7 XXX XXX-XX-XX)
@@ -14,6 +14,9 @@ public class ValidationUtil {
     // Регулярное выражение для проверки формата электронной почты
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
 
+    // Регулярное выражение для проверки ключа идемпотентности (видимые символы ASCII, например UUID)
+    private static final Pattern IDEMPOTENCY_KEY_PATTERN = Pattern.compile("^[\\x21-\\x7E]{1,255}$");
+
     // Список допустимых доменов для электронной почты
     private static final String[] ALLOWED_DOMAINS = {"mail.ru", "inbox.ru", "yandex.ru", "gmail.com"};
 
@@ -36,6 +39,11 @@ public class ValidationUtil {
         return false;
     }
 
+    // Проверка формата ключа идемпотентности (заголовок Idempotency-Key)
+    public static boolean isValidIdempotencyKey(String key) {
+        return IDEMPOTENCY_KEY_PATTERN.matcher(key).matches();
+    }
+
     // Проверка возраста на основе даты рождения
     public static void validateAge(Date dateOfBirth) {
         LocalDate birthDate = ((java.sql.Date) dateOfBirth).toLocalDate();
@@ -0,0 +1,36 @@
+-- Идемпотентные изменения схемы базы данных, применяемые при запуске приложения
+-- Индекс для поиска маршрутов по дате и диапазону дат отправления
+CREATE INDEX IF NOT EXISTS idx_routes_departure_time ON routes (departure_time);
+-- Составной индекс для поиска маршрутов по пунктам отправления и назначения с фильтрацией по времени отправления
+CREATE INDEX IF NOT EXISTS idx_routes_points_departure_time ON routes (departure_city, destination_city, departure_time);
+-- Удержания мест до подтверждения бронирования (сроки истечения отслеживаются в памяти, индекс по времени не нужен)
+CREATE TABLE IF NOT EXISTS seat_holds (
+    id_hold VARCHAR(64) PRIMARY KEY,
+    id_route VARCHAR(255) NOT NULL REFERENCES routes (id_route) ON DELETE CASCADE,
+    seats INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+-- Ключи идемпотентности (заголовок Idempotency-Key) с сохраненными ответами; индекс для удаления ключей с истекшим сроком
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    id_key VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_status INTEGER,
+    content_type VARCHAR(100),
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
+-- Лист ожидания маршрутов без свободных мест; уникальный индекс задает порядок очереди маршрута и выборку ее начала
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id_entry VARCHAR(64) PRIMARY KEY,
+    id_route VARCHAR(255) NOT NULL REFERENCES routes (id_route) ON DELETE CASCADE,
+    id_user VARCHAR(255) NOT NULL REFERENCES users (id_user) ON DELETE CASCADE,
+    queue_position BIGINT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    id_booking VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    promoted_at TIMESTAMP
+);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_waitlist_entries_route_position ON waitlist_entries (id_route, queue_position);
@@ -0,0 +1,112 @@
+package com.example.backendpassengertransportation;
+
+import com.example.backendpassengertransportation.config.PrincipalCache;
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.TransportTypeRepository;
+import com.example.backendpassengertransportation.repository.UserRepository;
+import com.example.backendpassengertransportation.service.CityService;
+import com.example.backendpassengertransportation.service.TransportTypeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Общие тестовые данные для тестов на встроенной базе данных H2 (подключается через @Import(TestFixtures.class))
+// Тесты с одинаковыми настройками используют один контекст приложения, поэтому каждый тест начинает с clear()
+@TestComponent
+public class TestFixtures {
+
+    // Таблицы в порядке удаления (сначала зависимые)
+    private static final List<String> TABLES = List.of(
+            "idempotency_keys", "waitlist_entries", "seat_holds", "booking_tickets", "routes", "users");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransportTypeRepository transportTypeRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private TransportTypeService transportTypeService;
+
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // Удаление всех данных и сброс кэшей в памяти, заполненных предыдущими тестами
+    // Города и типы транспорта удаляются через сервисы, чтобы сбросить кэши справочных списков
+    public void clear() {
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        cityRepository.findAll().forEach(city -> cityService.deleteCity(city.getIdCity()));
+        transportTypeRepository.findAll().forEach(type -> transportTypeService.deleteTransportType(type.getIdTransportType()));
+        principalCache.clear();
+        routeIndex.invalidate();
+    }
+
+    // Добавление типа транспорта
+    public TransportType transportType(String idTransportType, String name) {
+        return transportTypeRepository.save(new TransportType(idTransportType, name));
+    }
+
+    // Добавление города
+    public City city(String idCity, String name) {
+        return cityRepository.save(new City(idCity, name));
+    }
+
+    // Добавление маршрута; индекс маршрутов загружается заново, так как данные записаны в обход сервисов
+    public Route route(Route route) {
+        Route saved = routeRepository.save(route);
+        routeIndex.invalidate();
+        return saved;
+    }
+
+    // Добавление нескольких маршрутов одним вызовом
+    public List<Route> routes(List<Route> routes) {
+        List<Route> saved = routeRepository.saveAll(routes);
+        routeIndex.invalidate();
+        return saved;
+    }
+
+    // Добавление маршрута r1 (Автобус t1, Москва c1 - Казань c2) с отправлением через сутки
+    public Route futureRoute(int seats) {
+        LocalDateTime departure = LocalDateTime.now().plusDays(1);
+        return route(new Route("r1", transportType("t1", "Автобус"), city("c1", "Москва"), city("c2", "Казань"),
+                Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(12)), seats, seats));
+    }
+
+    // Добавление пользователя (дата рождения 01.01.1990, хеш пароля без возможности входа)
+    public User user(String idUser, String fullName, String phone, String email) {
+        return userRepository.save(new User(idUser, fullName, phone, email, Date.valueOf("1990-01-01"), "$2a$10$hash"));
+    }
+
+    // Добавление пользователя u1 ivanov@mail.ru (Иванов Иван Иванович, +7 900 123-45-67)
+    public User ivanov() {
+        return user("u1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.backendpassengertransportation.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Тест ограничения числа одновременно выданных соединений семафором
+class ConnectionLimitedDataSourceTest {
+
+    private DataSource pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    /**
+     * Тест получения соединений сверх лимита.
+     * Проверка, что при занятых разрешениях ожидание завершается исключением, а пул не вызывается.
+     */
+    @Test
+    void testLimitReached_WaitsAndTimesOut() throws SQLException {
+        ConnectionLimitedDataSource dataSource = new ConnectionLimitedDataSource(pool, 2, 50);
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(pool, times(2)).getConnection();
+        assertEquals(2, dataSource.getConnectionsInUse());
+    }
+
+    /**
+     * Тест ожидания соединения в очереди.
+     * Проверка, что ожидающий поток получает соединение после закрытия занятого.
+     */
+    @Test
+    void testWaitingThread_ServedAfterClose() throws Exception {
+        ConnectionLimitedDataSource dataSource = new ConnectionLimitedDataSource(pool, 1, 10_000);
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dataSource.getThreadsAwaitingPermit() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dataSource.getThreadsAwaitingPermit());
+        assertFalse(waiting.isDone());
+
+        first.close();
+
+        assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dataSource.getConnectionsInUse());
+    }
+
+    /**
+     * Тест повторного закрытия соединения.
+     * Проверка, что разрешение возвращается один раз, а закрытие передается соединению пула.
+     */
+    @Test
+    void testDoubleClose_ReleasesOnce() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionLimitedDataSource dataSource = new ConnectionLimitedDataSource(pool, 2, 50);
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertEquals(1, dataSource.getConnectionsInUse());
+        verify(pooled, times(2)).close();
+    }
+
+    /**
+     * Тест ошибки пула при получении соединения.
+     * Проверка, что разрешение возвращается, если пул не выдал соединение.
+     */
+    @Test
+    void testPoolFailure_ReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("Нет соединения"));
+        ConnectionLimitedDataSource dataSource = new ConnectionLimitedDataSource(pool, 1, 50);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(0, dataSource.getConnectionsInUse());
+    }
+
+    /**
+     * Тест вызовов соединения.
+     * Проверка, что остальные методы передаются соединению пула.
+     */
+    @Test
+    void testDelegatesCalls() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pooled.isValid(1)).thenReturn(true);
+        when(pool.getConnection()).thenReturn(pooled);
+        ConnectionLimitedDataSource dataSource = new ConnectionLimitedDataSource(pool, 1, 50);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+            connection.setAutoCommit(false);
+        }
+
+        verify(pooled).setAutoCommit(false);
+        assertEquals(0, dataSource.getConnectionsInUse());
+    }
+
+    /**
+     * Тест конфигурации ограничения соединений.
+     * Проверка, что при включенном свойстве пул Hikari оборачивается семафором на maximumPoolSize разрешений.
+     */
+    @Test
+    void testConfig_Enabled_WrapsHikariPool() {
+        contextRunner()
+                .withPropertyValues("app.connection-limit.enabled=true")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    assertInstanceOf(ConnectionLimitedDataSource.class, dataSource);
+                    assertEquals(7, ((ConnectionLimitedDataSource) dataSource).getMaxConnections());
+                    assertNotNull(dataSource.unwrap(HikariDataSource.class));
+                });
+    }
+
+    /**
+     * Тест конфигурации без ограничения соединений.
+     * Проверка, что по умолчанию пул Hikari используется напрямую.
+     */
+    @Test
+    void testConfig_Disabled_KeepsHikariPool() {
+        contextRunner().run(context -> assertInstanceOf(HikariDataSource.class, context.getBean(DataSource.class)));
+    }
+
+    // Контекст с пулом Hikari из 7 соединений (соединения не открываются до первого запроса)
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withUserConfiguration(ConnectionLimitConfig.class)
+                .withBean("dataSource", DataSource.class, () -> {
+                    HikariDataSource hikariDataSource = new HikariDataSource();
+                    hikariDataSource.setJdbcUrl("jdbc:h2:mem:connection_limit");
+                    hikariDataSource.setMaximumPoolSize(7);
+                    return hikariDataSource;
+                });
+    }
+}
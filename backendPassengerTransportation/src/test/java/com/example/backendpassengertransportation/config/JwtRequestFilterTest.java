@@ -0,0 +1,106 @@
+package com.example.backendpassengertransportation.config;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.Key;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Тест обработки JWT-токенов фильтром на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class JwtRequestFilterTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Подготовка тестовых данных: пользователь и маршрут
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.ivanov();
+        fixtures.futureRoute(1);
+    }
+
+    // Количество проверок токена с указанным результатом в метрике jwt.filter
+    private long filterCount(String outcome) {
+        Timer timer = meterRegistry.find("jwt.filter").tag("outcome", outcome).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+    // Запрос маршрута r1 с указанным токеном и проверка отказа в доступе и результата в метрике
+    private void assertRejected(String token, String outcome) throws Exception {
+        long before = filterCount(outcome);
+        mockMvc.perform(get("/routes/r1").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+        assertEquals(before + 1, filterCount(outcome));
+    }
+
+    /**
+     * Тест запроса с просроченным токеном.
+     * Проверка отказа в доступе (403 вместо внутренней ошибки сервера) и результата expired в метрике jwt.filter.
+     */
+    @Test
+    void testExpiredToken_Forbidden() throws Exception {
+        Key key = (Key) ReflectionTestUtils.getField(JwtUtil.class, "SECRET_KEY");
+        String expired = Jwts.builder()
+                .setSubject("ivanov@mail.ru")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(SignatureAlgorithm.HS256, key)
+                .compact();
+
+        assertRejected(expired, "expired");
+    }
+
+    /**
+     * Тест запроса с измененным токеном.
+     * Проверка отказа в доступе при неверной подписи и искаженном формате токена и результата invalid в метрике jwt.filter.
+     */
+    @Test
+    void testTamperedToken_Forbidden() throws Exception {
+        String token = JwtUtil.generateToken("ivanov@mail.ru");
+        int signature = token.lastIndexOf('.') + 1;
+        String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A') + token.substring(signature + 1);
+
+        assertRejected(tampered, "invalid");
+        assertRejected("not-a-token", "invalid");
+    }
+
+    /**
+     * Тест запроса с токеном удаленного пользователя.
+     * Проверка отказа в доступе и результата invalid в метрике jwt.filter.
+     */
+    @Test
+    void testUnknownUserToken_Forbidden() throws Exception {
+        assertRejected(JwtUtil.generateToken("unknown@mail.ru"), "invalid");
+    }
+}
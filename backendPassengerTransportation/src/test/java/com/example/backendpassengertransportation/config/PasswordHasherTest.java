@@ -0,0 +1,87 @@
+package com.example.backendpassengertransportation.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест хеширования паролей в пуле потоков ограниченного размера
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    /**
+     * Тест хеширования и проверки пароля.
+     * Проверка, что хеш, полученный в пуле, проверяется BCrypt.
+     */
+    @Test
+    void testEncodeAndMatches() {
+        passwordHasher = create(1, 1, new BCryptPasswordEncoder(4));
+
+        String hash = passwordHasher.encode("password123");
+
+        assertTrue(passwordHasher.matches("password123", hash));
+        assertFalse(passwordHasher.matches("password124", hash));
+        assertEquals(0, passwordHasher.getRejectedCount());
+    }
+
+    /**
+     * Тест перегрузки пула хеширования.
+     * Проверка, что при занятых потоках и заполненной очереди операция сразу отклоняется.
+     */
+    @Test
+    void testSaturated_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Кодировщик, который не завершает хеширование до сигнала теста
+        BCryptPasswordEncoder blockingEncoder = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        passwordHasher = create(1, 1, blockingEncoder);
+
+        // Первая операция занимает единственный поток, вторая - единственное место в очереди
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"));
+        while (passwordHasher.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+        assertEquals(1, passwordHasher.getActiveCount());
+
+        assertThrows(RejectedExecutionException.class, () -> passwordHasher.encode("third"));
+        assertEquals(1, passwordHasher.getRejectedCount());
+
+        // После освобождения потока принятые операции завершаются
+        release.countDown();
+        assertTrue(blockingEncoder.matches("first", running.get(10, TimeUnit.SECONDS)));
+        assertTrue(blockingEncoder.matches("second", queued.get(10, TimeUnit.SECONDS)));
+    }
+
+    // Создание пула хеширования с заданным кодировщиком
+    private static PasswordHasher create(int threads, int queueCapacity, BCryptPasswordEncoder encoder) {
+        PasswordHasher hasher = new PasswordHasher(threads, queueCapacity);
+        ReflectionTestUtils.setField(hasher, "passwordEncoder", encoder);
+        return hasher;
+    }
+}
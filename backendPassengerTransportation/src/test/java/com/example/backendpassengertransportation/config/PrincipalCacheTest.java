@@ -0,0 +1,120 @@
+package com.example.backendpassengertransportation.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест кэша данных аутентифицированных пользователей
+class PrincipalCacheTest {
+
+    // Текущее время тестовых часов, в наносекундах
+    private final AtomicLong now = new AtomicLong();
+
+    // Количество обращений к загрузчику пользователей
+    private final AtomicInteger loads = new AtomicInteger();
+
+    // Загрузчик, имитирующий запрос к базе данных
+    private final Function<String, UserDetails> loader = email -> {
+        loads.incrementAndGet();
+        if (email.startsWith("unknown")) {
+            throw new UsernameNotFoundException("Пользователь с email " + email + " не найден.");
+        }
+        return new User(email, "hash", new ArrayList<>());
+    };
+
+    /**
+     * Тест повторных запросов одного пользователя.
+     * Проверка, что после первой загрузки запросы обслуживаются из кэша без обращения к загрузчику.
+     */
+    @Test
+    void testGet_CachesUntilTtl() {
+        PrincipalCache cache = new PrincipalCache(true, 10, 1000, now::get);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("ivanov@mail.ru", cache.get("ivanov@mail.ru", loader).getUsername());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(4, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // По истечении времени жизни пользователь загружается заново
+        now.addAndGet(1000);
+        cache.get("ivanov@mail.ru", loader);
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Тест ограничения размера кэша.
+     * Проверка, что вытесняется запись, к которой дольше всего не обращались.
+     */
+    @Test
+    void testGet_EvictsLeastRecentlyUsed() {
+        PrincipalCache cache = new PrincipalCache(true, 2, 1000, now::get);
+        cache.get("a@mail.ru", loader);
+        cache.get("b@mail.ru", loader);
+        cache.get("a@mail.ru", loader);
+        cache.get("c@mail.ru", loader);
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+
+        cache.get("a@mail.ru", loader);
+        assertEquals(3, loads.get());
+        cache.get("b@mail.ru", loader);
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Тест явного удаления записи и отсутствия пользователя.
+     * Проверка, что после удаления пользователь загружается заново, а ошибка загрузки не кэшируется.
+     */
+    @Test
+    void testEvictAndNotFound() {
+        PrincipalCache cache = new PrincipalCache(true, 10, 1000, now::get);
+        cache.get("ivanov@mail.ru", loader);
+        cache.evict("ivanov@mail.ru");
+        assertEquals(1, cache.getEvictions());
+        cache.get("ivanov@mail.ru", loader);
+        assertEquals(2, loads.get());
+
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("unknown@mail.ru", loader));
+        assertThrows(UsernameNotFoundException.class, () -> cache.get("unknown@mail.ru", loader));
+        assertEquals(4, loads.get());
+    }
+
+    /**
+     * Тест удаления записи во время загрузки пользователя.
+     * Проверка, что данные, загруженные до удаления, не попадают в кэш.
+     */
+    @Test
+    void testEvictDuringLoad_DoesNotCacheStaleUser() {
+        PrincipalCache cache = new PrincipalCache(true, 10, 1000, now::get);
+        cache.get("ivanov@mail.ru", email -> {
+            UserDetails stale = loader.apply(email);
+            cache.evict(email);
+            return stale;
+        });
+        assertEquals(0, cache.size());
+        cache.get("ivanov@mail.ru", loader);
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Тест отключенного кэша.
+     * Проверка, что каждый запрос обращается к загрузчику.
+     */
+    @Test
+    void testDisabled_AlwaysLoads() {
+        PrincipalCache cache = new PrincipalCache(false, 10, 1000, now::get);
+        cache.get("ivanov@mail.ru", loader);
+        cache.get("ivanov@mail.ru", loader);
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.backendpassengertransportation.config;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.service.CityService;
+import com.example.backendpassengertransportation.service.TransportTypeService;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Тест ETag и ответа 304 для справочных списков на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ReferenceDataETagTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private TransportTypeService transportTypeService;
+
+    // Заголовок авторизации тестового пользователя
+    private String authorization;
+
+    // Подготовка тестовых данных: пользователь, город и тип транспорта
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.ivanov();
+        cityService.createCity("Москва");
+        transportTypeService.createTransportType("Поезд");
+        authorization = "Bearer " + JwtUtil.generateToken("ivanov@mail.ru");
+    }
+
+    /**
+     * Тест повторного запроса списка городов с If-None-Match.
+     * Проверка ответа 304 без тела и нового ETag после добавления города.
+     */
+    @Test
+    void testCities_NotModifiedUntilChanged() throws Exception {
+        String etag = mockMvc.perform(get("/cities").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertFalse(etag.startsWith("W/"));
+
+        mockMvc.perform(get("/cities").header(HttpHeaders.AUTHORIZATION, authorization).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        cityService.createCity("Казань");
+
+        String changed = mockMvc.perform(get("/cities").header(HttpHeaders.AUTHORIZATION, authorization).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+        assertTrue(cityService.getAllCities().stream().anyMatch(city -> city.getCityName().equals("Казань")));
+    }
+
+    /**
+     * Тест повторного запроса списка типов транспорта с If-None-Match.
+     * Проверка ответа 304 и отсутствия ETag у запроса без авторизации.
+     */
+    @Test
+    void testTransportTypes_NotModified() throws Exception {
+        String etag = mockMvc.perform(get("/transport-types").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/transport-types").header(HttpHeaders.AUTHORIZATION, authorization).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/transport-types").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -18,6 +18,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -447,4 +448,36 @@ class AuthenticationControllerTest {
         // Проверка тела ответа
         assertEquals("Произошла ошибка при регистрации пользователя.", response.getBody());
     }
+
+    /**
+     * Тест аутентификации при перегрузке пула хеширования паролей.
+     * Проверка передачи исключения общему обработчику перегрузки (ответ 503, см. OverloadExceptionHandlerTest).
+     */
+    @Test
+    void testCreateAuthenticationToken_Overloaded() {
+        // Мокирование сервиса: пул хеширования паролей заполнен
+        User user = createTestUser("Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Date.valueOf(LocalDate.now().minusYears(30)), "$2a$10$hashedPassword");
+        when(userService.getUserByFullNameAndEmail("Стебунов Никита Юрьевич", "stebunov@gmail.com")).thenReturn(user);
+        when(userService.verifyPassword("password123", user.getPassword()))
+                .thenThrow(new RejectedExecutionException("Сервер перегружен запросами входа. Повторите попытку позже."));
+
+        // Вызов метода контроллера и проверка, что исключение не преобразуется в ответ 500
+        assertThrows(RejectedExecutionException.class, () -> authenticationController.createAuthenticationToken(
+                "Стебунов Никита Юрьевич", "stebunov@gmail.com", "password123"));
+    }
+
+    /**
+     * Тест регистрации при перегрузке пула хеширования паролей.
+     * Проверка передачи исключения общему обработчику перегрузки.
+     */
+    @Test
+    void testRegisterUser_Overloaded() {
+        // Мокирование сервиса: пул хеширования паролей заполнен
+        when(userService.createUser("Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Date.valueOf(LocalDate.of(1990, 1, 1)), "password123"))
+                .thenThrow(new RejectedExecutionException("Сервер перегружен запросами входа. Повторите попытку позже."));
+
+        // Вызов метода контроллера и проверка, что исключение не преобразуется в ответ 500
+        assertThrows(RejectedExecutionException.class, () -> authenticationController.registerUser(
+                "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", "01.01.1990", "password123"));
+    }
 }
\ No newline at end of file
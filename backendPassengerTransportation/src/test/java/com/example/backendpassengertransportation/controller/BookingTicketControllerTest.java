@@ -1,9 +1,15 @@
 package com.example.backendpassengertransportation.controller;
 
-import com.example.backendpassengertransportation.model.BookingTicket;
-import com.example.backendpassengertransportation.model.Route;
-import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.GroupBookingRequest;
+import com.example.backendpassengertransportation.model.PassengerDetails;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.service.BookingLaneService;
 import com.example.backendpassengertransportation.service.BookingTicketService;
+import com.example.backendpassengertransportation.service.IdempotencyService;
+import com.example.backendpassengertransportation.util.StreamedJson;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,15 +17,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,28 +44,32 @@ class BookingTicketControllerTest {
     @Mock
     private BookingTicketService bookingTicketService;
 
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private BookingLaneService bookingLaneService;
+
     @InjectMocks
     private BookingTicketController bookingTicketController;
 
-    // Вспомогательный метод для создания тестового бронирования
-    private BookingTicket createTestBookingTicket(String id, String routeId, String userFullName, String userPhone, String userEmail, Timestamp bookingDate) {
-        BookingTicket bookingTicket = new BookingTicket();
-        bookingTicket.setIdBooking(id);
-
-        Route route = new Route();
-        route.setIdRoute(routeId);
-        route.setDepartureTime(Timestamp.valueOf(LocalDateTime.now().plusHours(2))); // Время отправления через 2 часа
-        route.setNumberAvailableSeats(10);
-        bookingTicket.setRoute(route);
+    // Преобразование объектов в JSON для записи потоковых списков, как в StreamedJsonHttpMessageConverter
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
 
-        User user = new User();
-        user.setPassengerFullName(userFullName);
-        user.setPassengerPhone(userPhone);
-        user.setPassengerEmail(userEmail);
-        bookingTicket.setUser(user);
+    // Вспомогательный метод для чтения списка из тела потокового ответа
+    private List<BookingView> readStreamedList(ResponseEntity<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamedJson<?>) response.getBody()).writeTo(objectMapper, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<List<BookingView>>() {
+        });
+    }
 
-        bookingTicket.setBookingDate(bookingDate);
-        return bookingTicket;
+    // Вспомогательный метод для создания тестового представления бронирования
+    private BookingView createTestBookingTicket(String id, String routeId, String userFullName, String userPhone, String userEmail, Timestamp bookingDate) {
+        RouteView route = new RouteView(routeId, "Поезд", "Москва", "Казань",
+                Timestamp.valueOf(LocalDateTime.now().plusHours(2)), // Время отправления через 2 часа
+                Timestamp.valueOf(LocalDateTime.now().plusHours(14)), 100, 10);
+        return new BookingView(id, route, userFullName, userPhone, userEmail, bookingDate);
     }
 
     /**
@@ -57,39 +77,44 @@ class BookingTicketControllerTest {
      * Проверка корректности возвращаемого списка бронирований.
      */
     @Test
-    void testGetAllBookingTickets_Success() {
+    void testGetAllBookingTickets_Success() throws IOException {
         // Создание тестовых данных: два бронирования
-        BookingTicket booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        BookingTicket booking2 = createTestBookingTicket("b2", "r2", "Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        List<BookingTicket> bookings = Arrays.asList(booking1, booking2);
+        BookingView booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking2 = createTestBookingTicket("b2", "r2", "Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        List<BookingView> bookings = Arrays.asList(booking1, booking2);
 
-        // Мокирование сервиса
-        when(bookingTicketService.getAllBookingTickets()).thenReturn(bookings);
+        // Мокирование сервиса: при потоковом чтении передаются тестовые бронирования
+        when(bookingTicketService.hasBookingTickets()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<BookingView> consumer = invocation.getArgument(0);
+            bookings.forEach(consumer);
+            return null;
+        }).when(bookingTicketService).streamAllBookingTickets(any());
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets();
+        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        List<BookingTicket> result = (List<BookingTicket>) response.getBody();
+        List<BookingView> result = readStreamedList(response);
         assertEquals(2, result.size());
 
         // Проверка полей первого бронирования
-        BookingTicket returnedBooking1 = result.get(0);
+        BookingView returnedBooking1 = result.get(0);
         assertEquals("b1", returnedBooking1.getIdBooking());
         assertEquals("r1", returnedBooking1.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", returnedBooking1.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", returnedBooking1.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", returnedBooking1.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", returnedBooking1.getPassengerEmail());
 
         // Проверка полей второго бронирования
-        BookingTicket returnedBooking2 = result.get(1);
+        BookingView returnedBooking2 = result.get(1);
         assertEquals("b2", returnedBooking2.getIdBooking());
         assertEquals("r2", returnedBooking2.getRoute().getIdRoute());
-        assertEquals("Комарова Анна Васильевна", returnedBooking2.getUser().getPassengerFullName());
-        assertEquals("+7 999 987-65-43", returnedBooking2.getUser().getPassengerPhone());
-        assertEquals("komarova@gmail.com", returnedBooking2.getUser().getPassengerEmail());
+        assertEquals("Комарова Анна Васильевна", returnedBooking2.getPassengerFullName());
+        assertEquals("+7 999 987-65-43", returnedBooking2.getPassengerPhone());
+        assertEquals("komarova@gmail.com", returnedBooking2.getPassengerEmail());
     }
 
     /**
@@ -98,11 +123,11 @@ class BookingTicketControllerTest {
      */
     @Test
     void testGetAllBookingTickets_NotFound() {
-        // Мокирование сервиса: возвращается пустой список
-        when(bookingTicketService.getAllBookingTickets()).thenReturn(Collections.emptyList());
+        // Мокирование сервиса: бронирований нет
+        when(bookingTicketService.hasBookingTickets()).thenReturn(false);
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets();
+        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
@@ -117,10 +142,10 @@ class BookingTicketControllerTest {
     @Test
     void testGetAllBookingTickets_InternalServerError() {
         // Мокирование сервиса: выброс исключения
-        when(bookingTicketService.getAllBookingTickets()).thenThrow(new RuntimeException("Внутренняя ошибка"));
+        when(bookingTicketService.hasBookingTickets()).thenThrow(new RuntimeException("Внутренняя ошибка"));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets();
+        ResponseEntity<?> response = bookingTicketController.getAllBookingTickets(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
@@ -135,7 +160,7 @@ class BookingTicketControllerTest {
     @Test
     void testGetBookingTicketById_Success() {
         // Создание тестовых данных
-        BookingTicket booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
 
         // Мокирование сервиса
         when(bookingTicketService.getBookingTicketById("b1")).thenReturn(booking);
@@ -146,12 +171,12 @@ class BookingTicketControllerTest {
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        BookingTicket result = (BookingTicket) response.getBody();
+        BookingView result = (BookingView) response.getBody();
         assertEquals("b1", result.getIdBooking());
         assertEquals("r1", result.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", result.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", result.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", result.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", result.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", result.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", result.getPassengerEmail());
     }
 
     /**
@@ -197,23 +222,79 @@ class BookingTicketControllerTest {
     @Test
     void testCreateBookingTicket_Success() {
         // Создание тестовых данных
-        BookingTicket booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
 
         // Мокирование сервиса
         when(bookingTicketService.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com")).thenReturn(booking);
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        BookingTicket result = (BookingTicket) response.getBody();
+        BookingView result = (BookingView) response.getBody();
         assertEquals("b1", result.getIdBooking());
         assertEquals("r1", result.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", result.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", result.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", result.getUser().getPassengerEmail());
+        assertEquals("Поезд", result.getRoute().getTransportType());
+        assertEquals("Москва", result.getRoute().getDepartureCity());
+        assertEquals("Стебунов Никита Юрьевич", result.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", result.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", result.getPassengerEmail());
+    }
+
+    /**
+     * Тест успешного группового бронирования.
+     * Проверка возврата статуса 201 и бронирований в порядке пассажиров запроса.
+     */
+    @Test
+    void testCreateGroupBooking_Success() {
+        List<PassengerDetails> passengers = List.of(
+                new PassengerDetails("Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"),
+                new PassengerDetails("Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com"));
+        List<BookingView> bookings = List.of(
+                createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now())),
+                createTestBookingTicket("b2", "r1", "Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com", Timestamp.valueOf(LocalDateTime.now())));
+        when(bookingTicketService.createGroupBooking("r1", passengers)).thenReturn(bookings);
+
+        ResponseEntity<?> response = bookingTicketController.createGroupBooking(new GroupBookingRequest("r1", passengers));
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        assertEquals(bookings, response.getBody());
+    }
+
+    /**
+     * Тест группового бронирования при недостатке мест.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testCreateGroupBooking_NotEnoughSeats() {
+        List<PassengerDetails> passengers = List.of(
+                new PassengerDetails("Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"));
+        when(bookingTicketService.createGroupBooking("r1", passengers))
+                .thenThrow(new IllegalStateException("Недостаточно доступных мест для бронирования группы из 1 пассажиров."));
+
+        ResponseEntity<?> response = bookingTicketController.createGroupBooking(new GroupBookingRequest("r1", passengers));
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Недостаточно доступных мест для бронирования группы из 1 пассажиров.", response.getBody());
+    }
+
+    /**
+     * Тест группового бронирования с незарегистрированными пассажирами.
+     * Проверка возврата статуса 404 и сообщения с номерами пассажиров.
+     */
+    @Test
+    void testCreateGroupBooking_PassengerNotFound() {
+        List<PassengerDetails> passengers = List.of(
+                new PassengerDetails("Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"));
+        when(bookingTicketService.createGroupBooking("r1", passengers))
+                .thenThrow(new NoSuchElementException("Групповое бронирование отклонено: пассажир 1 не найден в базе данных пассажирских перевозок."));
+
+        ResponseEntity<?> response = bookingTicketController.createGroupBooking(new GroupBookingRequest("r1", passengers));
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Групповое бронирование отклонено: пассажир 1 не найден в базе данных пассажирских перевозок.", response.getBody());
     }
 
     /**
@@ -227,7 +308,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new IllegalArgumentException("Неверный формат телефона. Используйте формат: +7 XXX XXX-XX-XX"));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "invalid-phone", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "invalid-phone", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -246,7 +327,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new IllegalArgumentException("Неверный формат email. Используйте формат: имя@домен (mail.ru, yandex.ru, gmail.com)"));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "invalid-email");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "invalid-email", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -265,7 +346,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new NoSuchElementException("Маршрут с ID r999 не найден."));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
@@ -284,7 +365,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new NoSuchElementException("Пользователь с такими данными не найден в базе данных пассажирских перевозок."));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
@@ -303,7 +384,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new IllegalStateException("Бронирование невозможно: маршрут уже отправился."));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -322,7 +403,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new IllegalStateException("Бронирование невозможно: до отправления осталось менее 30 минут."));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -341,7 +422,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new IllegalStateException("Нет доступных мест для бронирования."));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -360,7 +441,7 @@ class BookingTicketControllerTest {
                 .thenThrow(new RuntimeException("Внутренняя ошибка"));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
@@ -378,7 +459,7 @@ class BookingTicketControllerTest {
         doNothing().when(bookingTicketService).deleteBookingTicket("b1");
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1");
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
@@ -396,7 +477,7 @@ class BookingTicketControllerTest {
         doThrow(new IllegalArgumentException("Бронирование с ID b999 не найдено.")).when(bookingTicketService).deleteBookingTicket("b999");
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b999");
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b999", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
@@ -414,7 +495,7 @@ class BookingTicketControllerTest {
         doThrow(new IllegalStateException("Отмена бронирования невозможна: маршрут уже отправился.")).when(bookingTicketService).deleteBookingTicket("b1");
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1");
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -432,7 +513,7 @@ class BookingTicketControllerTest {
         doThrow(new IllegalStateException("Отмена бронирования невозможна: до отправления осталось менее 30 минут.")).when(bookingTicketService).deleteBookingTicket("b1");
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1");
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
@@ -450,7 +531,7 @@ class BookingTicketControllerTest {
         doThrow(new RuntimeException("Внутренняя ошибка")).when(bookingTicketService).deleteBookingTicket("b1");
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1");
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
@@ -465,7 +546,7 @@ class BookingTicketControllerTest {
     @Test
     void testGetBookingTicketByRouteAndPassengerPhone_Success() {
         // Создание тестовых данных
-        BookingTicket booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
 
         // Мокирование сервиса
         when(bookingTicketService.getBookingTicketByRouteAndPassengerPhone("r1", "+7 999 123-45-67")).thenReturn(booking);
@@ -476,12 +557,12 @@ class BookingTicketControllerTest {
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        BookingTicket result = (BookingTicket) response.getBody();
+        BookingView result = (BookingView) response.getBody();
         assertEquals("b1", result.getIdBooking());
         assertEquals("r1", result.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", result.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", result.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", result.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", result.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", result.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", result.getPassengerEmail());
     }
 
     /**
@@ -567,9 +648,9 @@ class BookingTicketControllerTest {
     @Test
     void testGetBookingTicketsByRoute_Success() {
         // Создание тестовых данных: два бронирования
-        BookingTicket booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        BookingTicket booking2 = createTestBookingTicket("b2", "r1", "Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        List<BookingTicket> bookings = Arrays.asList(booking1, booking2);
+        BookingView booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking2 = createTestBookingTicket("b2", "r1", "Комарова Анна Васильевна", "+7 999 987-65-43", "komarova@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        List<BookingView> bookings = Arrays.asList(booking1, booking2);
 
         // Мокирование сервиса
         when(bookingTicketService.getBookingTicketsByRoute("r1")).thenReturn(bookings);
@@ -580,24 +661,24 @@ class BookingTicketControllerTest {
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        List<BookingTicket> result = (List<BookingTicket>) response.getBody();
+        List<BookingView> result = (List<BookingView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка полей первого бронирования
-        BookingTicket returnedBooking1 = result.get(0);
+        BookingView returnedBooking1 = result.get(0);
         assertEquals("b1", returnedBooking1.getIdBooking());
         assertEquals("r1", returnedBooking1.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", returnedBooking1.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", returnedBooking1.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", returnedBooking1.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", returnedBooking1.getPassengerEmail());
 
         // Проверка полей второго бронирования
-        BookingTicket returnedBooking2 = result.get(1);
+        BookingView returnedBooking2 = result.get(1);
         assertEquals("b2", returnedBooking2.getIdBooking());
         assertEquals("r1", returnedBooking2.getRoute().getIdRoute());
-        assertEquals("Комарова Анна Васильевна", returnedBooking2.getUser().getPassengerFullName());
-        assertEquals("+7 999 987-65-43", returnedBooking2.getUser().getPassengerPhone());
-        assertEquals("komarova@gmail.com", returnedBooking2.getUser().getPassengerEmail());
+        assertEquals("Комарова Анна Васильевна", returnedBooking2.getPassengerFullName());
+        assertEquals("+7 999 987-65-43", returnedBooking2.getPassengerPhone());
+        assertEquals("komarova@gmail.com", returnedBooking2.getPassengerEmail());
     }
 
     /**
@@ -662,9 +743,9 @@ class BookingTicketControllerTest {
     @Test
     void testGetBookingTicketsByPassengerEmail_Success() {
         // Создание тестовых данных: два бронирования
-        BookingTicket booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        BookingTicket booking2 = createTestBookingTicket("b2", "r2", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
-        List<BookingTicket> bookings = Arrays.asList(booking1, booking2);
+        BookingView booking1 = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        BookingView booking2 = createTestBookingTicket("b2", "r2", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+        List<BookingView> bookings = Arrays.asList(booking1, booking2);
 
         // Мокирование сервиса
         when(bookingTicketService.getBookingTicketsByPassengerEmail("stebunov@gmail.com")).thenReturn(bookings);
@@ -675,24 +756,24 @@ class BookingTicketControllerTest {
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        List<BookingTicket> result = (List<BookingTicket>) response.getBody();
+        List<BookingView> result = (List<BookingView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка полей первого бронирования
-        BookingTicket returnedBooking1 = result.get(0);
+        BookingView returnedBooking1 = result.get(0);
         assertEquals("b1", returnedBooking1.getIdBooking());
         assertEquals("r1", returnedBooking1.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", returnedBooking1.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", returnedBooking1.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", returnedBooking1.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", returnedBooking1.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", returnedBooking1.getPassengerEmail());
 
         // Проверка полей второго бронирования
-        BookingTicket returnedBooking2 = result.get(1);
+        BookingView returnedBooking2 = result.get(1);
         assertEquals("b2", returnedBooking2.getIdBooking());
         assertEquals("r2", returnedBooking2.getRoute().getIdRoute());
-        assertEquals("Стебунов Никита Юрьевич", returnedBooking2.getUser().getPassengerFullName());
-        assertEquals("+7 999 123-45-67", returnedBooking2.getUser().getPassengerPhone());
-        assertEquals("stebunov@gmail.com", returnedBooking2.getUser().getPassengerEmail());
+        assertEquals("Стебунов Никита Юрьевич", returnedBooking2.getPassengerFullName());
+        assertEquals("+7 999 123-45-67", returnedBooking2.getPassengerPhone());
+        assertEquals("stebunov@gmail.com", returnedBooking2.getPassengerEmail());
     }
 
     /**
@@ -768,4 +849,139 @@ class BookingTicketControllerTest {
         // Проверка тела ответа
         assertEquals("Произошла ошибка при получении бронирований: Внутренняя ошибка", response.getBody());
     }
+
+    /**
+     * Тест повторного создания бронирования с ключом идемпотентности.
+     * Проверка, что возвращается сохраненный ответ, а бронирование не создается повторно.
+     */
+    @Test
+    void testCreateBookingTicket_IdempotencyKey_ReplaysStoredResponse() {
+        // Мокирование сервиса ключей: ответ на первый запрос уже сохранен
+        when(idempotencyService.execute(eq("key-1"), eq("POST /booking-tickets"), anyString(), eq(HttpStatus.CREATED), any()))
+                .thenReturn(new IdempotencyService.Result(201, "application/json", "{\"idBooking\":\"b1\"}", true));
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", "key-1");
+
+        // Проверка статуса, тела и заголовка повторенного ответа
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        assertEquals("{\"idBooking\":\"b1\"}", response.getBody());
+        assertEquals("true", response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verifyNoInteractions(bookingTicketService);
+    }
+
+    /**
+     * Тест создания бронирования с некорректным ключом идемпотентности.
+     * Проверка возврата статуса 400 без выполнения запроса.
+     */
+    @Test
+    void testCreateBookingTicket_InvalidIdempotencyKey() {
+        // Вызов метода контроллера: ключ содержит пробел
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", "key 1");
+
+        // Проверка статуса ответа
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        verifyNoInteractions(bookingTicketService, idempotencyService);
+    }
+
+    /**
+     * Тест удаления бронирования с ключом идемпотентности.
+     * Проверка, что удаление выполняется через сервис ключей и возвращается сообщение об успехе.
+     */
+    @Test
+    void testDeleteBookingTicket_IdempotencyKey_Executed() {
+        // Мокирование сервиса ключей: первый запрос с ключом выполняет операцию
+        when(idempotencyService.execute(eq("key-2"), eq("DELETE /booking-tickets"), eq("b1"), eq(HttpStatus.OK), any()))
+                .thenAnswer(invocation -> {
+                    Supplier<Object> action = invocation.getArgument(4);
+                    return new IdempotencyService.Result(200, "text/plain;charset=UTF-8", (String) action.get(), false);
+                });
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", "key-2");
+
+        // Проверка статуса и тела ответа
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        assertEquals("Бронирование успешно удалено.", response.getBody());
+        assertNull(response.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        verify(bookingTicketService, times(1)).deleteBookingTicket("b1");
+    }
+
+    /**
+     * Тест удаления бронирования с ключом, уже использованным для другого запроса.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testDeleteBookingTicket_IdempotencyKeyReused() {
+        // Мокирование сервиса ключей: ключ использован для другого запроса
+        when(idempotencyService.execute(eq("key-3"), eq("DELETE /booking-tickets"), eq("b1"), eq(HttpStatus.OK), any()))
+                .thenThrow(new IllegalStateException("Ключ идемпотентности уже использован для другого запроса."));
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = bookingTicketController.deleteBookingTicket("b1", "key-3");
+
+        // Проверка статуса и тела ответа
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Ключ идемпотентности уже использован для другого запроса.", response.getBody());
+        verifyNoInteractions(bookingTicketService);
+    }
+
+    /**
+     * Тест создания бронирования через полосу бронирования.
+     * Проверка, что при включенных полосах запрос ставится в очередь полосы и возвращается статус 201.
+     */
+    @Test
+    void testCreateBookingTicket_Lanes_Success() {
+        // Создание тестовых данных
+        BookingView booking = createTestBookingTicket("b1", "r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", Timestamp.valueOf(LocalDateTime.now()));
+
+        // Мокирование сервиса полос: бронирование выполнено потоком полосы
+        when(bookingLaneService.isEnabled()).thenReturn(true);
+        when(bookingLaneService.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenReturn(CompletableFuture.completedFuture(booking));
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
+
+        // Проверка статуса и тела ответа
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        assertEquals("b1", ((BookingView) response.getBody()).getIdBooking());
+        verifyNoInteractions(bookingTicketService);
+    }
+
+    /**
+     * Тест отказа в бронировании через полосу бронирования.
+     * Проверка, что исключение, которым завершен результат полосы, обрабатывается как при прямом бронировании.
+     */
+    @Test
+    void testCreateBookingTicket_Lanes_UserNotFound() {
+        // Мокирование сервиса полос: пользователь не найден
+        when(bookingLaneService.isEnabled()).thenReturn(true);
+        when(bookingLaneService.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenReturn(CompletableFuture.failedFuture(new NoSuchElementException("Пользователь не найден.")));
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null);
+
+        // Проверка статуса и тела ответа
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Пользователь не найден.", response.getBody());
+    }
+
+    /**
+     * Тест создания бронирования при переполненной очереди полосы.
+     * Проверка передачи исключения общему обработчику перегрузки (ответ 503 с заголовком Retry-After).
+     */
+    @Test
+    void testCreateBookingTicket_Lanes_QueueFull() {
+        // Мокирование сервиса полос: очередь полосы переполнена
+        when(bookingLaneService.isEnabled()).thenReturn(true);
+        when(bookingLaneService.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenThrow(new RejectedExecutionException("Сервер перегружен запросами бронирования. Повторите попытку позже."));
+
+        // Вызов метода контроллера и проверка, что исключение не преобразуется в ответ 500
+        assertThrows(RejectedExecutionException.class, () ->
+                bookingTicketController.createBookingTicket("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com", null));
+        verifyNoInteractions(bookingTicketService);
+    }
 }
\ No newline at end of file
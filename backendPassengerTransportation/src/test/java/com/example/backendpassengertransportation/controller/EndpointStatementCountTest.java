@@ -0,0 +1,325 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.TransportTypeRepository;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Проверка точного количества SQL-запросов для каждой конечной точки маршрутов, бронирований и пользователей
+// на встроенной базе данных H2. Запросы считаются статистикой Hibernate (запросы JdbcTemplate, например
+// выделение блоков идентификаторов, не учитываются); индекс маршрутов в памяти отключен, чтобы все выборки
+// выполнялись через базу данных. Изменение плана загрузки, добавляющее запросы, приводит к падению теста
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.route-index.enabled=false"
+})
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private TransportTypeRepository transportTypeRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    // Статистика Hibernate
+    private Statistics statistics;
+
+    // Заголовок авторизации тестового пользователя
+    private String authorization;
+
+    // Подготовка тестовых данных: два пользователя, три города, два типа транспорта, три прошедших маршрута
+    // с тремя бронированиями и один будущий маршрут для создания и отмены бронирований
+    @BeforeEach
+    void setUp() throws Exception {
+        fixtures.clear();
+        User ivanov = fixtures.ivanov();
+        User petrov = fixtures.user("u2", "Петров Петр Петрович", "+7 900 765-43-21", "petrov@mail.ru");
+        City moscow = fixtures.city("c1", "Москва");
+        City kazan = fixtures.city("c2", "Казань");
+        City samara = fixtures.city("c3", "Самара");
+        TransportType bus = fixtures.transportType("t1", "Автобус");
+        TransportType train = fixtures.transportType("t2", "Поезд");
+        Route first = fixtures.route(new Route("r1", train, moscow, kazan,
+                Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 22:00:00"), 100, 98));
+        Route second = fixtures.route(new Route("r2", bus, kazan, samara,
+                Timestamp.valueOf("2025-03-15 10:00:00"), Timestamp.valueOf("2025-03-15 16:00:00"), 40, 39));
+        fixtures.route(new Route("r3", train, samara, moscow,
+                Timestamp.valueOf("2025-03-16 10:00:00"), Timestamp.valueOf("2025-03-16 22:00:00"), 100, 100));
+        LocalDateTime departure = LocalDateTime.now().plusDays(2);
+        Route future = fixtures.route(new Route("r4", bus, moscow, samara,
+                Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(14)), 40, 39));
+        bookingTicketRepository.save(new BookingTicket("b1", first, ivanov, Timestamp.valueOf("2025-03-01 12:00:00")));
+        bookingTicketRepository.save(new BookingTicket("b2", second, ivanov, Timestamp.valueOf("2025-03-02 12:00:00")));
+        bookingTicketRepository.save(new BookingTicket("b3", first, petrov, Timestamp.valueOf("2025-03-03 12:00:00")));
+        bookingTicketRepository.save(new BookingTicket("b4", future, ivanov, Timestamp.valueOf(LocalDateTime.now())));
+        authorization = "Bearer " + JwtUtil.generateToken("ivanov@mail.ru");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Первый запрос загружает данные пользователя в кэш аутентификации, чтобы не учитывать этот запрос
+        mockMvc.perform(get("/routes/r1").header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk());
+    }
+
+    // Выполнение запроса к серверу с проверкой статуса и точного количества SQL-запросов
+    // Возвращает тело ответа
+    private String expectStatements(long expected, MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        statistics.clear();
+        String body = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(expected, statistics.getPrepareStatementCount(), "Количество SQL-запросов");
+        return body;
+    }
+
+    /**
+     * Тест получения маршрута по ID.
+     * Проверка, что маршрут читается одним запросом в виде плоского представления без загрузки сущностей.
+     */
+    @Test
+    void testGetRouteById() throws Exception {
+        JsonNode route = objectMapper.readTree(expectStatements(1, get("/routes/r2"), status().isOk()));
+
+        assertEquals("Автобус", route.get("transportType").asText());
+        assertEquals("Казань", route.get("departureCity").asText());
+        assertEquals("Самара", route.get("destinationCity").asText());
+        assertEquals(39, route.get("numberAvailableSeats").asInt());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        // Отсутствующий маршрут
+        expectStatements(1, get("/routes/r999"), status().isNotFound());
+    }
+
+    /**
+     * Тест списков маршрутов.
+     * Проверка, что каждый список читается одним запросом (поиск города или типа транспорта по названию - отдельный запрос).
+     */
+    @Test
+    void testRouteListings() throws Exception {
+        // Проверка наличия маршрутов и потоковая выборка всех маршрутов
+        assertEquals(4, objectMapper.readTree(expectStatements(2, get("/routes"), status().isOk())).size());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        expectStatements(1, get("/routes/paginated").param("page", "0").param("size", "16"), status().isOk());
+        expectStatements(1, get("/routes/paginated/cursor").param("size", "2"), status().isOk());
+        expectStatements(1, get("/routes/search").param("departureCity", "Москва"), status().isOk());
+        expectStatements(1, get("/routes/exactDate").param("exactDate", "14.03.2025"), status().isOk());
+        expectStatements(1, get("/routes/dateRange").param("startDate", "14.03.2025").param("endDate", "16.03.2025"), status().isOk());
+        expectStatements(2, get("/routes/departure/Москва"), status().isOk());
+        expectStatements(2, get("/routes/destination/Самара"), status().isOk());
+        expectStatements(2, get("/routes/transport/Поезд"), status().isOk());
+        expectStatements(3, get("/routes/points").param("departureCity", "Москва").param("destinationCity", "Казань"), status().isOk());
+    }
+
+    /**
+     * Тест удаления маршрута.
+     * Проверка количества запросов: проверка существования, загрузка для удаления и удаление.
+     */
+    @Test
+    void testDeleteRoute() throws Exception {
+        routeRepository.save(new Route("r100", transportTypeRepository.findById("t1").orElseThrow(),
+                cityRepository.findById("c1").orElseThrow(), cityRepository.findById("c2").orElseThrow(),
+                Timestamp.valueOf("2025-04-01 10:00:00"), Timestamp.valueOf("2025-04-01 20:00:00"), 10, 10));
+
+        expectStatements(3, delete("/routes/r100"), status().isOk());
+        assertFalse(routeRepository.existsById("r100"));
+    }
+
+    /**
+     * Тест списков бронирований.
+     * Проверка, что бронирования читаются одним запросом без хеша пароля и остальных данных пользователя.
+     */
+    @Test
+    void testBookingListings() throws Exception {
+        // Проверка наличия бронирований и потоковая выборка всех бронирований
+        expectStatements(2, get("/booking-tickets"), status().isOk());
+        expectStatements(1, get("/booking-tickets/b1"), status().isOk());
+        expectStatements(1, get("/booking-tickets/email/ivanov@mail.ru"), status().isOk());
+        expectStatements(1, get("/booking-tickets/route/r1/phone/+7 900 765-43-21"), status().isOk());
+
+        JsonNode bookings = objectMapper.readTree(expectStatements(1, get("/booking-tickets/route/r1"), status().isOk()));
+        assertEquals(2, bookings.size());
+        for (JsonNode booking : bookings) {
+            assertEquals("Поезд", booking.get("route").get("transportType").asText());
+            assertTrue(booking.has("passengerEmail"));
+            assertFalse(booking.has("user"));
+            assertFalse(booking.toString().contains("password"));
+            assertFalse(booking.toString().contains("$2a$"));
+        }
+    }
+
+    /**
+     * Тест пустого списка бронирований маршрута.
+     * Проверка, что существование маршрута проверяется отдельным запросом только при пустом результате.
+     */
+    @Test
+    void testGetBookingTicketsByRoute_Empty() throws Exception {
+        expectStatements(2, get("/booking-tickets/route/r3"), status().isNotFound());
+        expectStatements(2, get("/booking-tickets/route/r999"), status().isNotFound());
+    }
+
+    /**
+     * Тест создания и отмены бронирования.
+     * Проверка количества запросов: созданное бронирование возвращается одним запросом представления,
+     * отмена загружает бронирование вместе с маршрутом одним запросом.
+     */
+    @Test
+    void testCreateAndDeleteBookingTicket() throws Exception {
+        // Маршрут, пользователь, занятие места, проверка и добавление бронирования, чтение созданного бронирования
+        JsonNode created = objectMapper.readTree(expectStatements(6, post("/booking-tickets")
+                .param("routeId", "r4")
+                .param("passengerFullName", "Петров Петр Петрович")
+                .param("passengerPhone", "+7 900 765-43-21")
+                .param("passengerEmail", "petrov@mail.ru"), status().isCreated()));
+        assertEquals("Автобус", created.get("route").get("transportType").asText());
+        assertEquals("Самара", created.get("route").get("destinationCity").asText());
+        assertEquals("petrov@mail.ru", created.get("passengerEmail").asText());
+
+        // Бронирование с маршрутом, удаление бронирования и возврат места
+        expectStatements(3, delete("/booking-tickets/b4"), status().isOk());
+        assertEquals(39, routeRepository.findById("r4").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест группового бронирования.
+     * Проверка, что количество запросов не зависит от размера группы: маршрут, пользователи группы,
+     * занятие мест и чтение созданных бронирований (вставка бронирований выполняется пакетом JDBC).
+     */
+    @Test
+    void testCreateGroupBooking_StatementCountIndependentOfGroupSize() throws Exception {
+        String single = "{\"routeId\": \"r4\", \"passengers\": ["
+                + "{\"passengerFullName\": \"Петров Петр Петрович\", \"passengerPhone\": \"+7 900 765-43-21\", \"passengerEmail\": \"petrov@mail.ru\"}]}";
+        String pair = "{\"routeId\": \"r4\", \"passengers\": ["
+                + "{\"passengerFullName\": \"Иванов Иван Иванович\", \"passengerPhone\": \"+7 900 123-45-67\", \"passengerEmail\": \"ivanov@mail.ru\"}, "
+                + "{\"passengerFullName\": \"Петров Петр Петрович\", \"passengerPhone\": \"+7 900 765-43-21\", \"passengerEmail\": \"petrov@mail.ru\"}]}";
+
+        JsonNode first = objectMapper.readTree(expectStatements(4, post("/booking-tickets/group")
+                .contentType(MediaType.APPLICATION_JSON).content(single), status().isCreated()));
+        JsonNode second = objectMapper.readTree(expectStatements(4, post("/booking-tickets/group")
+                .contentType(MediaType.APPLICATION_JSON).content(pair), status().isCreated()));
+
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+        assertEquals("ivanov@mail.ru", second.get(0).get("passengerEmail").asText());
+        assertEquals("petrov@mail.ru", second.get(1).get("passengerEmail").asText());
+        assertEquals(36, second.get(1).get("route").get("numberAvailableSeats").asInt());
+
+        // Отмена созданных бронирований, чтобы не изменять количество мест маршрута для других тестов
+        for (JsonNode booking : List.of(first.get(0), second.get(0), second.get(1))) {
+            mockMvc.perform(delete("/booking-tickets/" + booking.get("idBooking").asText())
+                    .header(HttpHeaders.AUTHORIZATION, authorization)).andExpect(status().isOk());
+        }
+        assertEquals(39, routeRepository.findById("r4").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест получения пользователей.
+     * Проверка, что пользователь читается одним запросом.
+     */
+    @Test
+    void testUserEndpoints() throws Exception {
+        expectStatements(2, get("/users"), status().isOk());
+        expectStatements(1, get("/users/u2"), status().isOk());
+        expectStatements(1, get("/users/user-by-email").param("email", "petrov@mail.ru"), status().isOk());
+    }
+
+    /**
+     * Тест загрузки сущностей бронирований.
+     * Проверка, что findAll загружает бронирования с маршрутами, типами транспорта, городами и пользователями
+     * одним запросом по графу BookingTicket.details.
+     */
+    @Test
+    void testFindAllBookingTickets_EntityGraph() {
+        statistics.clear();
+        List<BookingTicket> bookingTickets = bookingTicketRepository.findAll();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(bookingTickets.isEmpty());
+        for (BookingTicket bookingTicket : bookingTickets) {
+            assertTrue(Hibernate.isInitialized(bookingTicket.getUser()));
+            assertTrue(Hibernate.isInitialized(bookingTicket.getRoute()));
+            assertTrue(Hibernate.isInitialized(bookingTicket.getRoute().getTransportType()));
+            assertTrue(Hibernate.isInitialized(bookingTicket.getRoute().getDepartureCity()));
+            assertTrue(Hibernate.isInitialized(bookingTicket.getRoute().getDestinationCity()));
+        }
+    }
+
+    /**
+     * Тест ленивой загрузки связанных сущностей маршрута.
+     * Проверка, что findById не загружает тип транспорта и города, а findAll и поиск по городу загружают их одним запросом.
+     */
+    @Test
+    void testRouteAssociations_LazyUnlessGraph() {
+        statistics.clear();
+        Route route = routeRepository.findById("r1").orElseThrow();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(route.getTransportType()));
+        assertFalse(Hibernate.isInitialized(route.getDepartureCity()));
+
+        statistics.clear();
+        List<Route> routes = routeRepository.findAll();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(routes.stream().allMatch(r -> Hibernate.isInitialized(r.getTransportType())
+                && Hibernate.isInitialized(r.getDepartureCity()) && Hibernate.isInitialized(r.getDestinationCity())));
+
+        statistics.clear();
+        List<Route> fromMoscow = routeRepository.findByDepartureCity(cityRepository.findById("c1").orElseThrow());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(fromMoscow.stream().allMatch(r -> Hibernate.isInitialized(r.getDestinationCity())));
+    }
+}
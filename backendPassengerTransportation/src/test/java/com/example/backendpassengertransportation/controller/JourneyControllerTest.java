@@ -0,0 +1,128 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.Journey;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.service.JourneyService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JourneyControllerTest {
+
+    @Mock
+    private JourneyService journeyService;
+
+    @InjectMocks
+    private JourneyController journeyController;
+
+    // Вспомогательный метод для создания тестового маршрута
+    private RouteView createTestRoute(String id, String departureCityName, String destinationCityName,
+                                      Timestamp departureTime, Timestamp arrivalTime) {
+        return new RouteView(id, "Поезд", departureCityName, destinationCityName, departureTime, arrivalTime, 50, 50);
+    }
+
+    /**
+     * Тест поиска поездок с пересадкой.
+     * Проверка, что возвращаются поездки сервиса и рассчитаны время в пути и количество пересадок.
+     */
+    @Test
+    void testFindJourneys_Success() {
+        Journey direct = new Journey(List.of(createTestRoute("r1", "Москва", "Самара",
+                Timestamp.valueOf("2025-03-14 08:00:00"), Timestamp.valueOf("2025-03-15 08:00:00"))));
+        Journey withTransfer = new Journey(List.of(
+                createTestRoute("r2", "Москва", "Казань", Timestamp.valueOf("2025-03-14 09:00:00"), Timestamp.valueOf("2025-03-14 19:00:00")),
+                createTestRoute("r3", "Казань", "Самара", Timestamp.valueOf("2025-03-14 20:00:00"), Timestamp.valueOf("2025-03-15 02:00:00"))));
+        when(journeyService.findJourneys("Москва", "Самара", Timestamp.valueOf("2025-03-14 07:00:00"), 2, 45, 2))
+                .thenReturn(List.of(direct, withTransfer));
+
+        ResponseEntity<?> response = journeyController.findJourneys("Москва", "Самара", "2025-03-14T07:00:00", 2, 45, 2);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        List<Journey> result = (List<Journey>) response.getBody();
+        assertEquals(2, result.size());
+        assertEquals(0, result.get(0).getTransfers());
+        assertEquals(1, result.get(1).getTransfers());
+        assertEquals(Timestamp.valueOf("2025-03-14 09:00:00"), result.get(1).getDepartureTime());
+        assertEquals(Timestamp.valueOf("2025-03-15 02:00:00"), result.get(1).getArrivalTime());
+        assertEquals(17 * 60, result.get(1).getDurationMinutes());
+    }
+
+    /**
+     * Тест поиска поездок без указания необязательных параметров.
+     * Проверка, что сервису передаются значения null для применения значений по умолчанию.
+     */
+    @Test
+    void testFindJourneys_Defaults() {
+        Journey direct = new Journey(List.of(createTestRoute("r1", "Москва", "Казань",
+                Timestamp.valueOf("2025-03-14 08:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"))));
+        when(journeyService.findJourneys(eq("Москва"), eq("Казань"), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(direct));
+
+        ResponseEntity<?> response = journeyController.findJourneys("Москва", "Казань", null, null, null, null);
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        assertEquals(1, ((List<Journey>) response.getBody()).size());
+    }
+
+    /**
+     * Тест поиска поездок, когда поездки не найдены.
+     * Проверка, что возвращается статус 404 с сообщением об ошибке.
+     */
+    @Test
+    void testFindJourneys_NotFound() {
+        when(journeyService.findJourneys(eq("Москва"), eq("Самара"), isNull(), isNull(), isNull(), isNull()))
+                .thenThrow(new NoSuchElementException("Маршруты не найдены."));
+
+        ResponseEntity<?> response = journeyController.findJourneys("Москва", "Самара", null, null, null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Маршруты не найдены.", response.getBody());
+    }
+
+    /**
+     * Тест поиска поездок с некорректными параметрами.
+     * Проверка, что возвращается статус 400 при ошибке сервиса и при неверном формате времени.
+     */
+    @Test
+    void testFindJourneys_BadRequest() {
+        when(journeyService.findJourneys(eq("Москва"), eq("Самара"), isNull(), eq(9), isNull(), isNull()))
+                .thenThrow(new IllegalArgumentException("Количество маршрутов в поездке должно быть от 1 до 5."));
+
+        ResponseEntity<?> response = journeyController.findJourneys("Москва", "Самара", null, 9, null, null);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Количество маршрутов в поездке должно быть от 1 до 5.", response.getBody());
+
+        ResponseEntity<?> badTime = journeyController.findJourneys("Москва", "Самара", "14.03.2025", null, null, null);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), badTime.getStatusCodeValue());
+        verify(journeyService, times(1)).findJourneys(any(), any(), any(), any(), any(), any());
+    }
+
+    /**
+     * Тест поиска поездок при внутренней ошибке сервера.
+     * Проверка, что возвращается статус 500 с пустым списком.
+     */
+    @Test
+    void testFindJourneys_InternalServerError() {
+        when(journeyService.findJourneys(eq("Москва"), eq("Самара"), isNull(), isNull(), isNull(), isNull()))
+                .thenThrow(new RuntimeException("Ошибка"));
+
+        ResponseEntity<?> response = journeyController.findJourneys("Москва", "Самара", null, null, null, null);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
+        assertEquals(List.of(), response.getBody());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.model.User;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Тест потоковой выдачи списков маршрутов, бронирований и пользователей на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+class ListStreamingTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    // Заголовок авторизации тестового пользователя
+    private String authorization;
+
+    // Подготовка тестовых данных: пользователь, три маршрута и бронирование
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        User user = fixtures.ivanov();
+        City moscow = fixtures.city("c1", "Москва");
+        City kazan = fixtures.city("c2", "Казань");
+        TransportType train = fixtures.transportType("t1", "Поезд");
+        Route route = fixtures.route(new Route("r1", train, moscow, kazan,
+                Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 22:00:00"), 100, 99));
+        fixtures.route(new Route("r2", train, kazan, moscow,
+                Timestamp.valueOf("2025-03-15 10:00:00"), Timestamp.valueOf("2025-03-15 22:00:00"), 100, 100));
+        fixtures.route(new Route("r3", train, moscow, kazan,
+                Timestamp.valueOf("2025-03-16 10:00:00"), Timestamp.valueOf("2025-03-16 22:00:00"), 100, 100));
+        bookingTicketRepository.save(new BookingTicket("b1", route, user, Timestamp.valueOf("2025-03-01 12:00:00")));
+        authorization = "Bearer " + JwtUtil.generateToken("ivanov@mail.ru");
+    }
+
+    // Выполнение запроса списка и получение тела ответа
+    private String stream(String path, String accept, MediaType expectedType) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, authorization)
+                        .header(HttpHeaders.ACCEPT, accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(expectedType))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    /**
+     * Тест получения списка маршрутов в виде JSON-массива.
+     * Проверка, что все маршруты записаны вместе с типом транспорта и городами.
+     */
+    @Test
+    void testGetAllRoutes_JsonArray() throws Exception {
+        JsonNode routes = objectMapper.readTree(stream("/routes", "application/json", MediaType.APPLICATION_JSON));
+
+        assertTrue(routes.isArray());
+        assertEquals(3, routes.size());
+        JsonNode first = null;
+        for (JsonNode route : routes) {
+            if ("r1".equals(route.get("idRoute").asText())) {
+                first = route;
+            }
+        }
+        assertNotNull(first);
+        assertEquals("Поезд", first.get("transportType").asText());
+        assertEquals("Москва", first.get("departureCity").asText());
+        assertEquals("Казань", first.get("destinationCity").asText());
+        assertEquals(99, first.get("numberAvailableSeats").asInt());
+    }
+
+    /**
+     * Тест получения списка маршрутов в формате NDJSON.
+     * Проверка, что каждый маршрут записан отдельной строкой.
+     */
+    @Test
+    void testGetAllRoutes_Ndjson() throws Exception {
+        String body = stream("/routes", "application/x-ndjson", MediaType.APPLICATION_NDJSON);
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(body.endsWith("\n"));
+        for (String line : lines) {
+            assertTrue(objectMapper.readTree(line).has("idRoute"));
+        }
+    }
+
+    /**
+     * Тест получения списка бронирований в виде JSON-массива.
+     * Проверка, что бронирование записано вместе с маршрутом и контактными данными пассажира без хеша пароля.
+     */
+    @Test
+    void testGetAllBookingTickets_JsonArray() throws Exception {
+        JsonNode bookings = objectMapper.readTree(stream("/booking-tickets", "*/*", MediaType.APPLICATION_JSON));
+
+        assertEquals(1, bookings.size());
+        assertEquals("b1", bookings.get(0).get("idBooking").asText());
+        assertEquals("r1", bookings.get(0).get("route").get("idRoute").asText());
+        assertEquals("Москва", bookings.get(0).get("route").get("departureCity").asText());
+        assertEquals("ivanov@mail.ru", bookings.get(0).get("passengerEmail").asText());
+        assertFalse(bookings.get(0).has("user"));
+    }
+
+    /**
+     * Тест получения списка пользователей в формате NDJSON.
+     * Проверка записи единственного пользователя одной строкой без хеша пароля.
+     */
+    @Test
+    void testGetAllUsers_Ndjson() throws Exception {
+        String body = stream("/users", "application/x-ndjson", MediaType.APPLICATION_NDJSON);
+
+        assertEquals(1, body.split("\n").length);
+        assertEquals("u1", objectMapper.readTree(body).get("idUser").asText());
+        assertFalse(objectMapper.readTree(body).has("password"));
+    }
+
+    /**
+     * Тест запроса списка маршрутов без токена.
+     * Проверка возврата статуса 403 без тела.
+     */
+    @Test
+    void testGetAllRoutes_Unauthorized() throws Exception {
+        mockMvc.perform(get("/routes"))
+                .andExpect(status().isForbidden())
+                .andExpect(content().string(""));
+    }
+}
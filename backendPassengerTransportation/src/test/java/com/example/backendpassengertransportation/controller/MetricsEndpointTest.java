@@ -0,0 +1,125 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Тест метрик приложения в формате Prometheus на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Заголовок авторизации тестового пользователя
+    private String authorization;
+
+    // Подготовка тестовых данных: пользователь и будущий маршрут с одним свободным местом
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.ivanov();
+        fixtures.futureRoute(1);
+        authorization = "Bearer " + JwtUtil.generateToken("ivanov@mail.ru");
+    }
+
+    // Бронирование места на маршруте r1 с указанным телефоном
+    private void book(String phone) throws Exception {
+        mockMvc.perform(post("/booking-tickets").header(HttpHeaders.AUTHORIZATION, authorization)
+                .param("routeId", "r1")
+                .param("passengerFullName", "Иванов Иван Иванович")
+                .param("passengerPhone", phone)
+                .param("passengerEmail", "ivanov@mail.ru"));
+    }
+
+    // Строка метрики с указанным именем, содержащая все указанные метки
+    private static String metricLine(String body, String name, String... labels) {
+        return Arrays.stream(body.split("\n"))
+                .filter(line -> (line.startsWith(name + "{") || line.startsWith(name + " ")) && Arrays.stream(labels).allMatch(line::contains))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Метрика " + name + " " + Arrays.toString(labels) + " не найдена"));
+    }
+
+    /**
+     * Тест выдачи метрик в формате Prometheus.
+     * Проверка гистограмм обработчиков и методов репозиториев, таймера JWT-фильтра с процентилями,
+     * показателей пула соединений, пула хеширования и счетчиков бронирований по причинам.
+     */
+    @Test
+    void testPrometheusScrape() throws Exception {
+        mockMvc.perform(get("/routes/r1").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+        book("+7 900 123-45-67");
+        book("+7 900 123-45-67");
+        book("89001234567");
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertNotNull(metricLine(body, "http_server_requests_seconds_count", "uri=\"/routes/{id}\"", "status=\"200\""));
+        assertNotNull(metricLine(body, "http_server_requests_seconds_bucket", "uri=\"/routes/{id}\"", "le=\"+Inf\""));
+        assertNotNull(metricLine(body, "http_server_requests_seconds_bucket", "uri=\"/booking-tickets\""));
+        assertNotNull(metricLine(body, "spring_data_repository_invocations_seconds_count",
+                "method=\"findViewById\"", "repository=\"RouteRepository\""));
+        assertNotNull(metricLine(body, "spring_data_repository_invocations_seconds_bucket", "repository=\"RouteRepository\""));
+        assertNotNull(metricLine(body, "jwt_filter_seconds_count", "outcome=\"authenticated\""));
+        assertNotNull(metricLine(body, "jwt_filter_seconds", "quantile=\"0.5\""));
+        assertNotNull(metricLine(body, "hikaricp_connections_active"));
+        assertNotNull(metricLine(body, "hikaricp_connections_acquire_seconds_count"));
+        assertNotNull(metricLine(body, "password_hashing_queue"));
+        assertNotNull(metricLine(body, "principal_cache_requests_total", "result=\"hit\""));
+        assertTrue(metricLine(body, "booking_attempts_total", "outcome=\"success\"").endsWith(" 1.0"));
+        assertTrue(metricLine(body, "booking_attempts_total", "reason=\"no_seats\"").endsWith(" 1.0"));
+        assertTrue(metricLine(body, "booking_attempts_total", "reason=\"invalid_phone\"").endsWith(" 1.0"));
+    }
+
+    /**
+     * Тест доступа к остальным конечным точкам Actuator.
+     * Проверка, что список метрик без токена недоступен, метрики Prometheus недоступны с адреса не из списка сборщиков,
+     * а проверка состояния и готовности доступна и без токена не раскрывает показатели пула соединений.
+     */
+    @Test
+    void testActuatorAccess() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+            request.setRemoteAddr("10.0.0.5");
+            return request;
+        })).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, authorization).with(request -> {
+            request.setRemoteAddr("10.0.0.5");
+            return request;
+        })).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        String readiness = mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("{\"status\":\"UP\"}", readiness);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OverloadExceptionHandlerTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private UserController userController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new OverloadExceptionHandler())
+                .build();
+    }
+
+    /**
+     * Тест обновления пароля пользователя при перегрузке пула хеширования паролей.
+     * Проверка возврата статуса 503 с заголовком Retry-After вместо внутренней ошибки сервера.
+     */
+    @Test
+    void testUpdateUser_Overloaded() throws Exception {
+        // Мокирование сервиса: пул хеширования паролей заполнен
+        when(userService.updateUser(eq("u1"), any(), any(), any(), any(), eq("newPassword")))
+                .thenThrow(new RejectedExecutionException("Сервер перегружен запросами входа. Повторите попытку позже."));
+
+        // Вызов через MockMvc и проверка статуса и заголовка ответа
+        mockMvc.perform(put("/users/u1").param("password", "newPassword"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, OverloadExceptionHandler.RETRY_AFTER_SECONDS));
+    }
+}
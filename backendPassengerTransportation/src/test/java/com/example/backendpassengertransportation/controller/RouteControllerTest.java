@@ -2,8 +2,13 @@ package com.example.backendpassengertransportation.controller;
 
 import com.example.backendpassengertransportation.model.City;
 import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteCursorPage;
+import com.example.backendpassengertransportation.model.RouteView;
 import com.example.backendpassengertransportation.model.TransportType;
 import com.example.backendpassengertransportation.service.RouteService;
+import com.example.backendpassengertransportation.util.StreamedJson;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,15 +17,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,9 +44,27 @@ class RouteControllerTest {
     @InjectMocks
     private RouteController routeController;
 
-    // Вспомогательный метод для создания тестового маршрута
-    private Route createTestRoute(String id, String transportTypeName, String departureCityName, String destinationCityName,
-                                  Timestamp departureTime, Timestamp arrivalTime, int totalSeats, int availableSeats) {
+    // Преобразование объектов в JSON для записи потоковых списков, как в StreamedJsonHttpMessageConverter
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    // Вспомогательный метод для чтения списка из тела потокового ответа
+    private List<RouteView> readStreamedList(ResponseEntity<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamedJson<?>) response.getBody()).writeTo(objectMapper, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<List<RouteView>>() {
+        });
+    }
+
+    // Вспомогательный метод для создания тестового представления маршрута
+    private RouteView createTestRoute(String id, String transportTypeName, String departureCityName, String destinationCityName,
+                                      Timestamp departureTime, Timestamp arrivalTime, int totalSeats, int availableSeats) {
+        return new RouteView(id, transportTypeName, departureCityName, destinationCityName, departureTime, arrivalTime,
+                totalSeats, availableSeats);
+    }
+
+    // Вспомогательный метод для создания тестовой сущности маршрута (возвращается сервисом при создании)
+    private Route createTestRouteEntity(String id, String transportTypeName, String departureCityName, String destinationCityName,
+                                        Timestamp departureTime, Timestamp arrivalTime, int totalSeats, int availableSeats) {
         Route route = new Route();
         route.setIdRoute(id);
         TransportType transportType = new TransportType();
@@ -58,40 +88,46 @@ class RouteControllerTest {
      * Проверка корректности возвращаемого списка маршрутов.
      */
     @Test
-    void testGetAllRoutes_Success() {
+    void testGetAllRoutes_Success() throws IOException {
         // Создание тестовых данных: два маршрута
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
-
-        // Мокирование сервиса: при вызове метода getAllRoutes() возвращается тестовый список маршрутов
-        when(routeService.getAllRoutes()).thenReturn(routes);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
+
+        // Мокирование сервиса: маршруты есть, при потоковом чтении передаются тестовые маршруты
+        when(routeService.hasRoutes()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<RouteView> consumer = invocation.getArgument(0);
+            routes.forEach(consumer);
+            return null;
+        }).when(routeService).streamAllRoutes(any());
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = routeController.getAllRoutes();
+        ResponseEntity<?> response = routeController.getAllRoutes(null);
 
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
-        // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        // Проверка, что тело ответа содержит JSON-массив маршрутов
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        List<RouteView> result = readStreamedList(response);
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Казань", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Казань", returnedRoute2.getDepartureCity());
+        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -104,10 +140,11 @@ class RouteControllerTest {
      */
     @Test
     void testGetAllRoutes_NotFound() {
-        when(routeService.getAllRoutes()).thenThrow(new NoSuchElementException("Маршруты не найдены."));
-        ResponseEntity<?> response = routeController.getAllRoutes();
+        when(routeService.hasRoutes()).thenReturn(false);
+        ResponseEntity<?> response = routeController.getAllRoutes(null);
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
         assertEquals("Маршруты не найдены.", response.getBody());
+        verify(routeService, never()).streamAllRoutes(any());
     }
 
     /**
@@ -116,12 +153,62 @@ class RouteControllerTest {
      */
     @Test
     void testGetAllRoutes_InternalServerError() {
-        when(routeService.getAllRoutes()).thenThrow(new RuntimeException("Внутренняя ошибка"));
-        ResponseEntity<?> response = routeController.getAllRoutes();
+        when(routeService.hasRoutes()).thenThrow(new RuntimeException("Внутренняя ошибка"));
+        ResponseEntity<?> response = routeController.getAllRoutes(null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
         assertEquals(Collections.emptyList(), response.getBody());
     }
 
+    /**
+     * Тест ошибки чтения маршрутов во время потоковой передачи.
+     * Проверка, что ошибка передается дальше, а JSON-массив остается незакрытым.
+     */
+    @Test
+    void testGetAllRoutes_ErrorWhileStreaming() {
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        when(routeService.hasRoutes()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<RouteView> consumer = invocation.getArgument(0);
+            consumer.accept(route);
+            throw new IllegalStateException("Соединение с базой данных потеряно");
+        }).when(routeService).streamAllRoutes(any());
+
+        ResponseEntity<?> response = routeController.getAllRoutes(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> ((StreamedJson<?>) response.getBody()).writeTo(objectMapper, out));
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith("[{"));
+        assertFalse(body.endsWith("]"));
+    }
+
+    /**
+     * Тест получения всех маршрутов в формате NDJSON.
+     * Проверка, что каждый маршрут записан отдельной строкой.
+     */
+    @Test
+    void testGetAllRoutes_Ndjson() throws IOException {
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        when(routeService.hasRoutes()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<RouteView> consumer = invocation.getArgument(0);
+            consumer.accept(route1);
+            consumer.accept(route2);
+            return null;
+        }).when(routeService).streamAllRoutes(any());
+
+        ResponseEntity<?> response = routeController.getAllRoutes("application/x-ndjson, application/json;q=0.5");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamedJson<?>) response.getBody()).writeTo(objectMapper, out);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("r1", objectMapper.readValue(lines[0], RouteView.class).getIdRoute());
+        assertEquals("r2", objectMapper.readValue(lines[1], RouteView.class).getIdRoute());
+    }
+
     /**
      * Тест получения всех маршрутов с пагинацией без фильтра по времени.
      * Проверка корректности возвращаемой страницы маршрутов.
@@ -129,8 +216,8 @@ class RouteControllerTest {
     @Test
     void testGetAllRoutesWithPagination_Success_NoFilter() {
         // Создание тестовых данных: страница с одним маршрутом
-        Route route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Page<Route> page = new PageImpl<>(Collections.singletonList(route));
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        Page<RouteView> page = new PageImpl<>(Collections.singletonList(route));
 
         // Мокирование сервиса: при вызове метода getAllRoutesWithPagination() возвращается тестовая страница
         when(routeService.getAllRoutesWithPagination(0, 16)).thenReturn(page);
@@ -141,15 +228,15 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит страницу с маршрутом
-        Page<Route> result = (Page<Route>) response.getBody();
+        Page<RouteView> result = (Page<RouteView>) response.getBody();
         assertEquals(1, result.getContent().size());
 
         // Проверка, что поля возвращаемого маршрута совпадают с ожидаемыми значениями
-        Route returnedRoute = result.getContent().get(0);
+        RouteView returnedRoute = result.getContent().get(0);
         assertEquals("r1", returnedRoute.getIdRoute());
-        assertEquals("Автобус", returnedRoute.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute.getTransportType());
+        assertEquals("Москва", returnedRoute.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute.getArrivalTime());
         assertEquals(50, returnedRoute.getTotalNumberSeats());
@@ -163,8 +250,8 @@ class RouteControllerTest {
     @Test
     void testGetAllRoutesWithPagination_Success_WithFilter() {
         // Создание тестовых данных: страница с одним маршрутом
-        Route route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Page<Route> page = new PageImpl<>(Collections.singletonList(route));
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        Page<RouteView> page = new PageImpl<>(Collections.singletonList(route));
 
         // Мокирование сервиса: при вызове метода с фильтром возвращается тестовая страница
         when(routeService.getAllRoutesWithPagination(0, 16, Timestamp.valueOf("2025-03-14 00:00:00"))).thenReturn(page);
@@ -175,15 +262,15 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит страницу с маршрутом
-        Page<Route> result = (Page<Route>) response.getBody();
+        Page<RouteView> result = (Page<RouteView>) response.getBody();
         assertEquals(1, result.getContent().size());
 
         // Проверка, что поля возвращаемого маршрута совпадают с ожидаемыми значениями
-        Route returnedRoute = result.getContent().get(0);
+        RouteView returnedRoute = result.getContent().get(0);
         assertEquals("r1", returnedRoute.getIdRoute());
-        assertEquals("Автобус", returnedRoute.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute.getTransportType());
+        assertEquals("Москва", returnedRoute.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute.getArrivalTime());
         assertEquals(50, returnedRoute.getTotalNumberSeats());
@@ -221,7 +308,7 @@ class RouteControllerTest {
     @Test
     void testGetRouteById_Success() {
         // Создание тестового маршрута
-        Route route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
 
         // Мокирование сервиса: при вызове метода getRouteById("r1") возвращается тестовый маршрут
         when(routeService.getRouteById("r1")).thenReturn(route);
@@ -232,11 +319,11 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит маршрут
-        Route returnedRoute = (Route) response.getBody();
+        RouteView returnedRoute = (RouteView) response.getBody();
         assertEquals("r1", returnedRoute.getIdRoute());
-        assertEquals("Автобус", returnedRoute.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute.getTransportType());
+        assertEquals("Москва", returnedRoute.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute.getArrivalTime());
         assertEquals(50, returnedRoute.getTotalNumberSeats());
@@ -274,9 +361,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesByTransportType_Success() {
         // Создание тестовых данных: два маршрута с типом транспорта "Автобус"
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Автобус", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Автобус", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода getRoutesByTransportType("Автобус") возвращается тестовый список
         when(routeService.getRoutesByTransportType("Автобус")).thenReturn(routes);
@@ -287,25 +374,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Автобус", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Казань", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute2.getTransportType());
+        assertEquals("Казань", returnedRoute2.getDepartureCity());
+        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -343,9 +430,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesByDepartureAndDestinationPoint_Success() {
         // Создание тестовых данных: два маршрута с указанными пунктами
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода getRoutesByDepartureAndDestinationPoint() возвращается тестовый список
         when(routeService.getRoutesByDepartureAndDestinationPoint("Москва", "Санкт-Петербург")).thenReturn(routes);
@@ -356,25 +443,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Москва", returnedRoute2.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -412,9 +499,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesByDepartureCity_Success() {
         // Создание тестовых данных: два маршрута с пунктом отправления "Москва"
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Москва", "Казань", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Москва", "Казань", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода getRoutesByDepartureCity("Москва") возвращается тестовый список
         when(routeService.getRoutesByDepartureCity("Москва")).thenReturn(routes);
@@ -425,25 +512,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Казань", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Москва", returnedRoute2.getDepartureCity());
+        assertEquals("Казань", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -481,9 +568,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesByDestinationCity_Success() {
         // Создание тестовых данных: два маршрута с пунктом назначения "Санкт-Петербург"
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Казань", "Санкт-Петербург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Казань", "Санкт-Петербург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода getRoutesByDestinationCity("Санкт-Петербург") возвращается тестовый список
         when(routeService.getRoutesByDestinationCity("Санкт-Петербург")).thenReturn(routes);
@@ -494,25 +581,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Казань", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Казань", returnedRoute2.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -550,7 +637,7 @@ class RouteControllerTest {
     @Test
     void testCreateRoute_Success() {
         // Создание тестового маршрута
-        Route route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        Route route = createTestRouteEntity("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
 
         // Мокирование сервиса: при вызове метода createRoute() возвращается тестовый маршрут
         when(routeService.createRoute("Автобус", "Москва", "Санкт-Петербург", "14.03.2025 10:00", "14.03.2025 18:00", 50, 50))
@@ -562,11 +649,11 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 201 (Created)
         assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит созданный маршрут
-        Route returnedRoute = (Route) response.getBody();
+        RouteView returnedRoute = (RouteView) response.getBody();
         assertEquals("r1", returnedRoute.getIdRoute());
-        assertEquals("Автобус", returnedRoute.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute.getTransportType());
+        assertEquals("Москва", returnedRoute.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute.getArrivalTime());
         assertEquals(50, returnedRoute.getTotalNumberSeats());
@@ -654,9 +741,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesForExactDate_Success() {
         // Создание тестовых данных: два маршрута с датой отправления "14.03.2025"
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-14 12:00:00"), Timestamp.valueOf("2025-03-15 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-14 12:00:00"), Timestamp.valueOf("2025-03-15 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода fetchRoutesForExactDate("14.03.2025") возвращается тестовый список
         when(routeService.fetchRoutesForExactDate("14.03.2025")).thenReturn(routes);
@@ -667,25 +754,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Казань", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Казань", returnedRoute2.getDepartureCity());
+        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-15 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -735,9 +822,9 @@ class RouteControllerTest {
     @Test
     void testGetRoutesWithinDateRange_Success() {
         // Создание тестовых данных: два маршрута в диапазоне дат
-        Route route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
-        Route route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
-        List<Route> routes = Arrays.asList(route1, route2);
+        RouteView route1 = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 50);
+        RouteView route2 = createTestRoute("r2", "Поезд", "Казань", "Екатеринбург", Timestamp.valueOf("2025-03-15 12:00:00"), Timestamp.valueOf("2025-03-16 08:00:00"), 100, 100);
+        List<RouteView> routes = Arrays.asList(route1, route2);
 
         // Мокирование сервиса: при вызове метода fetchRoutesWithinDateRange() возвращается тестовый список
         when(routeService.fetchRoutesWithinDateRange("14.03.2025", "15.03.2025")).thenReturn(routes);
@@ -748,25 +835,25 @@ class RouteControllerTest {
         // Проверка, что статус ответа должен быть 200 (OK)
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка, что тело ответа содержит список маршрутов
-        List<Route> result = (List<Route>) response.getBody();
+        List<RouteView> result = (List<RouteView>) response.getBody();
         assertEquals(2, result.size());
 
         // Проверка, что поля возвращаемых маршрутов совпадают с ожидаемыми значениями
-        Route returnedRoute1 = result.get(0);
+        RouteView returnedRoute1 = result.get(0);
         assertEquals("r1", returnedRoute1.getIdRoute());
-        assertEquals("Автобус", returnedRoute1.getTransportType().getTransportType());
-        assertEquals("Москва", returnedRoute1.getDepartureCity().getCityName());
-        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity().getCityName());
+        assertEquals("Автобус", returnedRoute1.getTransportType());
+        assertEquals("Москва", returnedRoute1.getDepartureCity());
+        assertEquals("Санкт-Петербург", returnedRoute1.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-14 10:00:00"), returnedRoute1.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-14 18:00:00"), returnedRoute1.getArrivalTime());
         assertEquals(50, returnedRoute1.getTotalNumberSeats());
         assertEquals(50, returnedRoute1.getNumberAvailableSeats());
 
-        Route returnedRoute2 = result.get(1);
+        RouteView returnedRoute2 = result.get(1);
         assertEquals("r2", returnedRoute2.getIdRoute());
-        assertEquals("Поезд", returnedRoute2.getTransportType().getTransportType());
-        assertEquals("Казань", returnedRoute2.getDepartureCity().getCityName());
-        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity().getCityName());
+        assertEquals("Поезд", returnedRoute2.getTransportType());
+        assertEquals("Казань", returnedRoute2.getDepartureCity());
+        assertEquals("Екатеринбург", returnedRoute2.getDestinationCity());
         assertEquals(Timestamp.valueOf("2025-03-15 12:00:00"), returnedRoute2.getDepartureTime());
         assertEquals(Timestamp.valueOf("2025-03-16 08:00:00"), returnedRoute2.getArrivalTime());
         assertEquals(100, returnedRoute2.getTotalNumberSeats());
@@ -808,4 +895,154 @@ class RouteControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
         assertEquals(Collections.emptyList(), response.getBody());
     }
+
+    /**
+     * Тест комбинированного поиска маршрутов по нескольким критериям.
+     * Проверка корректности возвращаемой страницы маршрутов.
+     */
+    @Test
+    void testSearchRoutes_Success() {
+        // Создание тестовых данных: страница с одним маршрутом
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 20);
+        Page<RouteView> page = new PageImpl<>(Collections.singletonList(route));
+
+        // Мокирование сервиса: при поиске с заданными критериями возвращается тестовая страница
+        when(routeService.searchRoutes("Автобус", "Москва", "Санкт-Петербург", "14.03.2025", "15.03.2025",
+                Timestamp.valueOf("2025-03-14 09:00:00"), 2, 0, 16, "departureTime", "asc")).thenReturn(page);
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = routeController.searchRoutes("Автобус", "Москва", "Санкт-Петербург", "14.03.2025", "15.03.2025",
+                "2025-03-14T09:00:00", 2, 0, 16, "departureTime", "asc");
+
+        // Проверка, что статус ответа должен быть 200 (OK)
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        // Проверка, что тело ответа содержит страницу с маршрутом
+        Page<RouteView> result = (Page<RouteView>) response.getBody();
+        assertEquals(1, result.getContent().size());
+        assertEquals("r1", result.getContent().get(0).getIdRoute());
+        assertEquals(20, result.getContent().get(0).getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест комбинированного поиска маршрутов, когда маршруты не найдены.
+     * Проверка возврата статуса 404 и сообщения об ошибке.
+     */
+    @Test
+    void testSearchRoutes_NotFound() {
+        when(routeService.searchRoutes(null, "Москва", null, null, null, null, null, 0, 16, "departureTime", "asc")).thenReturn(Page.empty());
+        ResponseEntity<?> response = routeController.searchRoutes(null, "Москва", null, null, null, null, null, 0, 16, "departureTime", "asc");
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Маршруты не найдены.", response.getBody());
+    }
+
+    /**
+     * Тест комбинированного поиска маршрутов с некорректными параметрами.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testSearchRoutes_InvalidParameters() {
+        when(routeService.searchRoutes(null, null, null, "15.03.2025", "14.03.2025", null, null, 0, 16, "departureTime", "asc"))
+                .thenThrow(new IllegalArgumentException("Конечная дата не может быть раньше начальной даты."));
+        ResponseEntity<?> response = routeController.searchRoutes(null, null, null, "15.03.2025", "14.03.2025", null, null, 0, 16, "departureTime", "asc");
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Конечная дата не может быть раньше начальной даты.", response.getBody());
+    }
+
+    /**
+     * Тест комбинированного поиска маршрутов с некорректным минимальным временем отправления.
+     * Проверка возврата статуса 400 без обращения к сервису.
+     */
+    @Test
+    void testSearchRoutes_InvalidMinDepartureTime() {
+        ResponseEntity<?> response = routeController.searchRoutes(null, null, null, null, null, "14.03.2025 10:00", null, 0, 16, "departureTime", "asc");
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        verifyNoInteractions(routeService);
+    }
+
+    /**
+     * Тест комбинированного поиска маршрутов при внутренней ошибке сервера.
+     * Проверка возврата статуса 500 и пустого списка.
+     */
+    @Test
+    void testSearchRoutes_InternalServerError() {
+        when(routeService.searchRoutes(null, null, null, null, null, null, null, 0, 16, "departureTime", "asc")).thenThrow(new RuntimeException("Внутренняя ошибка"));
+        ResponseEntity<?> response = routeController.searchRoutes(null, null, null, null, null, null, null, 0, 16, "departureTime", "asc");
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
+        assertEquals(Collections.emptyList(), response.getBody());
+    }
+
+    /**
+     * Тест получения маршрутов постранично по курсору.
+     * Проверка корректности возвращаемой страницы и курсоров соседних страниц.
+     */
+    @Test
+    void testGetRoutesByCursor_Success() {
+        // Создание тестовых данных: страница с одним маршрутом и курсорами соседних страниц
+        RouteView route = createTestRoute("r1", "Автобус", "Москва", "Санкт-Петербург", Timestamp.valueOf("2025-03-14 10:00:00"), Timestamp.valueOf("2025-03-14 18:00:00"), 50, 20);
+        RouteCursorPage page = new RouteCursorPage(Collections.singletonList(route), "next-cursor", "prev-cursor", 16);
+
+        // Мокирование сервиса: при запросе по курсору возвращается тестовая страница
+        when(routeService.getRoutesByCursor("cursor", 16, "next", Timestamp.valueOf("2025-03-14 09:00:00"))).thenReturn(page);
+
+        // Вызов метода контроллера
+        ResponseEntity<?> response = routeController.getRoutesByCursor("cursor", 16, "next", "2025-03-14T09:00:00");
+
+        // Проверка, что статус ответа должен быть 200 (OK)
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        // Проверка, что тело ответа содержит маршрут и курсоры соседних страниц
+        RouteCursorPage result = (RouteCursorPage) response.getBody();
+        assertEquals(1, result.getContent().size());
+        assertEquals("r1", result.getContent().get(0).getIdRoute());
+        assertEquals("next-cursor", result.getNextCursor());
+        assertEquals("prev-cursor", result.getPrevCursor());
+        assertTrue(result.isHasNext());
+        assertTrue(result.isHasPrevious());
+    }
+
+    /**
+     * Тест получения маршрутов по курсору, когда маршруты не найдены.
+     * Проверка возврата статуса 404 и сообщения об ошибке.
+     */
+    @Test
+    void testGetRoutesByCursor_NotFound() {
+        when(routeService.getRoutesByCursor(null, 16, "next", null)).thenReturn(new RouteCursorPage(Collections.emptyList(), null, null, 16));
+        ResponseEntity<?> response = routeController.getRoutesByCursor(null, 16, "next", null);
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Маршруты не найдены.", response.getBody());
+    }
+
+    /**
+     * Тест получения маршрутов по некорректному курсору.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testGetRoutesByCursor_InvalidCursor() {
+        when(routeService.getRoutesByCursor("broken", 16, "next", null)).thenThrow(new IllegalArgumentException("Некорректный курсор."));
+        ResponseEntity<?> response = routeController.getRoutesByCursor("broken", 16, "next", null);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Некорректный курсор.", response.getBody());
+    }
+
+    /**
+     * Тест получения маршрутов по курсору с некорректным минимальным временем отправления.
+     * Проверка возврата статуса 400 без обращения к сервису.
+     */
+    @Test
+    void testGetRoutesByCursor_InvalidMinDepartureTime() {
+        ResponseEntity<?> response = routeController.getRoutesByCursor(null, 16, "next", "14.03.2025");
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        verifyNoInteractions(routeService);
+    }
+
+    /**
+     * Тест получения маршрутов по курсору при внутренней ошибке сервера.
+     * Проверка возврата статуса 500 и пустого списка.
+     */
+    @Test
+    void testGetRoutesByCursor_InternalServerError() {
+        when(routeService.getRoutesByCursor(null, 16, "next", null)).thenThrow(new RuntimeException("Внутренняя ошибка"));
+        ResponseEntity<?> response = routeController.getRoutesByCursor(null, 16, "next", null);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
+        assertEquals(Collections.emptyList(), response.getBody());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.model.SeatHold;
+import com.example.backendpassengertransportation.service.SeatHoldService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldControllerTest {
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @InjectMocks
+    private SeatHoldController seatHoldController;
+
+    // Вспомогательный метод для создания тестового представления бронирования
+    private BookingView createTestBookingTicket(String id) {
+        RouteView route = new RouteView("r1", "Поезд", "Москва", "Казань",
+                Timestamp.valueOf(LocalDateTime.now().plusHours(2)),
+                Timestamp.valueOf(LocalDateTime.now().plusHours(14)), 100, 10);
+        return new BookingView(id, route, "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com",
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Тест успешного удержания мест.
+     * Проверка возврата статуса 201 и созданного удержания.
+     */
+    @Test
+    void testCreateHold_Success() {
+        SeatHold hold = new SeatHold("h1", "r1", 2, Timestamp.valueOf(LocalDateTime.now()),
+                Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)));
+        when(seatHoldService.createHold("r1", 2)).thenReturn(hold);
+
+        ResponseEntity<?> response = seatHoldController.createHold("r1", 2);
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        SeatHold result = (SeatHold) response.getBody();
+        assertEquals("h1", result.getIdHold());
+        assertEquals("r1", result.getIdRoute());
+        assertEquals(2, result.getSeats());
+    }
+
+    /**
+     * Тест удержания при недостатке свободных мест.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testCreateHold_NotEnoughSeats() {
+        when(seatHoldService.createHold("r1", 3))
+                .thenThrow(new IllegalStateException("Недостаточно свободных мест для удержания."));
+
+        ResponseEntity<?> response = seatHoldController.createHold("r1", 3);
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Недостаточно свободных мест для удержания.", response.getBody());
+    }
+
+    /**
+     * Тест удержания мест несуществующего маршрута.
+     * Проверка возврата статуса 404 и сообщения об ошибке.
+     */
+    @Test
+    void testCreateHold_RouteNotFound() {
+        when(seatHoldService.createHold("r999", 1))
+                .thenThrow(new NoSuchElementException("Маршрут с ID r999 не найден."));
+
+        ResponseEntity<?> response = seatHoldController.createHold("r999", 1);
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Маршрут с ID r999 не найден.", response.getBody());
+    }
+
+    /**
+     * Тест успешного подтверждения удержания.
+     * Проверка возврата статуса 201 и списка созданных бронирований.
+     */
+    @Test
+    void testConfirmHold_Success() {
+        List<BookingView> bookings = List.of(createTestBookingTicket("b1"), createTestBookingTicket("b2"));
+        when(seatHoldService.confirmHold("r1", "h1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenReturn(bookings);
+
+        ResponseEntity<?> response = seatHoldController.confirmHold("r1", "h1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        assertEquals(bookings, response.getBody());
+    }
+
+    /**
+     * Тест подтверждения удержания с истекшим сроком.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testConfirmHold_Expired() {
+        when(seatHoldService.confirmHold("r1", "h1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenThrow(new IllegalStateException("Срок удержания мест истек. Повторите бронирование."));
+
+        ResponseEntity<?> response = seatHoldController.confirmHold("r1", "h1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Срок удержания мест истек. Повторите бронирование.", response.getBody());
+    }
+
+    /**
+     * Тест подтверждения несуществующего удержания.
+     * Проверка возврата статуса 404 и сообщения об ошибке.
+     */
+    @Test
+    void testConfirmHold_NotFound() {
+        when(seatHoldService.confirmHold("r1", "h999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenThrow(new NoSuchElementException("Удержание мест h999 не найдено."));
+
+        ResponseEntity<?> response = seatHoldController.confirmHold("r1", "h999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Удержание мест h999 не найдено.", response.getBody());
+    }
+
+    /**
+     * Тест успешного освобождения удержания.
+     * Проверка возврата статуса 200 и сообщения об успехе.
+     */
+    @Test
+    void testReleaseHold_Success() {
+        doNothing().when(seatHoldService).releaseHold("r1", "h1");
+
+        ResponseEntity<?> response = seatHoldController.releaseHold("r1", "h1");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        assertEquals("Удержание мест успешно освобождено.", response.getBody());
+        verify(seatHoldService).releaseHold("r1", "h1");
+    }
+
+    /**
+     * Тест освобождения несуществующего удержания.
+     * Проверка возврата статуса 404 и сообщения об ошибке.
+     */
+    @Test
+    void testReleaseHold_NotFound() {
+        doThrow(new NoSuchElementException("Удержание мест h999 не найдено.")).when(seatHoldService).releaseHold("r1", "h999");
+
+        ResponseEntity<?> response = seatHoldController.releaseHold("r1", "h999");
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Удержание мест h999 не найдено.", response.getBody());
+    }
+}
@@ -2,6 +2,9 @@ package com.example.backendpassengertransportation.controller;
 
 import com.example.backendpassengertransportation.model.User;
 import com.example.backendpassengertransportation.service.UserService;
+import com.example.backendpassengertransportation.util.StreamedJson;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -9,15 +12,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +37,17 @@ class UserControllerTest {
     @InjectMocks
     private UserController userController;
 
+    // Преобразование объектов в JSON для записи потоковых списков, как в StreamedJsonHttpMessageConverter
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    // Вспомогательный метод для чтения списка из тела потокового ответа
+    private List<User> readStreamedList(ResponseEntity<?> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamedJson<?>) response.getBody()).writeTo(objectMapper, out);
+        return objectMapper.readValue(out.toByteArray(), new TypeReference<List<User>>() {
+        });
+    }
+
     // Вспомогательный метод для создания тестового пользователя
     private User createTestUser(String id, String fullName, String phone, String email, Date dateOfBirth, String password) {
         User user = new User();
@@ -46,22 +65,27 @@ class UserControllerTest {
      * Проверка успешного сценария с возвратом списка пользователей.
      */
     @Test
-    void testGetAllUsers_Success() {
+    void testGetAllUsers_Success() throws IOException {
         // Создание тестовых данных: два пользователя
         User user1 = createTestUser("u1", "Иванов Иван Иванович", "+7 999 123-45-67", "ivanov@gmail.com", Date.valueOf("1990-01-01"), "hashedPassword123");
         User user2 = createTestUser("u2", "Петров Петр Петрович", "+7 999 987-65-43", "petrov@yandex.ru", Date.valueOf("1985-05-05"), "hashedPassword456");
         List<User> users = Arrays.asList(user1, user2);
 
-        // Мокирование сервиса
-        when(userService.getAllUsers()).thenReturn(users);
+        // Мокирование сервиса: при потоковом чтении передаются тестовые пользователи
+        when(userService.hasUsers()).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<User> consumer = invocation.getArgument(0);
+            users.forEach(consumer);
+            return null;
+        }).when(userService).streamAllUsers(any());
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
         // Проверка тела ответа
-        List<User> result = (List<User>) response.getBody();
+        List<User> result = readStreamedList(response);
         assertEquals(2, result.size());
 
         // Проверка полей первого пользователя
@@ -71,7 +95,8 @@ class UserControllerTest {
         assertEquals("+7 999 123-45-67", returnedUser1.getPassengerPhone());
         assertEquals("ivanov@gmail.com", returnedUser1.getPassengerEmail());
         assertEquals(Date.valueOf("1990-01-01"), returnedUser1.getDateOfBirth());
-        assertEquals("hashedPassword123", returnedUser1.getPassword());
+        // Хеш пароля не передается в ответе
+        assertNull(returnedUser1.getPassword());
 
         // Проверка полей второго пользователя
         User returnedUser2 = result.get(1);
@@ -80,7 +105,8 @@ class UserControllerTest {
         assertEquals("+7 999 987-65-43", returnedUser2.getPassengerPhone());
         assertEquals("petrov@yandex.ru", returnedUser2.getPassengerEmail());
         assertEquals(Date.valueOf("1985-05-05"), returnedUser2.getDateOfBirth());
-        assertEquals("hashedPassword456", returnedUser2.getPassword());
+        // Хеш пароля не передается в ответе
+        assertNull(returnedUser2.getPassword());
     }
 
     /**
@@ -89,11 +115,11 @@ class UserControllerTest {
      */
     @Test
     void testGetAllUsers_NotFound() {
-        // Мокирование сервиса: возвращается пустой список
-        when(userService.getAllUsers()).thenReturn(Collections.emptyList());
+        // Мокирование сервиса: пользователей нет
+        when(userService.hasUsers()).thenReturn(false);
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
@@ -108,10 +134,10 @@ class UserControllerTest {
     @Test
     void testGetAllUsers_InternalServerError() {
         // Мокирование сервиса: выброс исключения
-        when(userService.getAllUsers()).thenThrow(new RuntimeException("Внутренняя ошибка"));
+        when(userService.hasUsers()).thenThrow(new RuntimeException("Внутренняя ошибка"));
 
         // Вызов метода контроллера
-        ResponseEntity<?> response = userController.getAllUsers();
+        ResponseEntity<?> response = userController.getAllUsers(null);
 
         // Проверка статуса ответа
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), response.getStatusCodeValue());
@@ -0,0 +1,121 @@
+package com.example.backendpassengertransportation.controller;
+
+import com.example.backendpassengertransportation.model.WaitlistEntry;
+import com.example.backendpassengertransportation.service.WaitlistService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistControllerTest {
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private WaitlistController waitlistController;
+
+    /**
+     * Тест успешной постановки в лист ожидания.
+     * Проверка возврата статуса 201 и ожидающей записи.
+     */
+    @Test
+    void testJoinWaitlist_Success() {
+        WaitlistEntry entry = new WaitlistEntry("w1", "r1", "u1", 3, WaitlistEntry.WAITING, null,
+                Timestamp.valueOf(LocalDateTime.now()), null);
+        when(waitlistService.joinWaitlist("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com")).thenReturn(entry);
+
+        ResponseEntity<?> response = waitlistController.joinWaitlist("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.CREATED.value(), response.getStatusCodeValue());
+        WaitlistEntry result = (WaitlistEntry) response.getBody();
+        assertEquals("w1", result.getIdEntry());
+        assertEquals(WaitlistEntry.WAITING, result.getStatus());
+        assertEquals(3, result.getPosition());
+    }
+
+    /**
+     * Тест постановки в лист ожидания отправившегося маршрута.
+     * Проверка возврата статуса 400 и сообщения об ошибке.
+     */
+    @Test
+    void testJoinWaitlist_RouteDeparted() {
+        when(waitlistService.joinWaitlist("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenThrow(new IllegalStateException("Постановка в лист ожидания невозможна: маршрут уже отправился."));
+
+        ResponseEntity<?> response = waitlistController.joinWaitlist("r1", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Постановка в лист ожидания невозможна: маршрут уже отправился.", response.getBody());
+    }
+
+    /**
+     * Тест постановки в лист ожидания несуществующего маршрута.
+     * Проверка возврата статуса 404.
+     */
+    @Test
+    void testJoinWaitlist_RouteNotFound() {
+        when(waitlistService.joinWaitlist("r999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com"))
+                .thenThrow(new NoSuchElementException("Маршрут с ID r999 не найден."));
+
+        ResponseEntity<?> response = waitlistController.joinWaitlist("r999", "Стебунов Никита Юрьевич", "+7 999 123-45-67", "stebunov@gmail.com");
+
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatusCodeValue());
+        assertEquals("Маршрут с ID r999 не найден.", response.getBody());
+    }
+
+    /**
+     * Тест получения записи, получившей место.
+     * Проверка возврата статуса 200 и ID созданного бронирования.
+     */
+    @Test
+    void testGetEntry_Promoted() {
+        WaitlistEntry entry = new WaitlistEntry("w1", "r1", "u1", 1, WaitlistEntry.PROMOTED, "b7",
+                Timestamp.valueOf(LocalDateTime.now()), Timestamp.valueOf(LocalDateTime.now()));
+        when(waitlistService.getEntry("r1", "w1")).thenReturn(entry);
+
+        ResponseEntity<?> response = waitlistController.getEntry("r1", "w1");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        assertEquals("b7", ((WaitlistEntry) response.getBody()).getIdBooking());
+    }
+
+    /**
+     * Тест успешного выхода из листа ожидания.
+     * Проверка возврата статуса 200 и сообщения об успехе.
+     */
+    @Test
+    void testLeaveWaitlist_Success() {
+        ResponseEntity<?> response = waitlistController.leaveWaitlist("r1", "w1");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatusCodeValue());
+        assertEquals("Пассажир успешно удален из листа ожидания.", response.getBody());
+        verify(waitlistService, times(1)).leaveWaitlist("r1", "w1");
+    }
+
+    /**
+     * Тест выхода из листа ожидания после получения места.
+     * Проверка возврата статуса 400 и сообщения с ID бронирования.
+     */
+    @Test
+    void testLeaveWaitlist_AlreadyPromoted() {
+        doThrow(new IllegalStateException("Место уже получено: создано бронирование b7."))
+                .when(waitlistService).leaveWaitlist("r1", "w1");
+
+        ResponseEntity<?> response = waitlistController.leaveWaitlist("r1", "w1");
+
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatusCodeValue());
+        assertEquals("Место уже получено: создано бронирование b7.", response.getBody());
+    }
+}
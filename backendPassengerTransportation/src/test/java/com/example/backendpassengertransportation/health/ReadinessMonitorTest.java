@@ -0,0 +1,83 @@
+package com.example.backendpassengertransportation.health;
+
+import com.example.backendpassengertransportation.model.ReadinessStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// Тест периодической проверки готовности сервера
+class ReadinessMonitorTest {
+
+    /**
+     * Тест проверки доступной и недоступной базы данных.
+     * Проверка, что запрос состояния не обращается к базе данных после первой проверки.
+     */
+    @Test
+    void testRefresh_ReflectsDatabase() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        ReadinessMonitor monitor = create(dataSource);
+
+        // Первая проверка выполняется при первом запросе, последующие запросы используют ее результат
+        assertTrue(monitor.getStatus().isReady());
+        assertTrue(monitor.getStatus().isReady());
+        verify(dataSource, times(1)).getConnection();
+        assertEquals(-1, monitor.getStatus().getActiveConnections());
+
+        when(dataSource.getConnection()).thenThrow(new SQLException("Соединение отклонено"));
+        monitor.refresh();
+        assertFalse(monitor.getStatus().isReady());
+    }
+
+    /**
+     * Тест устаревшего результата проверки.
+     * Проверка, что при давно не обновлявшемся результате сервер считается неготовым.
+     */
+    @Test
+    void testGetStatus_StaleResultIsNotReady() throws SQLException {
+        ReadinessMonitor monitor = create(mock(DataSource.class));
+        ReflectionTestUtils.setField(monitor, "status",
+                new ReadinessStatus(true, new Timestamp(System.currentTimeMillis() - 60_000), 1, 9, 0));
+
+        assertFalse(monitor.getStatus().isReady());
+    }
+
+    /**
+     * Тест состояния для проверки состояния Actuator.
+     * Проверка состояния UP или DOWN по результату проверки и передачи показателей пула соединений в подробностях.
+     */
+    @Test
+    void testHealth_ReflectsStatus() {
+        ReadinessMonitor monitor = create(mock(DataSource.class));
+        ReflectionTestUtils.setField(monitor, "status",
+                new ReadinessStatus(true, new Timestamp(System.currentTimeMillis()), 1, 9, 0));
+
+        Health health = monitor.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1, health.getDetails().get("activeConnections"));
+        assertEquals(9, health.getDetails().get("idleConnections"));
+
+        ReflectionTestUtils.setField(monitor, "status",
+                new ReadinessStatus(false, new Timestamp(System.currentTimeMillis()), -1, -1, -1));
+        assertEquals(Status.DOWN, monitor.health().getStatus());
+    }
+
+    // Создание компонента проверки с заданным источником соединений
+    private static ReadinessMonitor create(DataSource dataSource) {
+        ReadinessMonitor monitor = new ReadinessMonitor();
+        ReflectionTestUtils.setField(monitor, "dataSource", dataSource);
+        ReflectionTestUtils.setField(monitor, "refreshMillis", 2000L);
+        return monitor;
+    }
+}
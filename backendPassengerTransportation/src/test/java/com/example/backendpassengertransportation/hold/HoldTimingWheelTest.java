@@ -0,0 +1,113 @@
+package com.example.backendpassengertransportation.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест колеса таймеров удержаний мест (время задается явно, такт - 100 мс, 8 ячеек)
+class HoldTimingWheelTest {
+
+    // Начало отсчета тактов
+    private static final long START = 1_000_000L;
+
+    private final HoldTimingWheel wheel = new HoldTimingWheel(100, 8, START);
+
+    // Вспомогательный метод для получения ID истекших удержаний
+    private List<String> expiredIds(long nowMillis) {
+        return wheel.advance(nowMillis).stream().map(HoldTimingWheel.Entry::idHold).collect(Collectors.toList());
+    }
+
+    /**
+     * Тест истечения срока удержания.
+     * Проверка, что удержание истекает на такте своего срока, но не раньше.
+     */
+    @Test
+    void testAdvance_ExpiresOnDeadlineTick() {
+        wheel.schedule("h1", "r1", 2, START + 350);
+
+        assertTrue(expiredIds(START + 300).isEmpty());
+        List<HoldTimingWheel.Entry> expired = wheel.advance(START + 400);
+
+        assertEquals(1, expired.size());
+        assertEquals("h1", expired.get(0).idHold());
+        assertEquals("r1", expired.get(0).idRoute());
+        assertEquals(2, expired.get(0).seats());
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Тест удержания со сроком дальше одного оборота колеса.
+     * Проверка, что удержание не истекает при прохождении своей ячейки на предыдущих оборотах.
+     */
+    @Test
+    void testAdvance_DeadlineBeyondOneRotation_WaitsForItsRotation() {
+        // Срок через 2.5 оборота (20 тактов при 8 ячейках)
+        wheel.schedule("h1", "r1", 1, START + 2000);
+
+        assertTrue(expiredIds(START + 1000).isEmpty());
+        assertTrue(expiredIds(START + 1900).isEmpty());
+        assertEquals(List.of("h1"), expiredIds(START + 2000));
+    }
+
+    /**
+     * Тест отмены удержания.
+     * Проверка, что отмененное удержание не истекает, а повторная отмена возвращает false.
+     */
+    @Test
+    void testCancel_RemovesHold() {
+        wheel.schedule("h1", "r1", 1, START + 200);
+        wheel.schedule("h2", "r1", 1, START + 200);
+
+        assertTrue(wheel.cancel("h1"));
+        assertFalse(wheel.cancel("h1"));
+
+        assertEquals(List.of("h2"), expiredIds(START + 1000));
+    }
+
+    /**
+     * Тест удержания с уже истекшим сроком (загрузка удержаний после перезапуска).
+     * Проверка, что удержание истекает на следующем такте.
+     */
+    @Test
+    void testSchedule_PastDeadline_ExpiresOnNextTick() {
+        wheel.advance(START + 500);
+        wheel.schedule("h1", "r1", 1, START - 10_000);
+
+        assertEquals(List.of("h1"), expiredIds(START + 600));
+    }
+
+    /**
+     * Тест продвижения колеса после длительного перерыва.
+     * Проверка, что при отставании больше чем на оборот истекают все удержания со сроком в пропущенном интервале.
+     */
+    @Test
+    void testAdvance_LongPause_ExpiresAllDueHolds() {
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule("h" + i, "r1", 1, START + 100L * (i + 1));
+        }
+        wheel.schedule("late", "r1", 1, START + 10_000);
+
+        List<String> expired = expiredIds(START + 5000);
+
+        assertEquals(20, expired.size());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("late"), expiredIds(START + 10_000));
+    }
+
+    /**
+     * Тест повторного добавления удержания.
+     * Проверка, что новый срок заменяет прежний.
+     */
+    @Test
+    void testSchedule_Reschedule_ReplacesDeadline() {
+        wheel.schedule("h1", "r1", 1, START + 200);
+        wheel.schedule("h1", "r1", 1, START + 700);
+
+        assertTrue(expiredIds(START + 600).isEmpty());
+        assertEquals(List.of("h1"), expiredIds(START + 700));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.backendpassengertransportation.idgen;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест конфигурации распределителя идентификаторов
+class IdAllocatorConfigTest {
+
+    /**
+     * Тест распределителя на таблице счетчиков с пулом из нескольких соединений.
+     * Проверка, что распределитель не создается, а сообщение указывает размер пула.
+     */
+    @Test
+    void testTableIdAllocator_PoolLargerThanOneConnection_Fails() {
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setMaximumPoolSize(10);
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> new IdAllocatorConfig().tableIdAllocator(null, null, dataSource));
+
+            assertTrue(exception.getMessage().contains("текущий размер пула: 10"));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.backendpassengertransportation.idgen;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест распределителя идентификаторов на последовательностях встроенной базы данных H2 (без контекста приложения)
+class SequenceIdAllocatorTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:idgen;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    private final PlatformTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+    // Пустые таблицы и отсутствующие последовательности: распределитель теста создает их заново
+    @BeforeEach
+    void setUp() {
+        for (IdSequence sequence : IdSequence.values()) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + sequence.getTableName()
+                    + " (" + sequence.getIdColumn() + " VARCHAR(255) PRIMARY KEY)");
+            jdbcTemplate.execute("DELETE FROM " + sequence.getTableName());
+            jdbcTemplate.execute("DROP SEQUENCE IF EXISTS " + sequence.getSequenceName());
+        }
+    }
+
+    // Вспомогательный метод для проверки наличия последовательности
+    private boolean sequenceExists(String sequenceName) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.sequences WHERE LOWER(sequence_name) = ?", Integer.class, sequenceName);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Тест инициализации последовательностей после запуска приложения.
+     * Проверка, что последовательности создаются до первого обращения к распределителю.
+     */
+    @Test
+    void testInitializeSequences_CreatesAllSequences() {
+        new SequenceIdAllocator(jdbcTemplate, 50).initializeSequences();
+
+        for (IdSequence sequence : IdSequence.values()) {
+            assertTrue(sequenceExists(sequence.getSequenceName()));
+        }
+    }
+
+    /**
+     * Тест отката транзакции, в которой последовательность была создана.
+     * Проверка, что после отката последовательность создается заново, а номера блока не выдаются повторно.
+     */
+    @Test
+    void testNextId_FirstAllocationRolledBack_ReinitializesSequence() {
+        SequenceIdAllocator allocator = new SequenceIdAllocator(jdbcTemplate, 50);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        String rolledBackId = transactionTemplate.execute(status -> {
+            String id = allocator.nextId(IdSequence.BOOKING_TICKET);
+            status.setRollbackOnly();
+            return id;
+        });
+        // В H2 создание последовательности фиксируется сразу, в PostgreSQL оно откатывается вместе с транзакцией
+        jdbcTemplate.execute("DROP SEQUENCE booking_tickets_id_seq");
+
+        String id = allocator.nextId(IdSequence.BOOKING_TICKET);
+
+        assertEquals("b1", rolledBackId);
+        assertEquals("b1", id);
+        assertTrue(sequenceExists("booking_tickets_id_seq"));
+        assertEquals("b2", allocator.nextId(IdSequence.BOOKING_TICKET));
+    }
+
+    /**
+     * Тест экземпляров с разными размерами блока на одной последовательности.
+     * Проверка, что шаг последовательности не изменяется, а выданные идентификаторы не повторяются.
+     */
+    @Test
+    void testNextId_DifferentBlockSizes_NoOverlap() {
+        SequenceIdAllocator first = new SequenceIdAllocator(jdbcTemplate, 50);
+        SequenceIdAllocator second = new SequenceIdAllocator(jdbcTemplate, 10);
+
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 120; i++) {
+            assertTrue(ids.add(first.nextId(IdSequence.BOOKING_TICKET)));
+            assertTrue(ids.add(second.nextId(IdSequence.BOOKING_TICKET)));
+        }
+
+        Long increment = jdbcTemplate.queryForObject(
+                "SELECT increment FROM information_schema.sequences WHERE LOWER(sequence_name) = 'booking_tickets_id_seq'", Long.class);
+        assertEquals(50, increment);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.backendpassengertransportation.index;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.service.BookingTicketService;
+import com.example.backendpassengertransportation.service.CityService;
+import com.example.backendpassengertransportation.service.RouteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест индекса маршрутов в памяти на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class RouteIndexTest {
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private RouteIndex routeIndex;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    @Autowired
+    private CityService cityService;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // День отправления тестовых маршрутов
+    private LocalDate day;
+
+    // Подготовка тестовых данных: маршруты между тремя городами на два дня
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        TransportType bus = fixtures.transportType("t1", "Автобус");
+        TransportType train = fixtures.transportType("t2", "Поезд");
+        City moscow = fixtures.city("c1", "Москва");
+        City kazan = fixtures.city("c2", "Казань");
+        City samara = fixtures.city("c3", "Самара");
+        day = LocalDate.now().plusDays(2);
+        LocalDateTime morning = day.atTime(8, 0);
+        routeRepository.save(new Route("r1", bus, moscow, kazan, Timestamp.valueOf(morning.plusHours(4)),
+                Timestamp.valueOf(morning.plusHours(14)), 10, 10));
+        routeRepository.save(new Route("r2", train, moscow, kazan, Timestamp.valueOf(morning),
+                Timestamp.valueOf(morning.plusHours(10)), 5, 1));
+        routeRepository.save(new Route("r3", train, moscow, kazan, Timestamp.valueOf(morning.plusDays(1)),
+                Timestamp.valueOf(morning.plusDays(1).plusHours(10)), 5, 0));
+        routeRepository.save(new Route("r4", bus, kazan, samara, Timestamp.valueOf(morning.plusHours(16)),
+                Timestamp.valueOf(morning.plusHours(22)), 20, 20));
+        fixtures.ivanov();
+        // Тестовые данные записаны в обход сервисов, поэтому индекс загружается заново
+        routeIndex.invalidate();
+    }
+
+    /**
+     * Тест поиска маршрутов по индексу.
+     * Проверка совпадения результатов с данными базы и упорядоченности по времени отправления.
+     */
+    @Test
+    void testSearches_MatchDatabase() {
+        assertEquals(List.of("r2", "r1", "r3"), ids(routeIndex.findByCityPair("c1", "c2", null, null)));
+        assertEquals(List.of("r2", "r1"), ids(routeIndex.findByCityPair("c1", "c2", day, day)));
+        assertEquals(List.of("r3"), ids(routeIndex.findByCityPair("c1", "c2", day.plusDays(1), null)));
+        assertTrue(routeIndex.findByCityPair("c2", "c1", null, null).isEmpty());
+        assertEquals(List.of("r2", "r1", "r3"), ids(routeIndex.findByDepartureCity("c1")));
+        assertEquals(List.of("r4"), ids(routeIndex.findByDestinationCity("c3")));
+        assertEquals(List.of("r2", "r3"), ids(routeIndex.findByTransportType("t2")));
+        assertEquals("c2", routeIndex.findCityByName("Казань").orElseThrow().getIdCity());
+        assertTrue(routeIndex.findTransportTypeByName("Самолет").isEmpty());
+
+        // Результаты сервиса через индекс совпадают с результатами запросов к базе данных
+        assertEquals(ids(routeRepository.findByDepartureCity(cityRepository.findById("c1").orElseThrow())).stream().sorted().collect(Collectors.toList()),
+                viewIds(routeService.getRoutesByDepartureCity("Москва")).stream().sorted().collect(Collectors.toList()));
+        assertEquals(List.of("r2", "r3"), viewIds(routeService.getRoutesByTransportType("Поезд")));
+    }
+
+    /**
+     * Тест обновления индекса при бронировании и отмене бронирования.
+     * Проверка, что количество свободных мест в индексе совпадает с базой данных.
+     */
+    @Test
+    void testBooking_UpdatesSeats() {
+        routeIndex.findByCityPair("c1", "c2", null, null);
+
+        BookingView ticket = bookingTicketService.createBookingTicket("r2", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+        assertEquals(0, seatsInIndex("r2"));
+        assertEquals(0, routeRepository.findById("r2").orElseThrow().getNumberAvailableSeats());
+
+        // Неудачное бронирование откатывается и не изменяет индекс
+        assertThrows(IllegalStateException.class, () ->
+                bookingTicketService.createBookingTicket("r2", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+        assertEquals(0, seatsInIndex("r2"));
+
+        bookingTicketService.deleteBookingTicket(ticket.getIdBooking());
+        assertEquals(1, seatsInIndex("r2"));
+    }
+
+    /**
+     * Тест отката транзакции, изменяющей количество мест.
+     * Проверка, что изменение применяется к индексу только после фиксации.
+     */
+    @Test
+    void testRollback_DoesNotChangeIndex() {
+        routeIndex.findByCityPair("c1", "c2", null, null);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            routeIndex.seatsChanged("r1", -3);
+            status.setRollbackOnly();
+        });
+        assertEquals(10, seatsInIndex("r1"));
+
+        transactionTemplate.executeWithoutResult(status -> routeIndex.seatsChanged("r1", -3));
+        assertEquals(7, seatsInIndex("r1"));
+    }
+
+    /**
+     * Тест обновления индекса при удалении маршрута и переименовании города.
+     * Проверка, что поиск отражает изменения без перезапуска приложения.
+     */
+    @Test
+    void testRouteDeleteAndCityRename_UpdateIndex() {
+        routeIndex.findByCityPair("c1", "c2", null, null);
+
+        routeService.deleteRoute("r1");
+        assertEquals(List.of("r2", "r3"), ids(routeIndex.findByCityPair("c1", "c2", null, null)));
+        assertFalse(routeIndex.findByTransportType("t1").stream().anyMatch(route -> route.getIdRoute().equals("r1")));
+
+        cityService.updateCity("c3", "Самара-Центральная");
+        assertTrue(routeIndex.findCityByName("Самара").isEmpty());
+        assertEquals(List.of("r4"), viewIds(routeService.getRoutesByDestinationCity("Самара-Центральная")));
+    }
+
+    // Количество свободных мест маршрута по данным индекса
+    private int seatsInIndex(String idRoute) {
+        return routeIndex.findByDepartureCity("c1").stream()
+                .filter(route -> route.getIdRoute().equals(idRoute))
+                .findFirst()
+                .map(Route::getNumberAvailableSeats)
+                .orElseThrow();
+    }
+
+    // Получение списка ID маршрутов
+    private static List<String> ids(List<Route> routes) {
+        return routes.stream().map(Route::getIdRoute).collect(Collectors.toList());
+    }
+
+    // Получение списка ID маршрутов из представлений, возвращаемых сервисом
+    private static List<String> viewIds(List<RouteView> routes) {
+        return routes.stream().map(RouteView::getIdRoute).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.example.backendpassengertransportation.lane;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест полос обработки запросов: пакеты одного ключа, порядок запросов, переполнение очереди и остановка
+class StripedLanesTest {
+
+    // Пакеты, переданные обработчику: ключ и запросы
+    private final List<String> batches = Collections.synchronizedList(new ArrayList<>());
+
+    // Блокировка обработчика первого пакета: пока она не снята, запросы накапливаются в очереди
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+
+    private StripedLanes<Integer> lanes;
+
+    // Обработчик, ожидающий снятия блокировки при первом пакете
+    private void blockingHandler(String key, List<Integer> batch) {
+        firstBatchStarted.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        batches.add(key + batch);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (lanes != null) {
+            lanes.close();
+        }
+    }
+
+    /**
+     * Тест накопления запросов в пакет.
+     * Проверка, что запросы, поступившие во время обработки пакета, обрабатываются следующими пакетами
+     * не больше максимального размера в порядке поступления.
+     */
+    @Test
+    void testSubmit_RequestsQueuedDuringBatch_ProcessedInOrderedBatches() throws InterruptedException {
+        lanes = new StripedLanes<>("test-lane", 1, 100, 4, this::blockingHandler);
+
+        lanes.submit("r1", 0);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 9; i++) {
+            lanes.submit("r1", i);
+        }
+        release.countDown();
+        lanes.close();
+
+        assertEquals(List.of("r1[0]", "r1[1, 2, 3, 4]", "r1[5, 6, 7, 8]", "r1[9]"), batches);
+        assertEquals(4, lanes.getBatchCount());
+        assertEquals(10, lanes.getProcessedCount());
+    }
+
+    /**
+     * Тест разделения пакета по ключам.
+     * Проверка, что запросы разных ключей одной полосы передаются обработчику отдельными пакетами.
+     */
+    @Test
+    void testSubmit_KeysOfOneLane_SeparateBatches() throws InterruptedException {
+        lanes = new StripedLanes<>("test-lane", 1, 100, 64, this::blockingHandler);
+
+        lanes.submit("r1", 0);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        lanes.submit("r2", 1);
+        lanes.submit("r1", 2);
+        lanes.submit("r2", 3);
+        release.countDown();
+        lanes.close();
+
+        assertEquals(List.of("r1[0]", "r2[1, 3]", "r1[2]"), batches);
+    }
+
+    /**
+     * Тест переполнения очереди.
+     * Проверка, что запрос сверх размера очереди отклоняется, а принятые запросы обрабатываются.
+     */
+    @Test
+    void testSubmit_QueueFull_Rejected() throws InterruptedException {
+        lanes = new StripedLanes<>("test-lane", 1, 2, 64, this::blockingHandler);
+
+        lanes.submit("r1", 0);
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        lanes.submit("r1", 1);
+        lanes.submit("r1", 2);
+
+        assertThrows(RejectedExecutionException.class, () -> lanes.submit("r1", 3));
+        assertEquals(1, lanes.getRejectedCount());
+        release.countDown();
+        lanes.close();
+        assertEquals(3, lanes.getProcessedCount());
+    }
+
+    /**
+     * Тест обработки запросов одного ключа единственным потоком.
+     * Проверка, что при параллельной постановке запросов пакеты одного ключа не обрабатываются одновременно,
+     * а исключение обработчика не останавливает полосу.
+     */
+    @Test
+    void testSubmit_ParallelSubmitters_SingleWriterPerKey() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger handled = new AtomicInteger();
+        lanes = new StripedLanes<>("test-lane", 4, 10_000, 16, (key, batch) -> {
+            if (key.equals("hot")) {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                Thread.yield();
+                active.decrementAndGet();
+            }
+            handled.addAndGet(batch.size());
+            if (batch.contains(13)) {
+                throw new IllegalStateException("Ошибка обработчика");
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2000; i++) {
+            int request = i;
+            executor.submit(() -> lanes.submit(request % 2 == 0 ? "hot" : "r" + request % 7, request));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        lanes.close();
+
+        assertEquals(1, maxActive.get());
+        assertEquals(2000, handled.get());
+        assertTrue(lanes.getBatchCount() <= 2000);
+    }
+
+    /**
+     * Тест остановки полос.
+     * Проверка, что после остановки новые запросы отклоняются.
+     */
+    @Test
+    void testClose_NewRequestsRejected() {
+        lanes = new StripedLanes<>("test-lane", 2, 10, 8, (key, batch) -> batches.add(key + batch));
+        lanes.submit("r1", 1);
+        lanes.close();
+
+        assertEquals(List.of("r1[1]"), batches);
+        assertThrows(RejectedExecutionException.class, () -> lanes.submit("r1", 2));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.backendpassengertransportation.planner;
+
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест поиска поездок с пересадками по расписанию в памяти
+class ConnectionTimetableTest {
+
+    // Начало суток тестового расписания
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 5, 1, 0, 0);
+
+    private final TransportType train = new TransportType("t1", "Поезд");
+    private final City moscow = new City("c1", "Москва");
+    private final City kazan = new City("c2", "Казань");
+    private final City samara = new City("c3", "Самара");
+    private final City ufa = new City("c4", "Уфа");
+
+    private List<Route> routes;
+
+    // Подготовка расписания:
+    // r1 Москва-Самара прямой, долгий (8:00 - 22:00)
+    // r2 Москва-Казань (9:00 - 13:00), r3 Казань-Самара (13:20 - 16:00), r4 Казань-Самара (14:00 - 18:00)
+    // r5 Москва-Уфа (6:00 - 10:00), r6 Уфа-Казань (10:30 - 12:00)
+    @BeforeEach
+    void setUp() {
+        routes = new ArrayList<>();
+        routes.add(route("r1", moscow, samara, 8, 0, 22, 0, 10));
+        routes.add(route("r2", moscow, kazan, 9, 0, 13, 0, 10));
+        routes.add(route("r3", kazan, samara, 13, 20, 16, 0, 10));
+        routes.add(route("r4", kazan, samara, 14, 0, 18, 0, 10));
+        routes.add(route("r5", moscow, ufa, 6, 0, 10, 0, 10));
+        routes.add(route("r6", ufa, kazan, 10, 30, 12, 0, 10));
+    }
+
+    /**
+     * Тест Парето-оптимального набора поездок.
+     * Проверка, что возвращаются прямая поездка и более быстрая поездка с одной пересадкой.
+     */
+    @Test
+    void testPlan_ParetoDirectAndTransfer() {
+        ConnectionTimetable timetable = ConnectionTimetable.build(routes);
+        assertEquals(List.of(List.of("r1"), List.of("r2", "r4")), plan(timetable, 7, 3, 30, 1));
+    }
+
+    /**
+     * Тест учета минимального времени пересадки.
+     * Проверка, что при короткой пересадке выбирается более ранний маршрут, а при длинной - следующий.
+     */
+    @Test
+    void testPlan_MinTransferTime() {
+        ConnectionTimetable timetable = ConnectionTimetable.build(routes);
+        assertEquals(List.of(List.of("r1"), List.of("r2", "r3")), plan(timetable, 7, 3, 20, 1));
+        assertEquals(List.of(List.of("r1")), plan(timetable, 7, 3, 90, 1));
+    }
+
+    /**
+     * Тест учета количества свободных мест и его обновления.
+     * Проверка, что маршрут без достаточного количества мест пропускается.
+     */
+    @Test
+    void testPlan_Seats() {
+        ConnectionTimetable timetable = ConnectionTimetable.build(routes);
+        timetable.updateSeats("r3", 1);
+        assertEquals(List.of(List.of("r1"), List.of("r2", "r4")), plan(timetable, 7, 3, 20, 2));
+        timetable.updateSeats("r1", 0);
+        assertEquals(List.of(List.of("r2", "r4")), plan(timetable, 7, 3, 20, 2));
+    }
+
+    /**
+     * Тест ограничения количества маршрутов и времени отправления.
+     * Проверка, что поездка с двумя пересадками находится только при достаточном maxLegs.
+     */
+    @Test
+    void testPlan_MaxLegsAndEarliestDeparture() {
+        ConnectionTimetable timetable = ConnectionTimetable.build(routes);
+        // Без r1 и r2 до Самары можно добраться только через Уфу и Казань
+        timetable.updateSeats("r1", 0);
+        timetable.updateSeats("r2", 0);
+        assertEquals(List.of(List.of("r5", "r6", "r3")), plan(timetable, 5, 3, 20, 1));
+        assertTrue(plan(timetable, 5, 2, 20, 1).isEmpty());
+        // Маршруты, отправляющиеся раньше начала поиска, не учитываются
+        assertTrue(plan(timetable, 7, 3, 20, 1).isEmpty());
+    }
+
+    // Поиск поездок Москва-Самара с отправлением не раньше указанного часа
+    private List<List<String>> plan(ConnectionTimetable timetable, int fromHour, int maxLegs, int minTransferMinutes, int passengers) {
+        long earliest = Timestamp.valueOf(DAY.plusHours(fromHour)).getTime() / 1000;
+        return timetable.plan(timetable.stopOf("c1"), timetable.stopOf("c3"), earliest, earliest + 86400,
+                        maxLegs, minTransferMinutes * 60L, passengers).stream()
+                .map(connections -> Arrays.stream(connections).mapToObj(timetable::routeId).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    // Создание тестового маршрута в пределах тестовых суток
+    private Route route(String id, City from, City to, int departureHour, int departureMinute,
+                        int arrivalHour, int arrivalMinute, int seats) {
+        return new Route(id, train, from, to, Timestamp.valueOf(DAY.withHour(departureHour).withMinute(departureMinute)),
+                Timestamp.valueOf(DAY.withHour(arrivalHour).withMinute(arrivalMinute)), seats, seats);
+    }
+}
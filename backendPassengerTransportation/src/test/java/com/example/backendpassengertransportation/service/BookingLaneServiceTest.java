@@ -0,0 +1,147 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.PassengerDetails;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест полос бронирования: параллельные бронирования одного маршрута пакетами на встроенной базе данных H2
+@SpringBootTest(properties = {
+        "app.booking-lanes.enabled=true",
+        "app.booking-lanes.lanes=2",
+        "app.booking-lanes.queue-capacity=4096"
+})
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class BookingLaneServiceTest {
+
+    // Количество мест на маршруте
+    private static final int SEATS = 50;
+
+    // Количество параллельных попыток бронирования
+    private static final int ATTEMPTS = 2000;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingLaneService bookingLaneService;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Подготовка тестовых данных: маршрут с ограниченным количеством мест и пассажир
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.futureRoute(SEATS);
+        fixtures.ivanov();
+    }
+
+    /**
+     * Тест параллельного бронирования одного маршрута через полосы.
+     * Проверка отсутствия перепродажи мест и объединения запросов в пакеты.
+     */
+    @Test
+    void testCreateBookingTicket_ParallelBookings_NoOversellAndBatched() throws InterruptedException {
+        long batchesBefore = bookingLaneService.getBatchCount();
+        List<CompletableFuture<BookingView>> results = new ArrayList<>();
+
+        // Постановка параллельных запросов бронирования в очередь полосы
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            executor.submit(() -> {
+                CompletableFuture<BookingView> result = bookingLaneService.createBookingTicket("r1",
+                        "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+                synchronized (results) {
+                    results.add(result);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Ожидание результатов и подсчет исходов
+        int booked = 0;
+        int soldOut = 0;
+        for (CompletableFuture<BookingView> result : results) {
+            try {
+                assertNotNull(result.get(60, TimeUnit.SECONDS).getIdBooking());
+                booked++;
+            } catch (Exception e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                soldOut++;
+            }
+        }
+
+        // Проверка, что продано ровно столько мест, сколько было на маршруте, а запросы объединялись в пакеты
+        assertEquals(ATTEMPTS, results.size());
+        assertEquals(SEATS, booked);
+        assertEquals(ATTEMPTS - SEATS, soldOut);
+        assertEquals(SEATS, bookingTicketRepository.count());
+        assertEquals(0, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+        assertTrue(bookingLaneService.getBatchCount() - batchesBefore < ATTEMPTS);
+    }
+
+    /**
+     * Тест отказа отдельному запросу через полосу.
+     * Проверка, что незарегистрированный пассажир получает отказ, не занимая место.
+     */
+    @Test
+    void testCreateBookingTicket_UnknownPassenger_Rejected() {
+        CompletableFuture<BookingView> result = bookingLaneService.createBookingTicket("r1",
+                "Петров Петр Петрович", "+7 900 765-43-21", "petrov@mail.ru");
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(NoSuchElementException.class, e.getCause());
+        assertEquals(SEATS, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест пакетного бронирования при нехватке мест.
+     * Проверка, что места получают первые пассажиры пакета, а отказы не влияют на бронирования остальных.
+     */
+    @Test
+    void testCreateBookingBatch_NotEnoughSeats_FirstPassengersBooked() {
+        // Бронирование всех мест, кроме двух
+        for (int i = 0; i < SEATS - 2; i++) {
+            bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+        }
+        PassengerDetails ivanov = new PassengerDetails("Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+        PassengerDetails unknown = new PassengerDetails("Петров Петр Петрович", "+7 900 765-43-21", "petrov@mail.ru");
+
+        List<BookingTicketService.BatchResult> results = bookingTicketService.createBookingBatch("r1",
+                List.of(ivanov, unknown, ivanov, ivanov));
+
+        assertNotNull(results.get(0).booking());
+        assertInstanceOf(NoSuchElementException.class, results.get(1).error());
+        assertNotNull(results.get(2).booking());
+        assertInstanceOf(IllegalStateException.class, results.get(3).error());
+        assertEquals(SEATS, bookingTicketRepository.count());
+        assertEquals(0, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.PassengerDetails;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Нагрузочный тест бронирования: параллельные бронирования одного маршрута на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class BookingTicketServiceConcurrencyTest {
+
+    // Количество мест на маршруте
+    private static final int SEATS = 50;
+
+    // Количество параллельных попыток бронирования
+    private static final int ATTEMPTS = 2000;
+
+    // Количество потоков, одновременно выполняющих бронирования
+    private static final int THREADS = 32;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Подготовка тестовых данных: маршрут с ограниченным количеством мест и пассажир
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.futureRoute(SEATS);
+        fixtures.ivanov();
+    }
+
+    /**
+     * Тест параллельного бронирования одного маршрута.
+     * Проверка отсутствия перепродажи мест и взаимных блокировок.
+     */
+    @Test
+    void testCreateBookingTicket_ParallelBookings_NoOversell() throws InterruptedException {
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Throwable> unexpectedErrors = new ArrayList<>();
+
+        // Запуск параллельных бронирований одного маршрута
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            executor.submit(() -> {
+                try {
+                    bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+                    booked.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    soldOut.incrementAndGet();
+                } catch (Throwable e) {
+                    synchronized (unexpectedErrors) {
+                        unexpectedErrors.add(e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        // Проверка, что все бронирования завершились без взаимных блокировок
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+        assertTrue(unexpectedErrors.isEmpty(), () -> "Непредвиденные ошибки: " + unexpectedErrors);
+
+        // Проверка, что продано ровно столько мест, сколько было на маршруте
+        assertEquals(SEATS, booked.get());
+        assertEquals(ATTEMPTS - SEATS, soldOut.get());
+        assertEquals(SEATS, bookingTicketRepository.count());
+        assertEquals(0, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест параллельной повторной отмены бронирований.
+     * Проверка, что каждое место возвращается на маршрут ровно один раз.
+     */
+    @Test
+    void testDeleteBookingTicket_ParallelDuplicateCancellations_SeatReturnedOnce() throws InterruptedException {
+        // Бронирование всех мест маршрута
+        List<String> bookingIds = new ArrayList<>();
+        for (int i = 0; i < SEATS; i++) {
+            bookingIds.add(bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru").getIdBooking());
+        }
+
+        // Параллельная отмена каждого бронирования несколькими запросами
+        AtomicInteger cancelled = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int attempt = 0; attempt < 4; attempt++) {
+            for (String idBooking : bookingIds) {
+                executor.submit(() -> {
+                    try {
+                        bookingTicketService.deleteBookingTicket(idBooking);
+                        cancelled.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        // Бронирование уже отменено параллельным запросом
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+
+        // Проверка, что каждое бронирование отменено ровно один раз
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+        assertEquals(SEATS, cancelled.get());
+        assertEquals(0, bookingTicketRepository.count());
+        assertEquals(SEATS, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест параллельных групповых бронирований одного маршрута.
+     * Проверка, что группа получает все места или ни одного и места не перепродаются.
+     */
+    @Test
+    void testCreateGroupBooking_ParallelGroups_AllOrNothing() throws InterruptedException {
+        // Группы по 3 пассажира: на 50 мест помещается 16 групп, 2 места остаются свободными
+        List<PassengerDetails> group = Collections.nCopies(3,
+                new PassengerDetails("Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        List<Throwable> unexpectedErrors = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    List<BookingView> bookings = bookingTicketService.createGroupBooking("r1", group);
+                    assertEquals(3, bookings.size());
+                    booked.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    soldOut.incrementAndGet();
+                } catch (Throwable e) {
+                    synchronized (unexpectedErrors) {
+                        unexpectedErrors.add(e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(120, TimeUnit.SECONDS));
+        assertTrue(unexpectedErrors.isEmpty(), () -> "Непредвиденные ошибки: " + unexpectedErrors);
+        assertEquals(SEATS / 3, booked.get());
+        assertEquals(200 - SEATS / 3, soldOut.get());
+        assertEquals(SEATS / 3 * 3, bookingTicketRepository.count());
+        assertEquals(SEATS % 3, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+
+    /**
+     * Тест группового бронирования с незарегистрированным пассажиром.
+     * Проверка, что не создается ни одно бронирование, количество мест не изменяется, а в сообщении указан номер пассажира.
+     */
+    @Test
+    void testCreateGroupBooking_UnknownPassenger_NothingBooked() {
+        List<PassengerDetails> group = List.of(
+                new PassengerDetails("Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"),
+                new PassengerDetails("Петров Петр Петрович", "+7 900 765-43-21", "petrov@mail.ru"));
+
+        NoSuchElementException e = assertThrows(NoSuchElementException.class,
+                () -> bookingTicketService.createGroupBooking("r1", group));
+
+        assertTrue(e.getMessage().contains("пассажир 2"));
+        assertEquals(0, bookingTicketRepository.count());
+        assertEquals(SEATS, routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats());
+    }
+}
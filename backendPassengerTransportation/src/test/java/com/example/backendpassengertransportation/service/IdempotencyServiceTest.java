@@ -0,0 +1,243 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.IdempotencyKeyRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест ключей идемпотентности на встроенной базе данных H2: повтор запроса с тем же ключом не создает
+// и не удаляет бронирование повторно, а возвращает исходный ответ
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class IdempotencyServiceTest {
+
+    // Количество мест на маршруте
+    private static final int SEATS = 10;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Подготовка тестовых данных: маршрут с ограниченным количеством мест и пассажир
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.futureRoute(SEATS);
+        fixtures.ivanov();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Вспомогательный метод для получения количества свободных мест маршрута
+    private int availableSeats() {
+        return routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats();
+    }
+
+    // Вспомогательный метод для создания бронирования с ключом идемпотентности
+    private IdempotencyService.Result book(String key) {
+        return idempotencyService.execute(key, "POST /booking-tickets", "r1\nИванов Иван Иванович", HttpStatus.CREATED,
+                () -> bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+    }
+
+    /**
+     * Тест повторного создания бронирования с тем же ключом.
+     * Проверка, что бронирование создается один раз, а повтор получает исходный ответ.
+     */
+    @Test
+    void testExecute_RepeatedKey_ReplaysOriginalResponse() {
+        String key = UUID.randomUUID().toString();
+
+        IdempotencyService.Result first = book(key);
+        IdempotencyService.Result second = book(key);
+
+        assertEquals(201, first.status());
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.status(), second.status());
+        assertEquals(first.body(), second.body());
+        assertEquals("application/json", second.contentType());
+        assertEquals(1, bookingTicketRepository.count());
+        assertEquals(SEATS - 1, availableSeats());
+        assertEquals(1, idempotencyKeyRepository.count());
+    }
+
+    /**
+     * Тест повтора ответа, сохраненного другим экземпляром сервера.
+     * Проверка, что при отсутствии ответа в кэше он читается из таблицы, а ключи разных пользователей не пересекаются.
+     */
+    @Test
+    void testExecute_ResponseInTableOnly_ReplayedForSameUser() {
+        String key = UUID.randomUUID().toString();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("ivanov@mail.ru", null));
+        IdempotencyService.Result first = book(key);
+
+        // Пустой кэш, как на другом экземпляре сервера: ответ читается из таблицы
+        idempotencyService.clearCache();
+        IdempotencyService.Result replayed = book(key);
+        assertTrue(replayed.replayed());
+        assertEquals(first.body(), replayed.body());
+
+        // Другой пользователь с тем же ключом: ответ первого пользователя ему не выдается
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("petrov@mail.ru", null));
+        IdempotencyService.Result other = book(key);
+        assertFalse(other.replayed());
+        assertNotEquals(first.body(), other.body());
+
+        assertEquals(2, bookingTicketRepository.count());
+        assertEquals(SEATS - 2, availableSeats());
+        assertEquals(2, idempotencyKeyRepository.count());
+    }
+
+    /**
+     * Тест использования ключа для другого запроса.
+     * Проверка, что запрос отклоняется и не выполняется.
+     */
+    @Test
+    void testExecute_SameKeyDifferentRequest_Rejected() {
+        String key = UUID.randomUUID().toString();
+        book(key);
+
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute(key, "DELETE /booking-tickets", "b1",
+                HttpStatus.OK, () -> fail("Операция не должна выполняться")));
+        assertEquals(1, bookingTicketRepository.count());
+    }
+
+    /**
+     * Тест ошибки при выполнении запроса.
+     * Проверка, что ключ не сохраняется и повтор выполняет запрос заново.
+     */
+    @Test
+    void testExecute_FailedRequest_NotStored() {
+        String key = UUID.randomUUID().toString();
+        Supplier<Object> unknownUser = () -> bookingTicketService.createBookingTicket("r1", "Петров Петр Петрович", "+7 900 123-45-67", "ivanov@mail.ru");
+
+        assertThrows(NoSuchElementException.class, () ->
+                idempotencyService.execute(key, "POST /booking-tickets", "r1\nИванов Иван Иванович", HttpStatus.CREATED, unknownUser));
+        assertEquals(0, idempotencyKeyRepository.count());
+
+        IdempotencyService.Result result = book(key);
+        assertFalse(result.replayed());
+        assertEquals(1, bookingTicketRepository.count());
+    }
+
+    /**
+     * Тест повторного удаления бронирования с тем же ключом.
+     * Проверка, что место возвращается один раз, а повтор получает исходный ответ вместо ошибки отсутствия бронирования.
+     */
+    @Test
+    void testExecute_RepeatedDelete_SeatReturnedOnce() {
+        BookingView booking = bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+        bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+        String key = UUID.randomUUID().toString();
+        Supplier<Object> delete = () -> {
+            bookingTicketService.deleteBookingTicket(booking.getIdBooking());
+            return "Бронирование успешно удалено.";
+        };
+
+        IdempotencyService.Result first = idempotencyService.execute(key, "DELETE /booking-tickets", booking.getIdBooking(), HttpStatus.OK, delete);
+        IdempotencyService.Result second = idempotencyService.execute(key, "DELETE /booking-tickets", booking.getIdBooking(), HttpStatus.OK, delete);
+
+        assertEquals(200, second.status());
+        assertEquals("Бронирование успешно удалено.", second.body());
+        assertTrue(second.contentType().startsWith("text/plain"));
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(SEATS - 1, availableSeats());
+        assertEquals(1, bookingTicketRepository.count());
+    }
+
+    /**
+     * Тест ключа с истекшим сроком.
+     * Проверка, что ключ используется для нового запроса.
+     */
+    @Test
+    void testExecute_ExpiredKey_ExecutedAgain() {
+        String key = UUID.randomUUID().toString();
+        book(key);
+        // Срок ключа в таблице истек; повтор на другом экземпляре сервера (ответа нет в кэше) выполняет запрос заново
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.findAll().forEach(stored -> {
+            stored.setExpiresAt(Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)));
+            idempotencyKeyRepository.save(stored);
+        }));
+        idempotencyService.clearCache();
+        IdempotencyService.Result fresh = book(key);
+
+        assertEquals(2, bookingTicketRepository.count());
+        assertEquals(SEATS - 2, availableSeats());
+        assertFalse(fresh.replayed());
+        idempotencyService.deleteExpiredKeys();
+        assertEquals(1, idempotencyKeyRepository.count());
+    }
+
+    /**
+     * Тест параллельных повторов одного запроса.
+     * Проверка, что бронирование создается один раз, а все повторы получают одинаковый ответ.
+     */
+    @Test
+    void testExecute_ParallelRetries_SingleBooking() throws Exception {
+        String key = UUID.randomUUID().toString();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<IdempotencyService.Result>> futures = new ArrayList<>();
+        Callable<IdempotencyService.Result> retry = () -> book(key);
+        for (int i = 0; i < 16; i++) {
+            futures.add(executor.submit(retry));
+        }
+        List<IdempotencyService.Result> results = new ArrayList<>();
+        for (Future<IdempotencyService.Result> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, bookingTicketRepository.count());
+        assertEquals(SEATS - 1, availableSeats());
+        assertEquals(1, results.stream().filter(result -> !result.replayed()).count());
+        assertTrue(results.stream().allMatch(result -> result.body().equals(results.get(0).body())));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteCursorPage;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест постраничной выборки маршрутов по курсору на встроенной базе данных H2
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class RouteServiceCursorTest {
+
+    // Количество маршрутов в тестовых данных
+    private static final int ROUTES = 23;
+
+    // Размер страницы
+    private static final int SIZE = 5;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private RouteService routeService;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Упорядоченный по (времени отправления, ID) список ID тестовых маршрутов
+    private List<String> expectedOrder;
+
+    // Подготовка тестовых данных: маршруты, часть из которых отправляется в одно и то же время
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        TransportType bus = fixtures.transportType("t1", "Автобус");
+        City moscow = fixtures.city("c1", "Москва");
+        City kazan = fixtures.city("c2", "Казань");
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Route> routes = new ArrayList<>();
+        for (int i = 0; i < ROUTES; i++) {
+            // Каждые три маршрута отправляются одновременно, чтобы порядок определялся вторым ключом - ID
+            LocalDateTime departure = base.plusHours(i / 3);
+            routes.add(new Route("r" + i, bus, moscow, kazan, Timestamp.valueOf(departure),
+                    Timestamp.valueOf(departure.plusHours(10)), 10, 10));
+        }
+        fixtures.routes(routes);
+        expectedOrder = routes.stream()
+                .sorted(Comparator.comparing(Route::getDepartureTime).thenComparing(Route::getIdRoute))
+                .map(Route::getIdRoute)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Тест последовательного перехода по страницам вперед и назад.
+     * Проверка, что каждая страница содержит ожидаемые маршруты без пропусков и повторов.
+     */
+    @Test
+    void testGetRoutesByCursor_WalkForwardAndBack() {
+        List<RouteCursorPage> pages = new ArrayList<>();
+        RouteCursorPage page = routeService.getRoutesByCursor(null, SIZE, "next", null);
+        pages.add(page);
+        assertFalse(page.isHasPrevious());
+        while (page.isHasNext()) {
+            page = routeService.getRoutesByCursor(page.getNextCursor(), SIZE, "next", null);
+            pages.add(page);
+        }
+
+        // Проверка, что страницы вместе дают все маршруты в правильном порядке
+        List<String> walked = pages.stream()
+                .flatMap(p -> p.getContent().stream())
+                .map(RouteView::getIdRoute)
+                .collect(Collectors.toList());
+        assertEquals(expectedOrder, walked);
+        assertEquals((ROUTES + SIZE - 1) / SIZE, pages.size());
+
+        // Переход назад от последней страницы должен возвращать те же страницы
+        for (int i = pages.size() - 1; i > 0; i--) {
+            RouteCursorPage previous = routeService.getRoutesByCursor(pages.get(i).getPrevCursor(), SIZE, "prev", null);
+            assertEquals(ids(pages.get(i - 1)), ids(previous));
+            assertTrue(previous.isHasNext());
+            assertEquals(i - 1 > 0, previous.isHasPrevious());
+        }
+    }
+
+    /**
+     * Тест выборки по курсору с минимальным временем отправления.
+     * Проверка, что маршруты до указанного времени не возвращаются.
+     */
+    @Test
+    void testGetRoutesByCursor_MinDepartureTime() {
+        Route first = routeRepository.findById(expectedOrder.get(0)).orElseThrow();
+        RouteCursorPage page = routeService.getRoutesByCursor(null, ROUTES, "next", first.getDepartureTime());
+        // Маршруты, отправляющиеся ровно в минимальное время, не включаются
+        assertEquals(expectedOrder.subList(3, ROUTES), ids(page));
+        assertFalse(page.isHasNext());
+    }
+
+    /**
+     * Тест выборки с некорректным курсором и направлением.
+     * Проверка выбрасывания IllegalArgumentException.
+     */
+    @Test
+    void testGetRoutesByCursor_InvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> routeService.getRoutesByCursor("не-курсор", SIZE, "next", null));
+        assertThrows(IllegalArgumentException.class, () -> routeService.getRoutesByCursor(null, SIZE, "prev", null));
+        assertThrows(IllegalArgumentException.class, () -> routeService.getRoutesByCursor(null, SIZE, "sideways", null));
+        assertThrows(IllegalArgumentException.class, () -> routeService.getRoutesByCursor(null, 0, "next", null));
+    }
+
+    // Получение списка ID маршрутов страницы
+    private static List<String> ids(RouteCursorPage page) {
+        return page.getContent().stream().map(RouteView::getIdRoute).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
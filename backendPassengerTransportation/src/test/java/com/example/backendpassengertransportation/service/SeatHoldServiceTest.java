@@ -0,0 +1,189 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.SeatHold;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.SeatHoldRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест удержания мест на встроенной базе данных H2: срок удержания 3 секунды, такт колеса 100 мс
+@SpringBootTest(properties = {
+        "app.seat-holds.ttl-seconds=3",
+        "app.seat-holds.tick-ms=100",
+        "app.seat-holds.max-seats=5"
+})
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class SeatHoldServiceTest {
+
+    // Количество мест на маршруте
+    private static final int SEATS = 10;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Подготовка тестовых данных: маршрут с ограниченным количеством мест и пассажир
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.futureRoute(SEATS);
+        fixtures.ivanov();
+    }
+
+    // Вспомогательный метод для получения количества свободных мест маршрута
+    private int availableSeats() {
+        return routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats();
+    }
+
+    // Вспомогательный метод для ожидания возврата мест истекших удержаний
+    private void awaitAvailableSeats(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (availableSeats() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(expected, availableSeats());
+    }
+
+    /**
+     * Тест удержания и подтверждения.
+     * Проверка, что места списываются при удержании, а подтверждение создает бронирования без повторного списания.
+     */
+    @Test
+    void testConfirmHold_CreatesBookingsForHeldSeats() {
+        SeatHold hold = seatHoldService.createHold("r1", 3);
+        assertEquals(SEATS - 3, availableSeats());
+
+        List<BookingView> bookings = seatHoldService.confirmHold("r1", hold.getIdHold(),
+                "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru");
+
+        assertEquals(3, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> b.getRoute().getIdRoute().equals("r1")
+                && b.getPassengerEmail().equals("ivanov@mail.ru")));
+        assertEquals(3, bookingTicketRepository.count());
+        assertEquals(0, seatHoldRepository.count());
+        assertEquals(SEATS - 3, availableSeats());
+        assertEquals(0, seatHoldService.getActiveHoldCount());
+    }
+
+    /**
+     * Тест истечения срока удержания.
+     * Проверка, что места возвращаются без обращения клиента, а подтверждение истекшего удержания невозможно.
+     */
+    @Test
+    void testHoldExpiry_ReturnsSeats() throws InterruptedException {
+        SeatHold hold = seatHoldService.createHold("r1", 4);
+        assertEquals(SEATS - 4, availableSeats());
+
+        awaitAvailableSeats(SEATS);
+
+        assertEquals(0, seatHoldRepository.count());
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.confirmHold("r1", hold.getIdHold(),
+                "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+    }
+
+    /**
+     * Тест освобождения удержания.
+     * Проверка, что места возвращаются один раз, а повторное освобождение завершается ошибкой.
+     */
+    @Test
+    void testReleaseHold_ReturnsSeatsOnce() {
+        SeatHold hold = seatHoldService.createHold("r1", 2);
+
+        seatHoldService.releaseHold("r1", hold.getIdHold());
+
+        assertEquals(SEATS, availableSeats());
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.releaseHold("r1", hold.getIdHold()));
+        assertEquals(SEATS, availableSeats());
+    }
+
+    /**
+     * Тест удержания при недостатке мест и некорректном количестве мест.
+     * Проверка, что удержание отклоняется, а количество мест не изменяется.
+     */
+    @Test
+    void testCreateHold_NotEnoughSeatsOrInvalidCount_Rejected() {
+        seatHoldService.createHold("r1", 5);
+        seatHoldService.createHold("r1", 4);
+
+        assertThrows(IllegalStateException.class, () -> seatHoldService.createHold("r1", 2));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.createHold("r1", 6));
+        assertThrows(IllegalArgumentException.class, () -> seatHoldService.createHold("r1", 0));
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.createHold("r999", 1));
+        assertEquals(1, availableSeats());
+    }
+
+    /**
+     * Тест подтверждения удержания чужого маршрута и неизвестным пассажиром.
+     * Проверка, что удержание не удаляется и может быть подтверждено позже.
+     */
+    @Test
+    void testConfirmHold_WrongRouteOrUnknownUser_HoldKept() {
+        SeatHold hold = seatHoldService.createHold("r1", 1);
+
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.confirmHold("r2", hold.getIdHold(),
+                "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+        assertThrows(NoSuchElementException.class, () -> seatHoldService.confirmHold("r1", hold.getIdHold(),
+                "Петров Петр Петрович", "+7 900 123-45-67", "ivanov@mail.ru"));
+
+        assertEquals(1, seatHoldRepository.count());
+        assertEquals(1, seatHoldService.confirmHold("r1", hold.getIdHold(),
+                "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru").size());
+    }
+
+    /**
+     * Тест параллельных удержаний одного маршрута.
+     * Проверка отсутствия перепродажи мест и возврата всех мест после истечения сроков.
+     */
+    @Test
+    void testCreateHold_ParallelHolds_NoOversellAndAllSeatsReturned() throws InterruptedException {
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                try {
+                    seatHoldService.createHold("r1", 1);
+                    held.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(SEATS, held.get());
+        assertEquals(200 - SEATS, rejected.get());
+
+        awaitAvailableSeats(SEATS);
+        assertEquals(0, seatHoldRepository.count());
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.backendpassengertransportation.service;
+
+import com.example.backendpassengertransportation.TestFixtures;
+import com.example.backendpassengertransportation.model.SeatHold;
+import com.example.backendpassengertransportation.model.WaitlistEntry;
+import com.example.backendpassengertransportation.repository.BookingTicketRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест листа ожидания на встроенной базе данных H2: постановка в очередь и передача освободившихся мест
+@SpringBootTest(properties = {
+        "app.waitlist.head-size=2"
+})
+@ActiveProfiles("h2")
+@Import(TestFixtures.class)
+class WaitlistServiceTest {
+
+    // Количество мест на маршруте
+    private static final int SEATS = 4;
+
+    // Количество пассажиров (пассажир u1 занимает все места маршрута, остальные встают в лист ожидания)
+    private static final int PASSENGERS = 12;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private BookingTicketService bookingTicketService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    private BookingTicketRepository bookingTicketRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    // Подготовка тестовых данных: маршрут с ограниченным количеством мест и пассажиры u1..u12
+    @BeforeEach
+    void setUp() {
+        fixtures.clear();
+        fixtures.futureRoute(SEATS);
+        for (int i = 1; i <= PASSENGERS; i++) {
+            fixtures.user("u" + i, "Иванов Иван Иванович", phone(i), "ivanov" + i + "@mail.ru");
+        }
+    }
+
+    // Вспомогательный метод для получения телефона пассажира
+    private static String phone(int passenger) {
+        return String.format("+7 900 000-00-%02d", passenger);
+    }
+
+    // Вспомогательный метод для постановки пассажира в лист ожидания маршрута r1
+    private WaitlistEntry join(int passenger) {
+        return waitlistService.joinWaitlist("r1", "Иванов Иван Иванович", phone(passenger), "ivanov" + passenger + "@mail.ru");
+    }
+
+    // Вспомогательный метод для бронирования всех мест маршрута пассажиром u1, возвращает ID бронирований
+    private List<String> bookAllSeats() {
+        List<String> bookingIds = new ArrayList<>();
+        for (int i = 0; i < SEATS; i++) {
+            bookingIds.add(bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", phone(1), "ivanov1@mail.ru").getIdBooking());
+        }
+        return bookingIds;
+    }
+
+    // Вспомогательный метод для получения количества свободных мест маршрута
+    private int availableSeats() {
+        return routeRepository.findById("r1").orElseThrow().getNumberAvailableSeats();
+    }
+
+    /**
+     * Тест передачи места при отмене бронирования.
+     * Проверка, что места получают записи в порядке очереди, а количество свободных мест не увеличивается.
+     */
+    @Test
+    void testDeleteBookingTicket_PromotesWaitlistInOrder() {
+        List<String> bookingIds = bookAllSeats();
+        // Очередь длиннее кэша начала очереди (head-size=2): третья запись загружается из таблицы
+        WaitlistEntry first = join(2);
+        WaitlistEntry second = join(3);
+        WaitlistEntry third = join(4);
+        assertEquals(WaitlistEntry.WAITING, first.getStatus());
+        assertTrue(first.getPosition() < second.getPosition() && second.getPosition() < third.getPosition());
+
+        for (String idBooking : bookingIds.subList(0, 3)) {
+            bookingTicketService.deleteBookingTicket(idBooking);
+        }
+
+        List<WaitlistEntry> entries = List.of(first, second, third);
+        for (int i = 0; i < entries.size(); i++) {
+            WaitlistEntry promoted = waitlistService.getEntry("r1", entries.get(i).getIdEntry());
+            assertEquals(WaitlistEntry.PROMOTED, promoted.getStatus());
+            assertEquals(phone(i + 2), bookingTicketRepository.findViewById(promoted.getIdBooking()).orElseThrow().getPassengerPhone());
+        }
+        assertEquals(0, availableSeats());
+        assertEquals(SEATS, bookingTicketRepository.count());
+
+        // Очередь пуста: следующее место становится свободным
+        bookingTicketService.deleteBookingTicket(bookingIds.get(3));
+        assertEquals(1, availableSeats());
+    }
+
+    /**
+     * Тест постановки в лист ожидания при наличии свободного места.
+     * Проверка, что бронирование создается сразу, а повторная постановка ожидающего пассажира возвращает его запись.
+     */
+    @Test
+    void testJoinWaitlist_FreeSeat_BookedImmediately() {
+        WaitlistEntry entry = join(2);
+
+        assertEquals(WaitlistEntry.PROMOTED, entry.getStatus());
+        assertNotNull(entry.getIdBooking());
+        assertEquals(SEATS - 1, availableSeats());
+
+        for (int i = 0; i < SEATS - 1; i++) {
+            bookingTicketService.createBookingTicket("r1", "Иванов Иван Иванович", phone(1), "ivanov1@mail.ru");
+        }
+        assertEquals(0, availableSeats());
+        WaitlistEntry waiting = join(3);
+        assertEquals(WaitlistEntry.WAITING, waiting.getStatus());
+        assertEquals(waiting.getIdEntry(), join(3).getIdEntry());
+    }
+
+    /**
+     * Тест выхода из листа ожидания.
+     * Проверка, что вышедшая запись не получает место, а запись, получившая место, не удаляется.
+     */
+    @Test
+    void testLeaveWaitlist_SkippedOnPromotion() {
+        List<String> bookingIds = bookAllSeats();
+        WaitlistEntry left = join(2);
+        WaitlistEntry next = join(3);
+        waitlistService.leaveWaitlist("r1", left.getIdEntry());
+
+        bookingTicketService.deleteBookingTicket(bookingIds.get(0));
+
+        assertThrows(NoSuchElementException.class, () -> waitlistService.getEntry("r1", left.getIdEntry()));
+        assertEquals(WaitlistEntry.PROMOTED, waitlistService.getEntry("r1", next.getIdEntry()).getStatus());
+        assertThrows(IllegalStateException.class, () -> waitlistService.leaveWaitlist("r1", next.getIdEntry()));
+        assertEquals(0, availableSeats());
+    }
+
+    /**
+     * Тест передачи мест освобожденного удержания.
+     * Проверка, что места удержания получают ожидающие записи, а оставшиеся места становятся свободными.
+     */
+    @Test
+    void testReleaseHold_PromotesWaitlist() {
+        SeatHold hold = seatHoldService.createHold("r1", SEATS);
+        WaitlistEntry entry = join(2);
+        assertEquals(WaitlistEntry.WAITING, entry.getStatus());
+
+        seatHoldService.releaseHold("r1", hold.getIdHold());
+
+        assertEquals(WaitlistEntry.PROMOTED, waitlistService.getEntry("r1", entry.getIdEntry()).getStatus());
+        assertEquals(SEATS - 1, availableSeats());
+        assertEquals(1, bookingTicketRepository.count());
+    }
+
+    /**
+     * Тест параллельных отмен бронирований и постановок в лист ожидания.
+     * Проверка, что места не перепродаются и свободное место не остается при ожидающих записях.
+     */
+    @Test
+    void testParallelCancellationsAndJoins_NoFreeSeatWhileWaiting() throws InterruptedException {
+        List<String> bookingIds = bookAllSeats();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (String idBooking : bookingIds) {
+            executor.submit(() -> bookingTicketService.deleteBookingTicket(idBooking));
+        }
+        for (int i = 2; i <= PASSENGERS; i++) {
+            int passenger = i;
+            executor.submit(() -> join(passenger));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Все места заняты записями листа ожидания: пассажиров в очереди больше, чем мест
+        List<WaitlistEntry> entries = waitlistEntryRepository.findAll();
+        assertEquals(PASSENGERS - 1, entries.size());
+        assertEquals(SEATS, entries.stream().filter(entry -> WaitlistEntry.PROMOTED.equals(entry.getStatus())).count());
+        assertEquals(SEATS, bookingTicketRepository.count());
+        assertEquals(0, availableSeats());
+    }
+}
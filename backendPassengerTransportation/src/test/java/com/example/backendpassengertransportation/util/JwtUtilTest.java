@@ -0,0 +1,45 @@
+package com.example.backendpassengertransportation.util;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест генерации и проверки JWT-токенов
+class JwtUtilTest {
+
+    /**
+     * Тест проверки действительного токена.
+     * Проверка, что повторная проверка возвращает те же данные, что и первая.
+     */
+    @Test
+    void testVerify_ValidToken() {
+        String token = JwtUtil.generateToken("ivanov@mail.ru");
+
+        JwtUtil.VerifiedToken first = JwtUtil.verify(token);
+        JwtUtil.VerifiedToken second = JwtUtil.verify(token);
+
+        assertEquals("ivanov@mail.ru", first.subject());
+        assertFalse(first.isExpired());
+        assertEquals(first, second);
+        assertEquals("ivanov@mail.ru", JwtUtil.extractUsername(token));
+        assertTrue(JwtUtil.validateToken(token, "ivanov@mail.ru"));
+        assertFalse(JwtUtil.validateToken(token, "petrov@mail.ru"));
+    }
+
+    /**
+     * Тест проверки измененного токена.
+     * Проверка, что токен с измененной подписью отклоняется, даже если исходный токен уже проверен.
+     */
+    @Test
+    void testVerify_TamperedToken() {
+        String token = JwtUtil.generateToken("ivanov@mail.ru");
+        JwtUtil.verify(token);
+
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThrows(JwtException.class, () -> JwtUtil.verify(tampered));
+        assertThrows(JwtException.class, () -> JwtUtil.verify("не-токен"));
+    }
+}
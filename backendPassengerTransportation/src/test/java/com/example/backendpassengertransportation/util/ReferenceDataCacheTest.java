@@ -0,0 +1,53 @@
+package com.example.backendpassengertransportation.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Тест кэша справочных списков с номером версии
+class ReferenceDataCacheTest {
+
+    /**
+     * Тест повторного получения списка.
+     * Проверка, что список загружается один раз и заново после изменения версии.
+     */
+    @Test
+    void testGet_LoadsOncePerVersion() {
+        ReferenceDataCache<String> cache = new ReferenceDataCache<>();
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> before = () -> {
+            loads.incrementAndGet();
+            return List.of("Москва");
+        };
+        Supplier<List<String>> after = () -> {
+            loads.incrementAndGet();
+            return List.of("Москва", "Казань");
+        };
+
+        assertEquals(List.of("Москва"), cache.get(before));
+        assertEquals(List.of("Москва"), cache.get(after));
+        assertEquals(1, loads.get());
+
+        cache.invalidate();
+        assertEquals(List.of("Москва", "Казань"), cache.get(after));
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Тест изменения списка во время загрузки.
+     * Проверка, что копия, загруженная до изменения, не используется повторно.
+     */
+    @Test
+    void testInvalidateDuringLoad_ReloadsNextTime() {
+        ReferenceDataCache<String> cache = new ReferenceDataCache<>();
+        cache.get(() -> {
+            cache.invalidate();
+            return List.of("Москва");
+        });
+        assertEquals(List.of("Москва", "Казань"), cache.get(() -> List.of("Москва", "Казань")));
+    }
+}
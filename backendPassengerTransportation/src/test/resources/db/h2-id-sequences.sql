@@ -0,0 +1,6 @@
+-- Последовательности идентификаторов тестовой базы данных H2 (шаг равен размеру блока app.id-allocator.block-size)
+CREATE SEQUENCE IF NOT EXISTS routes_id_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS booking_tickets_id_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS cities_id_seq START WITH 1000 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS types_of_transport_id_seq START WITH 1000 INCREMENT BY 50;
@@ -0,0 +1,137 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.BackendPassengerTransportationApplication;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Приложение без веб-сервера на встроенной базе данных SQLite во временном файле (профиль sqlite)
+// Используется замерами, которым нужны настоящие сервисы, репозитории и база данных
+public final class EmbeddedBackend implements AutoCloseable {
+
+    // Типы транспорта в расписании
+    private static final String[] TRANSPORT_TYPES = {"Автобус", "Поезд", "Самолет"};
+
+    private final ConfigurableApplicationContext context;
+    private final Path databaseFile;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context, Path databaseFile) {
+        this.context = context;
+        this.databaseFile = databaseFile;
+    }
+
+    // Запуск приложения; дополнительные аргументы имеют приоритет над application.properties и профилем sqlite
+    public static EmbeddedBackend start(String... arguments) {
+        Path databaseFile;
+        try {
+            databaseFile = Files.createTempFile("benchmark", ".db");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<String> allArguments = new ArrayList<>(List.of(
+                "--spring.profiles.active=sqlite",
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:sqlite:" + databaseFile,
+                "--spring.jpa.show-sql=false",
+                "--app.schema-updates.enabled=false",
+                "--logging.level.root=WARN"));
+        allArguments.addAll(List.of(arguments));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendPassengerTransportationApplication.class)
+                .run(allArguments.toArray(String[]::new));
+        return new EmbeddedBackend(context, databaseFile);
+    }
+
+    // Получение компонента приложения
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Добавление пользователя ivanov@mail.ru (Иванов Иван Иванович, +7 900 123-45-67)
+    public void insertUser() {
+        getBean(JdbcTemplate.class).update("INSERT INTO users (id_user, passenger_full_name, passenger_phone, passenger_email, "
+                        + "date_of_birth, password) VALUES (?, ?, ?, ?, ?, ?)",
+                "u1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru", Date.valueOf("1990-01-01"), "hash");
+    }
+
+    // Заполнение расписания: типы транспорта, города "Город 0".."Город N-1" и случайные будущие маршруты
+    // на заданное количество дней; возвращает названия городов
+    // Данные добавляются одной транзакцией, иначе SQLite фиксирует на диске каждую строку отдельно
+    public String[] insertSchedule(int routes, int cities, int days) {
+        return getBean(TransactionTemplate.class).execute(status -> insertScheduleRows(routes, cities, days));
+    }
+
+    private String[] insertScheduleRows(int routes, int cities, int days) {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        List<Object[]> types = new ArrayList<>();
+        for (int i = 0; i < TRANSPORT_TYPES.length; i++) {
+            types.add(new Object[]{"t" + (i + 1), TRANSPORT_TYPES[i]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO types_of_transport (id_transport_type, transport_type) VALUES (?, ?)", types);
+        String[] cityNames = new String[cities];
+        List<Object[]> cityRows = new ArrayList<>();
+        for (int i = 0; i < cities; i++) {
+            cityNames[i] = "Город " + i;
+            cityRows.add(new Object[]{"c" + i, cityNames[i]});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO cities (id_city, city) VALUES (?, ?)", cityRows);
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < routes; i++) {
+            int from = random.nextInt(cities);
+            int to = (from + 1 + random.nextInt(cities - 1)) % cities;
+            LocalDateTime departure = start.plusMinutes(random.nextInt(days * 24 * 60));
+            rows.add(new Object[]{"r" + i, "t" + (1 + random.nextInt(TRANSPORT_TYPES.length)), "c" + from, "c" + to,
+                    Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(1 + random.nextInt(12))), 50, random.nextInt(51)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO routes (id_route, id_transport_type, departure_city, destination_city, "
+                + "departure_time, arrival_time, total_number_seats, number_available_seats) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        return cityNames;
+    }
+
+    // Добавление заданного количества бронирований b1..bN маршрута и пользователя одной транзакцией
+    // Счетчик идентификаторов бронирований создан при запуске приложения на пустой таблице,
+    // поэтому он переносится за добавленные номера
+    public void insertBookings(String routeId, String userId, int count) {
+        getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+            Timestamp bookingDate = Timestamp.valueOf(LocalDateTime.now().withNano(0));
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 1; i <= count; i++) {
+                rows.add(new Object[]{"b" + i, routeId, userId, bookingDate});
+                if (rows.size() == 10_000 || i == count) {
+                    jdbcTemplate.batchUpdate("INSERT INTO booking_tickets (id_booking, id_route, id_user, booking_date) "
+                            + "VALUES (?, ?, ?, ?)", rows);
+                    rows.clear();
+                }
+            }
+            jdbcTemplate.update("UPDATE id_allocators SET next_value = ? WHERE sequence_name = ?",
+                    count + 1L, IdSequence.BOOKING_TICKET.getSequenceName());
+        });
+    }
+
+    // Остановка приложения и удаление файла базы данных
+    @Override
+    public void close() {
+        context.close();
+        try {
+            Files.deleteIfExists(databaseFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
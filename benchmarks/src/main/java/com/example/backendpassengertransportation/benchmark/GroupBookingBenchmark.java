@@ -0,0 +1,73 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.PassengerDetails;
+import com.example.backendpassengertransportation.service.BookingTicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Групповое бронирование через BookingTicketService на встроенной базе данных SQLite в зависимости от размера группы:
+// количество запросов не зависит от размера группы, бронирования вставляются одним пакетом JDBC
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=GroupBookingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupBookingBenchmark {
+
+    // Количество пассажиров в группе
+    @Param({"1", "10", "40"})
+    private int groupSize;
+
+    private EmbeddedBackend backend;
+    private BookingTicketService bookingTicketService;
+    private List<PassengerDetails> passengers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start();
+        backend.insertSchedule(0, 2, 1);
+        backend.insertUser();
+        // Маршрут через месяц с количеством мест, которого хватит на все бронирования замера
+        LocalDateTime departure = LocalDateTime.now().plusDays(30).withNano(0);
+        backend.getBean(JdbcTemplate.class).update("INSERT INTO routes (id_route, id_transport_type, departure_city, "
+                        + "destination_city, departure_time, arrival_time, total_number_seats, number_available_seats) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                "r1", "t1", "c0", "c1", Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(5)),
+                Integer.MAX_VALUE, Integer.MAX_VALUE);
+        bookingTicketService = backend.getBean(BookingTicketService.class);
+        passengers = Collections.nCopies(groupSize,
+                new PassengerDetails("Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public List<BookingView> createGroupBooking() {
+        return bookingTicketService.createGroupBooking("r1", passengers);
+    }
+}
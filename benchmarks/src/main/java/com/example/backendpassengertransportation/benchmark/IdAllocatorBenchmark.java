@@ -0,0 +1,55 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.idgen.IdAllocator;
+import com.example.backendpassengertransportation.idgen.IdSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Получение нового идентификатора (прежний generateNewId) через таблицу счетчиков на встроенной базе данных SQLite
+// При размере блока 1 каждый идентификатор требует обращения к базе данных, при 50 - одно обращение на 50 идентификаторов
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=IdAllocatorBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocatorBenchmark {
+
+    // Количество идентификаторов, резервируемых за одно обращение к базе данных
+    @Param({"1", "50"})
+    private int blockSize;
+
+    private EmbeddedBackend backend;
+    private IdAllocator idAllocator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start("--app.id-allocator.block-size=" + blockSize);
+        idAllocator = backend.getBean(IdAllocator.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public String nextId() {
+        return idAllocator.nextId(IdSequence.BOOKING_TICKET);
+    }
+}
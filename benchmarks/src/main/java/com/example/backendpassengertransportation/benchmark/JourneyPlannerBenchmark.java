@@ -0,0 +1,90 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.planner.ConnectionTimetable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Поиск поездок с пересадками по расписанию в памяти на синтетических данных
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=JourneyPlannerBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JourneyPlannerBenchmark {
+
+    // Количество маршрутов в расписании
+    @Param({"100000"})
+    private int routes;
+
+    // Количество городов
+    private static final int CITIES = 200;
+
+    // Количество дней расписания
+    private static final int DAYS = 30;
+
+    // Интервал поиска, в секундах
+    private static final long HORIZON = 48 * 3600L;
+
+    private ConnectionTimetable timetable;
+
+    // Начало расписания, в секундах от начала эпохи
+    private long start;
+
+    // Номер очередного запроса, чтобы запросы перебирали разные пары городов и время отправления
+    private int next;
+
+    // Построение расписания из случайных маршрутов
+    @Setup(Level.Trial)
+    public void setUp() {
+        TransportType bus = new TransportType("t1", "Автобус");
+        City[] cities = new City[CITIES];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new City("c" + i, "Город " + i);
+        }
+        Random random = new Random(42);
+        LocalDateTime first = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<Route> list = new ArrayList<>(routes);
+        for (int i = 0; i < routes; i++) {
+            int from = random.nextInt(CITIES);
+            int to = (from + 1 + random.nextInt(CITIES - 1)) % CITIES;
+            LocalDateTime departure = first.plusMinutes(random.nextInt(DAYS * 24 * 60));
+            list.add(new Route("r" + i, bus, cities[from], cities[to], Timestamp.valueOf(departure),
+                    Timestamp.valueOf(departure.plusMinutes(30 + random.nextInt(12 * 60))), 50, random.nextInt(51)));
+        }
+        timetable = ConnectionTimetable.build(list);
+        start = Timestamp.valueOf(first).getTime() / 1000;
+    }
+
+    // Поиск поездок не более чем из трех маршрутов с пересадкой не короче 30 минут
+    @Benchmark
+    public List<int[]> plan() {
+        next++;
+        int origin = timetable.stopOf("c" + (next * 7 % CITIES));
+        int destination = timetable.stopOf("c" + ((next * 7 + 1 + next % (CITIES - 1)) % CITIES));
+        long earliest = start + (next % (DAYS - 2)) * 86400L + (next % 24) * 3600L;
+        return timetable.plan(origin, destination, earliest, earliest + HORIZON, 3, 1800, 1);
+    }
+}
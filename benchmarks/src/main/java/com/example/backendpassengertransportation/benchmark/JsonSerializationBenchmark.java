@@ -0,0 +1,106 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.model.BookingTicket;
+import com.example.backendpassengertransportation.model.BookingView;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сериализация ответов в JSON настроенным приложением ObjectMapper: сущности маршрута и бронирования
+// со всеми связанными объектами, их представления (RouteView, BookingView) и список из 1000 маршрутов
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=JsonSerializationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final int LIST_SIZE = 1000;
+
+    private EmbeddedBackend backend;
+    private ObjectMapper objectMapper;
+
+    private Route route;
+    private BookingTicket bookingTicket;
+    private RouteView routeView;
+    private BookingView bookingView;
+    private List<RouteView> routeViews;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start();
+        objectMapper = backend.getBean(ObjectMapper.class);
+
+        // Сущности создаются в памяти: загруженные из базы данных содержали бы ленивые прокси вместо связанных объектов
+        Timestamp departure = Timestamp.valueOf(LocalDateTime.now().plusDays(1).withNano(0));
+        Timestamp arrival = Timestamp.valueOf(LocalDateTime.now().plusDays(1).plusHours(5).withNano(0));
+        route = new Route("r1", new TransportType("t1", "Автобус"), new City("c1", "Москва"), new City("c2", "Тверь"),
+                departure, arrival, 50, 12);
+        User user = new User("u1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru",
+                Date.valueOf("1990-01-01"), "hash");
+        bookingTicket = new BookingTicket("b1", route, user, Timestamp.valueOf(LocalDateTime.now().withNano(0)));
+        routeView = RouteView.from(route);
+        bookingView = new BookingView("b1", routeView, user.getPassengerFullName(), user.getPassengerPhone(),
+                user.getPassengerEmail(), bookingTicket.getBookingDate());
+        routeViews = new ArrayList<>(LIST_SIZE);
+        for (int i = 0; i < LIST_SIZE; i++) {
+            routeViews.add(new RouteView("r" + i, "Автобус", "Москва", "Тверь", departure, arrival, 50, i % 51));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public String routeEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(route);
+    }
+
+    @Benchmark
+    public String bookingEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(bookingTicket);
+    }
+
+    @Benchmark
+    public String routeView() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(routeView);
+    }
+
+    @Benchmark
+    public String bookingView() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(bookingView);
+    }
+
+    @Benchmark
+    public byte[] routeViewList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(routeViews);
+    }
+}
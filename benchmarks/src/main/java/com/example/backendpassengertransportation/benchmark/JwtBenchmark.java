@@ -0,0 +1,64 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Генерация и проверка JWT-токенов: проверка повторно предъявленного токена (из кэша проверенных токенов)
+// и полный разбор с проверкой подписи HS256
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=JwtBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    // Количество разных токенов, перебираемых запросами
+    private static final int TOKENS = 64;
+
+    private final String[] tokens = new String[TOKENS];
+
+    // Номер очередного токена
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = JwtUtil.generateToken("user" + i + "@mail.ru");
+        }
+    }
+
+    // Генерация токена при входе
+    @Benchmark
+    public String generateToken() {
+        return JwtUtil.generateToken("ivanov@mail.ru");
+    }
+
+    // Проверка токена, уже проверенного ранее (так проверяется большинство запросов)
+    @Benchmark
+    public Boolean validateToken() {
+        int i = next++ % TOKENS;
+        return JwtUtil.validateToken(tokens[i], "user" + i + "@mail.ru");
+    }
+
+    // Разбор токена с проверкой подписи (первое предъявление токена)
+    @Benchmark
+    public String parseToken() {
+        return JwtUtil.extractClaim(tokens[next++ % TOKENS], Claims::getSubject);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.config.JwtRequestFilter;
+import com.example.backendpassengertransportation.config.PrincipalCache;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Накладные расходы JwtRequestFilter на один запрос с JWT-токеном (без обращения к базе данных)
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=JwtFilterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    // Количество разных токенов, перебираемых запросами
+    private static final int TOKENS = 64;
+
+    private final String[] tokens = new String[TOKENS];
+    private JwtRequestFilter filter;
+    private final FilterChain chain = (request, response) -> { };
+
+    // Номер очередного токена
+    private int next;
+
+    // Фильтр с пользователями в памяти и кэшем данных пользователей
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = JwtUtil.generateToken("user" + i + "@mail.ru");
+        }
+        UserDetailsService userDetailsService = email -> new User(email, "hash", new ArrayList<>());
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", new PrincipalCache(true, 1000, 300));
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    // Обработка запроса фильтром: извлечение и проверка токена, установка аутентификации
+    @Benchmark
+    public Object filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/routes");
+        request.addHeader("Authorization", "Bearer " + tokens[next++ % TOKENS]);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.BackendPassengerTransportationApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+// Приложение с веб-сервером на случайном порту и встроенной базой данных H2 в режиме совместимости с PostgreSQL
+// Используется нагрузочными проверками, которые обращаются к серверу по HTTP: в отличие от SQLite (EmbeddedBackend)
+// база данных H2 допускает пул из нескольких соединений
+public final class LoadTestServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private LoadTestServer(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    // Запуск приложения на базе данных H2 database (например, mem:login_storm или file:./target/route_streaming);
+    // дополнительные аргументы имеют приоритет над application.properties
+    public static LoadTestServer start(String database, List<String> arguments) {
+        return start(database, null, arguments);
+    }
+
+    // Запуск приложения с инициализатором контекста (например, для обертки компонентов при их создании)
+    public static LoadTestServer start(String database, ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+                                       List<String> arguments) {
+        List<String> allArguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database=h2",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--app.id-allocator.strategy=sequence",
+                "--app.schema-updates.enabled=false",
+                "--logging.level.root=WARN"));
+        allArguments.addAll(arguments);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BackendPassengerTransportationApplication.class);
+        if (initializer != null) {
+            builder.initializers(initializer);
+        }
+        return new LoadTestServer(builder.run(allArguments.toArray(String[]::new)));
+    }
+
+    // Адрес сервера, например http://localhost:51234
+    public String getBaseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    // Получение компонента приложения
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Добавление пользователя ivanov@mail.ru (Иванов Иван Иванович, +7 900 123-45-67),
+    // типа транспорта t1 "Поезд" и городов c1 "Москва", c2 "Казань"
+    public void insertUserAndCities() {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id_user, passenger_full_name, passenger_phone, passenger_email, "
+                        + "date_of_birth, password) VALUES (?, ?, ?, ?, ?, ?)",
+                "u1", "Иванов Иван Иванович", "+7 900 123-45-67", "ivanov@mail.ru", Date.valueOf("1990-01-01"), "hash");
+        jdbcTemplate.update("INSERT INTO types_of_transport (id_transport_type, transport_type) VALUES ('t1', 'Поезд')");
+        jdbcTemplate.update("INSERT INTO cities (id_city, city) VALUES ('c1', 'Москва'), ('c2', 'Казань')");
+    }
+
+    // Остановка приложения
+    @Override
+    public void close() {
+        context.close();
+    }
+}
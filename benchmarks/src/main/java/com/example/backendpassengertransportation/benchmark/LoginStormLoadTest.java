@@ -0,0 +1,136 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Нагрузочная проверка: задержка обычных запросов (список городов) во время массового входа пользователей
+// Приложение запускается на встроенной базе данных H2 (LoadTestServer); дополнительные аргументы передаются приложению,
+// например --app.password-hashing.threads=200 --app.password-hashing.queue-capacity=10000 для сравнения
+// с хешированием без ограничения
+// Запуск из корня после mvn -B -DskipTests install:
+//   mvn -B -pl benchmarks dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//   java -cp benchmarks/target/classes:$(cat benchmarks/target/classpath.txt) \
+//       com.example.backendpassengertransportation.benchmark.LoginStormLoadTest
+public class LoginStormLoadTest {
+
+    // Количество параллельных клиентов, выполняющих вход
+    private static final int LOGIN_CLIENTS = 128;
+
+    // Продолжительность массового входа
+    private static final Duration STORM = Duration.ofSeconds(15);
+
+    // Количество замеров задержки без нагрузки
+    private static final int BASELINE_PROBES = 200;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestServer server = LoadTestServer.start("mem:login_storm", List.of(args));
+        String baseUrl = server.getBaseUrl();
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newCachedThreadPool())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            String user = form("passengerFullName", "Иванов Иван Иванович", "passengerEmail", "ivanov@mail.ru", "password", "password123");
+            post(client, baseUrl + "/auth/register", user + "&" + form("passengerPhone", "+7 900 123-45-67", "dateOfBirth", "01.01.1990"));
+            String loginBody = post(client, baseUrl + "/auth/login", user).body();
+            String token = loginBody.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+            post(client, baseUrl + "/cities?" + form("cityName", "Москва"), "", token);
+
+            List<Long> baseline = new ArrayList<>();
+            for (int i = 0; i < BASELINE_PROBES; i++) {
+                baseline.add(probe(client, baseUrl, token));
+            }
+
+            // Массовый вход: клиенты непрерывно выполняют вход, отдельный поток замеряет задержку списка городов
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicInteger accepted = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            ExecutorService clients = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+            for (int i = 0; i < LOGIN_CLIENTS; i++) {
+                clients.execute(() -> {
+                    while (running.get()) {
+                        try {
+                            int status = post(client, baseUrl + "/auth/login", user).statusCode();
+                            (status == 200 ? accepted : status == 503 ? rejected : failed).incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            List<Long> underLoad = new ArrayList<>();
+            long stormEnd = System.nanoTime() + STORM.toNanos();
+            while (System.nanoTime() < stormEnd) {
+                underLoad.add(probe(client, baseUrl, token));
+                Thread.sleep(20);
+            }
+            running.set(false);
+            clients.shutdown();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+
+            System.out.println("Список городов без нагрузки:      " + percentiles(baseline));
+            System.out.println("Список городов при массовом входе: " + percentiles(underLoad));
+            System.out.println("Вход за " + STORM.toSeconds() + " с: принято " + accepted + ", отклонено (503) " + rejected
+                    + ", ошибок " + failed);
+        } finally {
+            server.close();
+            System.exit(0);
+        }
+    }
+
+    // Замер задержки запроса списка городов, в микросекундах
+    private static long probe(HttpClient client, String baseUrl, String token) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/cities"))
+                .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Неожиданный ответ: " + response.statusCode());
+        }
+        return (System.nanoTime() - start) / 1000;
+    }
+
+    // Отправка POST-запроса с параметрами формы
+    private static HttpResponse<String> post(HttpClient client, String url, String body, String... token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token.length > 0) {
+            request.header("Authorization", "Bearer " + token[0]);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Формирование параметров формы из пар "имя, значение"
+    private static String form(String... pairs) {
+        List<String> parameters = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            parameters.add(pairs[i] + "=" + URLEncoder.encode(pairs[i + 1], StandardCharsets.UTF_8));
+        }
+        return String.join("&", parameters);
+    }
+
+    // Медиана, 95-й и 99-й процентили задержки
+    private static String percentiles(List<Long> samples) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return Stream.of(0.5, 0.95, 0.99)
+                .map(p -> "p" + Math.round(p * 100) + "=" + sorted.get((int) Math.min(sorted.size() - 1, p * sorted.size())) / 1000.0 + " мс")
+                .collect(Collectors.joining(", ")) + " (" + sorted.size() + " запросов)";
+    }
+}
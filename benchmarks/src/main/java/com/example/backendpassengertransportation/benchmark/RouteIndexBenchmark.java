@@ -0,0 +1,135 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.index.RouteIndex;
+import com.example.backendpassengertransportation.model.City;
+import com.example.backendpassengertransportation.model.Route;
+import com.example.backendpassengertransportation.model.TransportType;
+import com.example.backendpassengertransportation.repository.CityRepository;
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.repository.TransportTypeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение поиска маршрутов через индекс в памяти и через репозиторий (запросы к встроенной базе данных SQLite)
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=RouteIndexBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteIndexBenchmark {
+
+    // Количество маршрутов в тестовых данных
+    @Param({"10000"})
+    private int routes;
+
+    // Количество городов
+    private static final int CITIES = 40;
+
+    // Количество дней расписания
+    private static final int DAYS = 60;
+
+    private EmbeddedBackend backend;
+    private RouteIndex routeIndex;
+    private RouteRepository routeRepository;
+    private CityRepository cityRepository;
+    private TransportTypeRepository transportTypeRepository;
+
+    // Названия городов, по которым выполняется поиск
+    private String[] cityNames;
+
+    // Номер очередного запроса, чтобы запросы перебирали разные города
+    private int next;
+
+    // Запуск приложения на встроенной базе данных и заполнение расписания
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start();
+        routeIndex = backend.getBean(RouteIndex.class);
+        routeRepository = backend.getBean(RouteRepository.class);
+        cityRepository = backend.getBean(CityRepository.class);
+        transportTypeRepository = backend.getBean(TransportTypeRepository.class);
+        cityNames = backend.insertSchedule(routes, CITIES, DAYS);
+
+        // Индекс загружается до замеров
+        routeIndex.invalidate();
+        routeIndex.findCityByName(cityNames[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    // Поиск по паре городов через индекс
+    @Benchmark
+    public List<Route> cityPairIndex() {
+        String from = nextCity();
+        String to = nextCity();
+        City departure = routeIndex.findCityByName(from).orElseThrow();
+        City destination = routeIndex.findCityByName(to).orElseThrow();
+        return routeIndex.findByCityPair(departure.getIdCity(), destination.getIdCity(), null, null);
+    }
+
+    // Поиск по паре городов через репозиторий (как до появления индекса)
+    @Benchmark
+    public List<Route> cityPairRepository() {
+        String from = nextCity();
+        String to = nextCity();
+        City departure = cityRepository.findByCityName(from).orElseThrow();
+        City destination = cityRepository.findByCityName(to).orElseThrow();
+        return routeRepository.findByDepartureCityAndDestinationCity(departure, destination);
+    }
+
+    // Поиск по городу отправления через индекс
+    @Benchmark
+    public List<Route> departureCityIndex() {
+        City departure = routeIndex.findCityByName(nextCity()).orElseThrow();
+        return routeIndex.findByDepartureCity(departure.getIdCity());
+    }
+
+    // Поиск по городу отправления через репозиторий
+    @Benchmark
+    public List<Route> departureCityRepository() {
+        City departure = cityRepository.findByCityName(nextCity()).orElseThrow();
+        return routeRepository.findByDepartureCity(departure);
+    }
+
+    // Поиск по типу транспорта через индекс
+    @Benchmark
+    public List<Route> transportTypeIndex() {
+        TransportType transportType = routeIndex.findTransportTypeByName("Поезд").orElseThrow();
+        return routeIndex.findByTransportType(transportType.getIdTransportType());
+    }
+
+    // Поиск по типу транспорта через репозиторий
+    @Benchmark
+    public List<Route> transportTypeRepository() {
+        TransportType transportType = transportTypeRepository.findByTransportType("Поезд")
+                .orElseThrow(NoSuchElementException::new);
+        return routeRepository.findByTransportType(transportType);
+    }
+
+    // Выбор очередного города для поиска
+    private String nextCity() {
+        next = (next + 7) % CITIES;
+        return cityNames[next];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.model.RouteView;
+import com.example.backendpassengertransportation.service.RouteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск маршрутов через RouteService на встроенной базе данных SQLite: 10000 маршрутов между 40 городами на 60 дней
+// Сравниваются поиск через индекс маршрутов в памяти и запросы к базе данных (app.route-index.enabled)
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=RouteServiceBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteServiceBenchmark {
+
+    private static final int ROUTES = 10_000;
+    private static final int CITIES = 40;
+    private static final int DAYS = 60;
+
+    // Использование индекса маршрутов в памяти
+    @Param({"true", "false"})
+    private boolean routeIndex;
+
+    private EmbeddedBackend backend;
+    private RouteService routeService;
+    private String[] cityNames;
+
+    // Дата поиска (через неделю) в формате запросов
+    private String searchDate;
+
+    // Номер очередной пары городов
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        backend = EmbeddedBackend.start("--app.route-index.enabled=" + routeIndex);
+        cityNames = backend.insertSchedule(ROUTES, CITIES, DAYS);
+        routeService = backend.getBean(RouteService.class);
+        searchDate = LocalDate.now().plusDays(7).format(DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        backend.close();
+    }
+
+    @Benchmark
+    public List<RouteView> byDepartureCity() {
+        return routeService.getRoutesByDepartureCity(cityNames[next++ % CITIES]);
+    }
+
+    @Benchmark
+    public List<RouteView> byDepartureAndDestination() {
+        int i = next++;
+        return routeService.getRoutesByDepartureAndDestinationPoint(cityNames[i % CITIES], cityNames[(i * 7 + 1) % CITIES]);
+    }
+
+    @Benchmark
+    public List<RouteView> byTransportType() {
+        return routeService.getRoutesByTransportType("Поезд");
+    }
+
+    // Поиск по нескольким критериям на дату с сортировкой по времени отправления
+    @Benchmark
+    public Page<RouteView> search() {
+        return routeService.searchRoutes(null, cityNames[next++ % CITIES], null, searchDate, null, null, 1,
+                0, 20, "departureTime", "asc");
+    }
+
+    @Benchmark
+    public List<RouteView> exactDate() {
+        return routeService.fetchRoutesForExactDate(searchDate);
+    }
+}
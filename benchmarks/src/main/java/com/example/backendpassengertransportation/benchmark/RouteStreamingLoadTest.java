@@ -0,0 +1,128 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.repository.RouteRepository;
+import com.example.backendpassengertransportation.util.JwtUtil;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Нагрузочная проверка: выдача 1 000 000 маршрутов через GET /routes при небольшой фиксированной куче
+// Приложение запускается на файловой базе данных H2 в target/ (LoadTestServer), маршруты добавляются пакетами через JDBC.
+// Список запрашивается в виде JSON-массива и в формате NDJSON; после этого для сравнения выполняется
+// прежняя загрузка всех маршрутов списком (findAll), которая при той же куче завершается OutOfMemoryError
+// Запуск из корня после mvn -B -DskipTests install:
+//   mvn -B -pl benchmarks dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//   java -Xmx128m -cp benchmarks/target/classes:$(cat benchmarks/target/classpath.txt) \
+//       com.example.backendpassengertransportation.benchmark.RouteStreamingLoadTest
+public class RouteStreamingLoadTest {
+
+    // Количество маршрутов
+    private static final int ROUTES = 1_000_000;
+
+    // Размер пакета при добавлении маршрутов
+    private static final int BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of("--app.route-index.enabled=false"));
+        arguments.addAll(List.of(args));
+        LoadTestServer server = LoadTestServer.start("file:./target/route_streaming", arguments);
+        String baseUrl = server.getBaseUrl();
+        HttpClient client = HttpClient.newHttpClient();
+
+        // Отдельный поток фиксирует максимальное использование кучи
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (true) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        try {
+            server.insertUserAndCities();
+            insertRoutes(server.getBean(JdbcTemplate.class));
+            String token = JwtUtil.generateToken("ivanov@mail.ru");
+            System.out.println("Максимальный размер кучи: " + Runtime.getRuntime().maxMemory() / (1024 * 1024) + " МБ");
+            sampler.start();
+
+            for (String accept : List.of("application/json", "application/x-ndjson")) {
+                System.gc();
+                peakHeap.set(0);
+                long start = System.nanoTime();
+                HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/routes"))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", accept)
+                        .GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Неожиданный ответ: " + response.statusCode());
+                }
+                long bytes = 0;
+                long lines = 0;
+                byte[] buffer = new byte[64 * 1024];
+                try (InputStream body = response.body()) {
+                    for (int read; (read = body.read(buffer)) != -1; ) {
+                        bytes += read;
+                        for (int i = 0; i < read; i++) {
+                            if (buffer[i] == '\n') {
+                                lines++;
+                            }
+                        }
+                    }
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println(accept + ": " + bytes / (1024 * 1024) + " МБ"
+                        + (lines > 0 ? ", строк " + lines : "") + " за " + millis + " мс, пик кучи "
+                        + peakHeap.get() / (1024 * 1024) + " МБ");
+            }
+
+            // Прежний способ: все маршруты загружаются в список
+            System.gc();
+            try {
+                long start = System.nanoTime();
+                int loaded = server.getBean(RouteRepository.class).findAll().size();
+                System.out.println("findAll: " + loaded + " маршрутов за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+            } catch (RuntimeException | OutOfMemoryError e) {
+                // Hibernate передает OutOfMemoryError, обернутую в RuntimeException
+                System.out.println("findAll: " + e);
+            }
+        } finally {
+            sampler.interrupt();
+            server.close();
+            System.exit(0);
+        }
+    }
+
+    // Добавление маршрутов между городами c1 и c2
+    private static void insertRoutes(JdbcTemplate jdbcTemplate) {
+        LocalDateTime firstDeparture = LocalDateTime.of(2025, 3, 14, 0, 0);
+        long start = System.nanoTime();
+        for (int from = 0; from < ROUTES; from += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < from + BATCH_SIZE; i++) {
+                LocalDateTime departure = firstDeparture.plusMinutes(i);
+                batch.add(new Object[]{"r" + i, i % 2 == 0 ? "c1" : "c2", i % 2 == 0 ? "c2" : "c1",
+                        Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusHours(12))});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO routes (id_route, id_transport_type, departure_city, destination_city, "
+                    + "departure_time, arrival_time, total_number_seats, number_available_seats) "
+                    + "VALUES (?, 't1', ?, ?, ?, ?, 100, 100)", batch);
+        }
+        System.out.println("Добавлено маршрутов: " + ROUTES + " за " + (System.nanoTime() - start) / 1_000_000 + " мс");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Проверка формата телефона и электронной почты (выполняется при регистрации, изменении пользователя и бронировании)
+// Запуск (из корня репозитория после mvn -B -DskipTests install):
+//   mvn -B -pl benchmarks exec:exec -Djmh.args=ValidationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    // Значения хранятся в полях, чтобы JIT не свернул проверку константы
+    private String validPhone = "+7 900 123-45-67";
+    private String invalidPhone = "89001234567";
+    private String validEmail = "ivanov@mail.ru";
+    private String invalidEmail = "ivanov@example.com";
+
+    @Benchmark
+    public boolean phoneValid() {
+        return ValidationUtil.isValidPhoneFormat(validPhone);
+    }
+
+    @Benchmark
+    public boolean phoneInvalid() {
+        return ValidationUtil.isValidPhoneFormat(invalidPhone);
+    }
+
+    @Benchmark
+    public boolean emailValid() {
+        return ValidationUtil.isValidEmailFormat(validEmail);
+    }
+
+    @Benchmark
+    public boolean emailInvalid() {
+        return ValidationUtil.isValidEmailFormat(invalidEmail);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.backendpassengertransportation.benchmark;
+
+import com.example.backendpassengertransportation.util.JwtUtil;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Нагрузочная проверка: задержка и пропускная способность GET /routes/{id} при 2 000 одновременных клиентов
+// в трех режимах: потоки платформы (пул Tomcat), виртуальные потоки с семафором перед пулом соединений
+// и виртуальные потоки без семафора. Приложение запускается на встроенной базе данных H2 (LoadTestServer), каждая SQL-команда
+// задерживается на STATEMENT_LATENCY_MS, чтобы запрос, как и с удаленным PostgreSQL, в основном ожидал базу данных.
+// Виртуальные потоки требуют Java 21 (на более ранней версии выполняется только режим потоков платформы);
+// дополнительные аргументы передаются приложению, например --spring.datasource.hikari.maximum-pool-size=50
+// Запуск из корня после mvn -B -DskipTests install (на Java 21):
+//   mvn -B -pl benchmarks dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+//   java -cp benchmarks/target/classes:$(cat benchmarks/target/classpath.txt) \
+//       com.example.backendpassengertransportation.benchmark.VirtualThreadsLoadTest
+public class VirtualThreadsLoadTest {
+
+    // Количество одновременных клиентов
+    private static final int CLIENTS = 2_000;
+
+    // Продолжительность прогрева и замера
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    // Задержка каждой SQL-команды (сетевая задержка до удаленной базы данных), в миллисекундах
+    private static final long STATEMENT_LATENCY_MS = 5;
+
+    public static void main(String[] args) throws Exception {
+        List<String[]> modes = new ArrayList<>();
+        modes.add(new String[]{"Потоки платформы", "--spring.threads.virtual.enabled=false"});
+        if (Runtime.version().feature() >= 21) {
+            modes.add(new String[]{"Виртуальные потоки", "--spring.threads.virtual.enabled=true"});
+            modes.add(new String[]{"Виртуальные потоки без семафора", "--spring.threads.virtual.enabled=true",
+                    "--app.connection-limit.enabled=false"});
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": виртуальные потоки недоступны, "
+                    + "выполняется только режим потоков платформы");
+        }
+        List<String> results = new ArrayList<>();
+        for (String[] mode : modes) {
+            List<String> arguments = new ArrayList<>(List.of(mode).subList(1, mode.length));
+            arguments.addAll(List.of(args));
+            results.add(mode[0] + ": " + run("mem:virtual_threads_" + results.size(), arguments));
+        }
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    // Запуск приложения на базе данных H2 database с указанными аргументами и замер под нагрузкой
+    private static String run(String database, List<String> arguments) throws Exception {
+        LoadTestServer server = LoadTestServer.start(database,
+                applicationContext -> applicationContext.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource && "dataSource".equals(beanName)
+                                ? new SlowDataSource(dataSource) : bean;
+                    }
+                }),
+                arguments);
+        String baseUrl = server.getBaseUrl();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            insertData(server);
+            String token = JwtUtil.generateToken("ivanov@mail.ru");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newCachedThreadPool())
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/routes/r1"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET().build();
+
+            // Клиенты непрерывно выполняют запросы; учитываются только запросы, начатые после прогрева
+            long measureStart = System.nanoTime() + WARMUP.toNanos();
+            long measureEnd = measureStart + MEASUREMENT.toNanos();
+            List<List<Long>> latencies = new ArrayList<>();
+            AtomicInteger failed = new AtomicInteger();
+            for (int i = 0; i < CLIENTS; i++) {
+                List<Long> samples = new ArrayList<>();
+                latencies.add(samples);
+                clients.execute(() -> {
+                    while (System.nanoTime() < measureEnd) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start >= measureStart && end <= measureEnd) {
+                            if (ok) {
+                                samples.add((end - start) / 1000);
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(MEASUREMENT.toSeconds() + WARMUP.toSeconds() + 120, TimeUnit.SECONDS);
+
+            List<Long> all = new ArrayList<>();
+            latencies.forEach(all::addAll);
+            return String.format("%.0f запросов/с, ", all.size() / (double) MEASUREMENT.toSeconds())
+                    + percentiles(all) + ", ошибок " + failed;
+        } finally {
+            clients.shutdownNow();
+            server.close();
+        }
+    }
+
+    // Добавление пользователя, городов, типа транспорта и маршрута
+    private static void insertData(LoadTestServer server) {
+        server.insertUserAndCities();
+        server.getBean(JdbcTemplate.class).update("INSERT INTO routes (id_route, id_transport_type, departure_city, destination_city, "
+                + "departure_time, arrival_time, total_number_seats, number_available_seats) "
+                + "VALUES ('r1', 't1', 'c1', 'c2', TIMESTAMP '2025-03-14 10:00:00', TIMESTAMP '2025-03-14 22:00:00', 100, 100)");
+    }
+
+    // Медиана, 95-й и 99-й процентили задержки
+    private static String percentiles(List<Long> samples) {
+        if (samples.isEmpty()) {
+            return "нет успешных запросов";
+        }
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return Stream.of(0.5, 0.95, 0.99)
+                .map(p -> "p" + Math.round(p * 100) + "=" + sorted.get((int) Math.min(sorted.size() - 1, p * sorted.size())) / 1000.0 + " мс")
+                .collect(Collectors.joining(", "));
+    }
+
+    // Источник соединений, задерживающий подготовку каждой SQL-команды (ожидание ответа удаленной базы данных)
+    private static class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = obtainTargetDataSource().getConnection();
+            return (Connection) Proxy.newProxyInstance(VirtualThreadsLoadTest.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                            Thread.sleep(STATEMENT_LATENCY_MS);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
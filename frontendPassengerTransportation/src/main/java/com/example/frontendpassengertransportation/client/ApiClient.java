@@ -0,0 +1,162 @@
+package com.example.frontendpassengertransportation.client;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import javafx.application.Platform;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// Общий клиент для запросов к серверу, используемый всеми окнами приложения
+// Запросы выполняются асинхронно через один HttpClient, который переиспользует соединения с сервером (keep-alive),
+// поэтому поток JavaFX не блокируется на сетевых операциях; результат передается обратно в поток JavaFX через onFxThread
+public final class ApiClient {
+
+    // Адрес сервера
+    public static final String BASE_URL = "http://localhost:8080";
+
+    // Общий экземпляр Gson для разбора ответов сервера
+    // (время в моделях хранится строками, поэтому отдельные адаптеры типов не требуются)
+    public static final Gson GSON = new GsonBuilder()
+            .disableHtmlEscaping()
+            .create();
+
+    // Таймаут подключения к серверу
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+
+    // Таймаут выполнения запроса по умолчанию
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // Количество попыток запроса с ключом идемпотентности при недоступности сервера или истечении таймаута
+    private static final int IDEMPOTENT_ATTEMPTS = 3;
+
+    // Пауза перед повторной попыткой (увеличивается с каждой попыткой), в миллисекундах
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    // HTTP-клиент с постоянными соединениями HTTP/1.1
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+
+    private ApiClient() {
+    }
+
+    // Построитель запроса к серверу по пути (например, "/cities") с заголовком авторизации, если токен задан
+    public static HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            // Добавление заголовка авторизации с токеном
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Асинхронное выполнение запроса
+    public static CompletableFuture<ApiResponse> send(HttpRequest request) {
+        return HTTP.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .thenApply(response -> new ApiResponse(response.statusCode(), response.body(), response.headers()));
+    }
+
+    // GET-запрос
+    public static CompletableFuture<ApiResponse> get(String path, String token) {
+        return send(request(path, token).GET().build());
+    }
+
+    // POST-запрос с параметрами в формате application/x-www-form-urlencoded
+    public static CompletableFuture<ApiResponse> postForm(String path, Map<String, String> form, String token) {
+        return send(formRequest(path, form, token).build());
+    }
+
+    // POST-запрос с параметрами формы и ключом идемпотентности (заголовок Idempotency-Key)
+    // При недоступности сервера или таймауте запрос повторяется с тем же ключом: сервер выполняет его один раз,
+    // а на повтор возвращает исходный ответ
+    public static CompletableFuture<ApiResponse> postFormIdempotent(String path, Map<String, String> form, String token, String idempotencyKey) {
+        return sendWithRetry(formRequest(path, form, token).header("Idempotency-Key", idempotencyKey).build(), 1);
+    }
+
+    // DELETE-запрос
+    public static CompletableFuture<ApiResponse> delete(String path, String token) {
+        return send(request(path, token).DELETE().build());
+    }
+
+    // DELETE-запрос с ключом идемпотентности, повторяемый при недоступности сервера или таймауте
+    public static CompletableFuture<ApiResponse> deleteIdempotent(String path, String token, String idempotencyKey) {
+        return sendWithRetry(request(path, token).header("Idempotency-Key", idempotencyKey).DELETE().build(), 1);
+    }
+
+    // Построитель POST-запроса с телом в формате application/x-www-form-urlencoded
+    private static HttpRequest.Builder formRequest(String path, Map<String, String> form, String token) {
+        String body = form.entrySet().stream()
+                .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+        return request(path, token)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    // Выполнение запроса с повторными попытками при ошибке сети или таймауте (ответ сервера с любым статусом не повторяется)
+    private static CompletableFuture<ApiResponse> sendWithRetry(HttpRequest request, int attempt) {
+        return send(request).handle((response, error) -> {
+            if (error == null) {
+                return CompletableFuture.completedFuture(response);
+            }
+            if (attempt >= IDEMPOTENT_ATTEMPTS) {
+                return CompletableFuture.<ApiResponse>failedFuture(unwrap(error));
+            }
+            Executor delayed = CompletableFuture.delayedExecutor(RETRY_DELAY_MILLIS * attempt, TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> request, delayed)
+                    .thenCompose(retry -> sendWithRetry(retry, attempt + 1));
+        }).thenCompose(future -> future);
+    }
+
+    // Передача результата в поток JavaFX: onSuccess получает результат, onFailure - ошибку
+    // (сервер недоступен, истек таймаут или обработка результата завершилась исключением)
+    // Возвращаемый результат завершается после выполнения обработчика, что позволяет дождаться группы запросов
+    public static <T> CompletableFuture<Void> onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            try {
+                if (error != null) {
+                    onFailure.accept(unwrap(error));
+                    return;
+                }
+                try {
+                    onSuccess.accept(result);
+                } catch (RuntimeException e) {
+                    onFailure.accept(e);
+                }
+            } finally {
+                handled.complete(null);
+            }
+        }));
+        return handled;
+    }
+
+    // Кодирование значения для строки запроса или тела формы
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // Извлечение исходной ошибки из обертки CompletableFuture
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.frontendpassengertransportation.client;
+
+import java.lang.reflect.Type;
+import java.net.http.HttpHeaders;
+
+// Ответ сервера: код ответа, тело и заголовки
+public final class ApiResponse {
+
+    private final int status; // Код ответа
+    private final String body; // Тело ответа
+    private final HttpHeaders headers; // Заголовки ответа
+
+    ApiResponse(int status, String body, HttpHeaders headers) {
+        this.status = status;
+        this.body = body != null ? body : "";
+        this.headers = headers;
+    }
+
+    // Метод для получения кода ответа
+    public int getStatus() {
+        return status;
+    }
+
+    // Метод для получения тела ответа
+    public String getBody() {
+        return body;
+    }
+
+    // Метод для получения значения заголовка ответа (null, если заголовка нет)
+    public String getHeader(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+
+    // Проверка успешного ответа (код 2xx)
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    // Преобразование JSON-тела ответа в объект указанного класса
+    public <T> T as(Class<T> type) {
+        return ApiClient.GSON.fromJson(body, type);
+    }
+
+    // Преобразование JSON-тела ответа в объект указанного типа (например, список)
+    public <T> T as(Type type) {
+        return ApiClient.GSON.fromJson(body, type);
+    }
+
+    // Сообщение об ошибке для пользователя: текст ответа сервера, если он есть,
+    // иначе стандартное сообщение по коду ответа или fallback с кодом ошибки
+    public String errorMessage(String fallback) {
+        if (!body.isBlank()) {
+            return body;
+        }
+        switch (status) {
+            case 401:
+                return "Недействительный или отсутствующий токен.";
+            case 403:
+                return "Нет доступа для выполнения этой операции.";
+            case 503:
+                return "Сервер перегружен. Пожалуйста, попробуйте позже.";
+            default:
+                return fallback + ": код ошибки " + status;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.frontendpassengertransportation.client;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Справочные данные сервера (города, типы транспорта), хранимые на клиенте
+// После первой загрузки запрос выполняется с заголовком If-None-Match: если данные не изменились,
+// сервер отвечает 304 без тела и используется сохраненная копия
+public class CachedResource {
+
+    // Список городов
+    public static final CachedResource CITIES = new CachedResource("/cities");
+
+    // Список типов транспорта
+    public static final CachedResource TRANSPORT_TYPES = new CachedResource("/transport-types");
+
+    private final String path; // Путь ресурса на сервере
+    private String etag; // ETag сохраненной копии
+    private String body; // Сохраненная копия ответа
+
+    private CachedResource(String path) {
+        this.path = path;
+    }
+
+    // Асинхронное получение данных ресурса: сохраненной копии, если она актуальна, или загруженных заново
+    // При ответе сервера с ошибкой результат завершается исключением IOException
+    public CompletableFuture<String> fetch(String token) {
+        HttpRequest.Builder request = ApiClient.request(path, token).GET();
+        String cachedEtag = currentEtag();
+        if (cachedEtag != null) {
+            request.header("If-None-Match", cachedEtag);
+        }
+        return ApiClient.send(request.build()).thenApply(this::remember);
+    }
+
+    // ETag сохраненной копии (null, если ресурс еще не загружался)
+    private synchronized String currentEtag() {
+        return body != null ? etag : null;
+    }
+
+    // Сохранение загруженной копии или возврат сохраненной при ответе 304
+    private synchronized String remember(ApiResponse response) {
+        if (response.getStatus() == 304 && body != null) {
+            return body;
+        }
+        if (response.getStatus() != 200) {
+            throw new CompletionException(new IOException("Сервер вернул код " + response.getStatus() + " для " + path));
+        }
+        body = response.getBody();
+        etag = response.getHeader("ETag");
+        return body;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.frontendpassengertransportation.client;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+// Общая для всех окон проверка доступности сервера через /actuator/health/readiness
+// Результат проверки используется повторно в течение короткого времени, поэтому частые нажатия кнопок
+// не приводят к отдельному запросу на каждое действие; одновременные проверки объединяются в один запрос
+public final class ServerAvailability {
+
+    // Путь проверки готовности сервера
+    private static final String READINESS_PATH = "/actuator/health/readiness";
+
+    // Время повторного использования результата, в миллисекундах: успешного и неуспешного
+    private static final long AVAILABLE_TTL = 3000;
+    private static final long UNAVAILABLE_TTL = 1000;
+
+    // Таймаут выполнения проверки
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    // Результат и время последней проверки
+    private static boolean available;
+    private static long checkedAt;
+
+    // Выполняющаяся проверка
+    private static CompletableFuture<Boolean> pending;
+
+    private ServerAvailability() {
+    }
+
+    // Асинхронная проверка доступности сервера (не чаще одного запроса за время повторного использования результата)
+    // Результат не завершается исключением: недоступность сервера означает false
+    public static synchronized CompletableFuture<Boolean> check() {
+        long now = System.currentTimeMillis();
+        if (checkedAt != 0 && now - checkedAt < (available ? AVAILABLE_TTL : UNAVAILABLE_TTL)) {
+            return CompletableFuture.completedFuture(available);
+        }
+        if (pending == null || pending.isDone()) {
+            // Сервер доступен, если он ответил и база данных готова
+            pending = ApiClient.send(ApiClient.request(READINESS_PATH, null).timeout(TIMEOUT).GET().build())
+                    .handle((response, error) -> error == null && response.getStatus() == 200)
+                    .thenApply(ServerAvailability::remember);
+        }
+        return pending;
+    }
+
+    // Сохранение результата проверки
+    private static synchronized boolean remember(boolean result) {
+        available = result;
+        checkedAt = System.currentTimeMillis();
+        return result;
+    }
+}
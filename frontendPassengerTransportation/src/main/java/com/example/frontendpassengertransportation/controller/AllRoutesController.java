@@ -1,8 +1,10 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.ApiResponse;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.Route;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.example.frontendpassengertransportation.model.RoutePage;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -15,17 +17,12 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URI;
 import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
-import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 import javafx.util.Callback;
 import javafx.beans.property.SimpleStringProperty;
 
@@ -56,13 +53,14 @@ public class AllRoutesController implements Initializable {
     @FXML
     private Button nextPageButton; // Кнопка для перехода на следующую страницу
     @FXML
-    private Label pageLabel; // Надпись для отображения текущей страницы и общего количества страниц
+    private Label pageLabel; // Надпись для отображения номера текущей страницы
 
     // Переменные для хранения данных и состояния пагинации
     private String token; // Хранится JWT-токен для авторизации запросов к API
     private String email; // Хранится email пользователя для передачи в другие окна
     private int currentPage = 0; // Хранится номер текущей страницы (начинается с 0)
-    private int totalPages = 0; // Хранится общее количество страниц, полученное от API
+    private String nextCursor; // Хранится курсор следующей страницы, полученный от API (null, если страница последняя)
+    private String prevCursor; // Хранится курсор предыдущей страницы, полученный от API (null, если страница первая)
 
     // Метод для установки JWT-токена и выполнения начальной загрузки данных
     public void setToken(String token) {
@@ -79,7 +77,7 @@ public class AllRoutesController implements Initializable {
         // Добавление кнопки "Забронировать" в таблицу
         addBookingButtonToTable();
         // Загрузка маршрутов для первой страницы
-        loadRoutes(0);
+        loadRoutes(null, "next");
     }
 
     // Метод для инициализации контроллера после загрузки FXML-файла
@@ -88,11 +86,11 @@ public class AllRoutesController implements Initializable {
         // Настраиваются колонки таблицы для отображения данных из объекта Route
         // Для вложенных объектов (TransportType, City) извлекаются строковые значения
         transportTypeColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getTransportType().getTransportType()));
+                new SimpleStringProperty(cellData.getValue().getTransportType()));
         departureCityColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getDepartureCity().getCityName()));
+                new SimpleStringProperty(cellData.getValue().getDepartureCity()));
         destinationCityColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getDestinationCity().getCityName()));
+                new SimpleStringProperty(cellData.getValue().getDestinationCity()));
         // Для времени отправления и прибытия используются отформатированные строки
         departureTimeColumn.setCellValueFactory(cellData ->
                 new SimpleStringProperty(cellData.getValue().getFormattedDepartureTime()));
@@ -140,33 +138,27 @@ public class AllRoutesController implements Initializable {
         });
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Если сервер недоступен
-            return false;
-        }
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
     }
 
     // Метод для обработки нажатия кнопки "Забронировать"
     private void handleBookingButton(Route route) {
-        try {
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return; // Выход из метода
-            }
+        // Проверка доступности сервера перед открытием окна бронирования
+        whenServerAvailable(() -> openBookingWindow(route));
+    }
 
+    // Метод для открытия окна бронирования выбранного маршрута
+    private void openBookingWindow(Route route) {
+        try {
             // Закрывается текущее окно
             Stage currentStage = (Stage) backButton.getScene().getWindow();
             currentStage.close();
@@ -193,127 +185,93 @@ public class AllRoutesController implements Initializable {
         }
     }
 
-    // Метод для выполнения HTTP-запроса к API для получения данных о маршрутах
-    private Map<String, Object> fetchRoutesPage(int page) throws IOException {
+    // Метод для выполнения асинхронного запроса к API для получения страницы маршрутов
+    private CompletableFuture<ApiResponse> fetchRoutesPage(String cursor, String direction) {
         // Формируется время, отстоящее на 30 минут от текущего, для фильтрации маршрутов
         LocalDateTime nowPlus30 = LocalDateTime.now().plusMinutes(30);
         String minDepartureTime = nowPlus30.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        // Формируется URL для запроса с параметрами страницы, размера (16 маршрутов) и минимального времени отправления
-        URL url = URI.create("http://localhost:8080/routes/paginated?page=" + page + "&size=16&minDepartureTime=" + minDepartureTime).toURL();
-        // Создается HTTP-соединение для выполнения GET-запроса
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        // Добавляется заголовок авторизации с JWT-токеном
-        connection.setRequestProperty("Authorization", "Bearer " + token);
-
-        // Получение кода ответа сервера
-        int responseCode = connection.getResponseCode();
-        String responseMessage;
+        // Формируется путь запроса с курсором, направлением, размером (16 маршрутов) и минимальным временем отправления
+        // Страница выбирается по курсору, поэтому дальние страницы загружаются так же быстро, как первая
+        String cursorParameter = cursor != null ? "&cursor=" + ApiClient.encode(cursor) : "";
+        return ApiClient.get("/routes/paginated/cursor?size=16&direction=" + direction +
+                cursorParameter + "&minDepartureTime=" + minDepartureTime, token);
+    }
 
-        // Чтение тела ответа
-        if (responseCode >= 400) {
-            // Чтение сообщения об ошибке из error stream
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getErrorStream()))) {
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                responseMessage = response.toString();
+    // Метод для загрузки маршрутов со страницы рядом с курсором и обновления таблицы
+    private void loadRoutes(String cursor, String direction) {
+        // Кнопки пагинации отключаются до получения ответа, чтобы страницы не пропускались при повторных нажатиях
+        prevPageButton.setDisable(true);
+        nextPageButton.setDisable(true);
+        ApiClient.onFxThread(fetchRoutesPage(cursor, direction), response -> {
+            prevPageButton.setDisable(false);
+            nextPageButton.setDisable(false);
+            int responseCode = response.getStatus();
+            if (responseCode != 200) {
+                // Отображается сообщение об ошибке по коду ответа
+                showErrorAlert(responseCode == 404 && response.getBody().isEmpty()
+                        ? "Маршруты не найдены." : response.errorMessage("Не удалось загрузить маршруты"));
+                return;
             }
-        } else {
-            // Чтение ответа для успешного запроса
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                responseMessage = response.toString();
+            // Извлекается страница маршрутов из ответа
+            RoutePage page = response.as(RoutePage.class);
+            // Обновляются номер текущей страницы и курсоры соседних страниц на основе ответа API
+            if (cursor == null) {
+                currentPage = 0;
+            } else if ("next".equals(direction)) {
+                currentPage++;
+            } else {
+                currentPage--;
             }
-        }
-
-        connection.disconnect();
-
-        if (responseCode == HttpURLConnection.HTTP_OK) {
-            // Данные ответа преобразуются из JSON в Map с помощью Gson
-            Gson gson = new Gson();
-            java.lang.reflect.Type mapType = new TypeToken<Map<String, Object>>() {}.getType();
-            return gson.fromJson(responseMessage, mapType);
-        } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
-            throw new IOException(responseMessage.isEmpty() ? "Маршруты не найдены." : responseMessage);
-        } else if (responseCode == HttpURLConnection.HTTP_UNAUTHORIZED) {
-            throw new IOException(responseMessage.isEmpty() ? "Недействительный или отсутствующий токен." : responseMessage);
-        } else if (responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
-            throw new IOException(responseMessage.isEmpty() ? "Нет доступа для выполнения этой операции." : responseMessage);
-        } else {
-            throw new IOException(responseMessage.isEmpty() ? "Не удалось загрузить маршруты: код ошибки " + responseCode : responseMessage);
-        }
-    }
-
-    // Метод для загрузки маршрутов с указанной страницы и обновления таблицы
-    private void loadRoutes(int page) {
-        try {
-            // Выполняется запрос к API для получения данных о маршрутах
-            Map<String, Object> responseMap = fetchRoutesPage(page);
-            Gson gson = new Gson();
-            // Извлекается список маршрутов из ответа и преобразуется в List<Route>
-            List<Route> routes = gson.fromJson(gson.toJson(responseMap.get("content")), new TypeToken<List<Route>>() {}.getType());
-            // Обновляется текущая страница и общее количество страниц на основе ответа API
-            currentPage = ((Double) responseMap.get("number")).intValue();
-            totalPages = ((Double) responseMap.get("totalPages")).intValue();
+            nextCursor = page.getNextCursor();
+            prevCursor = page.getPrevCursor();
 
             // Создается ObservableList для отображения маршрутов в таблице
-            ObservableList<Route> routeList = FXCollections.observableArrayList(routes);
+            ObservableList<Route> routeList = FXCollections.observableArrayList(page.getContent());
             // Данные загружаются в таблицу
             routesTable.setItems(routeList);
 
             // Обновляется состояние кнопок пагинации и надпись страницы
             updatePaginationButtons();
-        } catch (IOException e) {
-            // Отображается сообщение об ошибке, переданное из fetchRoutesPage
-            showErrorAlert(e.getMessage());
-        } catch (Exception e) {
-            // Отображается сообщение об ошибке при непредвиденных проблемах
-            showErrorAlert("Произошла непредвиденная ошибка при загрузке данных");
-        }
+        }, error -> {
+            prevPageButton.setDisable(false);
+            nextPageButton.setDisable(false);
+            if (error instanceof IOException) {
+                // Отображается сообщение об ошибке при недоступности сервера
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            } else {
+                // Отображается сообщение об ошибке при непредвиденных проблемах
+                showErrorAlert("Произошла непредвиденная ошибка при загрузке данных");
+            }
+        });
     }
 
     // Метод для обновления видимости кнопок пагинации и текста надписи страницы
     private void updatePaginationButtons() {
-        // Кнопка "Предыдущая страница" отображается, если текущая страница не первая
-        prevPageButton.setVisible(currentPage > 0);
-        // Кнопка "Следующая страница" отображается, если текущая страница не последняя
-        nextPageButton.setVisible(currentPage < totalPages - 1);
-        // Обновляется текст надписи страницы
-        pageLabel.setText(String.format("Страница %d/%d", currentPage + 1, totalPages));
+        // Кнопка "Предыдущая страница" отображается, если есть курсор предыдущей страницы
+        prevPageButton.setVisible(prevCursor != null);
+        // Кнопка "Следующая страница" отображается, если есть курсор следующей страницы
+        nextPageButton.setVisible(nextCursor != null);
+        // Обновляется текст надписи страницы; общее количество страниц не подсчитывается
+        pageLabel.setText(String.format("Страница %d", currentPage + 1));
     }
 
     // Метод для обработки нажатия кнопки "Предыдущая страница"
     @FXML
     private void handlePrevPage() {
-        if (!isServerAvailable()) {
-            showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-            return; // Выход из метода
-        }
-
         // Если текущая страница не первая, загружается предыдущая страница
-        if (currentPage > 0) {
-            loadRoutes(currentPage - 1);
+        if (prevCursor != null) {
+            String cursor = prevCursor;
+            whenServerAvailable(() -> loadRoutes(cursor, "prev"));
         }
     }
 
     // Метод для обработки нажатия кнопки "Следующая страница"
     @FXML
     private void handleNextPage() {
-        if (!isServerAvailable()) {
-            showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-            return; // Выход из метода
-        }
-
         // Если текущая страница не последняя, загружается следующая страница
-        if (currentPage < totalPages - 1) {
-            loadRoutes(currentPage + 1);
+        if (nextCursor != null) {
+            String cursor = nextCursor;
+            whenServerAvailable(() -> loadRoutes(cursor, "next"));
         }
     }
 
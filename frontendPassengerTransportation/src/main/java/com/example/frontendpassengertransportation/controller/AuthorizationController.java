@@ -1,6 +1,6 @@
 package com.example.frontendpassengertransportation.controller;
 
-import com.google.gson.Gson;
+import com.example.frontendpassengertransportation.client.ApiClient;
 import com.google.gson.reflect.TypeToken;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -12,13 +12,8 @@ import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 // Класс AuthorizationController отвечает за управление окном авторизации приложения
@@ -83,46 +78,22 @@ public class AuthorizationController {
             return;
         }
 
-        // Формирование строки данных для отправки на сервер
-        String postData = "passengerFullName=" + encodeValue(fullName) +
-                "&passengerEmail=" + encodeValue(email) +
-                "&password=" + encodeValue(password);
-
-        try {
-            // Создание подключения к серверу
-            URL url = new URL("http://localhost:8080/auth/login");
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            conn.setDoOutput(true);
-
-            // Отправка данных на сервер
-            try (OutputStream os = conn.getOutputStream()) {
-                byte[] input = postData.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-
-            // Получение кода ответа от сервера
-            int responseCode = conn.getResponseCode();
-            StringBuilder response = new StringBuilder();
-
-            // Чтение ответа сервера
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                    responseCode >= 400 ? conn.getErrorStream() : conn.getInputStream(), StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    response.append(line);
-                }
-            }
-
-            // Закрытие соединения
-            conn.disconnect();
-
+        // Формирование данных для отправки на сервер
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("passengerFullName", fullName);
+        form.put("passengerEmail", email);
+        form.put("password", password);
+
+        // Кнопка отключается до получения ответа, чтобы не отправлять повторные запросы
+        loginButton.setDisable(true);
+        // Запрос выполняется асинхронно, ответ обрабатывается в потоке JavaFX
+        ApiClient.onFxThread(ApiClient.postForm("/auth/login", form, null), response -> {
+            loginButton.setDisable(false);
+            int responseCode = response.getStatus();
             // Проверка успешного ответа (200)
             if (responseCode == 200) {
-                // Парсинг JSON-ответа с помощью Gson
-                Gson gson = new Gson();
-                java.util.Map<String, String> responseMap = gson.fromJson(response.toString(), new TypeToken<Map<String, String>>() {}.getType());
+                // Парсинг JSON-ответа
+                Map<String, String> responseMap = response.as(new TypeToken<Map<String, String>>() {}.getType());
                 String jwtToken = responseMap.get("token");
 
                 // Проверка наличия токена в ответе
@@ -134,51 +105,50 @@ public class AuthorizationController {
 
                 // Отображение сообщения об успешной авторизации
                 showInfoAlert("Авторизация прошла успешно!");
-
-                // Закрытие текущего окна
-                Stage currentStage = (Stage) loginButton.getScene().getWindow();
-                currentStage.close();
-
-                // Загрузка главного окна приложения
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/main.fxml"));
-                Parent root = loader.load();
-                MainController mainController = loader.getController();
-                // Передача токена и email в контроллер главного окна
-                mainController.setToken(jwtToken);
-                mainController.setEmail(email);
-                // Загрузка данных в ComboBox перед отображением окна
-                mainController.loadComboBoxData();
-
-                // Создание и отображение главного окна
-                Scene scene = new Scene(root, 1040, 740);
-                Stage mainStage = new Stage();
-                mainStage.setTitle("Бронирование билетов");
-                mainStage.setScene(scene);
-                mainStage.show();
+                openMainWindow(jwtToken, email);
             } else if (responseCode == 401 || responseCode == 403) {
                 // Отображение сообщения об ошибке при неверных учетных данных
                 showErrorAlert("Неверные учетные данные.");
             } else if (responseCode == 400) {
                 // Отображение сообщения об ошибке с текстом от сервера
-                showErrorAlert(response.toString());
+                showErrorAlert(response.getBody());
             } else {
                 // Отображение сообщения об ошибке с кодом ответа
-                showErrorAlert("Произошла ошибка: " + response.toString());
+                showErrorAlert("Произошла ошибка: " + response.errorMessage("Не удалось выполнить вход"));
             }
-        } catch (IOException e) {
+        }, error -> {
+            loginButton.setDisable(false);
             // Отображение сообщения об ошибке при недоступности сервера
             showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-        }
+        });
     }
 
-    // Метод для кодирования значений в URL-формат
-    private String encodeValue(String value) {
+    // Метод для открытия главного окна после успешной авторизации
+    private void openMainWindow(String jwtToken, String email) {
         try {
-            // Кодирование строки в UTF-8
-            return java.net.URLEncoder.encode(value, StandardCharsets.UTF_8.toString());
-        } catch (Exception e) {
-            // Возврат исходной строки при ошибке кодирования
-            return value;
+            // Закрытие текущего окна
+            Stage currentStage = (Stage) loginButton.getScene().getWindow();
+            currentStage.close();
+
+            // Загрузка главного окна приложения
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/main.fxml"));
+            Parent root = loader.load();
+            MainController mainController = loader.getController();
+            // Передача токена и email в контроллер главного окна
+            mainController.setToken(jwtToken);
+            mainController.setEmail(email);
+            // Загрузка данных в ComboBox (выполняется асинхронно)
+            mainController.loadComboBoxData();
+
+            // Создание и отображение главного окна
+            Scene scene = new Scene(root, 1040, 740);
+            Stage mainStage = new Stage();
+            mainStage.setTitle("Бронирование билетов");
+            mainStage.setScene(scene);
+            mainStage.show();
+        } catch (IOException e) {
+            // Отображение сообщения об ошибке при неудачной загрузке окна
+            showErrorAlert("Не удалось открыть главное окно.");
         }
     }
 
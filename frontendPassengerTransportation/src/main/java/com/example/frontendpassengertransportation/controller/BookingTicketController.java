@@ -1,30 +1,39 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.ApiResponse;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.Route;
+import com.example.frontendpassengertransportation.model.SeatHold;
 import com.example.frontendpassengertransportation.model.User;
-import com.google.gson.Gson;
+import com.example.frontendpassengertransportation.model.WaitlistEntry;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.stream.Collectors;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 // Класс BookingTicketController отвечает за управление окном бронирования билетов
 public class BookingTicketController {
 
+    // Сообщение сервера об отказе в бронировании из-за отсутствия свободных мест
+    private static final String NO_SEATS_MESSAGE = "Нет доступных мест для бронирования.";
+
+    // Сообщения сервера о том, что удержание места больше не действует: срок истек или удержание не найдено
+    private static final String HOLD_EXPIRED_MESSAGE = "Срок удержания мест истек. Повторите бронирование.";
+    private static final String HOLD_NOT_FOUND_PREFIX = "Удержание мест ";
+
     // Элементы интерфейса
     @FXML
     private Label transportTypeLabel; // Label для отображения типа транспорта
@@ -50,6 +59,11 @@ public class BookingTicketController {
     private Route route; // Объект маршрута, переданный из предыдущего окна
     private String token; // Поле для хранения JWT-токена
     private String email; // Поле для хранения email пользователя
+    private String holdId; // Токен удержания места на время оформления бронирования (null, если место не удержано)
+    // Ключ идемпотентности и параметры запроса бронирования, оставшегося без ответа (сервер недоступен или истек таймаут):
+    // повторная отправка тех же данных с этим ключом не создаст второе бронирование
+    private String bookingKey;
+    private Map<String, String> bookingKeyForm;
 
     @FXML
     // Метод initialize вызывается при загрузке FXML
@@ -77,15 +91,17 @@ public class BookingTicketController {
         this.email = email;
         // Загрузка данных пользователя по email
         loadUserDataByEmail();
+        // Удержание места, пока пассажир проверяет данные бронирования
+        holdSeat();
     }
 
     // Метод для обновления интерфейса с данными маршрута
     private void updateUI() {
         if (route != null) {
             // Установка данных маршрута в соответствующие Label с использованием геттеров
-            transportTypeLabel.setText(route.getTransportType().getTransportType());
-            departureCityLabel.setText(route.getDepartureCity().getCityName());
-            destinationCityLabel.setText(route.getDestinationCity().getCityName());
+            transportTypeLabel.setText(route.getTransportType());
+            departureCityLabel.setText(route.getDepartureCity());
+            destinationCityLabel.setText(route.getDestinationCity());
             departureTimeLabel.setText(route.getFormattedDepartureTime());
             arrivalTimeLabel.setText(route.getFormattedArrivalTime());
         }
@@ -93,143 +109,189 @@ public class BookingTicketController {
 
     // Метод для загрузки данных пользователя по email
     private void loadUserDataByEmail() {
-        try {
-            // Создание URL для запроса пользователя по email
-            URL url = new URL("http://localhost:8080/users/user-by-email?email=" + encodeValue(email));
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Получение кода ответа от сервера
-            int responseCode = connection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) { // 200 OK
-                // Чтение ответа от сервера
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                    String response = br.lines().collect(Collectors.joining());
-                    Gson gson = new Gson();
-                    User user = gson.fromJson(response, User.class);
-
-                    // Заполнение полей данными пользователя
-                    passengerFullNameField.setText(user.getPassengerFullName());
-                    passengerPhoneField.setText(user.getPassengerPhone());
-                    passengerEmailField.setText(user.getPassengerEmail());
-                }
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) { // 404
+        // Запрос выполняется асинхронно, поля заполняются в потоке JavaFX после получения ответа
+        ApiClient.onFxThread(ApiClient.get("/users/user-by-email?email=" + ApiClient.encode(email), token), response -> {
+            int responseCode = response.getStatus();
+            if (responseCode == 200) { // 200 OK
+                User user = response.as(User.class);
+
+                // Заполнение полей данными пользователя
+                passengerFullNameField.setText(user.getPassengerFullName());
+                passengerPhoneField.setText(user.getPassengerPhone());
+                passengerEmailField.setText(user.getPassengerEmail());
+            } else if (responseCode == 404) {
                 showErrorAlert("Пользователь с email " + email + " не найден.");
             } else {
                 showErrorAlert("Не удалось загрузить данные пользователя: код ошибки " + responseCode);
             }
-            connection.disconnect(); // Закрытие соединения
-        } catch (IOException e) {
-            showErrorAlert("Ошибка при загрузке данных пользователя. Сервер недоступен.");
-        }
+        }, error -> showErrorAlert("Ошибка при загрузке данных пользователя. Сервер недоступен."));
     }
 
-    // Метод для обработки нажатия кнопки "Забронировать"
-    @FXML
-    private void handleBookButton() {
-        // Получение данных из полей ввода
-        String passengerName = passengerFullNameField.getText().trim();
-        String passengerPhone = passengerPhoneField.getText().trim();
-        String passengerEmail = passengerEmailField.getText().trim();
+    // Метод для удержания места маршрута на время оформления бронирования
+    // Если удержать место не удалось, бронирование выполняется без удержания
+    private void holdSeat() {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("seats", "1");
+        ApiClient.onFxThread(ApiClient.postForm("/routes/" + ApiClient.encode(route.getIdRoute()) + "/holds", form, token), response -> {
+            int responseCode = response.getStatus();
+            if (responseCode == 201) {
+                holdId = response.as(SeatHold.class).getIdHold();
+            } else if (responseCode == 400) {
+                showErrorAlert(response.getBody().isEmpty() ? "Не удалось удержать место на маршруте." : response.getBody());
+            }
+        }, error -> {
+            // Сервер недоступен: сообщение будет показано при попытке бронирования
+        });
+    }
 
-        try {
-            // Формирование параметров запроса с использованием encodeValue
-            String postData = "routeId=" + encodeValue(route.getIdRoute()) +
-                    "&passengerFullName=" + encodeValue(passengerName) +
-                    "&passengerPhone=" + encodeValue(passengerPhone) +
-                    "&passengerEmail=" + encodeValue(passengerEmail);
-
-            // Вызов метода для отправки запроса на создание бронирования
-            createBookingTicket(postData);
-        } catch (Exception e) {
-            showErrorAlert("Произошла ошибка при отправке данных на сервер.");
+    // Метод для освобождения удержанного места при отказе от бронирования
+    private void releaseHold() {
+        if (holdId == null) {
+            return;
         }
+        String path = "/routes/" + ApiClient.encode(route.getIdRoute()) + "/holds/" + ApiClient.encode(holdId);
+        holdId = null;
+        // Ответ не ожидается: если освободить место не удалось, оно вернется по истечении срока удержания
+        ApiClient.delete(path, token);
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Если сервер недоступен
-            return false;
-        }
+    // Метод для обработки нажатия кнопки "Забронировать"
+    @FXML
+    private void handleBookButton() {
+        // Получение данных из полей ввода и формирование параметров запроса
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("routeId", route.getIdRoute());
+        form.put("passengerFullName", passengerFullNameField.getText().trim());
+        form.put("passengerPhone", passengerPhoneField.getText().trim());
+        form.put("passengerEmail", passengerEmailField.getText().trim());
+
+        // Вызов метода для отправки запроса на создание бронирования
+        whenServerAvailable(() -> createBookingTicket(form));
     }
 
-    // Метод для отправки запроса на создание бронирования
-    private void createBookingTicket(String postData) {
-        try {
-            if (!isServerAvailable()) {
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
                 showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return; // Выход из метода
-            }
-
-            // Создание URL для отправки запроса на бэкэнд
-            URL url = new URL("http://localhost:8080/booking-tickets");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка заголовка Content-Type
-            connection.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            // Разрешение отправки данных
-            connection.setDoOutput(true);
-
-            // Отправка данных на бэкэнд
-            try (OutputStream os = connection.getOutputStream()) {
-                byte[] input = postData.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
             }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
+    }
 
-            // Получение кода ответа от сервера
-            int responseCode = connection.getResponseCode();
-            String responseMessage;
-
-            // Чтение тела ответа
-            if (responseCode >= 400) {
-                // Чтение сообщения об ошибке из error stream
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getErrorStream(), StandardCharsets.UTF_8))) {
-                    responseMessage = br.lines().collect(Collectors.joining());
-                }
-            } else {
-                // Чтение ответа для успешного создания
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                    responseMessage = br.lines().collect(Collectors.joining());
-                }
+    // Метод для отправки запроса на создание бронирования
+    private void createBookingTicket(Map<String, String> form) {
+        // Кнопка отключается до получения ответа, чтобы не создать бронирование дважды
+        bookButton.setDisable(true);
+        // Если место удержано, удержание подтверждается; иначе бронирование создается обычным запросом
+        String path = "/booking-tickets";
+        Map<String, String> parameters = form;
+        if (holdId != null) {
+            path = "/routes/" + ApiClient.encode(route.getIdRoute()) + "/holds/" + ApiClient.encode(holdId) + "/confirm";
+            parameters = new LinkedHashMap<>(form);
+            parameters.remove("routeId");
+        }
+        CompletableFuture<ApiResponse> request;
+        if (holdId != null) {
+            request = ApiClient.postForm(path, parameters, token);
+        } else {
+            // Ключ сохраняется до получения ответа сервера и используется повторно при отправке тех же данных
+            if (bookingKey == null || !form.equals(bookingKeyForm)) {
+                bookingKey = UUID.randomUUID().toString();
+                bookingKeyForm = new LinkedHashMap<>(form);
             }
-
-            if (responseCode == HttpURLConnection.HTTP_CREATED) {
-                // Успешное создание бронирования
+            request = ApiClient.postFormIdempotent(path, parameters, token, bookingKey);
+        }
+        ApiClient.onFxThread(request, response -> {
+            bookButton.setDisable(false);
+            // Ответ сервера получен: следующая попытка бронирования является новым запросом
+            bookingKey = null;
+            int responseCode = response.getStatus();
+            String responseMessage = response.getBody();
+            if (responseCode == 201) {
+                // Успешное создание бронирования; удержание подтверждено
+                holdId = null;
                 showSuccessAlert("Бронирование успешно создано!");
                 // Закрытие текущего окна
                 Stage stage = (Stage) bookButton.getScene().getWindow();
                 stage.close();
                 // Открытие главного окна (main.fxml)
                 openMainWindow();
-            } else if (responseCode == HttpURLConnection.HTTP_BAD_REQUEST) {
+                return;
+            }
+            // Удержание истекло или не найдено: повторная попытка выполняется обычным бронированием
+            // При ошибке в данных пассажира удержание сохраняется и подтверждается после исправления
+            if (holdId != null && isHoldGone(responseCode, responseMessage)) {
+                holdId = null;
+            }
+            if (responseCode == 400 && NO_SEATS_MESSAGE.equals(responseMessage)) {
+                // Мест нет: пассажиру предлагается лист ожидания вместо повторных попыток бронирования
+                offerWaitlist(form);
+            } else if (responseCode == 400) {
                 showErrorAlert(responseMessage.isEmpty() ? "Не удалось создать бронирование: некорректные данные." : responseMessage);
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            } else if (responseCode == 404) {
                 showErrorAlert(responseMessage.isEmpty() ? "Маршрут или пользователь не найдены." : responseMessage);
-            } else if (responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
-                showErrorAlert(responseMessage.isEmpty() ? "Нет доступа для выполнения этой операции." : responseMessage);
             } else {
-                showErrorAlert(responseMessage.isEmpty() ? "Не удалось создать бронирование: код ошибки " + responseCode : responseMessage);
+                showErrorAlert(response.errorMessage("Не удалось создать бронирование"));
             }
-            connection.disconnect(); // Закрытие соединения
-        } catch (IOException e) {
+        }, error -> {
+            bookButton.setDisable(false);
             showErrorAlert("Произошла ошибка при отправке данных на сервер.");
-        }
+        });
+    }
+
+    // Метод для проверки, что ответ на подтверждение означает недействительное удержание
+    private static boolean isHoldGone(int responseCode, String responseMessage) {
+        return responseCode == 410
+                || (responseCode == 400 && HOLD_EXPIRED_MESSAGE.equals(responseMessage))
+                || (responseCode == 404 && responseMessage.startsWith(HOLD_NOT_FOUND_PREFIX));
+    }
+
+    // Метод для предложения листа ожидания маршрута без свободных мест
+    private void offerWaitlist(Map<String, String> form) {
+        Alert confirmationAlert = new Alert(Alert.AlertType.CONFIRMATION);
+        confirmationAlert.setTitle("Нет свободных мест");
+        confirmationAlert.setHeaderText("На маршруте не осталось свободных мест.");
+        confirmationAlert.setContentText("Встать в лист ожидания? Место, освободившееся при отмене бронирования, будет забронировано автоматически в порядке очереди.");
+
+        // Ожидание ответа пользователя
+        confirmationAlert.showAndWait().ifPresent(response -> {
+            if (response == ButtonType.OK) {
+                joinWaitlist(form);
+            }
+        });
+    }
+
+    // Метод для отправки запроса на постановку в лист ожидания
+    private void joinWaitlist(Map<String, String> form) {
+        Map<String, String> parameters = new LinkedHashMap<>(form);
+        parameters.remove("routeId");
+        bookButton.setDisable(true);
+        ApiClient.onFxThread(ApiClient.postForm("/routes/" + ApiClient.encode(route.getIdRoute()) + "/waitlist", parameters, token), response -> {
+            bookButton.setDisable(false);
+            int responseCode = response.getStatus();
+            if (responseCode == 201) {
+                WaitlistEntry entry = response.as(WaitlistEntry.class);
+                if (entry.isPromoted()) {
+                    // Место освободилось до постановки в очередь: бронирование уже создано
+                    showSuccessAlert("Место освободилось, бронирование успешно создано!");
+                } else {
+                    showSuccessAlert("Вы в листе ожидания. Бронирование появится в списке ваших бронирований, когда освободится место.");
+                }
+                Stage stage = (Stage) bookButton.getScene().getWindow();
+                stage.close();
+                openMainWindow();
+            } else if (responseCode == 400 || responseCode == 404) {
+                showErrorAlert(response.getBody().isEmpty() ? "Не удалось встать в лист ожидания." : response.getBody());
+            } else {
+                showErrorAlert(response.errorMessage("Не удалось встать в лист ожидания"));
+            }
+        }, error -> {
+            bookButton.setDisable(false);
+            showErrorAlert("Произошла ошибка при отправке данных на сервер.");
+        });
     }
 
     // Метод для открытия главного окна
@@ -262,6 +324,8 @@ public class BookingTicketController {
     // Метод для обработки нажатия кнопки "Назад"
     @FXML
     private void handleBackButton() {
+        // Отказ от бронирования: удержанное место возвращается маршруту
+        releaseHold();
         try {
             // Закрытие текущего окна
             Stage currentStage = (Stage) backButton.getScene().getWindow();
@@ -291,17 +355,6 @@ public class BookingTicketController {
         }
     }
 
-    // Метод для кодирования значений в URL-формат
-    private String encodeValue(String value) {
-        try {
-            // Кодирование строки в UTF-8
-            return java.net.URLEncoder.encode(value, StandardCharsets.UTF_8.toString());
-        } catch (Exception e) {
-            // Возврат исходной строки при ошибке кодирования
-            return value;
-        }
-    }
-
     // Метод для отображения Alert с ошибкой
     private void showErrorAlert(String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
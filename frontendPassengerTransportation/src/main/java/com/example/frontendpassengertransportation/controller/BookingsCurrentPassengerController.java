@@ -1,7 +1,8 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.BookingTicket;
-import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -17,12 +18,8 @@ import javafx.scene.control.*;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.ResourceBundle;
 
@@ -72,15 +69,15 @@ public class BookingsCurrentPassengerController implements Initializable {
         // Настройка связей колонок таблицы с полями модели BookingTicket
         // Извлекается строковое значение типа транспорта из объекта TransportType
         transportTypeColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getRoute().getTransportType().getTransportType()));
+                new SimpleStringProperty(cellData.getValue().getRoute().getTransportType()));
 
         // Извлекается название города отправления из объекта City
         departureCityColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getRoute().getDepartureCity().getCityName()));
+                new SimpleStringProperty(cellData.getValue().getRoute().getDepartureCity()));
 
         // Извлекается название города назначения из объекта City
         destinationCityColumn.setCellValueFactory(cellData ->
-                new SimpleStringProperty(cellData.getValue().getRoute().getDestinationCity().getCityName()));
+                new SimpleStringProperty(cellData.getValue().getRoute().getDestinationCity()));
 
         // Используется отформатированное время отправления
         departureTimeColumn.setCellValueFactory(cellData ->
@@ -97,29 +94,12 @@ public class BookingsCurrentPassengerController implements Initializable {
 
     // Метод для загрузки бронирований по email
     private void loadBookingsByEmail() {
-        try {
-            // Создается URL для запроса бронирований по email
-            URL url = new URL("http://localhost:8080/booking-tickets/email/" + java.net.URLEncoder.encode(email, StandardCharsets.UTF_8.toString()));
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавляется заголовок авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Получение кода ответа от сервера
-            int responseCode = connection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                // Чтение ответа от сервера
-                BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
-                String inputLine;
-                StringBuilder content = new StringBuilder();
-                while ((inputLine = in.readLine()) != null) {
-                    content.append(inputLine);
-                }
-                in.close(); // Закрытие потока чтения
-
+        // Запрос выполняется асинхронно, таблица заполняется в потоке JavaFX после получения ответа
+        ApiClient.onFxThread(ApiClient.get("/booking-tickets/email/" + ApiClient.encode(email), token), response -> {
+            int responseCode = response.getStatus();
+            if (responseCode == 200) {
                 // Преобразование JSON в список объектов BookingTicket
-                Gson gson = new Gson();
-                List<BookingTicket> bookings = gson.fromJson(content.toString(), new TypeToken<List<BookingTicket>>() {}.getType());
+                List<BookingTicket> bookings = response.as(new TypeToken<List<BookingTicket>>() {}.getType());
 
                 // Установка данных в таблицу
                 ObservableList<BookingTicket> bookingList = FXCollections.observableArrayList(bookings);
@@ -127,32 +107,33 @@ public class BookingsCurrentPassengerController implements Initializable {
 
                 // Настройка placeholder, если список пуст
                 if (bookingList.isEmpty()) {
-                    Label placeholderLabel = new Label("У вас пока нет бронирований.");
-                    placeholderLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
-                    placeholderLabel.setAlignment(Pos.CENTER);
-                    bookingsTable.setPlaceholder(placeholderLabel);
+                    showNoBookingsPlaceholder();
                 }
             // Отображения сообщения в таблице, если бронирований нет
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            } else if (responseCode == 404) {
                 bookingsTable.setItems(FXCollections.observableArrayList());
-                Label placeholderLabel = new Label("У вас пока нет бронирований.");
-                placeholderLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
-                placeholderLabel.setAlignment(Pos.CENTER);
-                bookingsTable.setPlaceholder(placeholderLabel);
+                showNoBookingsPlaceholder();
             } else {
                 // Сообщение об ошибке, если сервер вернул неожиданный код ответа
                 showErrorAlert("Не удалось загрузить бронирования: код ошибки " + responseCode);
             }
+        }, error -> {
+            if (error instanceof IOException) {
+                // Обработка исключения при недоступности сервера
+                showErrorAlert("Ошибка при загрузке бронирований. Сервер недоступен.");
+            } else {
+                // Обработка непредвиденных ошибок
+                showErrorAlert("Произошла непредвиденная ошибка при загрузке данных.");
+            }
+        });
+    }
 
-            connection.disconnect(); // Соединение закрывается после завершения запроса
-
-        } catch (IOException e) {
-            // Обработка исключения при недоступности сервера
-            showErrorAlert("Ошибка при загрузке бронирований. Сервер недоступен.");
-        } catch (Exception e) {
-            // Обработка непредвиденных ошибок
-            showErrorAlert("Произошла непредвиденная ошибка при загрузке данных.");
-        }
+    // Метод для отображения сообщения в таблице, если бронирований нет
+    private void showNoBookingsPlaceholder() {
+        Label placeholderLabel = new Label("У вас пока нет бронирований.");
+        placeholderLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: gray;");
+        placeholderLabel.setAlignment(Pos.CENTER);
+        bookingsTable.setPlaceholder(placeholderLabel);
     }
 
     // Метод для добавления кнопки "Посмотреть" в таблицу
@@ -193,12 +174,12 @@ public class BookingsCurrentPassengerController implements Initializable {
 
     // Метод для обработки нажатия кнопки "Посмотреть"
     private void handleViewButton(BookingTicket booking) {
-        try {
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return; // Выход из метода
-            }
+        whenServerAvailable(() -> openBookingDetails(booking));
+    }
 
+    // Метод для открытия окна с деталями бронирования
+    private void openBookingDetails(BookingTicket booking) {
+        try {
             // Загружается окно с деталями бронирования
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/view_booking_details.fxml"));
             Parent root = loader.load();
@@ -222,23 +203,16 @@ public class BookingsCurrentPassengerController implements Initializable {
         }
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Если сервер недоступен
-            return false;
-        }
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
     }
 
     @FXML
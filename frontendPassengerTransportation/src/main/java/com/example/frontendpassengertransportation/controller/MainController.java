@@ -1,10 +1,12 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.CachedResource;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.City;
 import com.example.frontendpassengertransportation.model.TransportType;
-import com.google.gson.Gson;
+import com.example.frontendpassengertransportation.model.User;
 import com.google.gson.reflect.TypeToken;
-import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -15,19 +17,19 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.Tooltip;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.StringConverter;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 // Класс MainController отвечает за управление главным окном приложения
 public class MainController {
@@ -35,6 +37,7 @@ public class MainController {
     // Поля для хранения данных
     private String token; // Токен авторизации
     private String email; // Email пользователя
+    private User user; // Данные пользователя (null, пока не загружены)
 
     // Элементы интерфейса
     @FXML
@@ -76,63 +79,47 @@ public class MainController {
         setupDatePickers();
     }
 
-    // Метод для загрузки данных в ComboBox
+    // Метод для загрузки данных в ComboBox и данных пользователя
+    // Все начальные запросы окна отправляются одновременно, каждый элемент заполняется по мере получения своих данных,
+    // а ошибки собираются и показываются одним сообщением после завершения всех запросов
     public void loadComboBoxData() {
-        // Проверка доступности сервера перед загрузкой данных
-        if (isServerAvailable()) {
-            loadTransportTypes();
-            loadCities();
-        } else {
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        CompletableFuture<Void> loaded = CompletableFuture.allOf(
+                loadTransportTypes(failures),
+                loadCities(failures),
+                loadUser(failures));
+        ApiClient.onFxThread(loaded, ignored -> showLoadFailures(failures), error -> showLoadFailures(failures));
+    }
+
+    // Метод для отображения общего сообщения об ошибках начальной загрузки
+    private void showLoadFailures(Map<String, Throwable> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        // Если ни один запрос не дошел до сервера, сервер недоступен
+        if (failures.size() == 3 && failures.values().stream().allMatch(error -> error instanceof IOException)) {
             showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+        } else {
+            showErrorAlert("Не удалось загрузить: " + String.join(", ", failures.keySet()) + ". Пожалуйста, попробуйте позже.");
         }
     }
 
     // Метод для настройки обработчиков событий
     private void setupEventHandlers() {
         // Обработчик для ComboBox типа транспорта
-        transportTypeComboBox.setOnShowing(event -> {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                Platform.runLater(() -> transportTypeComboBox.hide());
-            }
-        });
+        transportTypeComboBox.setOnShowing(event -> hideIfServerUnavailable(transportTypeComboBox::hide));
 
         // Обработчик для ComboBox города отправления
-        departureCityComboBox.setOnShowing(event -> {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                Platform.runLater(() -> departureCityComboBox.hide());
-            }
-        });
+        departureCityComboBox.setOnShowing(event -> hideIfServerUnavailable(departureCityComboBox::hide));
 
         // Обработчик для ComboBox города назначения
-        destinationCityComboBox.setOnShowing(event -> {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                Platform.runLater(() -> destinationCityComboBox.hide());
-            }
-        });
+        destinationCityComboBox.setOnShowing(event -> hideIfServerUnavailable(destinationCityComboBox::hide));
 
         // Обработчик для DatePicker начальной даты
-        startDatePicker.setOnShowing(event -> {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                Platform.runLater(() -> startDatePicker.hide());
-            }
-        });
+        startDatePicker.setOnShowing(event -> hideIfServerUnavailable(startDatePicker::hide));
 
         // Обработчик для DatePicker конечной даты
-        endDatePicker.setOnShowing(event -> {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                Platform.runLater(() -> endDatePicker.hide());
-            }
-        });
+        endDatePicker.setOnShowing(event -> hideIfServerUnavailable(endDatePicker::hide));
     }
 
     // Метод для настройки DatePicker
@@ -166,51 +153,34 @@ public class MainController {
         endDatePicker.setConverter(converter);
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            // Создание подключения к серверу
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Возврат false при недоступности сервера
-            return false;
-        }
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
     }
 
-    // Метод для загрузки типов транспорта из API
-    private void loadTransportTypes() {
-        try {
-            // Создание подключения к API
-            URL url = new URL("http://localhost:8080/transport-types");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Чтение ответа от сервера
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder content = new StringBuilder();
-            String inputLine;
-            while ((inputLine = in.readLine()) != null) {
-                content.append(inputLine);
+    // Метод для закрытия выпадающего списка или календаря, если сервер недоступен
+    private void hideIfServerUnavailable(Runnable hide) {
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (!available) {
+                hide.run();
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
             }
+        }, error -> hide.run());
+    }
 
-            // Закрытие потока и соединения
-            in.close();
-            connection.disconnect();
-
+    // Метод для загрузки типов транспорта из API
+    private CompletableFuture<Void> loadTransportTypes(Map<String, Throwable> failures) {
+        // Получение данных: после первой загрузки сервер отвечает 304, если данные не изменились
+        return ApiClient.onFxThread(CachedResource.TRANSPORT_TYPES.fetch(token), content -> {
             // Парсинг JSON в список типов транспорта
-            Gson gson = new Gson();
-            List<TransportType> transportTypes = gson.fromJson(content.toString(), new TypeToken<List<TransportType>>() {}.getType());
+            List<TransportType> transportTypes = ApiClient.GSON.fromJson(content, new TypeToken<List<TransportType>>() {}.getType());
 
             // Создание списка для ComboBox
             ObservableList<String> transportTypeList = FXCollections.observableArrayList();
@@ -224,37 +194,15 @@ public class MainController {
             // Установка элементов и выбор по умолчанию
             transportTypeComboBox.setItems(transportTypeList);
             transportTypeComboBox.getSelectionModel().selectFirst();
-        } catch (Exception e) {
-            // Отображение сообщения об ошибке при загрузке типов транспорта
-            showErrorAlert("Ошибка загрузки типов транспорта. Пожалуйста, попробуйте позже.");
-        }
+        }, error -> failures.put("типы транспорта", error));
     }
 
     // Метод для загрузки городов из API
-    private void loadCities() {
-        try {
-            // Создание подключения к API
-            URL url = new URL("http://localhost:8080/cities");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Чтение ответа от сервера
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            StringBuilder content = new StringBuilder();
-            String inputLine;
-            while ((inputLine = in.readLine()) != null) {
-                content.append(inputLine);
-            }
-
-            // Закрытие потока и соединения
-            in.close();
-            connection.disconnect();
-
+    private CompletableFuture<Void> loadCities(Map<String, Throwable> failures) {
+        // Получение данных: после первой загрузки сервер отвечает 304, если данные не изменились
+        return ApiClient.onFxThread(CachedResource.CITIES.fetch(token), content -> {
             // Парсинг JSON в список городов
-            Gson gson = new Gson();
-            List<City> cities = gson.fromJson(content.toString(), new TypeToken<List<City>>() {}.getType());
+            List<City> cities = ApiClient.GSON.fromJson(content, new TypeToken<List<City>>() {}.getType());
 
             // Создание списка для ComboBox
             ObservableList<String> cityList = FXCollections.observableArrayList();
@@ -265,22 +213,32 @@ public class MainController {
             // Установка списка городов в ComboBox
             departureCityComboBox.setItems(cityList);
             destinationCityComboBox.setItems(cityList);
-        } catch (Exception e) {
-            // Отображение сообщения об ошибке при загрузке городов
-            showErrorAlert("Ошибка загрузки городов. Пожалуйста, попробуйте позже.");
-        }
+        }, error -> failures.put("города", error));
+    }
+
+    // Метод для загрузки данных пользователя: ФИО отображается в подсказке кнопки "Мои данные",
+    // а окно данных пассажира открывается без отдельного запроса
+    private CompletableFuture<Void> loadUser(Map<String, Throwable> failures) {
+        return ApiClient.onFxThread(ApiClient.get("/users/user-by-email?email=" + ApiClient.encode(email), token), response -> {
+            if (response.getStatus() != 200) {
+                failures.put("данные пассажира", new IllegalStateException(response.errorMessage("Не удалось загрузить данные пассажира")));
+                return;
+            }
+            user = response.as(User.class);
+            accountButton.setTooltip(new Tooltip(user.getPassengerFullName()));
+        }, error -> failures.put("данные пассажира", error));
     }
 
     // Метод для обработки нажатия кнопки "Показать все маршруты"
     @FXML
     private void handleShowAllRoutesButton() {
-        try {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return;
-            }
+        // Проверка доступности сервера перед открытием окна
+        whenServerAvailable(this::showAllRoutes);
+    }
 
+    // Метод для открытия окна со всеми маршрутами
+    private void showAllRoutes() {
+        try {
             // Закрытие текущего окна
             Stage currentStage = (Stage) showAllRoutesButton.getScene().getWindow();
             currentStage.close();
@@ -310,13 +268,13 @@ public class MainController {
     // Метод для обработки нажатия кнопки "Показать маршруты по фильтру"
     @FXML
     private void handleShowRoutesWithFilterButton() {
-        try {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return;
-            }
+        // Проверка доступности сервера перед поиском
+        whenServerAvailable(this::showRoutesWithFilter);
+    }
 
+    // Метод для проверки фильтра и открытия окна с отфильтрованными маршрутами
+    private void showRoutesWithFilter() {
+        try {
             // Получение данных из полей
             String transportType = transportTypeComboBox.getValue();
             String departureCity = departureCityComboBox.getValue();
@@ -407,13 +365,13 @@ public class MainController {
     // Метод для обработки нажатия кнопки "Мои бронирования"
     @FXML
     private void handleShowPassengerBookingsButton() {
-        try {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return;
-            }
+        // Проверка доступности сервера перед открытием окна
+        whenServerAvailable(this::showPassengerBookings);
+    }
 
+    // Метод для открытия окна бронирований
+    private void showPassengerBookings() {
+        try {
             // Закрытие текущего окна
             Stage currentStage = (Stage) ShowPassengerBookingsButton.getScene().getWindow();
             currentStage.close();
@@ -442,13 +400,13 @@ public class MainController {
     // Метод для обработки нажатия кнопки "Мои данные"
     @FXML
     private void handleAccountButton() {
-        try {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                return;
-            }
+        // Проверка доступности сервера перед открытием окна
+        whenServerAvailable(this::showAccount);
+    }
 
+    // Метод для открытия окна данных пассажира
+    private void showAccount() {
+        try {
             // Загрузка окна данных пассажира
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/passenger_data.fxml"));
             Parent root = loader.load();
@@ -456,7 +414,12 @@ public class MainController {
             // Передача токена и email в контроллер
             PassengerDataController controller = loader.getController();
             controller.setToken(token);
-            controller.setEmail(email);
+            if (user != null) {
+                // Данные уже загружены при открытии главного окна
+                controller.setUser(user);
+            } else {
+                controller.setEmail(email);
+            }
 
             // Создание и настройка модального окна
             Scene scene = new Scene(root, 600, 375);
@@ -1,20 +1,13 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
 import com.example.frontendpassengertransportation.model.User;
-import com.google.gson.Gson;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
-
 // Класс PassengerDataController отвечает за управление окном данных пассажира
 public class PassengerDataController {
 
@@ -43,6 +36,12 @@ public class PassengerDataController {
         loadUserDataByEmail();
     }
 
+    // Метод для установки уже загруженных данных пользователя (без повторного запроса к серверу)
+    public void setUser(User user) {
+        this.email = user.getPassengerEmail();
+        showUser(user);
+    }
+
     // Метод initialize вызывается при загрузке FXML
     @FXML
     public void initialize() {
@@ -54,38 +53,27 @@ public class PassengerDataController {
 
     // Метод для загрузки данных пользователя по email
     private void loadUserDataByEmail() {
-        try {
-            // Создание URL для запроса пользователя по email
-            URL url = new URL("http://localhost:8080/users/user-by-email?email=" + java.net.URLEncoder.encode(email, StandardCharsets.UTF_8.toString()));
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Получение кода ответа от сервера
-            int responseCode = connection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) { // 200 OK
-                // Чтение ответа от сервера
-                try (BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
-                    String response = br.lines().collect(java.util.stream.Collectors.joining());
-                    Gson gson = new Gson();
-                    User user = gson.fromJson(response, User.class);
-
-                    // Заполнение полей данными пользователя
-                    passengerFullNameField.setText(user.getPassengerFullName());
-                    passengerPhoneField.setText(user.getPassengerPhone());
-                    passengerEmailField.setText(user.getPassengerEmail());
-                }
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) { // 404
+        // Запрос выполняется асинхронно, поля заполняются в потоке JavaFX после получения ответа
+        ApiClient.onFxThread(ApiClient.get("/users/user-by-email?email=" + ApiClient.encode(email), token), response -> {
+            int responseCode = response.getStatus();
+            if (responseCode == 200) { // 200 OK
+                showUser(response.as(User.class));
+            } else if (responseCode == 404) {
                 showErrorAlert("Пользователь с email " + email + " не найден.");
             } else {
                 showErrorAlert("Не удалось загрузить данные пользователя: код ошибки " + responseCode);
             }
-            connection.disconnect(); // Закрытие соединения
-        } catch (IOException e) {
+        }, error -> {
             // Обработка исключения при недоступности сервера или ошибке ввода-вывода
             showErrorAlert("Ошибка при загрузке данных пользователя. Сервер недоступен.");
-        }
+        });
+    }
+
+    // Метод для заполнения полей данными пользователя
+    private void showUser(User user) {
+        passengerFullNameField.setText(user.getPassengerFullName());
+        passengerPhoneField.setText(user.getPassengerPhone());
+        passengerEmailField.setText(user.getPassengerEmail());
     }
 
     // Обработчик кнопки "Назад"
@@ -1,5 +1,6 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -7,15 +8,11 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 // Класс RegistrationController отвечает за управление окном регистрации приложения
 public class RegistrationController {
@@ -91,82 +88,58 @@ public class RegistrationController {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
         String formattedBirthDate = birthDate.format(formatter);
 
-        // Формирование строки данных для отправки на сервер
-        String postData = "passengerFullName=" + encodeValue(fullName) +
-                "&passengerPhone=" + encodeValue(phone) +
-                "&passengerEmail=" + encodeValue(email) +
-                "&dateOfBirth=" + encodeValue(formattedBirthDate) +
-                "&password=" + encodeValue(password);
-
-        try {
-            // Создание подключения к серверу
-            URL url = new URL("http://localhost:8080/auth/register");
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("POST");
-            conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-            conn.setDoOutput(true);
-
-            // Отправка данных на сервер
-            try (OutputStream os = conn.getOutputStream()) {
-                byte[] input = postData.getBytes(StandardCharsets.UTF_8);
-                os.write(input, 0, input.length);
-            }
-
-            // Получение кода ответа от сервера
-            int responseCode = conn.getResponseCode();
-            StringBuilder response = new StringBuilder();
-
-            // Чтение ответа сервера
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                    responseCode >= 400 ? conn.getErrorStream() : conn.getInputStream(), StandardCharsets.UTF_8))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    response.append(line);
-                }
-            }
-
-            // Закрытие соединения
-            conn.disconnect();
-
+        // Формирование данных для отправки на сервер
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("passengerFullName", fullName);
+        form.put("passengerPhone", phone);
+        form.put("passengerEmail", email);
+        form.put("dateOfBirth", formattedBirthDate);
+        form.put("password", password);
+
+        // Кнопка отключается до получения ответа, чтобы не отправлять повторные запросы
+        registerButton.setDisable(true);
+        // Запрос выполняется асинхронно, ответ обрабатывается в потоке JavaFX
+        ApiClient.onFxThread(ApiClient.postForm("/auth/register", form, null), response -> {
+            registerButton.setDisable(false);
+            int responseCode = response.getStatus();
             // Проверка успешного ответа (201)
             if (responseCode == 201) {
                 // Отображение сообщения об успешной регистрации
                 showInfoAlert("Вы успешно зарегистрировались!");
-
-                // Закрытие текущего окна
-                Stage currentStage = (Stage) registerButton.getScene().getWindow();
-                currentStage.close();
-
-                // Загрузка окна авторизации
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/authorization.fxml"));
-                Parent root = loader.load();
-                Scene scene = new Scene(root, 640, 640);
-                Stage authStage = new Stage();
-                authStage.setTitle("Авторизация");
-                authStage.setScene(scene);
-                // Отображение окна авторизации
-                authStage.show();
+                openAuthorizationWindow();
             } else if (responseCode == 400 || responseCode == 409) {
                 // Отображение сообщения об ошибке с текстом от сервера
-                showErrorAlert(response.toString());
+                showErrorAlert(response.getBody());
             } else {
                 // Отображение сообщения об ошибке с кодом ответа
-                showErrorAlert("Произошла ошибка: " + response.toString());
+                showErrorAlert("Произошла ошибка: " + response.errorMessage("Не удалось зарегистрироваться"));
             }
-        } catch (IOException e) {
+        }, error -> {
+            registerButton.setDisable(false);
             // Отображение сообщения об ошибке при недоступности сервера
             showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-        }
+        });
     }
 
-    // Метод для кодирования значений в URL-формат
-    private String encodeValue(String value) {
+    // Метод для открытия окна авторизации после успешной регистрации
+    private void openAuthorizationWindow() {
         try {
-            // Кодирование строки в UTF-8
-            return java.net.URLEncoder.encode(value, StandardCharsets.UTF_8.toString());
-        } catch (Exception e) {
-            // Возврат исходной строки при ошибке кодирования
-            return value;
+            // Закрытие текущего окна
+            Stage currentStage = (Stage) registerButton.getScene().getWindow();
+            currentStage.close();
+
+            // Загрузка окна авторизации
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/authorization.fxml"));
+            Parent root = loader.load();
+            Scene scene = new Scene(root, 640, 640);
+            Stage authStage = new Stage();
+            authStage.setTitle("Авторизация");
+            authStage.setScene(scene);
+            // Отображение окна авторизации
+            authStage.show();
+        } catch (IOException e) {
+            // Отображение сообщения об ошибке при неудачной загрузке окна
+            showErrorAlert("Не удалось открыть окно авторизации.");
         }
     }
 
@@ -1,8 +1,9 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.Route;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.example.frontendpassengertransportation.model.RoutePage;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -16,18 +17,11 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.stage.Stage;
 import javafx.util.Callback;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 // Класс управляет окном с отфильтрованными маршрутами
 public class RoutesWithFilterController {
@@ -59,6 +53,9 @@ public class RoutesWithFilterController {
     private String startDate; // Хранится начальная дата для фильтрации
     private String endDate; // Хранится конечная дата для фильтрации
 
+    // Максимальное количество маршрутов, запрашиваемых за один поиск
+    private static final int MAX_ROUTES = 1000;
+
     // Устанавливается токен для авторизации запросов
     public void setToken(String token) {
         this.token = token;
@@ -85,24 +82,16 @@ public class RoutesWithFilterController {
         loadFilteredRoutes();
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            // Создание подключения к серверу
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Возврат false при недоступности сервера
-            return false;
-        }
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
     }
 
     // Форматируется дата в строку для передачи на сервер
@@ -115,197 +104,49 @@ public class RoutesWithFilterController {
 
     // Загружаются и отображаются отфильтрованные маршруты
     private void loadFilteredRoutes() {
-        // Хранятся маршруты по idRoute
-        Map<String, Route> routeMap = new HashMap<>();
-        // Считаются совпадения фильтров
-        Map<String, Integer> filterCountMap = new HashMap<>();
-
-        try {
-            // Получаются все маршруты с сервера
-            List<Route> allRoutes = fetchRoutes("http://localhost:8080/routes");
-            // Заполняется карта маршрутов и счетчик фильтров
-            for (Route route : allRoutes) {
-                routeMap.put(route.getIdRoute(), route);
-                filterCountMap.put(route.getIdRoute(), 0);
-            }
-
-            // Счетчик активных фильтров
-            int totalFilters = 0;
-
-            // Фильтр по типу транспорта
-            if (transportType != null) {
-                // Увеличение счетчика фильтров
-                totalFilters++;
-                // Формирование URL для запроса маршрутов по типу транспорта
-                String url = "http://localhost:8080/routes/transport/" + URLEncoder.encode(transportType, StandardCharsets.UTF_8);
-                // Получение маршрутов, соответствующих типу транспорта
-                List<Route> transportRoutes = fetchRoutes(url);
-                // Обновление счетчика совпадений для маршрутов
-                for (Route route : transportRoutes) {
-                    if (routeMap.containsKey(route.getIdRoute())) {
-                        filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                    }
-                }
-            }
-
-            // Фильтр по городам отправления и назначения
-            if (departureCity != null || destinationCity != null) {
-                // Увеличение счетчика фильтров
-                totalFilters++;
-                if (departureCity != null && destinationCity != null) {
-                    // Формирование URL для запроса маршрутов по городам отправления и назначения
-                    String url = "http://localhost:8080/routes/points?departureCity=" + URLEncoder.encode(departureCity, StandardCharsets.UTF_8) +
-                            "&destinationCity=" + URLEncoder.encode(destinationCity, StandardCharsets.UTF_8);
-                    // Получение маршрутов, соответствующих городам
-                    List<Route> cityRoutes = fetchRoutes(url);
-                    // Обновление счетчика совпадений для маршрутов
-                    for (Route route : cityRoutes) {
-                        if (routeMap.containsKey(route.getIdRoute())) {
-                            filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                        }
-                    }
-                } else if (departureCity != null) {
-                    // Формирование URL для запроса маршрутов по городу отправления
-                    String url = "http://localhost:8080/routes/departure/" + URLEncoder.encode(departureCity, StandardCharsets.UTF_8);
-                    // Получение маршрутов, соответствующих городу отправления
-                    List<Route> departureRoutes = fetchRoutes(url);
-                    // Обновление счетчика совпадений для маршрутов
-                    for (Route route : departureRoutes) {
-                        if (routeMap.containsKey(route.getIdRoute())) {
-                            filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                        }
-                    }
-                } else if (destinationCity != null) {
-                    // Формирование URL для запроса маршрутов по городу назначения
-                    String url = "http://localhost:8080/routes/destination/" + URLEncoder.encode(destinationCity, StandardCharsets.UTF_8);
-                    // Получение маршрутов, соответствующих городу назначения
-                    List<Route> destinationRoutes = fetchRoutes(url);
-                    // Обновление счетчика совпадений для маршрутов
-                    for (Route route : destinationRoutes) {
-                        if (routeMap.containsKey(route.getIdRoute())) {
-                            filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                        }
-                    }
-                }
-            }
-
-            // Фильтр по датам отправления
-            if (startDate != null) {
-                // Увеличение счетчика фильтров
-                totalFilters++;
-                if (endDate == null) {
-                    // Формирование URL для запроса маршрутов по точной дате
-                    String url = "http://localhost:8080/routes/exactDate?exactDate=" + startDate;
-                    // Получение маршрутов, соответствующих точной дате
-                    List<Route> exactDateRoutes = fetchRoutes(url);
-                    // Обновление счетчика совпадений для маршрутов
-                    for (Route route : exactDateRoutes) {
-                        if (routeMap.containsKey(route.getIdRoute())) {
-                            filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                        }
-                    }
-                } else {
-                    // Формирование URL для запроса маршрутов по диапазону дат
-                    String url = "http://localhost:8080/routes/dateRange?startDate=" + startDate + "&endDate=" + endDate;
-                    // Получение маршрутов, соответствующих диапазону дат
-                    List<Route> dateRangeRoutes = fetchRoutes(url);
-                    // Обновление счетчика совпадений для маршрутов
-                    for (Route route : dateRangeRoutes) {
-                        if (routeMap.containsKey(route.getIdRoute())) {
-                            filterCountMap.put(route.getIdRoute(), filterCountMap.get(route.getIdRoute()) + 1);
-                        }
-                    }
-                }
-            }
-
-            // Отбираются маршруты, соответствующие всем фильтрам
-            List<Route> filteredRoutes = new ArrayList<>();
-            // Получение текущего времени для фильтрации
-            LocalDateTime now = LocalDateTime.now();
-
-            // Проверка маршрутов на соответствие всем фильтрам
-            for (Map.Entry<String, Integer> entry : filterCountMap.entrySet()) {
-                if (entry.getValue() == totalFilters) {
-                    Route route = routeMap.get(entry.getKey());
-                    // Получение времени отправления маршрута
-                    LocalDateTime departureTime = route.getDepartureTimeAsLocalDateTime();
-                    // Добавление маршрута, если время отправления позже текущего + 30 минут
-                    if (departureTime != null && departureTime.isAfter(now.plusMinutes(30))) {
-                        filteredRoutes.add(route);
-                    }
-                }
-            }
-
-            // Если фильтры не заданы, отображаются все маршруты с учетом времени
-            if (totalFilters == 0) {
-                // Фильтрация маршрутов по времени отправления (позже текущего + 30 минут)
-                filteredRoutes = allRoutes.stream()
-                        .filter(route -> route.getDepartureTimeAsLocalDateTime().isAfter(now.plusMinutes(30)))
-                        .collect(Collectors.toList());
-            }
-
-            // Сортировка маршрутов по дате отправления
-            filteredRoutes = sortRoutesByDepartureTime(filteredRoutes);
-
-            // Отображение маршрутов в таблице
-            displayRoutes(filteredRoutes);
-        } catch (Exception e) {
-            // Отображение сообщения об ошибке при загрузке маршрутов
-            showErrorAlert("Произошла ошибка при загрузке маршрутов: " + e.getMessage());
+        // Формируется время, отстоящее на 30 минут от текущего: раньше него бронирование уже невозможно
+        String minDepartureTime = LocalDateTime.now().plusMinutes(30).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        // Все фильтры передаются серверу одним запросом, отбор и сортировка выполняются в базе данных
+        StringBuilder path = new StringBuilder("/routes/search?size=" + MAX_ROUTES +
+                "&sortBy=departureTime&direction=asc&minDepartureTime=" + minDepartureTime);
+        appendParameter(path, "transportType", transportType);
+        appendParameter(path, "departureCity", departureCity);
+        appendParameter(path, "destinationCity", destinationCity);
+        appendParameter(path, "startDate", startDate);
+        // Конечная дата учитывается только вместе с начальной
+        if (startDate != null) {
+            appendParameter(path, "endDate", endDate);
         }
-    }
-
-    // Сортируются маршруты по дате отправления
-    private List<Route> sortRoutesByDepartureTime(List<Route> routes) {
-        // Создается новый список для сортировки, чтобы не изменять исходный
-        List<Route> sortedRoutes = new ArrayList<>(routes);
-        // Сортировка по полю departureTime с использованием LocalDateTime
-        sortedRoutes.sort(Comparator.comparing(route -> route.getDepartureTimeAsLocalDateTime()));
-        // Возврат отсортированного списка
-        return sortedRoutes;
-    }
 
-    // Выполняется запрос к серверу для получения маршрутов
-    private List<Route> fetchRoutes(String apiUrl) {
-        try {
-            // Создание URL для запроса
-            URL url = new URL(apiUrl);
-            // Создание HTTP-соединения
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Получение кода ответа сервера
-            int responseCode = connection.getResponseCode();
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                // Чтение ответа от сервера
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                // Парсинг JSON в список маршрутов
-                Gson gson = new Gson();
-                List<Route> routes = gson.fromJson(response.toString(), new TypeToken<List<Route>>() {}.getType());
-                // Возврат списка маршрутов или пустого списка, если данные отсутствуют
-                return routes != null ? routes : Collections.emptyList();
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND || responseCode == HttpURLConnection.HTTP_NO_CONTENT) {
-                // Возврат пустого списка при отсутствии данных
-                return Collections.emptyList();
+        // Запрос выполняется асинхронно, маршруты отображаются в таблице в потоке JavaFX
+        ApiClient.onFxThread(ApiClient.get(path.toString(), token), response -> {
+            int responseCode = response.getStatus();
+            if (responseCode == 200) {
+                // Разбор страницы маршрутов
+                displayRoutes(response.as(RoutePage.class).getContent());
+            } else if (responseCode == 404 || responseCode == 204) {
+                // Отображение пустой таблицы при отсутствии данных
+                displayRoutes(Collections.emptyList());
             } else {
                 // Отображение сообщения об ошибке сервера
                 showErrorAlert("Сервер вернул код ошибки: " + responseCode);
-                // Возврат пустого списка при ошибке
-                return Collections.emptyList();
+                displayRoutes(Collections.emptyList());
             }
-        } catch (IOException e) {
-            // Отображение сообщения о невозможности подключения к серверу
-            showErrorAlert("Не удалось подключиться к серверу: " + e.getMessage());
-            // Возврат пустого списка при ошибке
-            return Collections.emptyList();
+        }, error -> {
+            if (error instanceof IOException) {
+                // Отображение сообщения о невозможности подключения к серверу
+                showErrorAlert("Не удалось подключиться к серверу: " + error.getMessage());
+            } else {
+                // Отображение сообщения об ошибке при загрузке маршрутов
+                showErrorAlert("Произошла ошибка при загрузке маршрутов: " + error.getMessage());
+            }
+        });
+    }
+
+    // Добавляется параметр запроса, если его значение задано
+    private void appendParameter(StringBuilder path, String name, String value) {
+        if (value != null) {
+            path.append('&').append(name).append('=').append(ApiClient.encode(value));
         }
     }
 
@@ -315,9 +156,9 @@ public class RoutesWithFilterController {
         ObservableList<Route> observableRoutes = FXCollections.observableArrayList(routes);
 
         // Настройка колонок таблицы для отображения данных
-        transportTypeColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTransportType().getTransportType()));
-        departureCityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDepartureCity().getCityName()));
-        destinationCityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDestinationCity().getCityName()));
+        transportTypeColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getTransportType()));
+        departureCityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDepartureCity()));
+        destinationCityColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getDestinationCity()));
         departureTimeColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getFormattedDepartureTime()));
         arrivalTimeColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getFormattedArrivalTime()));
         availableSeatsColumn.setCellValueFactory(new PropertyValueFactory<>("numberAvailableSeats"));
@@ -380,15 +221,13 @@ public class RoutesWithFilterController {
 
     // Обрабатывается нажатие кнопки "Забронировать"
     private void handleBookingButton(Route route) {
-        try {
-            // Проверка доступности сервера
-            if (!isServerAvailable()) {
-                // Отображение сообщения об ошибке при недоступности сервера
-                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-                // Выход из метода
-                return;
-            }
+        // Проверка доступности сервера перед открытием окна бронирования
+        whenServerAvailable(() -> openBookingWindow(route));
+    }
 
+    // Открывается окно бронирования выбранного маршрута
+    private void openBookingWindow(Route route) {
+        try {
             // Закрытие текущего окна
             Stage currentStage = (Stage) routesTable.getScene().getWindow();
             currentStage.close();
@@ -1,5 +1,7 @@
 package com.example.frontendpassengertransportation.controller;
 
+import com.example.frontendpassengertransportation.client.ApiClient;
+import com.example.frontendpassengertransportation.client.ServerAvailability;
 import com.example.frontendpassengertransportation.model.BookingTicket;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -11,11 +13,8 @@ import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
 import javafx.stage.Stage;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.util.UUID;
 
 // Класс ViewBookingDetailsController отвечает за управление окном просмотра деталей бронирования и отмены бронирования
 public class ViewBookingDetailsController {
@@ -39,14 +38,15 @@ public class ViewBookingDetailsController {
     private BookingTicket booking; // Хранение данных о бронировании
     private String token; // Поле для хранения токена
     private String email; // Поле для хранения email пользователя
+    private String cancelKey; // Ключ идемпотентности отмены, оставшейся без ответа сервера (повтор не вернет место дважды)
 
     // Метод для установки данных о бронировании
     public void setBooking(BookingTicket booking) {
         this.booking = booking;
         // Заполнение полей данными из бронирования
-        transportTypeLabel.setText(booking.getRoute().getTransportType().getTransportType());
-        departureCityLabel.setText(booking.getRoute().getDepartureCity().getCityName());
-        destinationCityLabel.setText(booking.getRoute().getDestinationCity().getCityName());
+        transportTypeLabel.setText(booking.getRoute().getTransportType());
+        departureCityLabel.setText(booking.getRoute().getDepartureCity());
+        destinationCityLabel.setText(booking.getRoute().getDestinationCity());
         departureTimeLabel.setText(booking.getRoute().getFormattedDepartureTime());
         arrivalTimeLabel.setText(booking.getRoute().getFormattedArrivalTime());
     }
@@ -61,34 +61,27 @@ public class ViewBookingDetailsController {
         this.email = email;
     }
 
-    // Метод для проверки доступности сервера
-    private boolean isServerAvailable() {
-        try {
-            URL url = new URL("http://localhost:8080/routes");
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-            // Установка таймаута подключения
-            connection.setConnectTimeout(5000);
-            connection.connect();
-            // Проверка успешного ответа от сервера
-            return connection.getResponseCode() == 200;
-        } catch (IOException e) {
-            // Если сервер недоступен
-            return false;
-        }
+    // Метод для выполнения действия, если сервер доступен
+    private void whenServerAvailable(Runnable action) {
+        // Проверка выполняется асинхронно, действие или сообщение об ошибке - в потоке JavaFX
+        ApiClient.onFxThread(ServerAvailability.check(), available -> {
+            if (available) {
+                action.run();
+            } else {
+                showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
+            }
+        }, error -> showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже."));
     }
 
     @FXML
     // Обработчик нажатия на кнопку "Отменить бронирование"
     private void handleCancelBookingButton() {
         // Проверка доступности сервера
-        if (!isServerAvailable()) {
-            showErrorAlert("Сервер недоступен. Пожалуйста, попробуйте позже.");
-            return; // Выход из метода
-        }
+        whenServerAvailable(this::confirmCancelBooking);
+    }
 
+    // Метод для подтверждения и отмены бронирования
+    private void confirmCancelBooking() {
         // Создание диалогового окна для подтверждения отмены бронирования
         Alert confirmationAlert = new Alert(Alert.AlertType.CONFIRMATION);
         confirmationAlert.setTitle("Подтверждение отмены бронирования");
@@ -98,83 +91,68 @@ public class ViewBookingDetailsController {
         // Ожидание ответа пользователя
         confirmationAlert.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) { // Если пользователь нажал "ОК"
-                try {
-                    // Вызов метода для удаления бронирования
-                    deleteBooking(booking.getIdBooking());
-
-                    // Закрытие текущего окна (view_booking_details)
-                    Stage currentStage = (Stage) cancelBookingButton.getScene().getWindow();
-                    currentStage.close();
-
-                    // Обновление окна бронирований (bookings_current_passenger)
-                    Stage bookingsStage = (Stage) currentStage.getOwner();
-                    if (bookingsStage != null) {
-                        // Загрузка окна бронирований заново
-                        FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/bookings_current_passenger.fxml"));
-                        Parent root = loader.load();
-
-                        // Передача токена и email в BookingsCurrentPassengerController
-                        BookingsCurrentPassengerController controller = loader.getController();
-                        controller.setToken(token);
-                        controller.setEmail(email);
-
-                        // Обновление сцены
-                        Scene scene = new Scene(root, 1040, 740);
-                        bookingsStage.setScene(scene);
-                        bookingsStage.setTitle("Список всех ваших бронирований");
-                        bookingsStage.show();
-                    }
-                } catch (IOException e) {
-                    showErrorAlert("Не удалось обновить список бронирований после отмены.");
-                }
+                // Вызов метода для удаления бронирования
+                deleteBooking(booking.getIdBooking());
             }
         });
     }
 
     // Метод для удаления бронирования через API
     private void deleteBooking(String id) {
-        try {
-            // Формирование URL для удаления бронирования
-            URL url = new URL("http://localhost:8080/booking-tickets/" + id);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            // Установка метода DELETE
-            connection.setRequestMethod("DELETE");
-            // Добавление заголовка авторизации с токеном
-            connection.setRequestProperty("Authorization", "Bearer " + token);
-
-            // Получение кода ответа сервера
-            int responseCode = connection.getResponseCode();
-            String responseMessage;
-
-            // Чтение тела ответа для ошибок
-            if (responseCode >= 400) {
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getErrorStream()))) {
-                    StringBuilder response = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        response.append(line);
-                    }
-                    responseMessage = response.toString();
-                }
-            } else {
-                responseMessage = "Бронирование успешно отменено.";
-            }
-
-            if (responseCode == HttpURLConnection.HTTP_OK) {
-                showInfoAlert(responseMessage);
-            } else if (responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+        // Кнопка отключается до получения ответа, чтобы не отправлять повторные запросы
+        cancelBookingButton.setDisable(true);
+        if (cancelKey == null) {
+            cancelKey = UUID.randomUUID().toString();
+        }
+        ApiClient.onFxThread(ApiClient.deleteIdempotent("/booking-tickets/" + ApiClient.encode(id), token, cancelKey), response -> {
+            cancelBookingButton.setDisable(false);
+            cancelKey = null;
+            int responseCode = response.getStatus();
+            String responseMessage = response.getBody();
+            if (responseCode == 200) {
+                showInfoAlert("Бронирование успешно отменено.");
+            } else if (responseCode == 404) {
                 showErrorAlert(responseMessage.isEmpty() ? "Бронирование не найдено." : responseMessage);
-            } else if (responseCode == HttpURLConnection.HTTP_BAD_REQUEST) {
+            } else if (responseCode == 400) {
                 showErrorAlert(responseMessage.isEmpty() ? "Не удалось отменить бронирование из-за некорректных данных." : responseMessage);
-            } else if (responseCode == HttpURLConnection.HTTP_FORBIDDEN) {
-                showErrorAlert(responseMessage.isEmpty() ? "Нет доступа для выполнения этой операции." : responseMessage);
             } else {
-                showErrorAlert(responseMessage.isEmpty() ? "Не удалось отменить бронирование. Код ошибки: " + responseCode : responseMessage);
+                showErrorAlert(response.errorMessage("Не удалось отменить бронирование"));
             }
-            connection.disconnect(); // Закрытие соединения
-        } catch (IOException e) {
+            refreshBookingsWindow();
+        }, error -> {
+            cancelBookingButton.setDisable(false);
             // Обработка исключения при недоступности сервера
             showErrorAlert("Не удалось подключиться к серверу для отмены бронирования.");
+        });
+    }
+
+    // Метод для закрытия окна и обновления списка бронирований
+    private void refreshBookingsWindow() {
+        try {
+            // Закрытие текущего окна (view_booking_details)
+            Stage currentStage = (Stage) cancelBookingButton.getScene().getWindow();
+            currentStage.close();
+
+            // Обновление окна бронирований (bookings_current_passenger)
+            Stage bookingsStage = (Stage) currentStage.getOwner();
+            if (bookingsStage != null) {
+                // Загрузка окна бронирований заново
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/example/frontendpassengertransportation/views/bookings_current_passenger.fxml"));
+                Parent root = loader.load();
+
+                // Передача токена и email в BookingsCurrentPassengerController
+                BookingsCurrentPassengerController controller = loader.getController();
+                controller.setToken(token);
+                controller.setEmail(email);
+
+                // Обновление сцены
+                Scene scene = new Scene(root, 1040, 740);
+                bookingsStage.setScene(scene);
+                bookingsStage.setTitle("Список всех ваших бронирований");
+                bookingsStage.show();
+            }
+        } catch (IOException e) {
+            showErrorAlert("Не удалось обновить список бронирований после отмены.");
         }
     }
 
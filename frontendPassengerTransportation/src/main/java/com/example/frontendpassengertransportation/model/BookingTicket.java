@@ -12,8 +12,14 @@ public class BookingTicket {
     @SerializedName("route")
     private Route route; // Маршрут, связанный с бронированием
 
-    @SerializedName("user")
-    private User user; // Пользователь, связанный с бронированием
+    @SerializedName("passengerFullName")
+    private String passengerFullName; // ФИО пассажира
+
+    @SerializedName("passengerPhone")
+    private String passengerPhone; // Телефон пассажира
+
+    @SerializedName("passengerEmail")
+    private String passengerEmail; // Электронная почта пассажира
 
     @SerializedName("bookingDate")
     private String bookingDate; // Дата и время бронирования
@@ -38,14 +44,34 @@ public class BookingTicket {
         this.route = route;
     }
 
-    // Метод для получения пользователя, связанного с бронированием
-    public User getUser() {
-        return user;
+    // Метод для получения ФИО пассажира
+    public String getPassengerFullName() {
+        return passengerFullName;
+    }
+
+    // Метод для установки ФИО пассажира
+    public void setPassengerFullName(String passengerFullName) {
+        this.passengerFullName = passengerFullName;
+    }
+
+    // Метод для получения телефона пассажира
+    public String getPassengerPhone() {
+        return passengerPhone;
+    }
+
+    // Метод для установки телефона пассажира
+    public void setPassengerPhone(String passengerPhone) {
+        this.passengerPhone = passengerPhone;
+    }
+
+    // Метод для получения электронной почты пассажира
+    public String getPassengerEmail() {
+        return passengerEmail;
     }
 
-    // Метод для установки пользователя, связанного с бронированием
-    public void setUser(User user) {
-        this.user = user;
+    // Метод для установки электронной почты пассажира
+    public void setPassengerEmail(String passengerEmail) {
+        this.passengerEmail = passengerEmail;
     }
 
     // Метод для получения даты и времени бронирования
@@ -13,13 +13,13 @@ public class Route {
     private String idRoute; // Идентификатор маршрута
 
     @SerializedName("transportType")
-    private TransportType transportType; // Тип транспорта для маршрута
+    private String transportType; // Тип транспорта для маршрута
 
     @SerializedName("departureCity")
-    private City departureCity; // Город отправления
+    private String departureCity; // Город отправления
 
     @SerializedName("destinationCity")
-    private City destinationCity; // Город назначения
+    private String destinationCity; // Город назначения
 
     @SerializedName("departureTime")
     private String departureTime; // Время отправления в виде строки
@@ -47,32 +47,32 @@ public class Route {
     }
 
     // Метод для получения типа транспорта
-    public TransportType getTransportType() {
+    public String getTransportType() {
         return transportType;
     }
 
     // Метод для установки типа транспорта
-    public void setTransportType(TransportType transportType) {
+    public void setTransportType(String transportType) {
         this.transportType = transportType;
     }
 
     // Метод для получения города отправления
-    public City getDepartureCity() {
+    public String getDepartureCity() {
         return departureCity;
     }
 
     // Метод для установки города отправления
-    public void setDepartureCity(City departureCity) {
+    public void setDepartureCity(String departureCity) {
         this.departureCity = departureCity;
     }
 
     // Метод для получения города назначения
-    public City getDestinationCity() {
+    public String getDestinationCity() {
         return destinationCity;
     }
 
     // Метод для установки города назначения
-    public void setDestinationCity(City destinationCity) {
+    public void setDestinationCity(String destinationCity) {
         this.destinationCity = destinationCity;
     }
 
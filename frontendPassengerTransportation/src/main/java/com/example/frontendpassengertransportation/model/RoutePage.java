@@ -0,0 +1,35 @@
+package com.example.frontendpassengertransportation.model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+// Класс, представляющий страницу маршрутов в ответе сервера (постраничный поиск и выборка по курсору)
+public class RoutePage {
+
+    // Аннотация @SerializedName используется для сопоставления поля с JSON ключом
+    @SerializedName("content")
+    private List<Route> content; // Маршруты страницы
+
+    @SerializedName("nextCursor")
+    private String nextCursor; // Курсор следующей страницы (null, если страница последняя)
+
+    @SerializedName("prevCursor")
+    private String prevCursor; // Курсор предыдущей страницы (null, если страница первая)
+
+    // Метод для получения маршрутов страницы (пустой список, если данных нет)
+    public List<Route> getContent() {
+        return content != null ? content : Collections.emptyList();
+    }
+
+    // Метод для получения курсора следующей страницы
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Метод для получения курсора предыдущей страницы
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+}
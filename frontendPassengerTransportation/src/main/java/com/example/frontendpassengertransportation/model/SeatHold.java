@@ -0,0 +1,60 @@
+package com.example.frontendpassengertransportation.model;
+
+import com.google.gson.annotations.SerializedName;
+
+// Класс, представляющий удержание места на время оформления бронирования
+public class SeatHold {
+
+    // Аннотация @SerializedName используется для сопоставления поля с JSON ключом
+    @SerializedName("idHold")
+    private String idHold; // Токен удержания
+
+    @SerializedName("idRoute")
+    private String idRoute; // ID маршрута
+
+    @SerializedName("seats")
+    private int seats; // Количество удерживаемых мест
+
+    @SerializedName("expiresAt")
+    private String expiresAt; // Время истечения срока удержания
+
+    // Метод для получения токена удержания
+    public String getIdHold() {
+        return idHold;
+    }
+
+    // Метод для установки токена удержания
+    public void setIdHold(String idHold) {
+        this.idHold = idHold;
+    }
+
+    // Метод для получения ID маршрута
+    public String getIdRoute() {
+        return idRoute;
+    }
+
+    // Метод для установки ID маршрута
+    public void setIdRoute(String idRoute) {
+        this.idRoute = idRoute;
+    }
+
+    // Метод для получения количества удерживаемых мест
+    public int getSeats() {
+        return seats;
+    }
+
+    // Метод для установки количества удерживаемых мест
+    public void setSeats(int seats) {
+        this.seats = seats;
+    }
+
+    // Метод для получения времени истечения срока удержания
+    public String getExpiresAt() {
+        return expiresAt;
+    }
+
+    // Метод для установки времени истечения срока удержания
+    public void setExpiresAt(String expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
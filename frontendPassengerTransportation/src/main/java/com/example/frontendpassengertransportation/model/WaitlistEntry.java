@@ -0,0 +1,81 @@
+package com.example.frontendpassengertransportation.model;
+
+import com.google.gson.annotations.SerializedName;
+
+// Класс, представляющий запись листа ожидания маршрута без свободных мест
+public class WaitlistEntry {
+
+    // Состояние записи, получившей место (для пассажира создано бронирование)
+    public static final String PROMOTED = "promoted";
+
+    // Аннотация @SerializedName используется для сопоставления поля с JSON ключом
+    @SerializedName("idEntry")
+    private String idEntry; // Токен записи
+
+    @SerializedName("idRoute")
+    private String idRoute; // ID маршрута
+
+    @SerializedName("position")
+    private long position; // Номер записи в очереди маршрута
+
+    @SerializedName("status")
+    private String status; // Состояние записи: waiting или promoted
+
+    @SerializedName("idBooking")
+    private String idBooking; // ID созданного бронирования (пусто, пока запись ожидает место)
+
+    // Метод для получения токена записи
+    public String getIdEntry() {
+        return idEntry;
+    }
+
+    // Метод для установки токена записи
+    public void setIdEntry(String idEntry) {
+        this.idEntry = idEntry;
+    }
+
+    // Метод для получения ID маршрута
+    public String getIdRoute() {
+        return idRoute;
+    }
+
+    // Метод для установки ID маршрута
+    public void setIdRoute(String idRoute) {
+        this.idRoute = idRoute;
+    }
+
+    // Метод для получения номера записи в очереди маршрута
+    public long getPosition() {
+        return position;
+    }
+
+    // Метод для установки номера записи в очереди маршрута
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    // Метод для получения состояния записи
+    public String getStatus() {
+        return status;
+    }
+
+    // Метод для установки состояния записи
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    // Метод для получения ID созданного бронирования
+    public String getIdBooking() {
+        return idBooking;
+    }
+
+    // Метод для установки ID созданного бронирования
+    public void setIdBooking(String idBooking) {
+        this.idBooking = idBooking;
+    }
+
+    // Метод для проверки, получила ли запись место
+    public boolean isPromoted() {
+        return PROMOTED.equals(status);
+    }
+}
@@ -4,6 +4,7 @@ module com.example.frontendpassengertransportation {
     requires javafx.graphics;
     requires com.google.gson;
     requires java.sql;
+    requires java.net.http;
 
     exports com.example.frontendpassengertransportation.application;
     opens com.example.frontendpassengertransportation.model to com.google.gson, javafx.base;